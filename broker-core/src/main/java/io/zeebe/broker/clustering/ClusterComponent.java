@@ -24,6 +24,7 @@ import io.zeebe.broker.clustering.base.connections.RemoteAddressManager;
 import io.zeebe.broker.clustering.base.gossip.GossipJoinService;
 import io.zeebe.broker.clustering.base.gossip.GossipService;
 import io.zeebe.broker.clustering.base.partitions.BootstrapPartitions;
+import io.zeebe.broker.clustering.base.partitions.LeaderBalancerService;
 import io.zeebe.broker.clustering.base.raft.RaftPersistentConfigurationManagerService;
 import io.zeebe.broker.clustering.base.topology.NodeInfo;
 import io.zeebe.broker.clustering.base.topology.TopologyManagerService;
@@ -130,5 +131,13 @@ public class ClusterComponent implements Component {
         .dependency(
             RAFT_CONFIGURATION_MANAGER, raftBootstrapService.getConfigurationManagerInjector())
         .install();
+
+    final LeaderBalancerService leaderBalancerService =
+        new LeaderBalancerService(context.getBrokerConfiguration().getCluster());
+    baseLayerInstall
+        .createService(LEADER_BALANCER_SERVICE, leaderBalancerService)
+        .dependency(TOPOLOGY_MANAGER_SERVICE, leaderBalancerService.getTopologyManagerInjector())
+        .groupReference(RAFT_SERVICE_GROUP, leaderBalancerService.getRaftReference())
+        .install();
   }
 }
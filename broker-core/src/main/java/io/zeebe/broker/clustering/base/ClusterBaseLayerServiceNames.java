@@ -45,6 +45,8 @@ public class ClusterBaseLayerServiceNames {
           "cluster.base.raft.configurationManager", RaftPersistentConfigurationManager.class);
   public static final ServiceName<Raft> RAFT_SERVICE_GROUP =
       ServiceName.newServiceName("cluster.base.raft.service", Raft.class);
+  public static final ServiceName<Void> LEADER_BALANCER_SERVICE =
+      ServiceName.newServiceName("cluster.base.raft.leaderBalancer", Void.class);
 
   public static ServiceName<Void> raftInstallServiceName(int partitionId) {
     return ServiceName.newServiceName(
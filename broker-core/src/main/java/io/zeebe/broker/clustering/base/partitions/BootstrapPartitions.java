@@ -102,8 +102,12 @@ public class BootstrapPartitions implements Service<Void> {
     final ServiceName<Void> partitionInstallServiceName =
         partitionInstallServiceName(partitionName);
 
+    final int preferredLeader =
+        partitionsLeaderMatrix.getPreferredLeader(configuration.getPartitionId());
+    final boolean isPreferredLeader = preferredLeader == brokerCfg.getCluster().getNodeId();
+
     final PartitionInstallService partitionInstallService =
-        new PartitionInstallService(brokerCfg, configuration);
+        new PartitionInstallService(brokerCfg, configuration, isPreferredLeader);
 
     startContext
         .createService(partitionInstallServiceName, partitionInstallService)
@@ -0,0 +1,205 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.clustering.base.partitions;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.clustering.base.topology.NodeInfo;
+import io.zeebe.broker.clustering.base.topology.TopologyManager;
+import io.zeebe.broker.system.configuration.ClusterCfg;
+import io.zeebe.raft.Raft;
+import io.zeebe.raft.state.RaftState;
+import io.zeebe.servicecontainer.Injector;
+import io.zeebe.servicecontainer.Service;
+import io.zeebe.servicecontainer.ServiceGroupReference;
+import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+
+/**
+ * Moves the leadership of the partitions back to their preferred leaders (see {@link
+ * PartitionsLeaderMatrix}), so that the leaders stay spread evenly over the cluster after brokers
+ * restarted or failed over. Periodically checks the locally led partitions and asks the preferred
+ * leader to take over if it is a follower of the partition in the gossiped topology.
+ *
+ * <p>Also exposes how many partitions this broker leads, and how many of them it is the preferred
+ * leader of.
+ */
+public class LeaderBalancerService extends Actor implements Service<Void> {
+  private static final Logger LOG = Loggers.CLUSTERING_LOGGER;
+
+  private final Injector<TopologyManager> topologyManagerInjector = new Injector<>();
+
+  private final List<Raft> rafts = new ArrayList<>();
+
+  private final ServiceGroupReference<Raft> raftReference =
+      ServiceGroupReference.<Raft>create()
+          .onAdd((name, raft) -> actor.run(() -> rafts.add(raft)))
+          .onRemove((name, raft) -> actor.run(() -> rafts.remove(raft)))
+          .build();
+
+  private final ClusterCfg clusterCfg;
+  private final PartitionsLeaderMatrix partitionsLeaderMatrix;
+
+  private TopologyManager topologyManager;
+
+  private Metric preferredLeaderCount;
+  private Metric otherLeaderCount;
+  private Metric leaderTransferCount;
+
+  public LeaderBalancerService(final ClusterCfg clusterCfg) {
+    this.clusterCfg = clusterCfg;
+    this.partitionsLeaderMatrix =
+        new PartitionsLeaderMatrix(
+            clusterCfg.getPartitionsCount(),
+            clusterCfg.getClusterSize(),
+            clusterCfg.getReplicationFactor());
+  }
+
+  @Override
+  public void start(final ServiceStartContext startContext) {
+    topologyManager = topologyManagerInjector.getValue();
+
+    final MetricsManager metricsManager = startContext.getScheduler().getMetricsManager();
+
+    preferredLeaderCount =
+        metricsManager
+            .newMetric("cluster_partition_leaders")
+            .type("gauge")
+            .label("preferred", "true")
+            .create();
+    otherLeaderCount =
+        metricsManager
+            .newMetric("cluster_partition_leaders")
+            .type("gauge")
+            .label("preferred", "false")
+            .create();
+    leaderTransferCount =
+        metricsManager
+            .newMetric("cluster_partition_leader_transfers_count")
+            .type("counter")
+            .create();
+
+    startContext.async(startContext.getScheduler().submitActor(this));
+  }
+
+  @Override
+  public void stop(final ServiceStopContext stopContext) {
+    stopContext.async(actor.close());
+  }
+
+  @Override
+  public String getName() {
+    return "leader-balancer";
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.runAtFixedRate(clusterCfg.getLeaderBalancingIntervalDuration(), this::balanceLeaders);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    preferredLeaderCount.close();
+    otherLeaderCount.close();
+    leaderTransferCount.close();
+  }
+
+  private void balanceLeaders() {
+    final int nodeId = clusterCfg.getNodeId();
+
+    int preferredLeaders = 0;
+    int otherLeaders = 0;
+
+    for (final Raft raft : rafts) {
+      if (raft.getState() == RaftState.LEADER) {
+        final int partitionId = raft.getPartitionId();
+        final int preferredLeader = partitionsLeaderMatrix.getPreferredLeader(partitionId);
+        if (preferredLeader == nodeId) {
+          preferredLeaders++;
+        } else {
+          otherLeaders++;
+
+          if (clusterCfg.isLeaderBalancing()) {
+            transferLeadershipIfAvailable(raft, preferredLeader);
+          }
+        }
+      }
+    }
+
+    preferredLeaderCount.setOrdered(preferredLeaders);
+    otherLeaderCount.setOrdered(otherLeaders);
+  }
+
+  private void transferLeadershipIfAvailable(final Raft raft, final int preferredLeader) {
+    final int partitionId = raft.getPartitionId();
+    final ActorFuture<Boolean> isFollowing =
+        topologyManager.query(
+            topology -> {
+              final List<NodeInfo> followers = topology.getFollowers(partitionId);
+              return followers.stream().anyMatch(f -> f.getNodeId() == preferredLeader);
+            });
+
+    actor.runOnCompletion(
+        isFollowing,
+        (following, error) -> {
+          if (error == null && following) {
+            transferLeadership(raft, preferredLeader);
+          }
+        });
+  }
+
+  private void transferLeadership(final Raft raft, final int preferredLeader) {
+    actor.runOnCompletion(
+        raft.transferLeadership(preferredLeader),
+        (transferred, error) -> {
+          if (error != null) {
+            LOG.warn("Failed to transfer leadership of {}", raft.getName(), error);
+          } else if (transferred) {
+            LOG.info(
+                "Transferred leadership of {} to its preferred leader {}",
+                raft.getName(),
+                preferredLeader);
+            leaderTransferCount.incrementOrdered();
+          } else {
+            LOG.debug(
+                "Preferred leader {} of {} has not caught up yet, keep leadership",
+                preferredLeader,
+                raft.getName());
+          }
+        });
+  }
+
+  @Override
+  public Void get() {
+    return null;
+  }
+
+  public Injector<TopologyManager> getTopologyManagerInjector() {
+    return topologyManagerInjector;
+  }
+
+  public ServiceGroupReference<Raft> getRaftReference() {
+    return raftReference;
+  }
+}
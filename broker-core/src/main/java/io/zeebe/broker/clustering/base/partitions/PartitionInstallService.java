@@ -33,12 +33,12 @@ import io.zeebe.broker.clustering.base.topology.PartitionInfo;
 import io.zeebe.broker.logstreams.state.StateStorageFactory;
 import io.zeebe.broker.logstreams.state.StateStorageFactoryService;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.logstreams.LogStreams;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.state.StateStorage;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.RaftStateListener;
-import io.zeebe.raft.controller.MemberReplicateLogController;
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.servicecontainer.CompositeServiceBuilder;
 import io.zeebe.servicecontainer.Injector;
@@ -49,6 +49,7 @@ import io.zeebe.transport.ClientTransport;
 import io.zeebe.util.sched.channel.OneToOneRingBufferChannel;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.io.File;
 import java.util.Collection;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
@@ -67,6 +68,7 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
   private final Injector<ClientTransport> clientTransportInjector = new Injector<>();
   private final RaftPersistentConfiguration configuration;
   private final PartitionInfo partitionInfo;
+  private final boolean isPreferredLeader;
 
   private ServiceStartContext startContext;
   private ServiceName<LogStream> logStreamServiceName;
@@ -74,9 +76,12 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
   private ServiceName<StateStorageFactory> stateStorageFactoryServiceName;
 
   public PartitionInstallService(
-      final BrokerCfg brokerCfg, final RaftPersistentConfiguration configuration) {
+      final BrokerCfg brokerCfg,
+      final RaftPersistentConfiguration configuration,
+      final boolean isPreferredLeader) {
     this.brokerCfg = brokerCfg;
     this.configuration = configuration;
+    this.isPreferredLeader = isPreferredLeader;
     this.partitionInfo =
         new PartitionInfo(configuration.getPartitionId(), configuration.getReplicationFactor());
   }
@@ -113,6 +118,7 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
             .logName(logName)
             .indexStateStorage(stateStorage)
             .maxSnapshots(brokerCfg.getData().getMaxSnapshots())
+            .logArchiveDirectory(getLogArchiveDirectory(logName))
             .buildWith(partitionInstall);
 
     final StateStorageFactoryService stateStorageFactoryService =
@@ -122,12 +128,10 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
         .createService(stateStorageFactoryServiceName, stateStorageFactoryService)
         .install();
 
+    final int receiveBufferSize = brokerCfg.getRaft().getReceiveBufferSizeBytes();
     final OneToOneRingBufferChannel messageBuffer =
         new OneToOneRingBufferChannel(
-            new UnsafeBuffer(
-                new byte
-                    [(MemberReplicateLogController.REMOTE_BUFFER_SIZE)
-                        + RingBufferDescriptor.TRAILER_LENGTH]));
+            new UnsafeBuffer(new byte[receiveBufferSize + RingBufferDescriptor.TRAILER_LENGTH]));
 
     final Raft raftService =
         new Raft(
@@ -140,6 +144,7 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
             this);
 
     raftService.addMembersWhenJoined(configuration.getMembers());
+    raftService.setPreferredLeader(isPreferredLeader);
 
     partitionInstall
         .createService(raftServiceName, raftService)
@@ -151,6 +156,15 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
     partitionInstall.install();
   }
 
+  private String getLogArchiveDirectory(final String logName) {
+    final DataCfg dataCfg = brokerCfg.getData();
+    if (dataCfg.isLogArchiveEnabled()) {
+      return new File(dataCfg.getLogArchiveDirectory(), logName).getAbsolutePath();
+    } else {
+      return null;
+    }
+  }
+
   @Override
   public ActorFuture<Void> onMemberLeaving(final Raft raft, final Collection<Integer> nodeIds) {
     final ServiceName<Partition> partitionServiceName = leaderPartitionServiceName(raft.getName());
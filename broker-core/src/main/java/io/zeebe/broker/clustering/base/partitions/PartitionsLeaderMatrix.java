@@ -111,7 +111,7 @@ public class PartitionsLeaderMatrix {
 
   private void init() {
     for (int row = 0; row < rowCount; row++) {
-      final int leader = row % columnCount;
+      final int leader = getPreferredLeader(row);
       matrix[row][leader] = LEADER;
 
       int column;
@@ -122,6 +122,14 @@ public class PartitionsLeaderMatrix {
     }
   }
 
+  /**
+   * @return the node which should lead the given partition, to spread the leaders evenly over the
+   *     cluster
+   */
+  public int getPreferredLeader(final int partitionId) {
+    return partitionId % columnCount;
+  }
+
   public IntArrayList getLeadingPartitions(final int nodeId) {
     final IntArrayList leadingPartitions = new IntArrayList();
     for (int row = 0; row < rowCount; row++) {
@@ -20,6 +20,10 @@ package io.zeebe.broker.exporter;
 public class ExporterException extends RuntimeException {
   private static final long serialVersionUID = 9144017472787012481L;
 
+  public ExporterException(String message) {
+    super(message);
+  }
+
   public ExporterException(String message, Throwable cause) {
     super(message, cause);
   }
@@ -19,12 +19,15 @@ package io.zeebe.broker.exporter;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.broker.exporter.jar.ExporterJarLoadException;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.broker.exporter.repo.ExporterLoadException;
 import io.zeebe.broker.exporter.repo.ExporterRepository;
 import io.zeebe.broker.exporter.stream.ExporterColumnFamilies;
+import io.zeebe.broker.exporter.stream.ExporterRecord;
 import io.zeebe.broker.exporter.stream.ExporterStreamProcessor;
 import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory;
 import io.zeebe.broker.logstreams.state.DefaultZeebeDbFactory;
+import io.zeebe.broker.logstreams.state.StateStorageFactory;
 import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.logstreams.state.StateSnapshotController;
@@ -34,7 +37,14 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.util.DurationUtil;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ExporterManagerService implements Service<ExporterManagerService> {
   public static final int EXPORTER_PROCESSOR_ID = 1003;
@@ -44,10 +54,15 @@ public class ExporterManagerService implements Service<ExporterManagerService> {
       new Injector<>();
 
   private final ServiceGroupReference<Partition> partitionsGroupReference =
-      ServiceGroupReference.<Partition>create().onAdd(this::startExporter).build();
+      ServiceGroupReference.<Partition>create()
+          .onAdd(this::startExporter)
+          .onRemove(this::removeExportedPositions)
+          .build();
 
   private final List<ExporterCfg> exporterCfgs;
   private final ExporterRepository exporterRepository;
+  private final Map<String, ExporterCfg> exporterCfgsById = new HashMap<>();
+  private final Map<Integer, Map<String, Long>> exportedPositions = new ConcurrentHashMap<>();
 
   private StreamProcessorServiceFactory streamProcessorServiceFactory;
 
@@ -68,33 +83,118 @@ public class ExporterManagerService implements Service<ExporterManagerService> {
     for (ExporterCfg exporterCfg : exporterCfgs) {
       try {
         exporterRepository.load(exporterCfg);
+        exporterCfgsById.put(exporterCfg.getId(), exporterCfg);
       } catch (ExporterLoadException | ExporterJarLoadException e) {
         throw new RuntimeException("Failed to load exporter with configuration: " + exporterCfg, e);
       }
     }
   }
 
+  /**
+   * Every exporter runs in its own stream processor, with its own reader and state, so a slow
+   * exporter does not hold back the other exporters of the partition. The log of the partition is
+   * only archived up to the lowest position which is exported by all of them.
+   */
   private void startExporter(ServiceName<Partition> partitionName, Partition partition) {
-    final StateStorage stateStorage =
-        partition.getStateStorageFactory().create(EXPORTER_PROCESSOR_ID, PROCESSOR_NAME);
-
-    final SnapshotController snapshotController =
-        new StateSnapshotController(
-            DefaultZeebeDbFactory.defaultFactory(ExporterColumnFamilies.class), stateStorage);
-
-    streamProcessorServiceFactory
-        .createService(partition, partitionName)
-        .processorId(EXPORTER_PROCESSOR_ID)
-        .processorName(PROCESSOR_NAME)
-        .snapshotController(snapshotController)
-        .streamProcessorFactory(
-            (zeebeDb, dbContext) ->
-                new ExporterStreamProcessor(
-                    zeebeDb,
-                    dbContext,
-                    partition.getInfo().getPartitionId(),
-                    exporterRepository.getExporters().values()))
-        .build();
+    final int partitionId = partition.getInfo().getPartitionId();
+    final Map<String, Long> positions = new ConcurrentHashMap<>();
+    final StateStorageFactory stateStorageFactory = partition.getStateStorageFactory();
+    final Collection<ExporterDescriptor> descriptors = exporterRepository.getExporters().values();
+
+    final Map<String, StateStorage> stateStorages = new HashMap<>();
+    boolean hasExporterWithoutSnapshot = false;
+    for (final ExporterDescriptor descriptor : descriptors) {
+      final String processorName = getProcessorName(descriptor);
+      final StateStorage stateStorage =
+          stateStorageFactory.create(EXPORTER_PROCESSOR_ID, processorName);
+      stateStorages.put(descriptor.getId(), stateStorage);
+      hasExporterWithoutSnapshot |= stateStorage.list().isEmpty();
+    }
+
+    final Map<String, Long> legacyPositions =
+        hasExporterWithoutSnapshot
+            ? LegacyExporterState.readPositions(stateStorageFactory, descriptors)
+            : Collections.emptyMap();
+
+    for (final ExporterDescriptor descriptor : descriptors) {
+      final String processorName = getProcessorName(descriptor);
+      final ExporterCfg exporterCfg = exporterCfgsById.get(descriptor.getId());
+      final Duration positionPersistPeriod =
+          DurationUtil.parse(exporterCfg.getPositionPersistPeriod());
+      final Duration positionCommitPeriod =
+          DurationUtil.parse(exporterCfg.getPositionCommitPeriod());
+      final long legacyPosition =
+          legacyPositions.getOrDefault(descriptor.getId(), ExporterRecord.POSITION_UNKNOWN);
+
+      final StateStorage stateStorage = stateStorages.get(descriptor.getId());
+      positions.put(descriptor.getId(), ExporterRecord.POSITION_UNKNOWN);
+
+      final SnapshotController snapshotController =
+          new StateSnapshotController(
+              DefaultZeebeDbFactory.defaultFactory(ExporterColumnFamilies.class), stateStorage);
+
+      streamProcessorServiceFactory
+          .createService(partition, partitionName)
+          .processorId(EXPORTER_PROCESSOR_ID)
+          .processorName(processorName)
+          .snapshotController(snapshotController)
+          .streamProcessorFactory(
+              (zeebeDb, dbContext) -> {
+                final ExporterStreamProcessor processor =
+                    new ExporterStreamProcessor(
+                        zeebeDb,
+                        dbContext,
+                        partitionId,
+                        Collections.singletonList(descriptor),
+                        positions::put,
+                        positionPersistPeriod,
+                        positionCommitPeriod,
+                        exporterCfg.getCatchUpReaders());
+
+                // continue where the exporter stopped before it got its own processor
+                processor.getState().setPositionIfGreater(descriptor.getId(), legacyPosition);
+                return processor;
+              })
+          .build();
+    }
+
+    if (!descriptors.isEmpty()) {
+      exportedPositions.put(partitionId, positions);
+      streamProcessorServiceFactory.setArchivePositionLimit(
+          partitionId, () -> getLowestExportedPosition(partitionId));
+    }
+  }
+
+  private void removeExportedPositions(ServiceName<Partition> partitionName, Partition partition) {
+    final int partitionId = partition.getInfo().getPartitionId();
+
+    streamProcessorServiceFactory.removeArchivePositionLimit(partitionId);
+    exportedPositions.remove(partitionId);
+  }
+
+  /**
+   * Returns the lowest position which was exported by all exporters of the given partition. Events
+   * up to this position are not needed by the exporters anymore, so the log can be archived up to
+   * it.
+   *
+   * @return the lowest exported position, or {@link ExporterRecord#POSITION_UNKNOWN} if at least
+   *     one exporter has not exported anything yet
+   */
+  public long getLowestExportedPosition(int partitionId) {
+    final Map<String, Long> positions = exportedPositions.get(partitionId);
+    if (positions == null || positions.isEmpty()) {
+      return ExporterRecord.POSITION_UNKNOWN;
+    }
+
+    long lowestPosition = Long.MAX_VALUE;
+    for (final long position : positions.values()) {
+      lowestPosition = Math.min(lowestPosition, position);
+    }
+    return lowestPosition;
+  }
+
+  private static String getProcessorName(ExporterDescriptor descriptor) {
+    return PROCESSOR_NAME + "-" + descriptor.getId();
   }
 
   public Injector<StreamProcessorServiceFactory> getStreamProcessorServiceFactoryInjector() {
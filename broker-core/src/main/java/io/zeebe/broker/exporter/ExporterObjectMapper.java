@@ -41,6 +41,10 @@ public class ExporterObjectMapper {
 
   private final MsgPackConverter msgPackConverter;
 
+  // the writer reuses its buffer, but the copied records may be written by any thread
+  private final ThreadLocal<RecordJsonWriter> recordJsonWriter =
+      ThreadLocal.withInitial(RecordJsonWriter::new);
+
   public ExporterObjectMapper() {
     this.msgPackConverter = new MsgPackConverter();
 
@@ -81,6 +85,11 @@ public class ExporterObjectMapper {
     return msgPackConverter;
   }
 
+  /** @return the record JSON writer of the current thread */
+  public RecordJsonWriter getRecordJsonWriter() {
+    return recordJsonWriter.get();
+  }
+
   public String toJson(Object value) {
     try {
       return jsonObjectMapper.writeValueAsString(value);
@@ -90,6 +99,15 @@ public class ExporterObjectMapper {
     }
   }
 
+  public byte[] toJsonBytes(Object value) {
+    try {
+      return jsonObjectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(
+          String.format("Failed to serialize object '%s' to JSON", value), e);
+    }
+  }
+
   public byte[] toMsgpack(Object value) {
     try {
       return msgpackObjectMapper.writeValueAsBytes(value);
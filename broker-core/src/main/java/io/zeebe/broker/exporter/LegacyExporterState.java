@@ -0,0 +1,92 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter;
+
+import static io.zeebe.broker.exporter.ExporterManagerService.EXPORTER_PROCESSOR_ID;
+import static io.zeebe.broker.exporter.ExporterManagerService.PROCESSOR_NAME;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.broker.exporter.stream.ExporterColumnFamilies;
+import io.zeebe.broker.exporter.stream.ExporterRecord;
+import io.zeebe.broker.exporter.stream.ExporterStreamProcessorState;
+import io.zeebe.broker.logstreams.state.DefaultZeebeDbFactory;
+import io.zeebe.broker.logstreams.state.StateStorageFactory;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.logstreams.state.StateSnapshotController;
+import io.zeebe.logstreams.state.StateStorage;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+
+/**
+ * The state of the processor which exported the records of a partition to all exporters, before
+ * every exporter got its own processor. Its positions are read as long as an exporter has no
+ * snapshot of its own, so the exporters continue where they stopped before the upgrade.
+ */
+final class LegacyExporterState {
+  private static final Logger LOG = Loggers.EXPORTER_LOGGER;
+
+  private LegacyExporterState() {}
+
+  /**
+   * Reads the exported positions from the latest snapshot of the former processor.
+   *
+   * @return the positions by exporter id, empty if there is no such snapshot
+   */
+  static Map<String, Long> readPositions(
+      StateStorageFactory stateStorageFactory, Collection<ExporterDescriptor> descriptors) {
+    if (!stateStorageFactory.exists(EXPORTER_PROCESSOR_ID, PROCESSOR_NAME)) {
+      return Collections.emptyMap();
+    }
+
+    final StateStorage stateStorage =
+        stateStorageFactory.create(EXPORTER_PROCESSOR_ID, PROCESSOR_NAME);
+    final StateSnapshotController snapshotController =
+        new StateSnapshotController(
+            DefaultZeebeDbFactory.defaultFactory(ExporterColumnFamilies.class), stateStorage);
+    final Map<String, Long> positions = new HashMap<>();
+
+    try {
+      if (snapshotController.recover() > -1) {
+        final ZeebeDb<ExporterColumnFamilies> zeebeDb = snapshotController.openDb();
+        final ExporterStreamProcessorState state =
+            new ExporterStreamProcessorState(zeebeDb, zeebeDb.createContext());
+
+        for (final ExporterDescriptor descriptor : descriptors) {
+          final long position = state.getPosition(descriptor.getId());
+          if (position > ExporterRecord.POSITION_UNKNOWN) {
+            positions.put(descriptor.getId(), position);
+          }
+        }
+      }
+    } catch (final Exception e) {
+      LOG.error("Failed to read the exported positions of the former exporter processor", e);
+    } finally {
+      try {
+        snapshotController.close();
+      } catch (final Exception e) {
+        LOG.error("Failed to close the state of the former exporter processor", e);
+      }
+    }
+
+    return positions;
+  }
+}
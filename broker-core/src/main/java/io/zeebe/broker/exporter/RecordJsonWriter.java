@@ -0,0 +1,635 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.exporter.api.record.RecordValueWithVariables;
+import io.zeebe.exporter.api.record.value.DeploymentRecordValue;
+import io.zeebe.exporter.api.record.value.ErrorRecordValue;
+import io.zeebe.exporter.api.record.value.IncidentRecordValue;
+import io.zeebe.exporter.api.record.value.JobBatchRecordValue;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.exporter.api.record.value.MessageRecordValue;
+import io.zeebe.exporter.api.record.value.MessageStartEventSubscriptionRecordValue;
+import io.zeebe.exporter.api.record.value.MessageSubscriptionRecordValue;
+import io.zeebe.exporter.api.record.value.RaftRecordValue;
+import io.zeebe.exporter.api.record.value.TimerRecordValue;
+import io.zeebe.exporter.api.record.value.VariableDocumentRecordValue;
+import io.zeebe.exporter.api.record.value.VariableRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceCreationRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceSubscriptionRecordValue;
+import io.zeebe.exporter.api.record.value.deployment.DeployedWorkflow;
+import io.zeebe.exporter.api.record.value.deployment.DeploymentResource;
+import io.zeebe.exporter.api.record.value.job.Headers;
+import io.zeebe.exporter.api.record.value.raft.RaftMember;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+/**
+ * Writes records as UTF-8 encoded JSON with a streaming generator, without the reflection based
+ * object mapping. The properties are read through the getters of the exporter API, so records,
+ * metadata and values can be written directly from the views on the logged events. The JSON is
+ * written into a reusable buffer, so the writer is not thread-safe.
+ *
+ * <p>The output is equal to the output of {@link ExporterObjectMapper#toJson(Object)}: instants
+ * and durations are written as milliseconds, enums by their names, binary values as Base64
+ * strings, and null properties of the metadata are omitted.
+ *
+ * <p>MessagePack documents, e.g. the variables of a record, are converted token by token from the
+ * given buffer, without deserializing them into maps first. Conversely, a record value can be
+ * written as the MessagePack encoding of its JSON document.
+ */
+public class RecordJsonWriter {
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  private static final JsonFactory MSGPACK_FACTORY =
+      new MessagePackFactory()
+          .setReuseResourceInGenerator(false)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  private final MutableDirectBuffer jsonBuffer = new ExpandableArrayBuffer();
+  private final ExpandableDirectBufferOutputStream outputStream =
+      new ExpandableDirectBufferOutputStream();
+  private final MsgPackReader msgPackReader = new MsgPackReader();
+  private byte[] valueBytes = new byte[64];
+  private int jsonLength;
+
+  /**
+   * Writes the given record as JSON. The result is available through {@link #getJsonBuffer()}
+   * until the next record is written.
+   *
+   * @return the length of the JSON in bytes
+   */
+  public int write(final Record<?> record) {
+    outputStream.wrap(jsonBuffer);
+
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+      writeRecord(generator, record);
+    } catch (IOException e) {
+      throw new RuntimeException(
+          String.format(
+              "Failed to serialize record at position '%d' to JSON", record.getPosition()),
+          e);
+    }
+
+    jsonLength = outputStream.position();
+    return jsonLength;
+  }
+
+  /** @return the given record as JSON string */
+  public String toJson(final Record<?> record) {
+    write(record);
+    return jsonBuffer.getStringWithoutLengthUtf8(0, jsonLength);
+  }
+
+  /** @return the given record as UTF-8 encoded JSON */
+  public byte[] toJsonBytes(final Record<?> record) {
+    write(record);
+
+    final byte[] bytes = new byte[jsonLength];
+    jsonBuffer.getBytes(0, bytes);
+    return bytes;
+  }
+
+  /** @return the given metadata as JSON string */
+  public String toJson(final RecordMetadata metadata) {
+    outputStream.wrap(jsonBuffer);
+
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+      writeMetadata(generator, metadata);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize record metadata to JSON", e);
+    }
+
+    jsonLength = outputStream.position();
+    return jsonBuffer.getStringWithoutLengthUtf8(0, jsonLength);
+  }
+
+  /** @return the given record value as JSON string */
+  public String toJson(final RecordValue value) {
+    outputStream.wrap(jsonBuffer);
+
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+      writeValue(generator, value);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize record value to JSON", e);
+    }
+
+    jsonLength = outputStream.position();
+    return jsonBuffer.getStringWithoutLengthUtf8(0, jsonLength);
+  }
+
+  /**
+   * Writes the given MessagePack document as JSON. The result is available through {@link
+   * #getJsonBuffer()} until the next write.
+   *
+   * @return the length of the JSON in bytes
+   */
+  public int write(final DirectBuffer msgPack, final int offset, final int length) {
+    outputStream.wrap(jsonBuffer);
+    msgPackReader.wrap(msgPack, offset, length);
+
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+      writeMsgPackValue(generator);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize MessagePack document to JSON", e);
+    }
+
+    jsonLength = outputStream.position();
+    return jsonLength;
+  }
+
+  /** @return the given MessagePack document as JSON string */
+  public String toJson(final DirectBuffer msgPack) {
+    write(msgPack, 0, msgPack.capacity());
+    return jsonBuffer.getStringWithoutLengthUtf8(0, jsonLength);
+  }
+
+  /**
+   * Writes the given record value as MessagePack, with the same properties as its JSON, except
+   * that binary values are not encoded as Base64. The result is available through {@link
+   * #getJsonBuffer()} until the next write.
+   *
+   * @return the length of the MessagePack document in bytes
+   */
+  public int writeMsgPack(final RecordValue value) {
+    outputStream.wrap(jsonBuffer);
+
+    try (JsonGenerator generator = MSGPACK_FACTORY.createGenerator(outputStream)) {
+      writeValue(generator, value);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize record value to MessagePack", e);
+    }
+
+    jsonLength = outputStream.position();
+    return jsonLength;
+  }
+
+  /** @return the buffer which contains the result of the last write */
+  public DirectBuffer getJsonBuffer() {
+    return jsonBuffer;
+  }
+
+  public int getJsonLength() {
+    return jsonLength;
+  }
+
+  private void writeRecord(final JsonGenerator generator, final Record<?> record)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("key", record.getKey());
+    generator.writeNumberField("position", record.getPosition());
+    writeInstantField(generator, "timestamp", record.getTimestamp());
+    generator.writeNumberField("raftTerm", record.getRaftTerm());
+    generator.writeNumberField("producerId", record.getProducerId());
+    generator.writeNumberField("sourceRecordPosition", record.getSourceRecordPosition());
+    generator.writeFieldName("metadata");
+    writeMetadata(generator, record.getMetadata());
+    generator.writeFieldName("value");
+    writeValue(generator, record.getValue());
+    generator.writeEndObject();
+  }
+
+  private void writeMetadata(final JsonGenerator generator, final RecordMetadata metadata)
+      throws IOException {
+    if (metadata == null) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartObject();
+    generator.writeNumberField("partitionId", metadata.getPartitionId());
+    if (metadata.getIntent() != null) {
+      generator.writeStringField("intent", metadata.getIntent().name());
+    }
+    if (metadata.getRecordType() != null) {
+      generator.writeStringField("recordType", metadata.getRecordType().name());
+    }
+    if (metadata.getRejectionType() != null) {
+      generator.writeStringField("rejectionType", metadata.getRejectionType().name());
+    }
+    if (metadata.getRejectionReason() != null) {
+      generator.writeStringField("rejectionReason", metadata.getRejectionReason());
+    }
+    if (metadata.getValueType() != null) {
+      generator.writeStringField("valueType", metadata.getValueType().name());
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeValue(final JsonGenerator generator, final RecordValue value)
+      throws IOException {
+    if (value == null) {
+      generator.writeNull();
+      return;
+    }
+
+    generator.writeStartObject();
+
+    if (value instanceof DeploymentRecordValue) {
+      writeDeployment(generator, (DeploymentRecordValue) value);
+    } else if (value instanceof ErrorRecordValue) {
+      writeError(generator, (ErrorRecordValue) value);
+    } else if (value instanceof IncidentRecordValue) {
+      writeIncident(generator, (IncidentRecordValue) value);
+    } else if (value instanceof JobBatchRecordValue) {
+      writeJobBatch(generator, (JobBatchRecordValue) value);
+    } else if (value instanceof JobRecordValue) {
+      writeJob(generator, (JobRecordValue) value);
+    } else if (value instanceof MessageRecordValue) {
+      writeMessage(generator, (MessageRecordValue) value);
+    } else if (value instanceof MessageStartEventSubscriptionRecordValue) {
+      writeMessageStartEventSubscription(
+          generator, (MessageStartEventSubscriptionRecordValue) value);
+    } else if (value instanceof MessageSubscriptionRecordValue) {
+      writeMessageSubscription(generator, (MessageSubscriptionRecordValue) value);
+    } else if (value instanceof RaftRecordValue) {
+      writeRaft(generator, (RaftRecordValue) value);
+    } else if (value instanceof TimerRecordValue) {
+      writeTimer(generator, (TimerRecordValue) value);
+    } else if (value instanceof VariableDocumentRecordValue) {
+      writeVariableDocument(generator, (VariableDocumentRecordValue) value);
+    } else if (value instanceof VariableRecordValue) {
+      writeVariable(generator, (VariableRecordValue) value);
+    } else if (value instanceof WorkflowInstanceCreationRecordValue) {
+      writeWorkflowInstanceCreation(generator, (WorkflowInstanceCreationRecordValue) value);
+    } else if (value instanceof WorkflowInstanceRecordValue) {
+      writeWorkflowInstance(generator, (WorkflowInstanceRecordValue) value);
+    } else if (value instanceof WorkflowInstanceSubscriptionRecordValue) {
+      writeWorkflowInstanceSubscription(generator, (WorkflowInstanceSubscriptionRecordValue) value);
+    } else {
+      throw new IllegalArgumentException(
+          String.format("Cannot serialize record value of type %s to JSON", value.getClass()));
+    }
+
+    if (value instanceof RecordValueWithVariables) {
+      generator.writeStringField("variables", ((RecordValueWithVariables) value).getVariables());
+    }
+
+    generator.writeEndObject();
+  }
+
+  private void writeDeployment(final JsonGenerator generator, final DeploymentRecordValue value)
+      throws IOException {
+    generator.writeArrayFieldStart("resources");
+    for (final DeploymentResource resource : value.getResources()) {
+      generator.writeStartObject();
+      generator.writeFieldName("resource");
+      generator.writeBinary(resource.getResource());
+      writeEnumField(generator, "resourceType", resource.getResourceType());
+      generator.writeStringField("resourceName", resource.getResourceName());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("deployedWorkflows");
+    for (final DeployedWorkflow workflow : value.getDeployedWorkflows()) {
+      generator.writeStartObject();
+      generator.writeStringField("bpmnProcessId", workflow.getBpmnProcessId());
+      generator.writeStringField("resourceName", workflow.getResourceName());
+      generator.writeNumberField("workflowKey", workflow.getWorkflowKey());
+      generator.writeNumberField("version", workflow.getVersion());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeError(final JsonGenerator generator, final ErrorRecordValue value)
+      throws IOException {
+    generator.writeStringField("exceptionMessage", value.getExceptionMessage());
+    generator.writeStringField("stacktrace", value.getStacktrace());
+    generator.writeNumberField("errorEventPosition", value.getErrorEventPosition());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+  }
+
+  private void writeIncident(final JsonGenerator generator, final IncidentRecordValue value)
+      throws IOException {
+    generator.writeStringField("errorType", value.getErrorType());
+    generator.writeStringField("errorMessage", value.getErrorMessage());
+    generator.writeStringField("bpmnProcessId", value.getBpmnProcessId());
+    generator.writeStringField("elementId", value.getElementId());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+    generator.writeNumberField("elementInstanceKey", value.getElementInstanceKey());
+    generator.writeNumberField("jobKey", value.getJobKey());
+    generator.writeNumberField("variableScopeKey", value.getVariableScopeKey());
+  }
+
+  private void writeJobBatch(final JsonGenerator generator, final JobBatchRecordValue value)
+      throws IOException {
+    generator.writeStringField("type", value.getType());
+    generator.writeStringField("worker", value.getWorker());
+    writeDurationField(generator, "timeout", value.getTimeout());
+    generator.writeNumberField("maxJobsToActivate", value.getMaxJobsToActivate());
+
+    generator.writeArrayFieldStart("jobKeys");
+    for (final Long jobKey : value.getJobKeys()) {
+      generator.writeNumber(jobKey);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("jobs");
+    for (final JobRecordValue job : value.getJobs()) {
+      writeValue(generator, job);
+    }
+    generator.writeEndArray();
+
+    generator.writeBooleanField("truncated", value.isTruncated());
+  }
+
+  private void writeJob(final JsonGenerator generator, final JobRecordValue value)
+      throws IOException {
+    generator.writeStringField("type", value.getType());
+    generator.writeStringField("worker", value.getWorker());
+    writeInstantField(generator, "deadline", value.getDeadline());
+
+    final Headers headers = value.getHeaders();
+    generator.writeFieldName("headers");
+    if (headers != null) {
+      generator.writeStartObject();
+      generator.writeStringField("bpmnProcessId", headers.getBpmnProcessId());
+      generator.writeStringField("elementId", headers.getElementId());
+      generator.writeNumberField("elementInstanceKey", headers.getElementInstanceKey());
+      generator.writeNumberField("workflowInstanceKey", headers.getWorkflowInstanceKey());
+      generator.writeNumberField("workflowKey", headers.getWorkflowKey());
+      generator.writeNumberField(
+          "workflowDefinitionVersion", headers.getWorkflowDefinitionVersion());
+      generator.writeEndObject();
+    } else {
+      generator.writeNull();
+    }
+
+    generator.writeFieldName("customHeaders");
+    writeObject(generator, value.getCustomHeaders());
+    generator.writeNumberField("retries", value.getRetries());
+    generator.writeStringField("errorMessage", value.getErrorMessage());
+  }
+
+  private void writeMessage(final JsonGenerator generator, final MessageRecordValue value)
+      throws IOException {
+    generator.writeStringField("name", value.getName());
+    generator.writeStringField("messageId", value.getMessageId());
+    generator.writeStringField("correlationKey", value.getCorrelationKey());
+    generator.writeNumberField("timeToLive", value.getTimeToLive());
+  }
+
+  private void writeMessageStartEventSubscription(
+      final JsonGenerator generator, final MessageStartEventSubscriptionRecordValue value)
+      throws IOException {
+    generator.writeNumberField("workflowKey", value.getWorkflowKey());
+    generator.writeStringField("startEventId", value.getStartEventId());
+    generator.writeStringField("messageName", value.getMessageName());
+  }
+
+  private void writeMessageSubscription(
+      final JsonGenerator generator, final MessageSubscriptionRecordValue value)
+      throws IOException {
+    generator.writeStringField("messageName", value.getMessageName());
+    generator.writeStringField("correlationKey", value.getCorrelationKey());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+    generator.writeNumberField("elementInstanceKey", value.getElementInstanceKey());
+  }
+
+  private void writeRaft(final JsonGenerator generator, final RaftRecordValue value)
+      throws IOException {
+    generator.writeArrayFieldStart("members");
+    for (final RaftMember member : value.getMembers()) {
+      generator.writeStartObject();
+      generator.writeNumberField("nodeId", member.getNodeId());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeTimer(final JsonGenerator generator, final TimerRecordValue value)
+      throws IOException {
+    generator.writeNumberField("elementInstanceKey", value.getElementInstanceKey());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+    generator.writeNumberField("dueDate", value.getDueDate());
+    generator.writeStringField("handlerFlowNodeId", value.getHandlerFlowNodeId());
+    generator.writeNumberField("repetitions", value.getRepetitions());
+    generator.writeNumberField("workflowKey", value.getWorkflowKey());
+  }
+
+  private void writeVariableDocument(
+      final JsonGenerator generator, final VariableDocumentRecordValue value) throws IOException {
+    generator.writeNumberField("scopeKey", value.getScopeKey());
+    writeEnumField(generator, "updateSemantics", value.getUpdateSemantics());
+    generator.writeFieldName("document");
+    writeObject(generator, value.getDocument());
+  }
+
+  private void writeVariable(final JsonGenerator generator, final VariableRecordValue value)
+      throws IOException {
+    generator.writeStringField("name", value.getName());
+    generator.writeStringField("value", value.getValue());
+    generator.writeNumberField("scopeKey", value.getScopeKey());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+    generator.writeNumberField("workflowKey", value.getWorkflowKey());
+  }
+
+  private void writeWorkflowInstanceCreation(
+      final JsonGenerator generator, final WorkflowInstanceCreationRecordValue value)
+      throws IOException {
+    generator.writeStringField("bpmnProcessId", value.getBpmnProcessId());
+    generator.writeNumberField("version", value.getVersion());
+    generator.writeNumberField("key", value.getKey());
+    generator.writeNumberField("instanceKey", value.getInstanceKey());
+    generator.writeFieldName("variables");
+    writeObject(generator, value.getVariables());
+  }
+
+  private void writeWorkflowInstance(
+      final JsonGenerator generator, final WorkflowInstanceRecordValue value) throws IOException {
+    generator.writeStringField("bpmnProcessId", value.getBpmnProcessId());
+    generator.writeStringField("elementId", value.getElementId());
+    generator.writeNumberField("version", value.getVersion());
+    generator.writeNumberField("workflowKey", value.getWorkflowKey());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+    generator.writeNumberField("flowScopeKey", value.getFlowScopeKey());
+    writeEnumField(generator, "bpmnElementType", value.getBpmnElementType());
+  }
+
+  private void writeWorkflowInstanceSubscription(
+      final JsonGenerator generator, final WorkflowInstanceSubscriptionRecordValue value)
+      throws IOException {
+    generator.writeStringField("messageName", value.getMessageName());
+    generator.writeNumberField("workflowInstanceKey", value.getWorkflowInstanceKey());
+    generator.writeNumberField("elementInstanceKey", value.getElementInstanceKey());
+  }
+
+  private void writeInstantField(
+      final JsonGenerator generator, final String name, final Instant instant)
+      throws IOException {
+    if (instant != null) {
+      generator.writeNumberField(name, instant.toEpochMilli());
+    } else {
+      generator.writeNullField(name);
+    }
+  }
+
+  private void writeDurationField(
+      final JsonGenerator generator, final String name, final Duration duration)
+      throws IOException {
+    if (duration != null) {
+      generator.writeNumberField(name, duration.toMillis());
+    } else {
+      generator.writeNullField(name);
+    }
+  }
+
+  private void writeEnumField(final JsonGenerator generator, final String name, final Enum<?> value)
+      throws IOException {
+    generator.writeStringField(name, value != null ? value.name() : null);
+  }
+
+  private void writeMsgPackValue(final JsonGenerator generator) throws IOException {
+    final MsgPackToken token = msgPackReader.readToken();
+
+    switch (token.getType()) {
+      case NIL:
+        generator.writeNull();
+        break;
+      case BOOLEAN:
+        generator.writeBoolean(token.getBooleanValue());
+        break;
+      case INTEGER:
+        generator.writeNumber(token.getIntegerValue());
+        break;
+      case FLOAT:
+        generator.writeNumber(token.getFloatValue());
+        break;
+      case STRING:
+        writeMsgPackString(generator, token.getValueBuffer());
+        break;
+      case BINARY:
+        final DirectBuffer value = token.getValueBuffer();
+        generator.writeBinary(copyBytes(value), 0, value.capacity());
+        break;
+      case ARRAY:
+        final int arraySize = token.getSize();
+        generator.writeStartArray();
+        for (int i = 0; i < arraySize; i++) {
+          writeMsgPackValue(generator);
+        }
+        generator.writeEndArray();
+        break;
+      case MAP:
+        final int mapSize = token.getSize();
+        generator.writeStartObject();
+        for (int i = 0; i < mapSize; i++) {
+          writeMsgPackKey(generator);
+          writeMsgPackValue(generator);
+        }
+        generator.writeEndObject();
+        break;
+      default:
+        throw new IllegalStateException(
+            String.format("Cannot convert MessagePack token of type %s to JSON", token.getType()));
+    }
+  }
+
+  private void writeMsgPackKey(final JsonGenerator generator) throws IOException {
+    final MsgPackToken token = msgPackReader.readToken();
+
+    switch (token.getType()) {
+      case STRING:
+        final DirectBuffer key = token.getValueBuffer();
+        generator.writeFieldName(key.getStringWithoutLengthUtf8(0, key.capacity()));
+        break;
+      case INTEGER:
+        generator.writeFieldName(Long.toString(token.getIntegerValue()));
+        break;
+      default:
+        throw new IllegalStateException(
+            String.format("Cannot convert MessagePack key of type %s to JSON", token.getType()));
+    }
+  }
+
+  /** Writes the UTF-8 encoded string as it is, only quotes and control characters are escaped. */
+  private void writeMsgPackString(final JsonGenerator generator, final DirectBuffer value)
+      throws IOException {
+    generator.writeUTF8String(copyBytes(value), 0, value.capacity());
+  }
+
+  /** @return a reused array which contains the bytes of the value at its beginning */
+  private byte[] copyBytes(final DirectBuffer value) {
+    final int length = value.capacity();
+    if (valueBytes.length < length) {
+      valueBytes = new byte[Math.max(length, valueBytes.length * 2)];
+    }
+
+    value.getBytes(0, valueBytes, 0, length);
+    return valueBytes;
+  }
+
+  /** Writes the deserialized values of a document, e.g. the custom headers of a job. */
+  private void writeObject(final JsonGenerator generator, final Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof Map) {
+      generator.writeStartObject();
+      for (final Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        generator.writeFieldName(String.valueOf(entry.getKey()));
+        writeObject(generator, entry.getValue());
+      }
+      generator.writeEndObject();
+    } else if (value instanceof Collection) {
+      generator.writeStartArray();
+      for (final Object element : (Collection<?>) value) {
+        writeObject(generator, element);
+      }
+      generator.writeEndArray();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    } else if (value instanceof BigInteger) {
+      generator.writeNumber((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) value);
+    } else if (value instanceof Number) {
+      generator.writeNumber(((Number) value).longValue());
+    } else if (value instanceof byte[]) {
+      generator.writeBinary((byte[]) value);
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+}
@@ -19,11 +19,13 @@ package io.zeebe.broker.exporter.context;
 
 import io.zeebe.exporter.api.context.Configuration;
 import io.zeebe.exporter.api.context.Context;
+import io.zeebe.protocol.impl.record.RecordMetadata;
 import org.slf4j.Logger;
 
 public class ExporterContext implements Context {
   private final Logger logger;
   private final Configuration configuration;
+  private RecordFilter filter;
 
   public ExporterContext(final Logger logger, final Configuration configuration) {
     this.logger = logger;
@@ -39,4 +41,21 @@ public class ExporterContext implements Context {
   public Configuration getConfiguration() {
     return configuration;
   }
+
+  @Override
+  public void setFilter(final RecordFilter filter) {
+    this.filter = filter;
+  }
+
+  public RecordFilter getFilter() {
+    return filter;
+  }
+
+  /** @return true if the exporter accepts records with the given metadata */
+  public boolean accepts(final RecordMetadata metadata) {
+    return filter == null
+        || (filter.acceptType(metadata.getRecordType())
+            && filter.acceptValue(metadata.getValueType())
+            && filter.acceptIntent(metadata.getValueType(), metadata.getIntent()));
+  }
 }
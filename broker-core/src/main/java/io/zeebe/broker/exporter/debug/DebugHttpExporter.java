@@ -51,7 +51,7 @@ public class DebugHttpExporter implements Exporter {
   @Override
   public void export(Record record) {
     try {
-      httpServer.add(record);
+      httpServer.add(record.copy());
     } catch (Exception e) {
       log.warn("Failed to serialize record {} to json", record, e);
     }
@@ -62,7 +62,7 @@ public class DebugLogExporter implements Exporter {
   @Override
   public void export(Record record) {
     try {
-      log("{}", objectMapper.writeValueAsString(record));
+      log("{}", objectMapper.writeValueAsString(record.copy()));
     } catch (JsonProcessingException e) {
       log("Failed to serialize object '{}' to JSON", record, e);
     }
@@ -0,0 +1,179 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.file;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import io.zeebe.protocol.Protocol;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * The durable progress of the {@link FileExporter} in a partition directory: the last position of
+ * the completed files, and the state of the current file at its last sync. It is used on restart
+ * to truncate the left over file to its last sync, and to skip the records which are already
+ * written.
+ *
+ * <p>The checkpoint has a fixed length and is overwritten in place. It is protected by a checksum,
+ * so a torn write is read as an empty checkpoint.
+ */
+class ExportCheckpoint implements AutoCloseable {
+  static final String FILE_NAME = "checkpoint";
+
+  private static final int MAX_FILE_NAME_LENGTH = 64;
+
+  private static final int COMPLETED_POSITION_OFFSET = 0;
+  private static final int SYNCED_POSITION_OFFSET = COMPLETED_POSITION_OFFSET + Long.BYTES;
+  private static final int SYNCED_LENGTH_OFFSET = SYNCED_POSITION_OFFSET + Long.BYTES;
+  private static final int SYNCED_SIZE_OFFSET = SYNCED_LENGTH_OFFSET + Long.BYTES;
+  private static final int SYNCED_CHECKSUM_OFFSET = SYNCED_SIZE_OFFSET + Long.BYTES;
+  private static final int FILE_NAME_LENGTH_OFFSET = SYNCED_CHECKSUM_OFFSET + Integer.BYTES;
+  private static final int FILE_NAME_OFFSET = FILE_NAME_LENGTH_OFFSET + Integer.BYTES;
+  private static final int CHECKSUM_OFFSET = FILE_NAME_OFFSET + MAX_FILE_NAME_LENGTH;
+  private static final int LENGTH = CHECKSUM_OFFSET + Integer.BYTES;
+
+  private final ByteBuffer buffer = ByteBuffer.allocate(LENGTH).order(Protocol.ENDIANNESS);
+  private final CRC32 checksum = new CRC32();
+  private final FileChannel channel;
+
+  private long completedPosition = -1L;
+  private long syncedPosition = -1L;
+  private long syncedLength;
+  private long syncedSize;
+  private int syncedChecksum;
+  private String fileName = "";
+
+  ExportCheckpoint(final Path directory) throws IOException {
+    channel = FileChannel.open(directory.resolve(FILE_NAME), CREATE, READ, WRITE);
+    read();
+  }
+
+  private void read() throws IOException {
+    buffer.clear();
+    while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+      // read until the checkpoint is complete or the end of the file is reached
+    }
+
+    if (buffer.position() < LENGTH || computeChecksum() != buffer.getInt(CHECKSUM_OFFSET)) {
+      // no checkpoint is written yet, or the last write is torn
+      return;
+    }
+
+    completedPosition = buffer.getLong(COMPLETED_POSITION_OFFSET);
+    syncedPosition = buffer.getLong(SYNCED_POSITION_OFFSET);
+    syncedLength = buffer.getLong(SYNCED_LENGTH_OFFSET);
+    syncedSize = buffer.getLong(SYNCED_SIZE_OFFSET);
+    syncedChecksum = buffer.getInt(SYNCED_CHECKSUM_OFFSET);
+    fileName =
+        new String(
+            buffer.array(),
+            FILE_NAME_OFFSET,
+            buffer.getInt(FILE_NAME_LENGTH_OFFSET),
+            StandardCharsets.UTF_8);
+  }
+
+  /** Stores the state of the given file, which is synced up to the given position. */
+  void synced(final ExportFile file, final long position) throws IOException {
+    fileName = file.getFileName();
+    syncedPosition = position;
+    syncedLength = file.getLength();
+    syncedSize = file.getSize();
+    syncedChecksum = file.getChecksum();
+
+    write();
+  }
+
+  /** Stores that all records up to the given position are written to completed files. */
+  void completed(final long position) throws IOException {
+    completedPosition = position;
+
+    write();
+  }
+
+  private void write() throws IOException {
+    final byte[] fileNameBytes = fileName.getBytes(StandardCharsets.UTF_8);
+    if (fileNameBytes.length > MAX_FILE_NAME_LENGTH) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected file name to be at most %d bytes, but was '%s'",
+              MAX_FILE_NAME_LENGTH, fileName));
+    }
+
+    buffer.clear();
+    buffer.putLong(COMPLETED_POSITION_OFFSET, completedPosition);
+    buffer.putLong(SYNCED_POSITION_OFFSET, syncedPosition);
+    buffer.putLong(SYNCED_LENGTH_OFFSET, syncedLength);
+    buffer.putLong(SYNCED_SIZE_OFFSET, syncedSize);
+    buffer.putInt(SYNCED_CHECKSUM_OFFSET, syncedChecksum);
+    buffer.putInt(FILE_NAME_LENGTH_OFFSET, fileNameBytes.length);
+    System.arraycopy(fileNameBytes, 0, buffer.array(), FILE_NAME_OFFSET, fileNameBytes.length);
+    buffer.putInt(CHECKSUM_OFFSET, computeChecksum());
+
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, buffer.position());
+    }
+    channel.force(false);
+  }
+
+  private int computeChecksum() {
+    checksum.reset();
+    checksum.update(buffer.array(), 0, CHECKSUM_OFFSET);
+    return (int) checksum.getValue();
+  }
+
+  /** @return the position of the last record which is written to a completed file */
+  long getCompletedPosition() {
+    return completedPosition;
+  }
+
+  /** @return the position of the last record which is synced, to a completed or the current file */
+  long getSyncedPosition() {
+    return syncedPosition;
+  }
+
+  /** @return true if the given file contains synced records which are not completed yet */
+  boolean hasSyncedRecords(final String fileName) {
+    return this.fileName.equals(fileName) && syncedPosition > completedPosition;
+  }
+
+  /** @return the length of the file on disk at its last sync */
+  long getSyncedLength() {
+    return syncedLength;
+  }
+
+  /** @return the (uncompressed) count of bytes which were written to the file at its last sync */
+  long getSyncedSize() {
+    return syncedSize;
+  }
+
+  /** @return the CRC32 of the (uncompressed) bytes which were written at the last sync */
+  int getSyncedChecksum() {
+    return syncedChecksum;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.file;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A file of the {@link FileExporter} which is currently written. The file is written under a
+ * temporary name and renamed once it is completed, so that readers only pick up complete files.
+ *
+ * <p>A position is durable once {@link #sync()} or {@link #complete()} returned it. A file which
+ * is left over from a failure or a crash is truncated to its last sync and completed by {@link
+ * #recover(Path, long, long, int)}, or it is quarantined by {@link #quarantine(Path)} if nothing of
+ * it is known to be durable.
+ */
+class ExportFile {
+  static final String TMP_FILE_SUFFIX = ".tmp";
+  static final String INCOMPLETE_FILE_SUFFIX = ".incomplete";
+  static final String COMPRESSED_FILE_SUFFIX = ".gz";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** an empty final block with fixed Huffman codes, which ends the deflate stream after a flush */
+  private static final byte[] FINAL_DEFLATE_BLOCK = {0x03, 0x00};
+
+  private final Path path;
+  private final Path tmpPath;
+  private final long openedAtMillis;
+
+  private final FileOutputStream fileStream;
+  private final GZIPOutputStream compressedStream;
+  private final OutputStream outputStream;
+  private final CRC32 checksum = new CRC32();
+
+  private long size;
+  private long lastPosition = -1L;
+  private long lastSyncedPosition = -1L;
+
+  ExportFile(final Path path, final boolean compress, final long openedAtMillis)
+      throws IOException {
+    this.path = path;
+    this.tmpPath = Paths.get(path + TMP_FILE_SUFFIX);
+    this.openedAtMillis = openedAtMillis;
+
+    this.fileStream = new FileOutputStream(tmpPath.toFile());
+    if (compress) {
+      // sync flush, so that the records written so far can be decompressed after a sync
+      compressedStream = new GZIPOutputStream(fileStream, BUFFER_SIZE, true);
+      outputStream = compressedStream;
+    } else {
+      compressedStream = null;
+      outputStream = fileStream;
+    }
+  }
+
+  void writeHeader(final byte[] bytes, final int length) throws IOException {
+    outputStream.write(bytes, 0, length);
+    checksum.update(bytes, 0, length);
+    size += length;
+  }
+
+  /** Writes the given records, the records are buffered by the exporter until the next sync. */
+  void write(final byte[] bytes, final int length, final long position) throws IOException {
+    outputStream.write(bytes, 0, length);
+    checksum.update(bytes, 0, length);
+    size += length;
+    lastPosition = position;
+  }
+
+  /** @return the position of the last record which is durable now */
+  long sync() throws IOException {
+    if (lastSyncedPosition < lastPosition) {
+      outputStream.flush();
+      fileStream.getFD().sync();
+      lastSyncedPosition = lastPosition;
+    }
+    return lastSyncedPosition;
+  }
+
+  /**
+   * Syncs and closes the file and renames it to its final name.
+   *
+   * @return the position of the last record of the file
+   */
+  long complete() throws IOException {
+    if (compressedStream != null) {
+      compressedStream.finish();
+    }
+    outputStream.flush();
+    fileStream.getFD().sync();
+    outputStream.close();
+
+    Files.move(tmpPath, path, ATOMIC_MOVE);
+    return lastPosition;
+  }
+
+  /** Closes the file without completing it, e.g. after it failed to write. */
+  void abort() {
+    try {
+      outputStream.close();
+    } catch (final IOException e) {
+      // the file is already broken, it is recovered from its last sync
+    }
+  }
+
+  /**
+   * Truncates a left over file to the given length of its last sync and renames it to its final
+   * name. The deflate stream of a compressed file ends with the sync flush, so it is completed by a
+   * final block and the gzip trailer of the content up to the sync.
+   *
+   * @param tmpPath the temporary path of the left over file
+   * @param length the length of the file on disk at the last sync
+   * @param size the (uncompressed) count of bytes which were written up to the last sync
+   * @param checksum the CRC32 of the (uncompressed) bytes which were written up to the last sync
+   * @return the final path of the file
+   */
+  static Path recover(final Path tmpPath, final long length, final long size, final int checksum)
+      throws IOException {
+    final Path path = getCompletedPath(tmpPath);
+
+    try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.WRITE)) {
+      channel.truncate(length);
+
+      if (path.toString().endsWith(COMPRESSED_FILE_SUFFIX)) {
+        final ByteBuffer trailer =
+            ByteBuffer.allocate(FINAL_DEFLATE_BLOCK.length + 2 * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        trailer.put(FINAL_DEFLATE_BLOCK).putInt(checksum).putInt((int) size).flip();
+
+        while (trailer.hasRemaining()) {
+          channel.write(trailer, length + trailer.position());
+        }
+      }
+
+      channel.force(true);
+    }
+
+    Files.move(tmpPath, path, ATOMIC_MOVE);
+    return path;
+  }
+
+  /**
+   * Renames a left over file which contains no durable records, so that it is not picked up as
+   * complete file, but is kept to be inspected.
+   *
+   * @return the new path of the file
+   */
+  static Path quarantine(final Path tmpPath) throws IOException {
+    final Path path = Paths.get(getCompletedPath(tmpPath) + INCOMPLETE_FILE_SUFFIX);
+    Files.move(tmpPath, path, ATOMIC_MOVE);
+    return path;
+  }
+
+  private static Path getCompletedPath(final Path tmpPath) {
+    final String name = tmpPath.toString();
+    return Paths.get(name.substring(0, name.length() - TMP_FILE_SUFFIX.length()));
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  Path getTmpPath() {
+    return tmpPath;
+  }
+
+  String getFileName() {
+    return path.getFileName().toString();
+  }
+
+  /** @return the count of (uncompressed) bytes which are written to the file */
+  long getSize() {
+    return size;
+  }
+
+  /** @return the length of the file on disk, which is only complete after a sync */
+  long getLength() throws IOException {
+    return fileStream.getChannel().position();
+  }
+
+  /** @return the CRC32 of the (uncompressed) bytes which are written to the file */
+  int getChecksum() {
+    return (int) checksum.getValue();
+  }
+
+  long getOpenedAtMillis() {
+    return openedAtMillis;
+  }
+
+  long getLastPosition() {
+    return lastPosition;
+  }
+}
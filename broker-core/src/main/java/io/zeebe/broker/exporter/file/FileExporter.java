@@ -0,0 +1,439 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.file;
+
+import io.zeebe.broker.exporter.ExporterException;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.broker.exporter.file.FileExporterConfiguration.Format;
+import io.zeebe.broker.exporter.file.FileExporterConfiguration.SyncPolicy;
+import io.zeebe.broker.exporter.record.view.RecordView;
+import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.exporter.api.spi.Exporter;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Appends the exported records to rotating local files, e.g. for a downstream batch ingestion.
+ *
+ * <p>The files of a partition are written to {@code <directory>/<exporter id>/partition-<id>} and
+ * are named after the position of their first record. A file is completed once it exceeds the
+ * maximum size or age. A position is acknowledged once the record is synced to disk, according to
+ * the sync policy.
+ *
+ * <p>The records since the last sync are kept in memory, a sync is forced once they exceed {@link
+ * #MAX_PENDING_LENGTH}. If a file fails to write, it is completed up to its last sync and the
+ * pending records are written to a new file when the export is retried. The state of the last
+ * sync is stored in an {@link ExportCheckpoint}, so that a file which is left over after a crash is
+ * truncated to its last sync, and the records which are already written are not written again.
+ *
+ * <p>The binary format starts with the header {@code [magic:int][version:int]}, followed by the
+ * records. Each record is prefixed by its length and contains the header fields of the logged
+ * event, the metadata as SBE and the value as MessagePack, all in little endian:
+ *
+ * <pre>
+ * [length:int][position:long][sourceRecordPosition:long][key:long][timestamp:long]
+ * [raftTerm:int][producerId:int][metadataLength:short][metadata][value]
+ * </pre>
+ *
+ * The metadata and the value are copied from the logged event. For a record which is not read
+ * from the log, e.g. a copy of a record, they are encoded again and the value is the MessagePack
+ * encoding of its JSON representation, see {@link RecordJsonWriter#writeMsgPack}. The JSON format
+ * contains one record per line.
+ */
+public class FileExporter implements Exporter {
+  public static final int FILE_MAGIC = 0x5845425A; // "ZBEX"
+  public static final int FILE_VERSION = 1;
+  public static final int FILE_HEADER_LENGTH = 2 * Integer.BYTES;
+
+  public static final int LENGTH_OFFSET = 0;
+  public static final int POSITION_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+  public static final int SOURCE_RECORD_POSITION_OFFSET = POSITION_OFFSET + Long.BYTES;
+  public static final int KEY_OFFSET = SOURCE_RECORD_POSITION_OFFSET + Long.BYTES;
+  public static final int TIMESTAMP_OFFSET = KEY_OFFSET + Long.BYTES;
+  public static final int RAFT_TERM_OFFSET = TIMESTAMP_OFFSET + Long.BYTES;
+  public static final int PRODUCER_ID_OFFSET = RAFT_TERM_OFFSET + Integer.BYTES;
+  public static final int METADATA_LENGTH_OFFSET = PRODUCER_ID_OFFSET + Integer.BYTES;
+  public static final int METADATA_OFFSET = METADATA_LENGTH_OFFSET + Short.BYTES;
+
+  static final int MAX_PENDING_LENGTH = 4 * 1024 * 1024;
+
+  private static final byte NEW_LINE = '\n';
+
+  private final ExpandableArrayBuffer pendingBuffer = new ExpandableArrayBuffer();
+  private final UnsafeBuffer headerBuffer = new UnsafeBuffer(new byte[FILE_HEADER_LENGTH]);
+  private final io.zeebe.protocol.impl.record.RecordMetadata metadata =
+      new io.zeebe.protocol.impl.record.RecordMetadata();
+  private final RecordJsonWriter recordWriter = new RecordJsonWriter();
+
+  private Logger log;
+  private String id;
+  private FileExporterConfiguration configuration;
+  private Format format;
+  private long maxFileSize;
+  private long maxFileAgeMillis;
+  private SyncPolicy syncPolicy;
+  private Duration syncPeriod;
+
+  private Controller controller;
+  private boolean isOpen;
+  private Path partitionDirectory;
+  private ExportCheckpoint checkpoint;
+  private ExportFile file;
+  private int pendingLength;
+  private long pendingFirstPosition = -1L;
+  private long lastWrittenPosition = -1L;
+  private long lastAcknowledgedPosition = -1L;
+
+  @Override
+  public void configure(final Context context) {
+    log = context.getLogger();
+    id = context.getConfiguration().getId();
+    configuration = context.getConfiguration().instantiate(FileExporterConfiguration.class);
+
+    format = configuration.getFormat();
+    maxFileSize = configuration.getMaxFileSize();
+    maxFileAgeMillis = configuration.getMaxFileAge().toMillis();
+    syncPolicy = configuration.getSyncPolicy();
+    syncPeriod = configuration.getSyncPeriod();
+
+    headerBuffer.putInt(0, FILE_MAGIC, Protocol.ENDIANNESS);
+    headerBuffer.putInt(Integer.BYTES, FILE_VERSION, Protocol.ENDIANNESS);
+
+    log.debug("File exporter configured with {}", configuration);
+  }
+
+  @Override
+  public void open(final Controller controller) {
+    this.controller = controller;
+    isOpen = true;
+
+    controller.scheduleTask(syncPeriod, this::checkFile);
+  }
+
+  @Override
+  public void close() {
+    isOpen = false;
+
+    if (file != null) {
+      try {
+        completeFile();
+      } catch (final IOException e) {
+        log.warn("Failed to complete file {} on close", file.getPath(), e);
+        abortFile();
+      }
+    }
+
+    if (checkpoint != null) {
+      try {
+        checkpoint.close();
+      } catch (final IOException e) {
+        log.warn("Failed to close checkpoint of {}", partitionDirectory, e);
+      }
+    }
+  }
+
+  @Override
+  public void export(final Record record) {
+    try {
+      if (partitionDirectory == null) {
+        openPartitionDirectory(record.getMetadata().getPartitionId());
+      }
+
+      final long position = record.getPosition();
+      if (position > lastWrittenPosition) {
+        if (pendingLength == 0) {
+          pendingFirstPosition = position;
+        }
+        pendingLength +=
+            format == Format.BINARY
+                ? writeBinary(record, pendingLength)
+                : writeJson(record, pendingLength);
+        lastWrittenPosition = position;
+      }
+      // otherwise the record is already written, e.g. it is exported again after a failure
+
+      if (pendingLength > 0) {
+        if (file == null) {
+          openFile();
+        }
+
+        if (file.getSize() + pendingLength >= maxFileSize) {
+          completeFile();
+        } else if (syncPolicy == SyncPolicy.ALWAYS || pendingLength >= MAX_PENDING_LENGTH) {
+          sync();
+        }
+      }
+    } catch (final IOException e) {
+      if (file != null) {
+        abortFile();
+      }
+
+      throw new ExporterException(
+          "Failed to write record to file, the pending records are written to a new file on retry",
+          e);
+    }
+  }
+
+  private void openPartitionDirectory(final int partitionId) throws IOException {
+    final Path directory = Paths.get(configuration.getDirectory(), id, "partition-" + partitionId);
+    Files.createDirectories(directory);
+
+    if (checkpoint == null) {
+      checkpoint = new ExportCheckpoint(directory);
+    }
+    recoverLeftOverFiles(directory);
+
+    // the records up to the checkpoint are written already, they are skipped if they are exported
+    // again because the acknowledged position was not committed before the restart
+    lastWrittenPosition =
+        Math.max(checkpoint.getCompletedPosition(), checkpoint.getSyncedPosition());
+    acknowledge(lastWrittenPosition);
+
+    partitionDirectory = directory;
+  }
+
+  /**
+   * Completes the files which were not completed before the last shutdown, up to their last sync.
+   * A file without synced records is quarantined, its records are exported again.
+   */
+  private void recoverLeftOverFiles(final Path directory) throws IOException {
+    final File[] files =
+        directory.toFile().listFiles((dir, name) -> name.endsWith(ExportFile.TMP_FILE_SUFFIX));
+
+    if (files != null) {
+      for (final File leftOverFile : files) {
+        if (!leftOverFile.isFile()) {
+          continue;
+        }
+
+        final Path tmpPath = leftOverFile.toPath();
+        if (!recoverSyncedRecords(tmpPath)) {
+          final Path path = ExportFile.quarantine(tmpPath);
+          log.warn("Left over file {} contains no synced records, moved it to {}", tmpPath, path);
+        }
+      }
+    }
+  }
+
+  /** @return true if the file contained synced records and is completed up to the last sync */
+  private boolean recoverSyncedRecords(final Path tmpPath) throws IOException {
+    final String tmpFileName = tmpPath.getFileName().toString();
+    final String fileName =
+        tmpFileName.substring(0, tmpFileName.length() - ExportFile.TMP_FILE_SUFFIX.length());
+
+    if (!checkpoint.hasSyncedRecords(fileName)) {
+      return false;
+    }
+
+    final Path path =
+        ExportFile.recover(
+            tmpPath,
+            checkpoint.getSyncedLength(),
+            checkpoint.getSyncedSize(),
+            checkpoint.getSyncedChecksum());
+    checkpoint.completed(checkpoint.getSyncedPosition());
+
+    log.warn(
+        "Completed left over file {} up to its last sync at position {}",
+        path,
+        checkpoint.getSyncedPosition());
+    return true;
+  }
+
+  private void openFile() throws IOException {
+    final String fileName =
+        String.format("%020d%s", pendingFirstPosition, format.getFileExtension())
+            + (configuration.isCompress() ? ExportFile.COMPRESSED_FILE_SUFFIX : "");
+
+    file =
+        new ExportFile(
+            partitionDirectory.resolve(fileName),
+            configuration.isCompress(),
+            ActorClock.currentTimeMillis());
+
+    if (format == Format.BINARY) {
+      file.writeHeader(headerBuffer.byteArray(), FILE_HEADER_LENGTH);
+    }
+  }
+
+  /**
+   * Closes the file after a failure and completes it up to its last sync. The records after the
+   * sync are still pending, they are written to the next file.
+   */
+  private void abortFile() {
+    final ExportFile abortedFile = file;
+    file = null;
+    abortedFile.abort();
+
+    try {
+      if (!recoverSyncedRecords(abortedFile.getTmpPath())) {
+        Files.deleteIfExists(abortedFile.getTmpPath());
+      }
+    } catch (final IOException e) {
+      log.error(
+          "Failed to complete file {} after a failure, it is completed on the next start",
+          abortedFile.getPath(),
+          e);
+    }
+  }
+
+  private int writeBinary(final Record record, final int offset) {
+    final int metadataOffset = offset + METADATA_OFFSET;
+    final int metadataLength;
+    final int valueLength;
+
+    if (record instanceof RecordView) {
+      final LoggedEvent event = ((RecordView) record).getEvent();
+      metadataLength = event.getMetadataLength();
+      valueLength = event.getValueLength();
+
+      pendingBuffer.putBytes(
+          metadataOffset, event.getMetadata(), event.getMetadataOffset(), metadataLength);
+      pendingBuffer.putBytes(
+          metadataOffset + metadataLength,
+          event.getValueBuffer(),
+          event.getValueOffset(),
+          valueLength);
+    } else {
+      encodeMetadata(record.getMetadata());
+      metadataLength = metadata.getLength();
+      metadata.write(pendingBuffer, metadataOffset);
+
+      valueLength = recordWriter.writeMsgPack(record.getValue());
+      pendingBuffer.putBytes(
+          metadataOffset + metadataLength, recordWriter.getJsonBuffer(), 0, valueLength);
+    }
+
+    final int length = METADATA_OFFSET + metadataLength + valueLength;
+
+    pendingBuffer.putInt(offset + LENGTH_OFFSET, length - Integer.BYTES, Protocol.ENDIANNESS);
+    pendingBuffer.putLong(offset + POSITION_OFFSET, record.getPosition(), Protocol.ENDIANNESS);
+    pendingBuffer.putLong(
+        offset + SOURCE_RECORD_POSITION_OFFSET,
+        record.getSourceRecordPosition(),
+        Protocol.ENDIANNESS);
+    pendingBuffer.putLong(offset + KEY_OFFSET, record.getKey(), Protocol.ENDIANNESS);
+    pendingBuffer.putLong(
+        offset + TIMESTAMP_OFFSET, record.getTimestamp().toEpochMilli(), Protocol.ENDIANNESS);
+    pendingBuffer.putInt(offset + RAFT_TERM_OFFSET, record.getRaftTerm(), Protocol.ENDIANNESS);
+    pendingBuffer.putInt(offset + PRODUCER_ID_OFFSET, record.getProducerId(), Protocol.ENDIANNESS);
+    pendingBuffer.putShort(
+        offset + METADATA_LENGTH_OFFSET, (short) metadataLength, Protocol.ENDIANNESS);
+
+    return length;
+  }
+
+  private void encodeMetadata(final RecordMetadata recordMetadata) {
+    metadata
+        .reset()
+        .valueType(recordMetadata.getValueType())
+        .recordType(recordMetadata.getRecordType())
+        .intent(recordMetadata.getIntent());
+
+    if (recordMetadata.getRejectionType() != null) {
+      metadata.rejectionType(recordMetadata.getRejectionType());
+    }
+    if (recordMetadata.getRejectionReason() != null) {
+      metadata.rejectionReason(recordMetadata.getRejectionReason());
+    }
+  }
+
+  private int writeJson(final Record record, final int offset) {
+    final int length = recordWriter.write(record);
+
+    pendingBuffer.putBytes(offset, recordWriter.getJsonBuffer(), 0, length);
+    pendingBuffer.putByte(offset + length, NEW_LINE);
+
+    return length + 1;
+  }
+
+  /**
+   * Completes the file once it is too old and syncs it periodically, if configured. After a
+   * failure, the pending records are written to a new file.
+   */
+  private void checkFile() {
+    if (!isOpen) {
+      return;
+    }
+
+    try {
+      if (file == null && pendingLength > 0) {
+        openFile();
+      }
+
+      if (file != null) {
+        if (ActorClock.currentTimeMillis() - file.getOpenedAtMillis() >= maxFileAgeMillis) {
+          completeFile();
+        } else if (syncPolicy == SyncPolicy.PERIODIC) {
+          sync();
+        }
+      }
+    } catch (final IOException e) {
+      log.error("Failed to sync file {}", file != null ? file.getPath() : partitionDirectory, e);
+      if (file != null) {
+        abortFile();
+      }
+    }
+
+    controller.scheduleTask(syncPeriod, this::checkFile);
+  }
+
+  /** Writes the pending records to the file and syncs it. */
+  private void sync() throws IOException {
+    if (pendingLength > 0) {
+      file.write(pendingBuffer.byteArray(), pendingLength, lastWrittenPosition);
+
+      final long position = file.sync();
+      checkpoint.synced(file, position);
+
+      // the records are only released once they are durable, otherwise they are written again
+      pendingLength = 0;
+      acknowledge(position);
+    }
+  }
+
+  private void completeFile() throws IOException {
+    sync();
+
+    final long position = file.complete();
+    checkpoint.completed(position);
+
+    log.debug("Completed file {}", file.getPath());
+    file = null;
+  }
+
+  private void acknowledge(final long position) {
+    if (position > lastAcknowledgedPosition) {
+      lastAcknowledgedPosition = position;
+      controller.updateLastExportedRecordPosition(position);
+    }
+  }
+}
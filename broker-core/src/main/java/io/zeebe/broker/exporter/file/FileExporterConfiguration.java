@@ -0,0 +1,120 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.file;
+
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.DurationUtil;
+import java.time.Duration;
+
+public class FileExporterConfiguration {
+  /** the directory of the files, a sub directory per exporter id and partition is created */
+  public String directory = "exports";
+
+  /** "binary" for length-prefixed records, or "json" for newline delimited JSON */
+  public String format = "binary";
+
+  /** a file is completed once it contains more than this amount of (uncompressed) bytes */
+  public String maxFileSize = "128M";
+
+  /** a file is completed once it is open for this duration, also if it is not full */
+  public String maxFileAge = "1h";
+
+  /** "always" syncs after every record, "periodic" every sync period, "rollover" per file */
+  public String syncPolicy = "periodic";
+
+  /** the period to sync the file, which is also the period to check the age of the file */
+  public String syncPeriod = "1s";
+
+  /** if true, the files are compressed with gzip */
+  public boolean compress = false;
+
+  String getDirectory() {
+    return directory;
+  }
+
+  Format getFormat() {
+    return Format.valueOf(format.trim().toUpperCase());
+  }
+
+  long getMaxFileSize() {
+    return new ByteValue(maxFileSize).toBytes();
+  }
+
+  Duration getMaxFileAge() {
+    return DurationUtil.parse(maxFileAge);
+  }
+
+  SyncPolicy getSyncPolicy() {
+    return SyncPolicy.valueOf(syncPolicy.trim().toUpperCase());
+  }
+
+  Duration getSyncPeriod() {
+    return DurationUtil.parse(syncPeriod);
+  }
+
+  boolean isCompress() {
+    return compress;
+  }
+
+  @Override
+  public String toString() {
+    return "FileExporterConfiguration{"
+        + "directory='"
+        + directory
+        + '\''
+        + ", format='"
+        + format
+        + '\''
+        + ", maxFileSize='"
+        + maxFileSize
+        + '\''
+        + ", maxFileAge='"
+        + maxFileAge
+        + '\''
+        + ", syncPolicy='"
+        + syncPolicy
+        + '\''
+        + ", syncPeriod='"
+        + syncPeriod
+        + '\''
+        + ", compress="
+        + compress
+        + '}';
+  }
+
+  enum Format {
+    BINARY(".zbr"),
+    JSON(".ndjson");
+
+    private final String fileExtension;
+
+    Format(final String fileExtension) {
+      this.fileExtension = fileExtension;
+    }
+
+    String getFileExtension() {
+      return fileExtension;
+    }
+  }
+
+  enum SyncPolicy {
+    ALWAYS,
+    PERIODIC,
+    ROLLOVER
+  }
+}
@@ -122,7 +122,12 @@ public class RecordImpl<T extends RecordValue> implements Record<T> {
 
   @Override
   public String toJson() {
-    return objectMapper.toJson(this);
+    return objectMapper.getRecordJsonWriter().toJson(this);
+  }
+
+  @Override
+  public byte[] toJsonBytes() {
+    return objectMapper.getRecordJsonWriter().toJsonBytes(this);
   }
 
   @Override
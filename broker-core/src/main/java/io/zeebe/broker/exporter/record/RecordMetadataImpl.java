@@ -88,7 +88,7 @@ public class RecordMetadataImpl implements RecordMetadata {
 
   @Override
   public String toJson() {
-    return objectMapper.toJson(this);
+    return objectMapper.getRecordJsonWriter().toJson(this);
   }
 
   @Override
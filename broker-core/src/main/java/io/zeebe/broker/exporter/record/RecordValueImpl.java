@@ -29,6 +29,6 @@ public abstract class RecordValueImpl implements RecordValue {
 
   @Override
   public String toJson() {
-    return objectMapper.toJson(this);
+    return objectMapper.getRecordJsonWriter().toJson(this);
   }
 }
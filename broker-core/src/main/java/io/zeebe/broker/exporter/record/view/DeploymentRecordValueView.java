@@ -0,0 +1,84 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.DeploymentRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.deployment.DeployedWorkflowImpl;
+import io.zeebe.broker.exporter.record.value.deployment.DeploymentResourceImpl;
+import io.zeebe.exporter.api.record.value.DeploymentRecordValue;
+import io.zeebe.exporter.api.record.value.deployment.DeployedWorkflow;
+import io.zeebe.exporter.api.record.value.deployment.DeploymentResource;
+import io.zeebe.exporter.api.record.value.deployment.ResourceType;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import io.zeebe.protocol.impl.record.value.deployment.Workflow;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeploymentRecordValueView extends RecordValueView<DeploymentRecord>
+    implements DeploymentRecordValue {
+
+  public DeploymentRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new DeploymentRecord());
+  }
+
+  @Override
+  public List<DeploymentResource> getResources() {
+    final List<DeploymentResource> resources = new ArrayList<>();
+    for (final io.zeebe.protocol.impl.record.value.deployment.DeploymentResource resource :
+        record.resources()) {
+      resources.add(
+          new DeploymentResourceImpl(
+              BufferUtil.bufferAsArray(resource.getResource()),
+              asResourceType(resource.getResourceType()),
+              asString(resource.getResourceName())));
+    }
+    return resources;
+  }
+
+  @Override
+  public List<DeployedWorkflow> getDeployedWorkflows() {
+    final List<DeployedWorkflow> deployedWorkflows = new ArrayList<>();
+    for (final Workflow workflow : record.workflows()) {
+      deployedWorkflows.add(
+          new DeployedWorkflowImpl(
+              asString(workflow.getBpmnProcessId()),
+              asString(workflow.getResourceName()),
+              workflow.getKey(),
+              workflow.getVersion()));
+    }
+    return deployedWorkflows;
+  }
+
+  @Override
+  public DeploymentRecordValueImpl copy() {
+    return new DeploymentRecordValueImpl(objectMapper, getDeployedWorkflows(), getResources());
+  }
+
+  private static ResourceType asResourceType(
+      final io.zeebe.protocol.impl.record.value.deployment.ResourceType resourceType) {
+    switch (resourceType) {
+      case BPMN_XML:
+        return ResourceType.BPMN_XML;
+      case YAML_WORKFLOW:
+        return ResourceType.YAML_WORKFLOW;
+    }
+    throw new IllegalArgumentException("Provided resource type does not exist " + resourceType);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.ErrorRecordValueImpl;
+import io.zeebe.exporter.api.record.value.ErrorRecordValue;
+import io.zeebe.protocol.impl.record.value.error.ErrorRecord;
+
+public class ErrorRecordValueView extends RecordValueView<ErrorRecord> implements ErrorRecordValue {
+
+  public ErrorRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new ErrorRecord());
+  }
+
+  @Override
+  public String getExceptionMessage() {
+    return asString(record.getExceptionMessage());
+  }
+
+  @Override
+  public String getStacktrace() {
+    return asString(record.getStacktrace());
+  }
+
+  @Override
+  public long getErrorEventPosition() {
+    return record.getErrorEventPosition();
+  }
+
+  @Override
+  public long getWorkflowInstanceKey() {
+    return record.getWorkflowInstanceKey();
+  }
+
+  @Override
+  public ErrorRecordValueImpl copy() {
+    return new ErrorRecordValueImpl(
+        objectMapper,
+        getExceptionMessage(),
+        getStacktrace(),
+        getErrorEventPosition(),
+        getWorkflowInstanceKey());
+  }
+}
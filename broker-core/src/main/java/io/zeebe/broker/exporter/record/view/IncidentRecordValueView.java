@@ -0,0 +1,85 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.IncidentRecordValueImpl;
+import io.zeebe.exporter.api.record.value.IncidentRecordValue;
+import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
+
+public class IncidentRecordValueView extends RecordValueView<IncidentRecord>
+    implements IncidentRecordValue {
+
+  public IncidentRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new IncidentRecord());
+  }
+
+  @Override
+  public String getErrorType() {
+    return record.getErrorType().name();
+  }
+
+  @Override
+  public String getErrorMessage() {
+    return asString(record.getErrorMessage());
+  }
+
+  @Override
+  public String getBpmnProcessId() {
+    return asString(record.getBpmnProcessId());
+  }
+
+  @Override
+  public long getWorkflowInstanceKey() {
+    return record.getWorkflowInstanceKey();
+  }
+
+  @Override
+  public String getElementId() {
+    return asString(record.getElementId());
+  }
+
+  @Override
+  public long getElementInstanceKey() {
+    return record.getElementInstanceKey();
+  }
+
+  @Override
+  public long getJobKey() {
+    return record.getJobKey();
+  }
+
+  @Override
+  public long getVariableScopeKey() {
+    return record.getVariableScopeKey();
+  }
+
+  @Override
+  public IncidentRecordValueImpl copy() {
+    return new IncidentRecordValueImpl(
+        objectMapper,
+        getErrorType(),
+        getErrorMessage(),
+        getBpmnProcessId(),
+        getElementId(),
+        getWorkflowInstanceKey(),
+        getElementInstanceKey(),
+        getJobKey(),
+        getVariableScopeKey());
+  }
+}
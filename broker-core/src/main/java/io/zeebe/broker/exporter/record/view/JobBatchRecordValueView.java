@@ -0,0 +1,97 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.JobBatchRecordValueImpl;
+import io.zeebe.exporter.api.record.value.JobBatchRecordValue;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.msgpack.value.LongValue;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JobBatchRecordValueView extends RecordValueView<JobBatchRecord>
+    implements JobBatchRecordValue {
+  private final JobRecordValueView jobView;
+
+  public JobBatchRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new JobBatchRecord());
+    jobView = new JobRecordValueView(objectMapper);
+  }
+
+  @Override
+  public String getType() {
+    return asString(record.getType());
+  }
+
+  @Override
+  public String getWorker() {
+    return asString(record.getWorker());
+  }
+
+  @Override
+  public Duration getTimeout() {
+    return Duration.ofMillis(record.getTimeout());
+  }
+
+  @Override
+  public int getMaxJobsToActivate() {
+    return record.getMaxJobsToActivate();
+  }
+
+  @Override
+  public List<Long> getJobKeys() {
+    final List<Long> jobKeys = new ArrayList<>();
+    for (final LongValue jobKey : record.jobKeys()) {
+      jobKeys.add(jobKey.getValue());
+    }
+    return jobKeys;
+  }
+
+  /** @return copies of the jobs, since the jobs of the batch are decoded into the same object */
+  @Override
+  public List<JobRecordValue> getJobs() {
+    final List<JobRecordValue> jobs = new ArrayList<>();
+    for (final JobRecord job : record.jobs()) {
+      jobView.wrap(job);
+      jobs.add(jobView.copy());
+    }
+    return jobs;
+  }
+
+  @Override
+  public boolean isTruncated() {
+    return record.getTruncated();
+  }
+
+  @Override
+  public JobBatchRecordValueImpl copy() {
+    return new JobBatchRecordValueImpl(
+        objectMapper,
+        getType(),
+        getWorker(),
+        getTimeout(),
+        getMaxJobsToActivate(),
+        getJobKeys(),
+        getJobs(),
+        isTruncated());
+  }
+}
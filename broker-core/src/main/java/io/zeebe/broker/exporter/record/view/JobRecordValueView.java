@@ -0,0 +1,160 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.JobRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.job.HeadersImpl;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.exporter.api.record.value.job.Headers;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobHeaders;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import java.time.Instant;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+
+public class JobRecordValueView extends RecordValueWithVariablesView<JobRecord>
+    implements JobRecordValue {
+  private final HeadersView headers = new HeadersView();
+
+  public JobRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new JobRecord());
+  }
+
+  @Override
+  protected DirectBuffer getVariablesBuffer() {
+    return record.getVariables();
+  }
+
+  @Override
+  public String getType() {
+    return asString(record.getType());
+  }
+
+  @Override
+  public Headers getHeaders() {
+    return headers;
+  }
+
+  @Override
+  public Map<String, Object> getCustomHeaders() {
+    return asMsgPackMap(record.getCustomHeaders());
+  }
+
+  @Override
+  public String getWorker() {
+    return asString(record.getWorker());
+  }
+
+  @Override
+  public int getRetries() {
+    return record.getRetries();
+  }
+
+  @Override
+  public Instant getDeadline() {
+    final long deadline = record.getDeadline();
+    return deadline != Protocol.INSTANT_NULL_VALUE ? Instant.ofEpochMilli(deadline) : null;
+  }
+
+  @Override
+  public String getErrorMessage() {
+    return asString(record.getErrorMessage());
+  }
+
+  @Override
+  public JobRecordValueImpl copy() {
+    return new JobRecordValueImpl(
+        objectMapper,
+        getVariables(),
+        getType(),
+        getWorker(),
+        getDeadline(),
+        headers.copy(),
+        getCustomHeaders(),
+        getRetries(),
+        getErrorMessage());
+  }
+
+  private class HeadersView implements Headers {
+    @Override
+    public String getElementId() {
+      return asString(getJobHeaders().getElementId());
+    }
+
+    @Override
+    public long getElementInstanceKey() {
+      return getJobHeaders().getElementInstanceKey();
+    }
+
+    @Override
+    public String getBpmnProcessId() {
+      return asString(getJobHeaders().getBpmnProcessId());
+    }
+
+    @Override
+    public int getWorkflowDefinitionVersion() {
+      return getJobHeaders().getWorkflowDefinitionVersion();
+    }
+
+    @Override
+    public long getWorkflowInstanceKey() {
+      return getJobHeaders().getWorkflowInstanceKey();
+    }
+
+    @Override
+    public long getWorkflowKey() {
+      return getJobHeaders().getWorkflowKey();
+    }
+
+    private JobHeaders getJobHeaders() {
+      return record.getHeaders();
+    }
+
+    HeadersImpl copy() {
+      return new HeadersImpl(
+          getBpmnProcessId(),
+          getElementId(),
+          getElementInstanceKey(),
+          getWorkflowInstanceKey(),
+          getWorkflowKey(),
+          getWorkflowDefinitionVersion());
+    }
+
+    @Override
+    public String toString() {
+      return "HeadersView{"
+          + "bpmnProcessId='"
+          + getBpmnProcessId()
+          + '\''
+          + ", elementId='"
+          + getElementId()
+          + '\''
+          + ", elementInstanceKey="
+          + getElementInstanceKey()
+          + ", workflowInstanceKey="
+          + getWorkflowInstanceKey()
+          + ", workflowKey="
+          + getWorkflowKey()
+          + ", workflowDefinitionVersion="
+          + getWorkflowDefinitionVersion()
+          + '}';
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.MessageRecordValueImpl;
+import io.zeebe.exporter.api.record.value.MessageRecordValue;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import org.agrona.DirectBuffer;
+
+public class MessageRecordValueView extends RecordValueWithVariablesView<MessageRecord>
+    implements MessageRecordValue {
+
+  public MessageRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new MessageRecord());
+  }
+
+  @Override
+  protected DirectBuffer getVariablesBuffer() {
+    return record.getVariables();
+  }
+
+  @Override
+  public String getName() {
+    return asString(record.getName());
+  }
+
+  @Override
+  public String getCorrelationKey() {
+    return asString(record.getCorrelationKey());
+  }
+
+  @Override
+  public String getMessageId() {
+    return asString(record.getMessageId());
+  }
+
+  @Override
+  public long getTimeToLive() {
+    return record.getTimeToLive();
+  }
+
+  @Override
+  public MessageRecordValueImpl copy() {
+    return new MessageRecordValueImpl(
+        objectMapper,
+        getVariables(),
+        getName(),
+        getMessageId(),
+        getCorrelationKey(),
+        getTimeToLive());
+  }
+}
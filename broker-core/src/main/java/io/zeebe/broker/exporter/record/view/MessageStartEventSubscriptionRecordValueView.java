@@ -0,0 +1,53 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.MessageStartEventSubscriptionRecordValueImpl;
+import io.zeebe.broker.subscription.message.data.MessageStartEventSubscriptionRecord;
+import io.zeebe.exporter.api.record.value.MessageStartEventSubscriptionRecordValue;
+
+public class MessageStartEventSubscriptionRecordValueView
+    extends RecordValueView<MessageStartEventSubscriptionRecord>
+    implements MessageStartEventSubscriptionRecordValue {
+
+  public MessageStartEventSubscriptionRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new MessageStartEventSubscriptionRecord());
+  }
+
+  @Override
+  public long getWorkflowKey() {
+    return record.getWorkflowKey();
+  }
+
+  @Override
+  public String getStartEventId() {
+    return asString(record.getStartEventId());
+  }
+
+  @Override
+  public String getMessageName() {
+    return asString(record.getMessageName());
+  }
+
+  @Override
+  public MessageStartEventSubscriptionRecordValueImpl copy() {
+    return new MessageStartEventSubscriptionRecordValueImpl(
+        objectMapper, getWorkflowKey(), getStartEventId(), getMessageName());
+  }
+}
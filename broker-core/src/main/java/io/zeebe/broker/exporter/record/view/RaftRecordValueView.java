@@ -0,0 +1,50 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.RaftRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.raft.RaftMemberImpl;
+import io.zeebe.exporter.api.record.value.RaftRecordValue;
+import io.zeebe.exporter.api.record.value.raft.RaftMember;
+import io.zeebe.raft.event.RaftConfigurationEvent;
+import io.zeebe.raft.event.RaftConfigurationEventMember;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RaftRecordValueView extends RecordValueView<RaftConfigurationEvent>
+    implements RaftRecordValue {
+
+  public RaftRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new RaftConfigurationEvent());
+  }
+
+  @Override
+  public List<RaftMember> getMembers() {
+    final List<RaftMember> members = new ArrayList<>();
+    for (final RaftConfigurationEventMember member : record.members()) {
+      members.add(new RaftMemberImpl(member.getNodeId()));
+    }
+    return members;
+  }
+
+  @Override
+  public RaftRecordValueImpl copy() {
+    return new RaftRecordValueImpl(objectMapper, getMembers());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.broker.exporter.record.RecordMetadataImpl;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferUtil;
+
+/** A reusable view on the metadata of a logged event, see {@link RecordView}. */
+public class RecordMetadataView implements RecordMetadata {
+  private final io.zeebe.protocol.impl.record.RecordMetadata metadata =
+      new io.zeebe.protocol.impl.record.RecordMetadata();
+
+  private final RecordJsonWriter jsonWriter = new RecordJsonWriter();
+
+  private final ExporterObjectMapper objectMapper;
+  private final int partitionId;
+
+  public RecordMetadataView(final ExporterObjectMapper objectMapper, final int partitionId) {
+    this.objectMapper = objectMapper;
+    this.partitionId = partitionId;
+  }
+
+  public void wrap(final LoggedEvent event) {
+    event.readMetadata(metadata);
+  }
+
+  @Override
+  public Intent getIntent() {
+    return metadata.getIntent();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return metadata.getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return metadata.getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return BufferUtil.bufferAsString(metadata.getRejectionReason());
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return metadata.getValueType();
+  }
+
+  public RecordMetadataImpl copy() {
+    return new RecordMetadataImpl(
+        objectMapper,
+        partitionId,
+        getIntent(),
+        getRecordType(),
+        getRejectionType(),
+        getRejectionReason(),
+        getValueType());
+  }
+
+  @Override
+  public String toJson() {
+    return jsonWriter.toJson(this);
+  }
+
+  @Override
+  public String toString() {
+    return "RecordMetadataView{"
+        + "partitionId="
+        + partitionId
+        + ", intent="
+        + getIntent()
+        + ", recordType="
+        + getRecordType()
+        + ", rejectionType="
+        + getRejectionType()
+        + ", rejectionReason='"
+        + getRejectionReason()
+        + '\''
+        + ", valueType="
+        + getValueType()
+        + '}';
+  }
+}
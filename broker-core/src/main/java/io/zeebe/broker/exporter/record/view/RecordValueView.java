@@ -0,0 +1,81 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.io.DirectBufferInputStream;
+
+/**
+ * A reusable view on the value of a logged event, see {@link RecordView}. The properties of the
+ * value are views on the buffer of the event, they are only converted into strings, maps etc. when
+ * they are accessed.
+ *
+ * @param <R> the type of the underlying protocol record
+ */
+public abstract class RecordValueView<R extends UnpackedObject> implements RecordValue {
+  protected final ExporterObjectMapper objectMapper;
+  private final R decodedRecord;
+  private final RecordJsonWriter jsonWriter = new RecordJsonWriter();
+
+  protected R record;
+
+  protected RecordValueView(final ExporterObjectMapper objectMapper, final R decodedRecord) {
+    this.objectMapper = objectMapper;
+    this.decodedRecord = decodedRecord;
+    this.record = decodedRecord;
+  }
+
+  /** Decodes the value of the given event. */
+  public void wrap(final LoggedEvent event) {
+    event.readValue(decodedRecord);
+    record = decodedRecord;
+  }
+
+  /** Wraps an already decoded record, e.g. a record which is nested in another record. */
+  public void wrap(final R record) {
+    this.record = record;
+  }
+
+  /** @return an immutable copy of the current value */
+  public abstract RecordValue copy();
+
+  @Override
+  public String toJson() {
+    return jsonWriter.toJson(this);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + toJson();
+  }
+
+  protected static String asString(final DirectBuffer buffer) {
+    return BufferUtil.bufferAsString(buffer);
+  }
+
+  protected Map<String, Object> asMsgPackMap(final DirectBuffer msgPackEncoded) {
+    return objectMapper.fromMsgpackAsMap(new DirectBufferInputStream(msgPackEncoded));
+  }
+}
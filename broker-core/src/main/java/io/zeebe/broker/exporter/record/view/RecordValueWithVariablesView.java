@@ -0,0 +1,48 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.exporter.api.record.RecordValueWithVariables;
+import io.zeebe.msgpack.UnpackedObject;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+
+public abstract class RecordValueWithVariablesView<R extends UnpackedObject>
+    extends RecordValueView<R> implements RecordValueWithVariables {
+  // the record writers call getVariables() while they write, so it needs a writer of its own
+  private final RecordJsonWriter variablesWriter = new RecordJsonWriter();
+
+  protected RecordValueWithVariablesView(
+      final ExporterObjectMapper objectMapper, final R decodedRecord) {
+    super(objectMapper, decodedRecord);
+  }
+
+  protected abstract DirectBuffer getVariablesBuffer();
+
+  @Override
+  public String getVariables() {
+    return variablesWriter.toJson(getVariablesBuffer());
+  }
+
+  @Override
+  public Map<String, Object> getVariablesAsMap() {
+    return asMsgPackMap(getVariablesBuffer());
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.broker.exporter.record.RecordImpl;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordMetadata;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.logstreams.log.LoggedEvent;
+import java.time.Instant;
+
+/**
+ * A reusable view on a logged event. The header fields are read from the event on access and the
+ * value is only decoded once it is requested, so exporting a record does not allocate anything
+ * which is not used by the exporter. The JSON of the record is also written directly from the
+ * event, see {@link RecordJsonWriter}.
+ *
+ * <p>The view is only valid until the next event is wrapped. Use {@link #copy()} to keep the
+ * record.
+ */
+public class RecordView implements Record<RecordValue> {
+  private final ExporterObjectMapper objectMapper;
+  private final RecordMetadataView metadata;
+  private final RecordJsonWriter jsonWriter = new RecordJsonWriter();
+
+  private LoggedEvent event;
+  private RecordValueView<?> value;
+  private boolean isValueRead;
+
+  public RecordView(final ExporterObjectMapper objectMapper, final int partitionId) {
+    this.objectMapper = objectMapper;
+    this.metadata = new RecordMetadataView(objectMapper, partitionId);
+  }
+
+  public void wrap(final LoggedEvent event, final RecordValueView<?> value) {
+    this.event = event;
+    this.value = value;
+    this.isValueRead = false;
+
+    metadata.wrap(event);
+  }
+
+  /** @return the logged event which is currently wrapped, to access the raw record */
+  public LoggedEvent getEvent() {
+    return event;
+  }
+
+  @Override
+  public long getPosition() {
+    return event.getPosition();
+  }
+
+  @Override
+  public int getRaftTerm() {
+    return event.getRaftTerm();
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return event.getSourceEventPosition();
+  }
+
+  @Override
+  public int getProducerId() {
+    return event.getProducerId();
+  }
+
+  @Override
+  public long getKey() {
+    return event.getKey();
+  }
+
+  @Override
+  public Instant getTimestamp() {
+    return Instant.ofEpochMilli(event.getTimestamp());
+  }
+
+  @Override
+  public RecordMetadata getMetadata() {
+    return metadata;
+  }
+
+  @Override
+  public RecordValueView<?> getValue() {
+    if (!isValueRead) {
+      value.wrap(event);
+      isValueRead = true;
+    }
+    return value;
+  }
+
+  @Override
+  public RecordImpl<RecordValue> copy() {
+    return new RecordImpl<>(
+        objectMapper,
+        getKey(),
+        getPosition(),
+        getTimestamp(),
+        getRaftTerm(),
+        getProducerId(),
+        getSourceRecordPosition(),
+        metadata.copy(),
+        getValue().copy());
+  }
+
+  @Override
+  public String toJson() {
+    return jsonWriter.toJson(this);
+  }
+
+  @Override
+  public byte[] toJsonBytes() {
+    return jsonWriter.toJsonBytes(this);
+  }
+
+  @Override
+  public String toString() {
+    return "RecordView{"
+        + "key="
+        + getKey()
+        + ", position="
+        + getPosition()
+        + ", timestamp="
+        + getTimestamp()
+        + ", raftTerm="
+        + getRaftTerm()
+        + ", producerId="
+        + getProducerId()
+        + ", sourceRecordPosition="
+        + getSourceRecordPosition()
+        + ", metadata="
+        + metadata
+        + ", value="
+        + getValue()
+        + '}';
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.TimerRecordValueImpl;
+import io.zeebe.exporter.api.record.value.TimerRecordValue;
+import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
+
+public class TimerRecordValueView extends RecordValueView<TimerRecord> implements TimerRecordValue {
+
+  public TimerRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new TimerRecord());
+  }
+
+  @Override
+  public long getWorkflowKey() {
+    return record.getWorkflowKey();
+  }
+
+  @Override
+  public long getElementInstanceKey() {
+    return record.getElementInstanceKey();
+  }
+
+  @Override
+  public long getWorkflowInstanceKey() {
+    return record.getWorkflowInstanceKey();
+  }
+
+  @Override
+  public long getDueDate() {
+    return record.getDueDate();
+  }
+
+  @Override
+  public String getHandlerFlowNodeId() {
+    return asString(record.getHandlerNodeId());
+  }
+
+  @Override
+  public int getRepetitions() {
+    return record.getRepetitions();
+  }
+
+  @Override
+  public TimerRecordValueImpl copy() {
+    return new TimerRecordValueImpl(
+        objectMapper,
+        getElementInstanceKey(),
+        getWorkflowInstanceKey(),
+        getDueDate(),
+        getHandlerFlowNodeId(),
+        getRepetitions(),
+        getWorkflowKey());
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.VariableDocumentRecordValueImpl;
+import io.zeebe.exporter.api.record.value.VariableDocumentRecordValue;
+import io.zeebe.protocol.VariableDocumentUpdateSemantic;
+import io.zeebe.protocol.impl.record.value.variable.VariableDocumentRecord;
+import java.util.Map;
+
+public class VariableDocumentRecordValueView extends RecordValueView<VariableDocumentRecord>
+    implements VariableDocumentRecordValue {
+
+  public VariableDocumentRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new VariableDocumentRecord());
+  }
+
+  @Override
+  public long getScopeKey() {
+    return record.getScopeKey();
+  }
+
+  @Override
+  public VariableDocumentUpdateSemantic getUpdateSemantics() {
+    return record.getUpdateSemantics();
+  }
+
+  @Override
+  public Map<String, Object> getDocument() {
+    return asMsgPackMap(record.getDocument());
+  }
+
+  @Override
+  public VariableDocumentRecordValueImpl copy() {
+    return new VariableDocumentRecordValueImpl(
+        objectMapper, getScopeKey(), getUpdateSemantics(), getDocument());
+  }
+}
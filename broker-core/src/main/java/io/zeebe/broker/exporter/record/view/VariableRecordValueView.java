@@ -0,0 +1,70 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.broker.exporter.record.value.VariableRecordValueImpl;
+import io.zeebe.exporter.api.record.value.VariableRecordValue;
+import io.zeebe.protocol.impl.record.value.variable.VariableRecord;
+
+public class VariableRecordValueView extends RecordValueView<VariableRecord>
+    implements VariableRecordValue {
+  // the record writers call getValue() while they write, so it needs a writer of its own
+  private final RecordJsonWriter valueWriter = new RecordJsonWriter();
+
+  public VariableRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new VariableRecord());
+  }
+
+  @Override
+  public String getName() {
+    return asString(record.getName());
+  }
+
+  @Override
+  public String getValue() {
+    return valueWriter.toJson(record.getValue());
+  }
+
+  @Override
+  public long getScopeKey() {
+    return record.getScopeKey();
+  }
+
+  @Override
+  public long getWorkflowInstanceKey() {
+    return record.getWorkflowInstanceKey();
+  }
+
+  @Override
+  public long getWorkflowKey() {
+    return record.getWorkflowKey();
+  }
+
+  @Override
+  public VariableRecordValueImpl copy() {
+    return new VariableRecordValueImpl(
+        objectMapper,
+        getName(),
+        getValue(),
+        getScopeKey(),
+        getWorkflowInstanceKey(),
+        getWorkflowKey());
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.WorkflowInstanceCreationRecordValueImpl;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceCreationRecordValue;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import java.util.Map;
+
+public class WorkflowInstanceCreationRecordValueView
+    extends RecordValueView<WorkflowInstanceCreationRecord>
+    implements WorkflowInstanceCreationRecordValue {
+
+  public WorkflowInstanceCreationRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new WorkflowInstanceCreationRecord());
+  }
+
+  @Override
+  public String getBpmnProcessId() {
+    return asString(record.getBpmnProcessId());
+  }
+
+  @Override
+  public int getVersion() {
+    return record.getVersion();
+  }
+
+  @Override
+  public long getKey() {
+    return record.getKey();
+  }
+
+  @Override
+  public long getInstanceKey() {
+    return record.getInstanceKey();
+  }
+
+  @Override
+  public Map<String, Object> getVariables() {
+    return asMsgPackMap(record.getVariables());
+  }
+
+  @Override
+  public WorkflowInstanceCreationRecordValueImpl copy() {
+    return new WorkflowInstanceCreationRecordValueImpl(
+        objectMapper,
+        getBpmnProcessId(),
+        getVersion(),
+        getKey(),
+        getInstanceKey(),
+        getVariables());
+  }
+}
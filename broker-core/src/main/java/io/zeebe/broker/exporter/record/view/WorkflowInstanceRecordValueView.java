@@ -0,0 +1,80 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.value.WorkflowInstanceRecordValueImpl;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.protocol.BpmnElementType;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+
+public class WorkflowInstanceRecordValueView extends RecordValueView<WorkflowInstanceRecord>
+    implements WorkflowInstanceRecordValue {
+
+  public WorkflowInstanceRecordValueView(final ExporterObjectMapper objectMapper) {
+    super(objectMapper, new WorkflowInstanceRecord());
+  }
+
+  @Override
+  public String getBpmnProcessId() {
+    return asString(record.getBpmnProcessId());
+  }
+
+  @Override
+  public int getVersion() {
+    return record.getVersion();
+  }
+
+  @Override
+  public long getWorkflowKey() {
+    return record.getWorkflowKey();
+  }
+
+  @Override
+  public long getWorkflowInstanceKey() {
+    return record.getWorkflowInstanceKey();
+  }
+
+  @Override
+  public String getElementId() {
+    return asString(record.getElementId());
+  }
+
+  @Override
+  public long getFlowScopeKey() {
+    return record.getFlowScopeKey();
+  }
+
+  @Override
+  public BpmnElementType getBpmnElementType() {
+    return record.getBpmnElementType();
+  }
+
+  @Override
+  public WorkflowInstanceRecordValueImpl copy() {
+    return new WorkflowInstanceRecordValueImpl(
+        objectMapper,
+        getBpmnProcessId(),
+        getElementId(),
+        getVersion(),
+        getWorkflowKey(),
+        getWorkflowInstanceKey(),
+        getFlowScopeKey(),
+        getBpmnElementType());
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.BatchExporter;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongConsumer;
+import org.slf4j.Logger;
+
+/**
+ * Collects the records of a {@link BatchExporter} in batches and keeps track of the batches which
+ * are currently exported.
+ *
+ * <p>All methods must be called from the exporter actor. Batches are completed on arbitrary
+ * threads, so the completion only sets a volatile state which is picked up on the next {@link
+ * #poll()}. Positions are acknowledged in the order of the batches, even if a later batch
+ * completes first.
+ *
+ * <p>The batches of an {@link ExporterCatchUp} are exported outside of the queue, but they reserve
+ * an in flight batch of the queue, so the limit of the exporter holds for both.
+ */
+class ExporterBatchQueue {
+  static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+  private final BatchExporter exporter;
+  private final Logger logger;
+  private final LongConsumer positionConsumer;
+
+  private final int maxBatchSize;
+  private final int maxInFlightBatches;
+  private final long maxBatchDelayMillis;
+
+  private final Deque<Batch> inFlightBatches = new ArrayDeque<>();
+  private int reservedBatches;
+  private List<Record> pendingRecords;
+  private long pendingSinceMillis;
+
+  ExporterBatchQueue(
+      final BatchExporter exporter, final Logger logger, final LongConsumer positionConsumer) {
+    this.exporter = exporter;
+    this.logger = logger;
+    this.positionConsumer = positionConsumer;
+
+    this.maxBatchSize = Math.max(1, exporter.getMaxBatchSize());
+    this.maxInFlightBatches = Math.max(1, exporter.getMaxInFlightBatches());
+    this.maxBatchDelayMillis = exporter.getMaxBatchDelay().toMillis();
+    this.pendingRecords = new ArrayList<>(maxBatchSize);
+  }
+
+  /**
+   * Adds a copy of the record to the current batch, since the batch outlives the given record. The
+   * batch is exported as soon as it is full.
+   *
+   * @return false if the record can not be added, because the current batch is full and too many
+   *     batches are in flight
+   */
+  boolean offer(final Record record) {
+    poll();
+
+    if (pendingRecords.size() >= maxBatchSize && !flush()) {
+      return false;
+    }
+
+    if (pendingRecords.isEmpty()) {
+      pendingSinceMillis = ActorClock.currentTimeMillis();
+    }
+    pendingRecords.add(record.copy());
+
+    if (pendingRecords.size() >= maxBatchSize) {
+      flush();
+    }
+
+    return true;
+  }
+
+  /**
+   * Acknowledges the positions of the completed batches, exports failed batches again once the
+   * retry delay is expired and exports the current batch if it is waiting for too long.
+   */
+  void poll() {
+    final long now = ActorClock.currentTimeMillis();
+
+    Batch batch;
+    while ((batch = inFlightBatches.peekFirst()) != null && batch.isCompleted()) {
+      inFlightBatches.removeFirst();
+      positionConsumer.accept(batch.getPosition());
+    }
+
+    for (final Batch inFlightBatch : inFlightBatches) {
+      if (inFlightBatch.shouldRetry(now)) {
+        export(inFlightBatch);
+      }
+    }
+
+    if (!pendingRecords.isEmpty() && now - pendingSinceMillis >= maxBatchDelayMillis) {
+      flush();
+    }
+  }
+
+  /**
+   * Exports the current batch, even if it is neither full nor waiting for too long.
+   *
+   * @return true if no batch is pending or in flight anymore
+   */
+  boolean drain() {
+    poll();
+    flush();
+    return inFlightBatches.isEmpty() && pendingRecords.isEmpty();
+  }
+
+  /**
+   * Reserves an in flight batch for a batch which is exported outside of the queue.
+   *
+   * @return false if too many batches are in flight
+   */
+  boolean tryReserveBatch() {
+    if (getInFlightBatchCount() >= maxInFlightBatches) {
+      return false;
+    }
+
+    reservedBatches += 1;
+    return true;
+  }
+
+  /** Releases an in flight batch which was reserved by {@link #tryReserveBatch()}. */
+  void releaseBatch() {
+    reservedBatches -= 1;
+  }
+
+  int getInFlightBatchCount() {
+    return inFlightBatches.size() + reservedBatches;
+  }
+
+  int getPendingRecordCount() {
+    return pendingRecords.size();
+  }
+
+  private boolean flush() {
+    if (pendingRecords.isEmpty()) {
+      return true;
+    }
+
+    if (getInFlightBatchCount() >= maxInFlightBatches) {
+      return false;
+    }
+
+    final Batch batch = new Batch(Collections.unmodifiableList(pendingRecords));
+    pendingRecords = new ArrayList<>(maxBatchSize);
+
+    inFlightBatches.addLast(batch);
+    export(batch);
+
+    return true;
+  }
+
+  private void export(final Batch batch) {
+    batch.state = Batch.IN_FLIGHT;
+
+    try {
+      final CompletionStage<Void> completion = exporter.exportBatch(batch.records);
+      completion.whenComplete((nothing, error) -> batch.complete(error));
+    } catch (final Exception e) {
+      batch.complete(e);
+    }
+  }
+
+  private final class Batch {
+    private static final int IN_FLIGHT = 0;
+    private static final int COMPLETED = 1;
+    private static final int FAILED = 2;
+
+    private final List<Record> records;
+    private volatile int state = IN_FLIGHT;
+    private long retryAtMillis;
+
+    Batch(final List<Record> records) {
+      this.records = records;
+    }
+
+    long getPosition() {
+      return records.get(records.size() - 1).getPosition();
+    }
+
+    boolean isCompleted() {
+      return state == COMPLETED;
+    }
+
+    boolean shouldRetry(final long now) {
+      if (state != FAILED) {
+        return false;
+      }
+
+      if (retryAtMillis == 0) {
+        retryAtMillis = now + RETRY_DELAY.toMillis();
+      }
+
+      if (now >= retryAtMillis) {
+        retryAtMillis = 0;
+        return true;
+      }
+
+      return false;
+    }
+
+    void complete(final Throwable error) {
+      if (error != null) {
+        logger.error(
+            "Error exporting batch of {} records up to position {}, retry in {}",
+            records.size(),
+            getPosition(),
+            RETRY_DELAY,
+            error);
+        state = FAILED;
+      } else {
+        state = COMPLETED;
+      }
+    }
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.broker.exporter.context.ExporterContext;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.BatchExporter;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Exports the backlog of a {@link BatchExporter} which supports out of order batches with several
+ * readers in parallel, while the stream processor continues with the records after the backlog.
+ *
+ * <p>The backlog is split into ranges which correspond to the partitions of the log's write
+ * buffer, so they have a similar size. The readers run on the IO thread group and claim the ranges
+ * in order, the batches are exported on the exporter actor. The exported position is the position
+ * up to which all ranges are exported.
+ *
+ * <p>Each exported batch reserves an in flight batch of the {@link ExporterBatchQueue} of the
+ * exporter, so the readers and the stream processor together respect the in flight limit of the
+ * exporter. The batches which exceed it wait until another batch is completed.
+ *
+ * <p>The state of the catch-up is only accessed by the exporter actor, the methods which are
+ * called by the readers hand off to it.
+ */
+class ExporterCatchUp {
+  private static final int RANGE_SHIFT = 32;
+
+  private final ActorControl actorControl;
+  private final ActorScheduler actorScheduler;
+  private final LogStream logStream;
+  private final int partitionId;
+  private final BatchExporter exporter;
+  private final ExporterBatchQueue batchQueue;
+  private final ExporterContext context;
+  private final LongConsumer positionConsumer;
+  private final long endPosition;
+
+  private final List<ExporterCatchUpReader> readers = new ArrayList<>();
+  private final Deque<Range> claimedRanges = new ArrayDeque<>();
+  private final Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
+  private long nextRangeStartPosition;
+  private long exportedPosition;
+  private boolean isCompleted;
+  private boolean isClosed;
+
+  /**
+   * @param startPosition the exported position of the exporter, the backlog starts after it
+   * @param endPosition the last position of the backlog
+   * @param positionConsumer is called with the exported position whenever it changes
+   */
+  ExporterCatchUp(
+      final ActorControl actorControl,
+      final ActorScheduler actorScheduler,
+      final LogStream logStream,
+      final int partitionId,
+      final BatchExporter exporter,
+      final ExporterBatchQueue batchQueue,
+      final ExporterContext context,
+      final long startPosition,
+      final long endPosition,
+      final LongConsumer positionConsumer) {
+    this.actorControl = actorControl;
+    this.actorScheduler = actorScheduler;
+    this.logStream = logStream;
+    this.partitionId = partitionId;
+    this.exporter = exporter;
+    this.batchQueue = batchQueue;
+    this.context = context;
+    this.endPosition = endPosition;
+    this.positionConsumer = positionConsumer;
+
+    this.nextRangeStartPosition = startPosition;
+    this.exportedPosition = startPosition;
+  }
+
+  /** @return true if the backlog spans several ranges, so that it can be read in parallel */
+  static boolean isWorthCatchingUp(final long startPosition, final long endPosition) {
+    return rangeOf(startPosition + 1) < rangeOf(endPosition);
+  }
+
+  /** @return the position of the last committed record of the log, or -1 if it is empty */
+  static long findLastPosition(final LogStream logStream) {
+    try (BufferedLogStreamReader reader = new BufferedLogStreamReader(logStream)) {
+      // only the records after the last indexed block are read
+      final long lastIndexedPosition = logStream.getLogBlockIndex().getLastPosition();
+      if (lastIndexedPosition > 0) {
+        reader.seek(lastIndexedPosition);
+      }
+
+      long lastPosition = -1L;
+      while (reader.hasNext()) {
+        lastPosition = reader.next().getPosition();
+      }
+      return lastPosition;
+    }
+  }
+
+  private static long rangeOf(final long position) {
+    // a position consists of the partition id of the write buffer and the offset within it
+    return position >> RANGE_SHIFT;
+  }
+
+  void start(final int readerCount) {
+    // skip the ranges which were already deleted from the log
+    try (BufferedLogStreamReader reader = new BufferedLogStreamReader(logStream)) {
+      if (reader.hasNext()) {
+        nextRangeStartPosition = Math.max(nextRangeStartPosition, reader.next().getPosition() - 1);
+      }
+    }
+
+    final long rangeCount = rangeOf(endPosition) - rangeOf(nextRangeStartPosition + 1) + 1;
+    final int count = (int) Math.min(readerCount, rangeCount);
+
+    context
+        .getLogger()
+        .info(
+            "Catch up the records after position {} up to position {} with {} readers",
+            exportedPosition,
+            endPosition,
+            count);
+
+    for (int i = 0; i < count; i++) {
+      final ExporterCatchUpReader reader =
+          new ExporterCatchUpReader(
+              this,
+              String.format("%s-catch-up-%d", context.getConfiguration().getId(), i),
+              logStream,
+              partitionId,
+              context,
+              exporter.getMaxBatchSize());
+      readers.add(reader);
+      actorScheduler.submitActor(reader, false, SchedulingHints.ioBound());
+    }
+  }
+
+  void close() {
+    isClosed = true;
+    readers.forEach(ExporterCatchUpReader::close);
+    readers.clear();
+    pendingBatches.clear();
+  }
+
+  boolean isCompleted() {
+    return isCompleted;
+  }
+
+  long getEndPosition() {
+    return endPosition;
+  }
+
+  /** @return the next range to read, or null if all ranges are claimed */
+  ActorFuture<Range> claimRange() {
+    return actorControl.call(
+        () -> {
+          if (isClosed || nextRangeStartPosition >= endPosition) {
+            return null;
+          }
+
+          final long startPosition = nextRangeStartPosition;
+          final long lastPositionOfRange = ((rangeOf(startPosition + 1) + 1) << RANGE_SHIFT) - 1;
+          final Range range = new Range(startPosition, Math.min(lastPositionOfRange, endPosition));
+
+          claimedRanges.addLast(range);
+          nextRangeStartPosition = range.endPosition;
+          return range;
+        });
+  }
+
+  /**
+   * Exports the batch on the exporter actor as soon as the in flight limit of the exporter allows
+   * it, and calls the callback once it is completed.
+   */
+  void export(final List<Record> batch, final Consumer<Throwable> callback) {
+    actorControl.run(
+        () -> {
+          if (isClosed) {
+            return;
+          }
+
+          pendingBatches.addLast(new PendingBatch(batch, callback));
+          exportPendingBatches();
+        });
+  }
+
+  private void exportPendingBatches() {
+    PendingBatch pendingBatch;
+    while (!isClosed
+        && (pendingBatch = pendingBatches.peekFirst()) != null
+        && batchQueue.tryReserveBatch()) {
+      pendingBatches.removeFirst();
+
+      final PendingBatch batch = pendingBatch;
+      try {
+        exporter
+            .exportBatch(batch.records)
+            .whenComplete((nothing, error) -> actorControl.run(() -> onExported(batch, error)));
+      } catch (final Exception e) {
+        onExported(batch, e);
+      }
+    }
+  }
+
+  private void onExported(final PendingBatch batch, final Throwable error) {
+    // the reservation is released after close too, the batch queue outlives the catch-up
+    batchQueue.releaseBatch();
+    batch.callback.accept(error);
+    exportPendingBatches();
+  }
+
+  /**
+   * Records that the records of the range are exported up to the given position.
+   *
+   * @param isRangeCompleted true if all records of the range are exported
+   */
+  void onProgress(final Range range, final long position, final boolean isRangeCompleted) {
+    actorControl.run(
+        () -> {
+          if (isClosed) {
+            return;
+          }
+
+          range.exportedPosition = position;
+          range.isCompleted = isRangeCompleted;
+          updateExportedPosition();
+        });
+  }
+
+  private void updateExportedPosition() {
+    long position = exportedPosition;
+
+    Range range;
+    while ((range = claimedRanges.peekFirst()) != null && range.isCompleted) {
+      claimedRanges.removeFirst();
+      position = range.endPosition;
+    }
+
+    if (range != null) {
+      position = Math.max(position, range.exportedPosition);
+    } else if (nextRangeStartPosition >= endPosition) {
+      isCompleted = true;
+      readers.clear();
+      context.getLogger().info("Caught up the records up to position {}", endPosition);
+    }
+
+    if (position > exportedPosition || isCompleted) {
+      exportedPosition = position;
+      positionConsumer.accept(position);
+    }
+  }
+
+  private static final class PendingBatch {
+    private final List<Record> records;
+    private final Consumer<Throwable> callback;
+
+    PendingBatch(final List<Record> records, final Consumer<Throwable> callback) {
+      this.records = records;
+      this.callback = callback;
+    }
+  }
+
+  /** The records after the start position up to and including the end position. */
+  static final class Range {
+    private final long startPosition;
+    private final long endPosition;
+
+    // only accessed by the exporter actor
+    private long exportedPosition;
+    private boolean isCompleted;
+
+    Range(final long startPosition, final long endPosition) {
+      this.startPosition = startPosition;
+      this.endPosition = endPosition;
+      this.exportedPosition = startPosition;
+    }
+
+    long getStartPosition() {
+      return startPosition;
+    }
+
+    long getEndPosition() {
+      return endPosition;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.context.ExporterContext;
+import io.zeebe.broker.exporter.stream.ExporterCatchUp.Range;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.util.sched.Actor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the claimed ranges of an {@link ExporterCatchUp} one after another and exports their
+ * records in batches. Only one batch is exported at a time, a failed batch is exported again after
+ * a delay.
+ *
+ * <p>A batch is read in several jobs if the reader has to skip many records which are not accepted
+ * by the exporter, so that the reader does not block the other actors of its thread.
+ */
+class ExporterCatchUpReader extends Actor {
+  private static final int MAX_READ_RECORDS_PER_JOB = 1_000;
+
+  private final ExporterCatchUp catchUp;
+  private final String name;
+  private final LogStream logStream;
+  private final ExporterContext context;
+  private final int maxBatchSize;
+
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final ExporterRecordMapper recordMapper;
+  private BufferedLogStreamReader reader;
+
+  private Range range;
+  private boolean isRangeCompleted;
+  private List<Record> records;
+  private List<Record> batch;
+  private long batchPosition;
+
+  ExporterCatchUpReader(
+      final ExporterCatchUp catchUp,
+      final String name,
+      final LogStream logStream,
+      final int partitionId,
+      final ExporterContext context,
+      final int maxBatchSize) {
+    this.catchUp = catchUp;
+    this.name = name;
+    this.logStream = logStream;
+    this.context = context;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.records = new ArrayList<>(this.maxBatchSize);
+    this.recordMapper = new ExporterRecordMapper(new ExporterObjectMapper(), partitionId);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarted() {
+    reader = new BufferedLogStreamReader(logStream);
+    claimRange();
+  }
+
+  @Override
+  protected void onActorClosing() {
+    if (reader != null) {
+      reader.close();
+    }
+  }
+
+  public void close() {
+    actor.close();
+  }
+
+  private void claimRange() {
+    actor.runOnCompletion(
+        catchUp.claimRange(),
+        (claimedRange, error) -> {
+          if (error != null) {
+            context.getLogger().error("Failed to claim a range to catch up", error);
+            actor.close();
+          } else if (claimedRange == null) {
+            actor.close();
+          } else {
+            range = claimedRange;
+            isRangeCompleted = false;
+            reader.seek(range.getStartPosition() + 1);
+            actor.submit(this::readBatch);
+          }
+        });
+  }
+
+  private void readBatch() {
+    int readRecords = 0;
+
+    while (records.size() < maxBatchSize && !isRangeCompleted) {
+      if (readRecords >= MAX_READ_RECORDS_PER_JOB) {
+        // yield, the batch is continued by the next job
+        if (records.isEmpty()) {
+          catchUp.onProgress(range, batchPosition, false);
+        }
+        actor.submit(this::readBatch);
+        return;
+      }
+      readRecords += 1;
+
+      if (!reader.hasNext()) {
+        // the range ends at or before the commit position, so all its records are read
+        isRangeCompleted = true;
+        break;
+      }
+
+      final LoggedEvent event = reader.next();
+      final long position = event.getPosition();
+      if (position > range.getEndPosition()) {
+        isRangeCompleted = true;
+        break;
+      }
+
+      event.readMetadata(metadata);
+      if (context.accepts(metadata)) {
+        final Record record = recordMapper.map(event, metadata.getValueType());
+        if (record != null) {
+          records.add(record.copy());
+        }
+      }
+
+      batchPosition = position;
+      isRangeCompleted = position == range.getEndPosition();
+    }
+
+    if (records.isEmpty()) {
+      onBatchExported();
+    } else {
+      batch = Collections.unmodifiableList(records);
+      records = new ArrayList<>(maxBatchSize);
+      exportBatch();
+    }
+  }
+
+  private void exportBatch() {
+    catchUp.export(batch, error -> actor.run(() -> onBatchCompleted(error)));
+  }
+
+  private void onBatchCompleted(final Throwable error) {
+    if (error != null) {
+      context
+          .getLogger()
+          .error(
+              "Error exporting batch of {} records up to position {} on catch up, retry in {}",
+              batch.size(),
+              batchPosition,
+              ExporterBatchQueue.RETRY_DELAY,
+              error);
+      actor.runDelayed(ExporterBatchQueue.RETRY_DELAY, this::exportBatch);
+    } else {
+      batch = null;
+      onBatchExported();
+    }
+  }
+
+  private void onBatchExported() {
+    if (isRangeCompleted) {
+      catchUp.onProgress(range, range.getEndPosition(), true);
+      claimRange();
+    } else {
+      catchUp.onProgress(range, batchPosition, false);
+      actor.submit(this::readBatch);
+    }
+  }
+}
@@ -19,14 +19,15 @@ package io.zeebe.broker.exporter.stream;
 
 import io.zeebe.broker.exporter.ExporterObjectMapper;
 import io.zeebe.broker.exporter.context.ExporterContext;
-import io.zeebe.broker.exporter.record.RecordMetadataImpl;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.broker.exporter.stream.ExporterRecord.ExporterPosition;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.BatchExporter;
 import io.zeebe.exporter.api.spi.Exporter;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.processor.EventProcessor;
@@ -38,32 +39,111 @@ import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.intent.ExporterIntent;
 import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorThread;
+import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.ObjLongConsumer;
+import org.agrona.DirectBuffer;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Exports the records of a partition to the configured exporters.
+ *
+ * <p>The exported positions are kept in memory. They are persisted in the state in one transaction
+ * for all exporters every {@code positionPersistPeriod}, right before a snapshot is taken and on
+ * close. Additionally, they are committed to the log as {@link ExporterIntent#EXPORTED} event every
+ * {@code positionCommitPeriod}, so they are known to the other brokers of the partition.
+ *
+ * <p>If a {@link BatchExporter} which supports out of order batches is far behind, on recovery or
+ * because it falls behind the commit position later, its backlog is exported by an {@link
+ * ExporterCatchUp} with {@code catchUpReaders} parallel readers. Meanwhile, the processor skips
+ * the backlog and exports the following records, but their positions are only acknowledged once
+ * the backlog is exported.
+ */
 public class ExporterStreamProcessor implements StreamProcessor {
+  public static final Duration DEFAULT_POSITION_PERSIST_PERIOD = Duration.ofSeconds(1);
+  public static final Duration DEFAULT_POSITION_COMMIT_PERIOD = Duration.ofMinutes(1);
+  public static final int DEFAULT_CATCH_UP_READERS = 4;
+
+  private static final Duration BATCH_POLL_INTERVAL = Duration.ofMillis(100);
 
   private final RecordMetadata rawMetadata = new RecordMetadata();
   private final List<ExporterContainer> containers;
   private final int partitionId;
+  private final ObjLongConsumer<String> positionListener;
+  private final Duration positionPersistPeriod;
+  private final Duration positionCommitPeriod;
+  private final int catchUpReaders;
 
+  private final DbContext dbContext;
   private final ExporterStreamProcessorState state;
-  private final RecordExporter recordExporter = new RecordExporter();
+  private final RecordExporter recordExporter;
   private final ExporterRecordProcessor exporterRecordProcessor = new ExporterRecordProcessor();
 
+  private StreamProcessorContext processorContext;
   private ActorControl actorControl;
+  private boolean hasUnpersistedPositions;
+  private boolean hasUncommittedPositions;
+  private long lastPositionCommitMillis;
 
   public ExporterStreamProcessor(
       ZeebeDb<ExporterColumnFamilies> zeebeDb,
       DbContext dbContext,
       final int partitionId,
       final Collection<ExporterDescriptor> descriptors) {
+    this(zeebeDb, dbContext, partitionId, descriptors, (id, position) -> {});
+  }
+
+  /**
+   * @param positionListener is notified with the exporter id and the position whenever the
+   *     exported position of an exporter changes
+   */
+  public ExporterStreamProcessor(
+      ZeebeDb<ExporterColumnFamilies> zeebeDb,
+      DbContext dbContext,
+      final int partitionId,
+      final Collection<ExporterDescriptor> descriptors,
+      final ObjLongConsumer<String> positionListener) {
+    this(
+        zeebeDb,
+        dbContext,
+        partitionId,
+        descriptors,
+        positionListener,
+        DEFAULT_POSITION_PERSIST_PERIOD,
+        DEFAULT_POSITION_COMMIT_PERIOD,
+        DEFAULT_CATCH_UP_READERS);
+  }
+
+  /**
+   * @param positionPersistPeriod the period to persist the exported positions in the state, or
+   *     zero to persist them only on snapshot and on close
+   * @param positionCommitPeriod the period to commit the exported positions to the log, or zero to
+   *     never commit them
+   * @param catchUpReaders the count of readers to catch up a backlog in parallel, or zero to
+   *     always export sequentially
+   */
+  public ExporterStreamProcessor(
+      ZeebeDb<ExporterColumnFamilies> zeebeDb,
+      DbContext dbContext,
+      final int partitionId,
+      final Collection<ExporterDescriptor> descriptors,
+      final ObjLongConsumer<String> positionListener,
+      final Duration positionPersistPeriod,
+      final Duration positionCommitPeriod,
+      final int catchUpReaders) {
+    this.dbContext = dbContext;
     state = new ExporterStreamProcessorState(zeebeDb, dbContext);
 
     this.partitionId = partitionId;
+    this.positionListener = positionListener;
+    this.positionPersistPeriod = positionPersistPeriod;
+    this.positionCommitPeriod = positionCommitPeriod;
+    this.catchUpReaders = catchUpReaders;
+    this.recordExporter = new RecordExporter();
 
     this.containers = new ArrayList<>(descriptors.size());
     for (final ExporterDescriptor descriptor : descriptors) {
@@ -93,10 +173,11 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
   @Override
   public void onOpen(StreamProcessorContext context) {
+    processorContext = context;
     actorControl = context.getActorControl();
 
     for (final ExporterContainer container : containers) {
-      container.exporter.configure(container.context);
+      container.configure();
     }
   }
 
@@ -106,6 +187,7 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
     for (final ExporterContainer container : containers) {
       container.position = state.getPosition(container.getId());
+      positionListener.accept(container.getId(), container.position);
 
       if (lowestPosition == -1 || lowestPosition > container.position) {
         lowestPosition = container.position;
@@ -116,48 +198,257 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
   @Override
   public void onRecovered() {
+    boolean hasBatchExporters = false;
     for (final ExporterContainer container : containers) {
       container.exporter.open(container);
+      hasBatchExporters |= container.batchQueue != null;
+
+      if (container.canCatchUp()) {
+        container.tryStartCatchUp();
+      }
+    }
+
+    if (hasBatchExporters) {
+      actorControl.runAtFixedRate(BATCH_POLL_INTERVAL, this::pollBatchQueues);
+    }
+
+    if (!positionPersistPeriod.isZero()) {
+      actorControl.runAtFixedRate(positionPersistPeriod, this::persistPositions);
+    }
+    lastPositionCommitMillis = ActorClock.currentTimeMillis();
+  }
+
+  private void pollBatchQueues() {
+    for (final ExporterContainer container : containers) {
+      if (container.batchQueue != null) {
+        container.batchQueue.poll();
+        container.checkLag();
+      }
     }
   }
 
   @Override
   public void onClose() {
     for (final ExporterContainer container : containers) {
+      if (container.catchUp != null) {
+        container.catchUp.close();
+      }
+
       try {
         container.exporter.close();
       } catch (final Exception e) {
         container.context.getLogger().error("Error on close", e);
       }
     }
+
+    // the positions which were acknowledged on close are included in the final snapshot
+    persistPositions();
+  }
+
+  @Override
+  public void onSnapshot() {
+    persistPositions();
+  }
+
+  /** Writes the positions of all exporters which changed since the last call in one batch. */
+  private void persistPositions() {
+    if (!hasUnpersistedPositions) {
+      return;
+    }
+
+    dbContext.runInTransaction(
+        () -> {
+          for (final ExporterContainer container : containers) {
+            if (container.position > ExporterRecord.POSITION_UNKNOWN) {
+              state.setPosition(container.getId(), container.position);
+            }
+          }
+        });
+    hasUnpersistedPositions = false;
   }
 
   private boolean shouldCommitPositions() {
-    return false;
+    return hasUncommittedPositions
+        && !positionCommitPeriod.isZero()
+        && ActorClock.currentTimeMillis() - lastPositionCommitMillis
+            >= positionCommitPeriod.toMillis();
+  }
+
+  private ExporterRecord newExporterRecord() {
+    final ExporterRecord record = new ExporterRecord();
+
+    for (final ExporterContainer container : containers) {
+      if (container.position > ExporterRecord.POSITION_UNKNOWN) {
+        record.getPositions().add().setId(container.getId()).setPosition(container.position);
+      }
+    }
+
+    return record;
+  }
+
+  private ExporterContainer findContainer(final DirectBuffer id) {
+    for (final ExporterContainer container : containers) {
+      if (BufferUtil.equals(id, container.idBuffer)) {
+        return container;
+      }
+    }
+    return null;
   }
 
   private class ExporterContainer implements Controller {
     private static final String LOGGER_NAME_FORMAT = "io.zeebe.broker.exporter.%s";
 
     private final ExporterContext context;
+    private final DirectBuffer idBuffer;
     private final Exporter exporter;
+    private ExporterBatchQueue batchQueue;
     private long position;
 
+    private ExporterCatchUp catchUp;
+    private boolean isCatchUpRequested;
+    private long catchUpEndPosition = -1L;
+    private long acknowledgedPositionAfterCatchUp = -1L;
+
+    private long lastPassedPosition = -1L;
+    private long lastSkippedPosition = -1L;
+
     ExporterContainer(ExporterDescriptor descriptor) {
       context =
           new ExporterContext(
               LoggerFactory.getLogger(String.format(LOGGER_NAME_FORMAT, descriptor.getId())),
               descriptor.getConfiguration());
+      idBuffer = BufferUtil.wrapString(descriptor.getId());
       exporter = descriptor.newInstance();
     }
 
+    private void configure() {
+      exporter.configure(context);
+
+      // the batch options may depend on the configuration
+      if (exporter instanceof BatchExporter) {
+        batchQueue =
+            new ExporterBatchQueue(
+                (BatchExporter) exporter, context.getLogger(), this::acknowledgePosition);
+      }
+    }
+
     @Override
     public void updateLastExportedRecordPosition(final long position) {
-      actorControl.run(
-          () -> {
-            state.setPosition(getId(), position);
-            this.position = position;
-          });
+      final ActorThread actorThread = ActorThread.current();
+      final boolean isCalledFromActor =
+          actorThread != null && actorControl.isCalledFromWithinActor(actorThread.getCurrentJob());
+
+      if (isCalledFromActor) {
+        // exporters usually acknowledge the position while exporting, so no extra job is needed
+        acknowledgePosition(position);
+      } else {
+        actorControl.run(() -> acknowledgePosition(position));
+      }
+    }
+
+    private boolean canCatchUp() {
+      return catchUpReaders > 0
+          && batchQueue != null
+          && ((BatchExporter) exporter).supportsOutOfOrderBatches();
+    }
+
+    /**
+     * Requests a catch-up if the exporter fell behind the commit position. The catch-up is started
+     * by the processor once the batches which were passed to the exporter are completed, see
+     * {@link #tryStartRequestedCatchUp()}.
+     */
+    private void checkLag() {
+      if (catchUp != null || isCatchUpRequested || !canCatchUp()) {
+        return;
+      }
+
+      final long commitPosition = processorContext.getLogStream().getCommitPosition();
+      isCatchUpRequested = ExporterCatchUp.isWorthCatchingUp(position, commitPosition);
+    }
+
+    /** @return false if the batches of the exporter are not completed yet, so it must wait */
+    private boolean tryStartRequestedCatchUp() {
+      if (!batchQueue.drain()) {
+        return false;
+      }
+
+      // the catch-up starts after the acknowledged position, so no passed record is exported twice
+      isCatchUpRequested = false;
+      tryStartCatchUp();
+      return true;
+    }
+
+    private void tryStartCatchUp() {
+      final LogStream logStream = processorContext.getLogStream();
+      final long lastPosition = ExporterCatchUp.findLastPosition(logStream);
+      if (!ExporterCatchUp.isWorthCatchingUp(position, lastPosition)) {
+        return;
+      }
+
+      catchUp =
+          new ExporterCatchUp(
+              actorControl,
+              processorContext.getActorScheduler(),
+              logStream,
+              partitionId,
+              (BatchExporter) exporter,
+              batchQueue,
+              context,
+              position,
+              lastPosition,
+              this::onCatchUpProgress);
+      catchUpEndPosition = catchUp.getEndPosition();
+      acknowledgedPositionAfterCatchUp = position;
+      catchUp.start(catchUpReaders);
+    }
+
+    private void onCatchUpProgress(final long exportedPosition) {
+      // the position may already be higher, if it was committed to the log by another broker
+      final long exported = Math.max(position, exportedPosition);
+
+      if (catchUp.isCompleted()) {
+        catchUp = null;
+        updatePosition(Math.max(exported, acknowledgedPositionAfterCatchUp));
+      } else {
+        updatePosition(exported);
+      }
+    }
+
+    /**
+     * Skips a record which is not exported by this exporter. The position of the exporter can only
+     * pass the record once all records which were passed to the exporter before are acknowledged.
+     */
+    private void skipRecord(final long position) {
+      final long acknowledgedPosition =
+          catchUp != null ? acknowledgedPositionAfterCatchUp : this.position;
+
+      if (acknowledgedPosition >= lastPassedPosition) {
+        acknowledgePosition(position);
+      } else {
+        lastSkippedPosition = position;
+      }
+    }
+
+    private void acknowledgePosition(long position) {
+      if (position >= lastPassedPosition && lastSkippedPosition > position) {
+        // all passed records are exported, so the records skipped afterwards are done as well
+        position = lastSkippedPosition;
+      }
+
+      if (catchUp != null) {
+        // the records after the backlog are exported while catching up, but the position of the
+        // exporter can only pass the backlog once all its records are exported
+        acknowledgedPositionAfterCatchUp = position;
+      } else {
+        updatePosition(position);
+      }
+    }
+
+    private void updatePosition(final long position) {
+      this.position = position;
+      hasUnpersistedPositions = true;
+      hasUncommittedPositions = true;
+      positionListener.accept(getId(), position);
     }
 
     @Override
@@ -179,41 +470,57 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
     @Override
     public void processEvent() {
+      // the log contains the positions of the exporters of all processors of the partition
       for (final ExporterPosition position : record.getPositions()) {
-        state.setPositionIfGreater(position.getId(), position.getPosition());
+        final ExporterContainer container = findContainer(position.getId());
+
+        if (container != null && container.position < position.getPosition()) {
+          state.setPosition(position.getId(), position.getPosition());
+          container.position = position.getPosition();
+        }
       }
     }
   }
 
   private class RecordExporter implements EventProcessor {
-    private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
-    private final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
+    private final ExporterRecordMapper recordMapper =
+        new ExporterRecordMapper(new ExporterObjectMapper(), partitionId);
     private Record record;
-    private boolean shouldExecuteSideEffects;
+    private long recordPosition;
     private int exporterIndex;
+    private boolean[] acceptedByExporter = new boolean[0];
 
     void wrap(LoggedEvent rawEvent) {
-      final RecordMetadataImpl metadata =
-          new RecordMetadataImpl(
-              objectMapper,
-              partitionId,
-              rawMetadata.getIntent(),
-              rawMetadata.getRecordType(),
-              rawMetadata.getRejectionType(),
-              BufferUtil.bufferAsString(rawMetadata.getRejectionReason()),
-              rawMetadata.getValueType());
-
-      record = recordMapper.map(rawEvent, metadata);
       exporterIndex = 0;
-      shouldExecuteSideEffects = record != null;
+      recordPosition = rawEvent.getPosition();
+      record = null;
+
+      if (applyFilters(recordPosition)) {
+        record = recordMapper.map(rawEvent, rawMetadata.getValueType());
+      }
+      // otherwise no exporter is interested in the record, so it is not mapped at all
     }
 
-    @Override
-    public boolean executeSideEffects() {
-      if (!shouldExecuteSideEffects) {
-        return true;
+    private boolean applyFilters(final long position) {
+      final int exportersCount = containers.size();
+      if (acceptedByExporter.length != exportersCount) {
+        acceptedByExporter = new boolean[exportersCount];
       }
 
+      boolean isAccepted = false;
+      for (int i = 0; i < exportersCount; i++) {
+        final ExporterContainer container = containers.get(i);
+        // the records of the backlog are exported by the catch-up
+        acceptedByExporter[i] =
+            position > container.catchUpEndPosition && container.context.accepts(rawMetadata);
+        isAccepted |= acceptedByExporter[i];
+      }
+
+      return isAccepted;
+    }
+
+    @Override
+    public boolean executeSideEffects() {
       final int exportersCount = containers.size();
 
       // current error handling strategy is simply to repeat forever until the record can be
@@ -222,8 +529,27 @@ public class ExporterStreamProcessor implements StreamProcessor {
         final ExporterContainer container = containers.get(exporterIndex);
 
         try {
-          if (container.position < record.getPosition()) {
-            container.exporter.export(record);
+          if (container.isCatchUpRequested && !container.tryStartRequestedCatchUp()) {
+            // back pressure: the catch-up starts once the passed batches are completed
+            return false;
+          }
+
+          if (container.position < recordPosition) {
+            // the catch-up may be started after the filters were applied
+            final boolean isBacklog = recordPosition <= container.catchUpEndPosition;
+
+            if (acceptedByExporter[exporterIndex] && record != null && !isBacklog) {
+              if (container.batchQueue == null) {
+                container.exporter.export(record);
+              } else if (!container.batchQueue.offer(record)) {
+                // back pressure: too many batches are in flight, retry until one is completed
+                return false;
+              }
+              container.lastPassedPosition = recordPosition;
+            } else if (!isBacklog) {
+              // the position passes filtered records too, otherwise they are read again on restart
+              container.skipRecord(recordPosition);
+            }
           }
 
           exporterIndex++;
@@ -239,7 +565,7 @@ public class ExporterStreamProcessor implements StreamProcessor {
     @Override
     public long writeEvent(LogStreamRecordWriter writer) {
       if (shouldCommitPositions()) {
-        final ExporterRecord record = state.newExporterRecord();
+        final ExporterRecord record = newExporterRecord();
 
         rawMetadata
             .reset()
@@ -247,7 +573,20 @@ public class ExporterStreamProcessor implements StreamProcessor {
             .valueType(ValueType.EXPORTER)
             .intent(ExporterIntent.EXPORTED);
 
-        return writer.valueWriter(record).metadataWriter(rawMetadata).tryWrite();
+        // the positions do not result from the source record, and the exporters of the partition
+        // share the producer id, so the event must not be considered on reprocessing
+        final long position =
+            writer
+                .sourceRecordPosition(-1L)
+                .valueWriter(record)
+                .metadataWriter(rawMetadata)
+                .tryWrite();
+
+        if (position >= 0) {
+          hasUncommittedPositions = false;
+          lastPositionCommitMillis = ActorClock.currentTimeMillis();
+        }
+        return position;
       }
 
       return 0;
@@ -31,8 +31,11 @@ import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory;
 import io.zeebe.broker.system.Component;
 import io.zeebe.broker.system.SystemContext;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.transport.TransportServiceNames;
+import io.zeebe.logstreams.processor.SnapshotPolicy;
 import io.zeebe.servicecontainer.ServiceContainer;
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.DurationUtil;
 import java.time.Duration;
 
@@ -46,9 +49,12 @@ public class LogStreamsComponent implements Component {
     final Duration snapshotPeriod =
         DurationUtil.parse(brokerConfiguration.getData().getSnapshotPeriod());
     final int maxSnapshots = brokerConfiguration.getData().getMaxSnapshots();
+    final SnapshotPolicy snapshotPolicy = createSnapshotPolicy(brokerConfiguration.getData());
+    final boolean archiveLogOnSnapshot = brokerConfiguration.getData().isLogArchiveEnabled();
 
     final StreamProcessorServiceFactory streamProcessorFactory =
-        new StreamProcessorServiceFactory(serviceContainer, snapshotPeriod, maxSnapshots);
+        new StreamProcessorServiceFactory(
+            serviceContainer, snapshotPeriod, maxSnapshots, snapshotPolicy, archiveLogOnSnapshot);
     serviceContainer
         .createService(STREAM_PROCESSOR_SERVICE_FACTORY, streamProcessorFactory)
         .install();
@@ -77,4 +83,21 @@ public class LogStreamsComponent implements Component {
             LEADER_PARTITION_GROUP_NAME, streamProcessorService.getPartitionsGroupReference())
         .install();
   }
+
+  private static SnapshotPolicy createSnapshotPolicy(final DataCfg dataCfg) {
+    final SnapshotPolicy snapshotPolicy =
+        new SnapshotPolicy()
+            .minInterval(DurationUtil.parse(dataCfg.getSnapshotMinPeriod()))
+            .maxEvents(dataCfg.getSnapshotMaxEvents());
+
+    if (dataCfg.getSnapshotMaxLogSize() != null) {
+      snapshotPolicy.maxBytes(new ByteValue(dataCfg.getSnapshotMaxLogSize()).toBytes());
+    }
+
+    if (dataCfg.getSnapshotMaxReplayTime() != null) {
+      snapshotPolicy.maxReplayDuration(DurationUtil.parse(dataCfg.getSnapshotMaxReplayTime()));
+    }
+
+    return snapshotPolicy;
+  }
 }
@@ -23,6 +23,7 @@ import io.zeebe.logstreams.impl.service.StreamProcessorService;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.processor.EventFilter;
+import io.zeebe.logstreams.processor.SnapshotPolicy;
 import io.zeebe.logstreams.processor.StreamProcessor;
 import io.zeebe.logstreams.processor.StreamProcessorFactory;
 import io.zeebe.logstreams.spi.SnapshotController;
@@ -38,18 +39,30 @@ import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 public class StreamProcessorServiceFactory implements Service<StreamProcessorServiceFactory> {
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
   private final int maxSnapshots;
+  private final SnapshotPolicy snapshotPolicy;
+  private final boolean archiveLogOnSnapshot;
+  private final Map<Integer, LongSupplier> archivePositionLimits = new ConcurrentHashMap<>();
   private ActorScheduler actorScheduler;
 
   public StreamProcessorServiceFactory(
-      ServiceContainer serviceContainer, Duration snapshotPeriod, int maxSnapshots) {
+      ServiceContainer serviceContainer,
+      Duration snapshotPeriod,
+      int maxSnapshots,
+      SnapshotPolicy snapshotPolicy,
+      boolean archiveLogOnSnapshot) {
     this.serviceContainer = serviceContainer;
     this.snapshotPeriod = snapshotPeriod;
     this.maxSnapshots = maxSnapshots;
+    this.snapshotPolicy = snapshotPolicy;
+    this.archiveLogOnSnapshot = archiveLogOnSnapshot;
   }
 
   @Override
@@ -66,8 +79,26 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
     return new Builder(partition, serviceName);
   }
 
+  /**
+   * Limits the position up to which the stream processors of the partition archive the log on a
+   * snapshot, e.g. to the lowest position which is not exported yet.
+   */
+  public void setArchivePositionLimit(int partitionId, LongSupplier archivePositionLimit) {
+    archivePositionLimits.put(partitionId, archivePositionLimit);
+  }
+
+  public void removeArchivePositionLimit(int partitionId) {
+    archivePositionLimits.remove(partitionId);
+  }
+
+  private long getArchivePositionLimit(int partitionId) {
+    final LongSupplier archivePositionLimit = archivePositionLimits.get(partitionId);
+    return archivePositionLimit != null ? archivePositionLimit.getAsLong() : Long.MAX_VALUE;
+  }
+
   public class Builder {
     private final LogStream logStream;
+    private final int partitionId;
 
     private SnapshotController snapshotController;
     private String processorName;
@@ -81,6 +112,7 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
 
     public Builder(Partition partition, ServiceName<Partition> serviceName) {
       this.logStream = partition.getLogStream();
+      this.partitionId = partition.getInfo().getPartitionId();
       this.additionalDependencies.add(serviceName);
     }
 
@@ -126,6 +158,9 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
           .snapshotController(snapshotController)
           .snapshotPeriod(snapshotPeriod)
           .maxSnapshots(maxSnapshots)
+          .snapshotPolicy(snapshotPolicy)
+          .archiveLogOnSnapshot(archiveLogOnSnapshot)
+          .archivePositionLimit(() -> getArchivePositionLimit(partitionId))
           .logStream(logStream)
           .eventFilter(eventFilter)
           .readOnly(readOnly)
@@ -38,8 +38,7 @@ public class StateStorageFactory {
   }
 
   public StateStorage create(final int processorId, final String processorName) {
-    final String name = String.format("%d_%s", processorId, processorName);
-    final File processorDirectory = new File(rootDirectory, name);
+    final File processorDirectory = getProcessorDirectory(processorId, processorName);
 
     final File runtimeDirectory = new File(processorDirectory, DEFAULT_RUNTIME_PATH);
     final File snapshotsDirectory = new File(processorDirectory, DEFAULT_SNAPSHOTS_PATH);
@@ -55,7 +54,17 @@ public class StateStorageFactory {
     return new StateStorage(runtimeDirectory, snapshotsDirectory);
   }
 
+  /** @return true if a storage of the given processor was created before */
+  public boolean exists(final int processorId, final String processorName) {
+    return getProcessorDirectory(processorId, processorName).exists();
+  }
+
   public StateStorage create(final StreamProcessorContext context) {
     return create(context.getId(), context.getName());
   }
+
+  private File getProcessorDirectory(final int processorId, final String processorName) {
+    final String name = String.format("%d_%s", processorId, processorName);
+    return new File(rootDirectory, name);
+  }
 }
@@ -25,6 +25,7 @@ import io.zeebe.broker.system.configuration.SocketBindingCfg;
 import io.zeebe.broker.system.configuration.ThreadsCfg;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.util.TomlConfigurationReader;
 import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorScheduler;
@@ -64,6 +65,9 @@ public class SystemContext implements AutoCloseable {
   private final List<Closeable> closeablesToReleaseResources = new ArrayList<>();
   private Closeable gatewayResourceReleasingDelegate = null;
 
+  // the server transports of the broker, which the embedded gateway connects to locally
+  private final LocalTransportRegistry localTransportRegistry = new LocalTransportRegistry();
+
   protected Map<String, String> diagnosticContext;
   protected ActorScheduler scheduler;
 
@@ -265,6 +269,10 @@ public class SystemContext implements AutoCloseable {
     gatewayResourceReleasingDelegate = delegate;
   }
 
+  public LocalTransportRegistry getLocalTransportRegistry() {
+    return localTransportRegistry;
+  }
+
   public Map<String, String> getDiagnosticContext() {
     return diagnosticContext;
   }
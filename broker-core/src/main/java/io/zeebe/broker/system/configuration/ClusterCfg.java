@@ -17,7 +17,9 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import io.zeebe.util.DurationUtil;
 import io.zeebe.util.Environment;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import org.agrona.collections.IntArrayList;
@@ -28,6 +30,7 @@ public class ClusterCfg implements ConfigurationEntry {
   public static final int DEFAULT_PARTITIONS_COUNT = 1;
   public static final int DEFAULT_REPLICATION_FACTOR = 1;
   public static final int DEFAULT_CLUSTER_SIZE = 1;
+  public static final String DEFAULT_LEADER_BALANCING_INTERVAL = "30s";
 
   private List<String> initialContactPoints = DEFAULT_CONTACT_POINTS;
 
@@ -36,6 +39,8 @@ public class ClusterCfg implements ConfigurationEntry {
   private int partitionsCount = DEFAULT_PARTITIONS_COUNT;
   private int replicationFactor = DEFAULT_REPLICATION_FACTOR;
   private int clusterSize = DEFAULT_CLUSTER_SIZE;
+  private boolean leaderBalancing = false;
+  private String leaderBalancingInterval = DEFAULT_LEADER_BALANCING_INTERVAL;
 
   @Override
   public void init(
@@ -113,6 +118,26 @@ public class ClusterCfg implements ConfigurationEntry {
     this.clusterSize = clusterSize;
   }
 
+  public boolean isLeaderBalancing() {
+    return leaderBalancing;
+  }
+
+  public void setLeaderBalancing(final boolean leaderBalancing) {
+    this.leaderBalancing = leaderBalancing;
+  }
+
+  public String getLeaderBalancingInterval() {
+    return leaderBalancingInterval;
+  }
+
+  public void setLeaderBalancingInterval(final String leaderBalancingInterval) {
+    this.leaderBalancingInterval = leaderBalancingInterval;
+  }
+
+  public Duration getLeaderBalancingIntervalDuration() {
+    return DurationUtil.parse(leaderBalancingInterval);
+  }
+
   @Override
   public String toString() {
 
@@ -127,6 +152,10 @@ public class ClusterCfg implements ConfigurationEntry {
         + clusterSize
         + ", initialContactPoints="
         + initialContactPoints
+        + ", leaderBalancing="
+        + leaderBalancing
+        + ", leaderBalancingInterval="
+        + leaderBalancingInterval
         + '}';
   }
 }
@@ -35,10 +35,25 @@ public class DataCfg implements ConfigurationEntry {
 
   private int maxSnapshots = 1;
 
+  private String snapshotMinPeriod = "0s";
+
+  private long snapshotMaxEvents = -1;
+
+  private String snapshotMaxLogSize;
+
+  private String snapshotMaxReplayTime;
+
+  /** the log is archived to this directory when a snapshot was taken, disabled if not set */
+  private String logArchiveDirectory;
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
     directories.replaceAll(d -> ConfigurationUtil.toAbsolutePath(d, brokerBase));
+
+    if (logArchiveDirectory != null) {
+      logArchiveDirectory = ConfigurationUtil.toAbsolutePath(logArchiveDirectory, brokerBase);
+    }
   }
 
   private void applyEnvironment(final Environment environment) {
@@ -85,6 +100,50 @@ public class DataCfg implements ConfigurationEntry {
     return maxSnapshots;
   }
 
+  public String getSnapshotMinPeriod() {
+    return snapshotMinPeriod;
+  }
+
+  public void setSnapshotMinPeriod(final String snapshotMinPeriod) {
+    this.snapshotMinPeriod = snapshotMinPeriod;
+  }
+
+  public long getSnapshotMaxEvents() {
+    return snapshotMaxEvents;
+  }
+
+  public void setSnapshotMaxEvents(final long snapshotMaxEvents) {
+    this.snapshotMaxEvents = snapshotMaxEvents;
+  }
+
+  public String getSnapshotMaxLogSize() {
+    return snapshotMaxLogSize;
+  }
+
+  public void setSnapshotMaxLogSize(final String snapshotMaxLogSize) {
+    this.snapshotMaxLogSize = snapshotMaxLogSize;
+  }
+
+  public String getSnapshotMaxReplayTime() {
+    return snapshotMaxReplayTime;
+  }
+
+  public void setSnapshotMaxReplayTime(final String snapshotMaxReplayTime) {
+    this.snapshotMaxReplayTime = snapshotMaxReplayTime;
+  }
+
+  public String getLogArchiveDirectory() {
+    return logArchiveDirectory;
+  }
+
+  public void setLogArchiveDirectory(final String logArchiveDirectory) {
+    this.logArchiveDirectory = logArchiveDirectory;
+  }
+
+  public boolean isLogArchiveEnabled() {
+    return logArchiveDirectory != null;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
@@ -102,6 +161,20 @@ public class DataCfg implements ConfigurationEntry {
         + ", maxSnapshots='"
         + maxSnapshots
         + '\''
+        + ", snapshotMinPeriod='"
+        + snapshotMinPeriod
+        + '\''
+        + ", snapshotMaxEvents="
+        + snapshotMaxEvents
+        + ", snapshotMaxLogSize='"
+        + snapshotMaxLogSize
+        + '\''
+        + ", snapshotMaxReplayTime='"
+        + snapshotMaxReplayTime
+        + '\''
+        + ", logArchiveDirectory='"
+        + logArchiveDirectory
+        + '\''
         + '}';
   }
 }
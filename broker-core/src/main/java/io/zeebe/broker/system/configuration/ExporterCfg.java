@@ -41,6 +41,21 @@ public class ExporterCfg implements ConfigurationEntry {
   /** map of arguments to use when instantiating the exporter */
   private Map<String, Object> args;
 
+  /**
+   * how often the exported position is persisted in the state; it is always persisted before a
+   * snapshot is taken, so "0s" persists it only then
+   */
+  private String positionPersistPeriod = "1s";
+
+  /** how often the exported position is committed to the log; "0s" never commits it */
+  private String positionCommitPeriod = "1m";
+
+  /**
+   * how many readers catch up a large backlog in parallel, if the exporter supports out of order
+   * batches; 0 always exports sequentially
+   */
+  private int catchUpReaders = 4;
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     if (isExternal()) {
@@ -84,6 +99,30 @@ public class ExporterCfg implements ConfigurationEntry {
     this.args = args;
   }
 
+  public String getPositionPersistPeriod() {
+    return positionPersistPeriod;
+  }
+
+  public void setPositionPersistPeriod(String positionPersistPeriod) {
+    this.positionPersistPeriod = positionPersistPeriod;
+  }
+
+  public String getPositionCommitPeriod() {
+    return positionCommitPeriod;
+  }
+
+  public void setPositionCommitPeriod(String positionCommitPeriod) {
+    this.positionCommitPeriod = positionCommitPeriod;
+  }
+
+  public int getCatchUpReaders() {
+    return catchUpReaders;
+  }
+
+  public void setCatchUpReaders(int catchUpReaders) {
+    this.catchUpReaders = catchUpReaders;
+  }
+
   private boolean isEmpty(final String value) {
     return value == null || value.isEmpty();
   }
@@ -102,6 +141,14 @@ public class ExporterCfg implements ConfigurationEntry {
         + '\''
         + ", args="
         + args
+        + ", positionPersistPeriod='"
+        + positionPersistPeriod
+        + '\''
+        + ", positionCommitPeriod='"
+        + positionCommitPeriod
+        + '\''
+        + ", catchUpReaders="
+        + catchUpReaders
         + '}';
   }
 }
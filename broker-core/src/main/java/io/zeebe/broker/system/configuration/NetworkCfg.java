@@ -29,6 +29,8 @@ public class NetworkCfg implements ConfigurationEntry {
   private String host = DEFAULT_HOST;
   private String defaultSendBufferSize = "16M";
   private int portOffset = 0;
+  private int ioThreads = 1;
+  private String compressionThreshold = "0";
 
   private SocketBindingClientApiCfg client = new SocketBindingClientApiCfg();
   private SocketBindingManagementCfg management = new SocketBindingManagementCfg();
@@ -74,6 +76,22 @@ public class NetworkCfg implements ConfigurationEntry {
     this.portOffset = portOffset;
   }
 
+  public int getIoThreads() {
+    return ioThreads;
+  }
+
+  public void setIoThreads(final int ioThreads) {
+    this.ioThreads = ioThreads;
+  }
+
+  public String getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  public void setCompressionThreshold(final String compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
+
   public SocketBindingClientApiCfg getClient() {
     return client;
   }
@@ -117,6 +135,11 @@ public class NetworkCfg implements ConfigurationEntry {
         + '\''
         + ", portOffset="
         + portOffset
+        + ", ioThreads="
+        + ioThreads
+        + ", compressionThreshold='"
+        + compressionThreshold
+        + '\''
         + ", client="
         + client
         + ", management="
@@ -25,6 +25,7 @@ import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.BufferingServerTransport;
 import io.zeebe.transport.Transports;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
@@ -40,14 +41,25 @@ public class BufferingServerTransportService implements Service<BufferingServerT
   protected final String readableName;
   protected final InetSocketAddress bindAddress;
   private final ByteValue sendBufferSize;
+  private final int ioThreads;
+  private final ByteValue compressionThreshold;
+  private final LocalTransportRegistry localTransportRegistry;
 
   protected BufferingServerTransport serverTransport;
 
   public BufferingServerTransportService(
-      String readableName, InetSocketAddress bindAddress, ByteValue sendBufferSize) {
+      String readableName,
+      InetSocketAddress bindAddress,
+      ByteValue sendBufferSize,
+      int ioThreads,
+      ByteValue compressionThreshold,
+      LocalTransportRegistry localTransportRegistry) {
     this.readableName = readableName;
     this.bindAddress = bindAddress;
     this.sendBufferSize = sendBufferSize;
+    this.ioThreads = ioThreads;
+    this.compressionThreshold = compressionThreshold;
+    this.localTransportRegistry = localTransportRegistry;
   }
 
   @Override
@@ -61,6 +73,10 @@ public class BufferingServerTransportService implements Service<BufferingServerT
             .bindAddress(bindAddress)
             .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
             .scheduler(scheduler)
+            .senderCount(ioThreads)
+            .receiverCount(ioThreads)
+            .compressionThreshold((int) compressionThreshold.toBytes())
+            .localTransportRegistry(localTransportRegistry)
             .buildBuffering(receiveBuffer);
 
     LOG.info("Bound {} to {}", readableName, bindAddress);
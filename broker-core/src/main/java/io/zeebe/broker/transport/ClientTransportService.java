@@ -36,16 +36,22 @@ public class ClientTransportService implements Service<ClientTransport> {
   private final String name;
   protected final Collection<IntTuple<SocketAddress>> defaultEndpoints;
   private final ByteValue messageBufferSize;
+  private final int ioThreads;
+  private final ByteValue compressionThreshold;
 
   protected ClientTransport transport;
 
   public ClientTransportService(
       String name,
       Collection<IntTuple<SocketAddress>> defaultEndpoints,
-      ByteValue messageBufferSize) {
+      ByteValue messageBufferSize,
+      int ioThreads,
+      ByteValue compressionThreshold) {
     this.name = name;
     this.defaultEndpoints = defaultEndpoints;
     this.messageBufferSize = messageBufferSize;
+    this.ioThreads = ioThreads;
+    this.compressionThreshold = compressionThreshold;
   }
 
   @Override
@@ -61,6 +67,9 @@ public class ClientTransportService implements Service<ClientTransport> {
             // request/resp
             .requestMemoryPool(new UnboundedMemoryPool())
             .scheduler(scheduler)
+            .senderCount(ioThreads)
+            .receiverCount(ioThreads)
+            .compressionThreshold((int) compressionThreshold.toBytes())
             .build();
 
     if (defaultEndpoints != null) {
@@ -26,6 +26,7 @@ import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.Transports;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
@@ -42,14 +43,25 @@ public class ServerTransportService implements Service<ServerTransport> {
   protected final String readableName;
   protected final InetSocketAddress bindAddress;
   private final ByteValue sendBufferSize;
+  private final int senderCount;
+  private final ByteValue compressionThreshold;
+  private final LocalTransportRegistry localTransportRegistry;
 
   protected ServerTransport serverTransport;
 
   public ServerTransportService(
-      String readableName, InetSocketAddress bindAddress, ByteValue sendBufferSize) {
+      String readableName,
+      InetSocketAddress bindAddress,
+      ByteValue sendBufferSize,
+      int senderCount,
+      ByteValue compressionThreshold,
+      LocalTransportRegistry localTransportRegistry) {
     this.readableName = readableName;
     this.bindAddress = bindAddress;
     this.sendBufferSize = sendBufferSize;
+    this.senderCount = senderCount;
+    this.compressionThreshold = compressionThreshold;
+    this.localTransportRegistry = localTransportRegistry;
   }
 
   @Override
@@ -64,6 +76,10 @@ public class ServerTransportService implements Service<ServerTransport> {
             .bindAddress(bindAddress)
             .scheduler(scheduler)
             .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
+            // the request and message handlers are not thread-safe, keep a single receiver
+            .senderCount(senderCount)
+            .compressionThreshold((int) compressionThreshold.toBytes())
+            .localTransportRegistry(localTransportRegistry)
             .build(messageHandler, requestHandler);
 
     LOG.info("Bound {} to {}", readableName, bindAddress);
@@ -70,13 +70,16 @@ public class TransportComponent implements Component {
     final int nodeId = brokerCfg.getCluster().getNodeId();
     final SocketAddress managementEndpoint = networkCfg.getManagement().toSocketAddress();
     final SocketAddress subscriptionEndpoint = networkCfg.getSubscription().toSocketAddress();
+    final ByteValue compressionThreshold = new ByteValue(networkCfg.getCompressionThreshold());
 
     final ActorFuture<ClientTransport> managementClientFuture =
         createClientTransport(
             serviceContainer,
             MANAGEMENT_API_CLIENT_NAME,
             new ByteValue(networkCfg.getDefaultSendBufferSize()),
-            Collections.singletonList(new IntTuple<>(nodeId, managementEndpoint)));
+            Collections.singletonList(new IntTuple<>(nodeId, managementEndpoint)),
+            networkCfg.getIoThreads(),
+            compressionThreshold);
 
     context.addRequiredStartAction(managementClientFuture);
 
@@ -85,7 +88,9 @@ public class TransportComponent implements Component {
             serviceContainer,
             REPLICATION_API_CLIENT_NAME,
             new ByteValue(networkCfg.getDefaultSendBufferSize()),
-            null);
+            null,
+            networkCfg.getIoThreads(),
+            compressionThreshold);
 
     context.addRequiredStartAction(replicationClientFuture);
 
@@ -94,7 +99,9 @@ public class TransportComponent implements Component {
             serviceContainer,
             SUBSCRIPTION_API_CLIENT_NAME,
             new ByteValue(networkCfg.getDefaultSendBufferSize()),
-            Collections.singletonList(new IntTuple<>(nodeId, subscriptionEndpoint)));
+            Collections.singletonList(new IntTuple<>(nodeId, subscriptionEndpoint)),
+            networkCfg.getIoThreads(),
+            compressionThreshold);
 
     context.addRequiredStartAction(subscriptionClientFuture);
   }
@@ -237,8 +244,15 @@ public class TransportComponent implements Component {
       final ByteValue sendBufferSize,
       final ServiceName<? extends ServerRequestHandler> requestHandlerDependency,
       final ServiceName<? extends ServerMessageHandler> messageHandlerDependency) {
+    final NetworkCfg networkCfg = systemContext.getBrokerConfiguration().getNetwork();
     final ServerTransportService service =
-        new ServerTransportService(name, bindAddress, sendBufferSize);
+        new ServerTransportService(
+            name,
+            bindAddress,
+            sendBufferSize,
+            networkCfg.getIoThreads(),
+            new ByteValue(networkCfg.getCompressionThreshold()),
+            systemContext.getLocalTransportRegistry());
 
     systemContext.addResourceReleasingDelegate(service.getReleasingResourcesDelegate());
 
@@ -259,8 +273,15 @@ public class TransportComponent implements Component {
     final ServiceName<Dispatcher> receiveBufferName =
         createReceiveBuffer(serviceContainer, name, receiveBufferSize);
 
+    final NetworkCfg networkCfg = systemContext.getBrokerConfiguration().getNetwork();
     final BufferingServerTransportService service =
-        new BufferingServerTransportService(name, bindAddress, sendBufferSize);
+        new BufferingServerTransportService(
+            name,
+            bindAddress,
+            sendBufferSize,
+            networkCfg.getIoThreads(),
+            new ByteValue(networkCfg.getCompressionThreshold()),
+            systemContext.getLocalTransportRegistry());
 
     systemContext.addResourceReleasingDelegate(service.getReleasingResourcesDelegate());
     return serviceContainer
@@ -294,9 +315,12 @@ public class TransportComponent implements Component {
       final ServiceContainer serviceContainer,
       final String name,
       final ByteValue sendBufferSize,
-      final Collection<IntTuple<SocketAddress>> defaultEndpoints) {
+      final Collection<IntTuple<SocketAddress>> defaultEndpoints,
+      final int ioThreads,
+      final ByteValue compressionThreshold) {
     final ClientTransportService service =
-        new ClientTransportService(name, defaultEndpoints, sendBufferSize);
+        new ClientTransportService(
+            name, defaultEndpoints, sendBufferSize, ioThreads, compressionThreshold);
 
     return serviceContainer
         .createService(TransportServiceNames.clientTransport(name), service)
@@ -154,6 +154,19 @@ public class PartitionsLeaderMatrixTest {
     assertThat(membersForPartition).containsExactly(1, 2);
   }
 
+  @Test
+  public void shouldReturnPreferredLeaderOfPartition() {
+    // given
+    final PartitionsLeaderMatrix partitionsLeaderMatrix = new PartitionsLeaderMatrix(6, 5, 3);
+
+    // then
+    for (int partitionId = 0; partitionId < 6; partitionId++) {
+      final int preferredLeader = partitionsLeaderMatrix.getPreferredLeader(partitionId);
+      assertThat(partitionsLeaderMatrix.getLeadingPartitions(preferredLeader))
+          .contains(partitionId);
+    }
+  }
+
   @Test
   public void shouldThrowExceptionOnZeroPartitionsCount() {
     // expect
@@ -0,0 +1,113 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.broker.exporter.stream.ExporterColumnFamilies;
+import io.zeebe.broker.exporter.stream.ExporterStreamProcessorState;
+import io.zeebe.broker.exporter.util.ControlledTestExporter;
+import io.zeebe.broker.logstreams.state.DefaultZeebeDbFactory;
+import io.zeebe.broker.logstreams.state.StateStorageFactory;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.logstreams.state.StateSnapshotController;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LegacyExporterStateTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private StateStorageFactory stateStorageFactory;
+  private List<ExporterDescriptor> descriptors;
+
+  @Before
+  public void setup() {
+    stateStorageFactory = new StateStorageFactory(tempFolder.getRoot());
+    descriptors = Arrays.asList(newDescriptor("foo"), newDescriptor("bar"));
+  }
+
+  @Test
+  public void shouldReadPositionsFromSnapshotOfFormerProcessor() throws Exception {
+    // given
+    final StateSnapshotController snapshotController = createLegacySnapshotController();
+    final ZeebeDb<ExporterColumnFamilies> zeebeDb = snapshotController.openDb();
+    final ExporterStreamProcessorState state =
+        new ExporterStreamProcessorState(zeebeDb, zeebeDb.createContext());
+    state.setPosition("foo", 12L);
+    state.setPosition("other", 34L);
+    snapshotController.takeSnapshot(34L);
+    snapshotController.close();
+
+    // when
+    final Map<String, Long> positions =
+        LegacyExporterState.readPositions(stateStorageFactory, descriptors);
+
+    // then
+    assertThat(positions).containsOnly(entry("foo", 12L));
+  }
+
+  @Test
+  public void shouldNotReadPositionsWithoutSnapshot() throws Exception {
+    // given
+    final StateSnapshotController snapshotController = createLegacySnapshotController();
+    final ZeebeDb<ExporterColumnFamilies> zeebeDb = snapshotController.openDb();
+    new ExporterStreamProcessorState(zeebeDb, zeebeDb.createContext()).setPosition("foo", 12L);
+    snapshotController.close();
+
+    // when
+    final Map<String, Long> positions =
+        LegacyExporterState.readPositions(stateStorageFactory, descriptors);
+
+    // then
+    assertThat(positions).isEmpty();
+  }
+
+  @Test
+  public void shouldNotCreateStateOfFormerProcessor() {
+    // when
+    final Map<String, Long> positions =
+        LegacyExporterState.readPositions(stateStorageFactory, descriptors);
+
+    // then
+    assertThat(positions).isEmpty();
+    assertThat(
+            stateStorageFactory.exists(
+                ExporterManagerService.EXPORTER_PROCESSOR_ID,
+                ExporterManagerService.PROCESSOR_NAME))
+        .isFalse();
+  }
+
+  private StateSnapshotController createLegacySnapshotController() {
+    return new StateSnapshotController(
+        DefaultZeebeDbFactory.defaultFactory(ExporterColumnFamilies.class),
+        stateStorageFactory.create(
+            ExporterManagerService.EXPORTER_PROCESSOR_ID, ExporterManagerService.PROCESSOR_NAME));
+  }
+
+  private static ExporterDescriptor newDescriptor(final String id) {
+    return new ExporterDescriptor(id, ControlledTestExporter.class, null);
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zeebe.broker.exporter.record.RecordImpl;
+import io.zeebe.broker.exporter.record.RecordMetadataImpl;
+import io.zeebe.broker.exporter.record.value.DeploymentRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.JobBatchRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.JobRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.VariableDocumentRecordValueImpl;
+import io.zeebe.broker.exporter.record.value.deployment.DeployedWorkflowImpl;
+import io.zeebe.broker.exporter.record.value.deployment.DeploymentResourceImpl;
+import io.zeebe.broker.exporter.record.value.job.HeadersImpl;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.exporter.api.record.value.deployment.ResourceType;
+import io.zeebe.gateway.impl.data.MsgPackConverter;
+import io.zeebe.protocol.VariableDocumentUpdateSemantic;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.DeploymentIntent;
+import io.zeebe.protocol.intent.JobBatchIntent;
+import io.zeebe.protocol.intent.VariableDocumentIntent;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class RecordJsonWriterTest {
+  private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+  private final RecordJsonWriter writer = new RecordJsonWriter();
+
+  @Test
+  public void shouldWriteJobBatchLikeObjectMapper() throws Exception {
+    // given
+    final Map<String, Object> customHeaders = new HashMap<>();
+    customHeaders.put("foo", "bar");
+    customHeaders.put("nested", Collections.singletonMap("list", Arrays.asList(1, 2.5, null)));
+
+    final JobRecordValueImpl job =
+        new JobRecordValueImpl(
+            objectMapper,
+            "{\"x\":1}",
+            "type",
+            "worker",
+            Instant.ofEpochMilli(1234),
+            new HeadersImpl("process", "task", 1, 2, 3, 4),
+            customHeaders,
+            3,
+            "error \"quoted\"");
+    final JobBatchRecordValueImpl jobBatch =
+        new JobBatchRecordValueImpl(
+            objectMapper,
+            "type",
+            "worker",
+            Duration.ofSeconds(30),
+            10,
+            Collections.singletonList(5L),
+            Collections.singletonList(job),
+            true);
+
+    final RecordImpl<RecordValue> record =
+        createRecord(
+            new RecordMetadataImpl(
+                objectMapper,
+                1,
+                JobBatchIntent.ACTIVATED,
+                RecordType.EVENT,
+                null,
+                null,
+                ValueType.JOB_BATCH),
+            jobBatch);
+
+    // then
+    assertWritesSameJsonAsObjectMapper(record);
+  }
+
+  @Test
+  public void shouldWriteDeploymentLikeObjectMapper() throws Exception {
+    // given
+    final DeploymentRecordValueImpl deployment =
+        new DeploymentRecordValueImpl(
+            objectMapper,
+            Collections.singletonList(new DeployedWorkflowImpl("process", "process.bpmn", 1, 2)),
+            Collections.singletonList(
+                new DeploymentResourceImpl(
+                    "<xml/>".getBytes(StandardCharsets.UTF_8),
+                    ResourceType.BPMN_XML,
+                    "process.bpmn")));
+
+    final RecordImpl<RecordValue> record =
+        createRecord(
+            new RecordMetadataImpl(
+                objectMapper,
+                1,
+                DeploymentIntent.CREATE,
+                RecordType.COMMAND_REJECTION,
+                RejectionType.INVALID_ARGUMENT,
+                "invalid \n resource",
+                ValueType.DEPLOYMENT),
+            deployment);
+
+    // then
+    assertWritesSameJsonAsObjectMapper(record);
+  }
+
+  @Test
+  public void shouldWriteVariableDocumentLikeObjectMapper() throws Exception {
+    // given
+    final Map<String, Object> document = new HashMap<>();
+    document.put("string", "äöü €");
+    document.put("long", Long.MAX_VALUE);
+    document.put("bool", false);
+    document.put("nil", null);
+
+    final VariableDocumentRecordValueImpl variableDocument =
+        new VariableDocumentRecordValueImpl(
+            objectMapper, 5, VariableDocumentUpdateSemantic.PROPAGATE, document);
+
+    final RecordImpl<RecordValue> record =
+        createRecord(
+            new RecordMetadataImpl(
+                objectMapper,
+                1,
+                VariableDocumentIntent.UPDATED,
+                RecordType.EVENT,
+                RejectionType.NULL_VAL,
+                "",
+                ValueType.VARIABLE_DOCUMENT),
+            variableDocument);
+
+    // then
+    assertWritesSameJsonAsObjectMapper(record);
+    assertThat(jsonMapper.readTree(writer.toJson(variableDocument)))
+        .isEqualTo(jsonMapper.readTree(objectMapper.toJson(variableDocument)));
+  }
+
+  @Test
+  public void shouldReuseBuffer() {
+    // given
+    final RecordImpl<RecordValue> record =
+        createRecord(
+            new RecordMetadataImpl(
+                objectMapper, 1, JobBatchIntent.ACTIVATE, RecordType.COMMAND, null, null, null),
+            null);
+
+    // when
+    final int length = writer.write(record);
+    final String json = writer.toJson(record);
+
+    // then
+    assertThat(writer.getJsonLength()).isEqualTo(length);
+    assertThat(json).isEqualTo(writer.getJsonBuffer().getStringWithoutLengthUtf8(0, length));
+    assertThat(json).contains("\"value\":null");
+  }
+
+  @Test
+  public void shouldWriteMsgPackDocumentLikeConverter() {
+    // given
+    final Map<String, Object> nested = new HashMap<>();
+    nested.put("int", -42);
+    nested.put("long", Long.MAX_VALUE);
+    nested.put("double", 12.34);
+    nested.put("bool", true);
+    nested.put("nil", null);
+    nested.put("binary", new byte[] {1, 2, 3});
+
+    final Map<String, Object> document = new HashMap<>();
+    document.put("string", "foo");
+    document.put("escaped", "\"quoted\" \\ \n\t\u0001");
+    document.put("unicode", "äöü €");
+    document.put("array", Arrays.asList(1, "two", Collections.emptyMap()));
+    document.put("nested", nested);
+    document.put("empty", Collections.emptyList());
+
+    final byte[] msgPack = objectMapper.toMsgpack(document);
+
+    // when
+    final String json = writer.toJson(new UnsafeBuffer(msgPack));
+
+    // then
+    assertThat(json).isEqualTo(new MsgPackConverter().convertToJson(msgPack));
+  }
+
+  @Test
+  public void shouldReuseBufferForMsgPackDocuments() {
+    // given
+    final DirectBuffer first =
+        new UnsafeBuffer(objectMapper.toMsgpack(Collections.singletonMap("foo", "bar")));
+    final DirectBuffer second =
+        new UnsafeBuffer(objectMapper.toMsgpack(Collections.singletonMap("a", 1)));
+
+    // when
+    writer.toJson(first);
+    final int length = writer.write(second, 0, second.capacity());
+
+    // then
+    assertThat(length).isEqualTo(7);
+    assertThat(writer.getJsonBuffer().getStringWithoutLengthUtf8(0, length)).isEqualTo("{\"a\":1}");
+  }
+
+  private void assertWritesSameJsonAsObjectMapper(final RecordImpl<RecordValue> record)
+      throws Exception {
+    final byte[] json = writer.toJsonBytes(record);
+
+    assertThat(jsonMapper.readTree(json))
+        .isEqualTo(jsonMapper.readTree(objectMapper.toJsonBytes(record)));
+  }
+
+  private RecordImpl<RecordValue> createRecord(
+      final RecordMetadataImpl metadata, final RecordValue value) {
+    return new RecordImpl<>(objectMapper, 1, 2, Instant.ofEpochMilli(3), 4, 5, 6, metadata, value);
+  }
+}
@@ -0,0 +1,500 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.exporter.ExporterException;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.RecordJsonWriter;
+import io.zeebe.broker.exporter.context.ExporterConfiguration;
+import io.zeebe.broker.exporter.context.ExporterContext;
+import io.zeebe.broker.exporter.record.RecordImpl;
+import io.zeebe.broker.exporter.record.RecordMetadataImpl;
+import io.zeebe.broker.exporter.record.value.MessageRecordValueImpl;
+import io.zeebe.broker.exporter.record.view.RecordView;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+public class FileExporterTest {
+  private static final String EXPORTER_ID = "file";
+  private static final int PARTITION_ID = 1;
+  private static final DirectBuffer METADATA = BufferUtil.wrapString("metadata");
+  private static final DirectBuffer VALUE = BufferUtil.wrapString("value");
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Map<String, Object> arguments = new HashMap<>();
+  private final List<Long> acknowledgedPositions = new ArrayList<>();
+  private final List<Runnable> scheduledTasks = new ArrayList<>();
+  private final Controller controller =
+      new Controller() {
+        @Override
+        public void updateLastExportedRecordPosition(final long position) {
+          acknowledgedPositions.add(position);
+        }
+
+        @Override
+        public void scheduleTask(final Duration delay, final Runnable task) {
+          scheduledTasks.add(task);
+        }
+      };
+
+  private FileExporter exporter;
+  private Path partitionDirectory;
+
+  @Before
+  public void setUp() {
+    final File directory = temporaryFolder.getRoot();
+    arguments.put("directory", directory.getAbsolutePath());
+    partitionDirectory = directory.toPath().resolve(EXPORTER_ID).resolve("partition-1");
+  }
+
+  @Test
+  public void shouldWriteRecordsInBinaryFormat() throws Exception {
+    // given
+    open();
+
+    // when
+    exporter.export(newRecord(1L));
+    exporter.export(newRecord(2L));
+    exporter.close();
+
+    // then
+    assertThat(listFiles()).containsExactly("00000000000000000001.zbr");
+    assertThat(acknowledgedPositions).containsExactly(2L);
+
+    final UnsafeBuffer content =
+        new UnsafeBuffer(Files.readAllBytes(partitionDirectory.resolve(listFiles().get(0))));
+    assertThat(content.getInt(0, Protocol.ENDIANNESS)).isEqualTo(FileExporter.FILE_MAGIC);
+    assertThat(content.getInt(Integer.BYTES, Protocol.ENDIANNESS))
+        .isEqualTo(FileExporter.FILE_VERSION);
+
+    int offset = FileExporter.FILE_HEADER_LENGTH;
+    for (long position = 1L; position <= 2L; position++) {
+      final int length = content.getInt(offset + FileExporter.LENGTH_OFFSET, Protocol.ENDIANNESS);
+      assertThat(length)
+          .isEqualTo(
+              FileExporter.METADATA_OFFSET
+                  + METADATA.capacity()
+                  + VALUE.capacity()
+                  - Integer.BYTES);
+      assertThat(content.getLong(offset + FileExporter.POSITION_OFFSET, Protocol.ENDIANNESS))
+          .isEqualTo(position);
+      assertThat(content.getLong(offset + FileExporter.KEY_OFFSET, Protocol.ENDIANNESS))
+          .isEqualTo(position * 10);
+      assertThat(
+              content.getShort(offset + FileExporter.METADATA_LENGTH_OFFSET, Protocol.ENDIANNESS))
+          .isEqualTo((short) METADATA.capacity());
+      assertThat(
+              content.getStringWithoutLengthUtf8(
+                  offset + FileExporter.METADATA_OFFSET, METADATA.capacity()))
+          .isEqualTo("metadata");
+      assertThat(
+              content.getStringWithoutLengthUtf8(
+                  offset + FileExporter.METADATA_OFFSET + METADATA.capacity(), VALUE.capacity()))
+          .isEqualTo("value");
+
+      offset += Integer.BYTES + length;
+    }
+    assertThat(offset).isEqualTo(content.capacity());
+  }
+
+  @Test
+  public void shouldWriteRecordsAsCompressedJson() throws Exception {
+    // given
+    arguments.put("format", "json");
+    arguments.put("compress", true);
+    open();
+
+    // when
+    exporter.export(newJsonRecord(1L, "{\"position\":1}"));
+    exporter.export(newJsonRecord(2L, "{\"position\":2}"));
+    exporter.close();
+
+    // then
+    assertThat(listFiles()).containsExactly("00000000000000000001.ndjson.gz");
+
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(
+                    Files.newInputStream(partitionDirectory.resolve(listFiles().get(0)))),
+                StandardCharsets.UTF_8))) {
+      assertThat(reader.lines()).containsExactly("{\"position\":1}", "{\"position\":2}");
+    }
+  }
+
+  @Test
+  public void shouldRollOverFileOnMaxSize() throws Exception {
+    // given
+    arguments.put("maxFileSize", "100");
+    open();
+
+    // when
+    exporter.export(newRecord(1L));
+    exporter.export(newRecord(2L));
+    exporter.export(newRecord(3L));
+
+    // then
+    assertThat(listFiles())
+        .containsExactly(
+            "00000000000000000001.zbr", "00000000000000000003.zbr" + ExportFile.TMP_FILE_SUFFIX);
+    assertThat(acknowledgedPositions).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldRollOverFileOnMaxAge() throws Exception {
+    // given
+    arguments.put("maxFileAge", "0s");
+    open();
+    exporter.export(newRecord(1L));
+
+    // when
+    runScheduledTasks();
+
+    // then
+    assertThat(listFiles()).containsExactly("00000000000000000001.zbr");
+    assertThat(acknowledgedPositions).containsExactly(1L);
+    assertThat(scheduledTasks).hasSize(1);
+  }
+
+  @Test
+  public void shouldAcknowledgePositionOnPeriodicSync() throws Exception {
+    // given
+    open();
+    exporter.export(newRecord(1L));
+    exporter.export(newRecord(2L));
+
+    // when
+    runScheduledTasks();
+    runScheduledTasks();
+
+    // then
+    assertThat(listFiles())
+        .containsExactly("00000000000000000001.zbr" + ExportFile.TMP_FILE_SUFFIX);
+    assertThat(acknowledgedPositions).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldAcknowledgePositionOnEverySync() {
+    // given
+    arguments.put("syncPolicy", "always");
+    open();
+
+    // when
+    exporter.export(newRecord(1L));
+    exporter.export(newRecord(2L));
+
+    // then
+    assertThat(acknowledgedPositions).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldAcknowledgePositionOnlyOnRollOver() throws Exception {
+    // given
+    arguments.put("syncPolicy", "rollover");
+    open();
+    exporter.export(newRecord(1L));
+
+    // when
+    runScheduledTasks();
+
+    // then
+    assertThat(acknowledgedPositions).isEmpty();
+    assertThat(listFiles())
+        .containsExactly("00000000000000000001.zbr" + ExportFile.TMP_FILE_SUFFIX);
+  }
+
+  @Test
+  public void shouldCompleteLeftOverFiles() throws Exception {
+    // given
+    open();
+    exporter.export(newRecord(1L));
+    runScheduledTasks();
+
+    // when
+    open();
+    exporter.export(newRecord(2L));
+
+    // then
+    assertThat(listFiles())
+        .containsExactly(
+            "00000000000000000001.zbr", "00000000000000000002.zbr" + ExportFile.TMP_FILE_SUFFIX);
+  }
+
+  @Test
+  public void shouldTruncateLeftOverFileToLastSync() throws Exception {
+    // given
+    open();
+    exporter.export(newRecord(1L));
+    runScheduledTasks();
+    exporter.export(newRecord(2L));
+
+    final Path leftOverFile =
+        partitionDirectory.resolve("00000000000000000001.zbr" + ExportFile.TMP_FILE_SUFFIX);
+    Files.write(leftOverFile, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+    // when
+    open();
+    exporter.export(newRecord(2L));
+
+    // then
+    assertThat(listFiles())
+        .containsExactly(
+            "00000000000000000001.zbr", "00000000000000000002.zbr" + ExportFile.TMP_FILE_SUFFIX);
+    assertThat(Files.size(partitionDirectory.resolve("00000000000000000001.zbr")))
+        .isEqualTo(FileExporter.FILE_HEADER_LENGTH + getRecordLength());
+  }
+
+  @Test
+  public void shouldNotWriteRecordsOfLeftOverFileAgain() throws Exception {
+    // given
+    open();
+    exporter.export(newRecord(1L));
+    exporter.export(newRecord(2L));
+    runScheduledTasks();
+    acknowledgedPositions.clear();
+
+    // when
+    open();
+    exporter.export(newRecord(1L));
+    exporter.export(newRecord(2L));
+    exporter.export(newRecord(3L));
+    exporter.close();
+
+    // then
+    assertThat(listFiles()).containsExactly("00000000000000000001.zbr", "00000000000000000003.zbr");
+    assertThat(Files.size(partitionDirectory.resolve("00000000000000000001.zbr")))
+        .isEqualTo(FileExporter.FILE_HEADER_LENGTH + 2 * getRecordLength());
+    assertThat(acknowledgedPositions).containsExactly(2L, 3L);
+  }
+
+  @Test
+  public void shouldQuarantineLeftOverFileWithoutSyncedRecords() throws Exception {
+    // given
+    arguments.put("syncPolicy", "rollover");
+    open();
+    exporter.export(newRecord(1L));
+
+    // when
+    open();
+    exporter.export(newRecord(1L));
+
+    // then
+    assertThat(listFiles())
+        .containsExactly(
+            "00000000000000000001.zbr" + ExportFile.INCOMPLETE_FILE_SUFFIX,
+            "00000000000000000001.zbr" + ExportFile.TMP_FILE_SUFFIX);
+  }
+
+  @Test
+  public void shouldCompleteCompressedLeftOverFile() throws Exception {
+    // given
+    arguments.put("format", "json");
+    arguments.put("compress", true);
+    open();
+    exporter.export(newJsonRecord(1L, "{\"position\":1}"));
+    runScheduledTasks();
+    exporter.export(newJsonRecord(2L, "{\"position\":2}"));
+
+    // when
+    open();
+    exporter.export(newJsonRecord(2L, "{\"position\":2}"));
+
+    // then
+    assertThat(listFiles())
+        .containsExactly(
+            "00000000000000000001.ndjson.gz",
+            "00000000000000000002.ndjson.gz" + ExportFile.TMP_FILE_SUFFIX);
+
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(
+                    Files.newInputStream(
+                        partitionDirectory.resolve("00000000000000000001.ndjson.gz"))),
+                StandardCharsets.UTF_8))) {
+      assertThat(reader.lines()).containsExactly("{\"position\":1}");
+    }
+  }
+
+  @Test
+  public void shouldWriteToNewFileOnRetry() throws Exception {
+    // given
+    open();
+    exporter.export(newRecord(1L));
+    runScheduledTasks();
+
+    final Path blockedFile =
+        partitionDirectory.resolve("00000000000000000002.zbr" + ExportFile.TMP_FILE_SUFFIX);
+    Files.createDirectories(blockedFile);
+
+    arguments.put("maxFileSize", "0");
+    exporter.close();
+    open();
+    acknowledgedPositions.clear();
+
+    // when
+    assertThatThrownBy(() -> exporter.export(newRecord(2L)))
+        .isInstanceOf(ExporterException.class);
+    Files.delete(blockedFile);
+    exporter.export(newRecord(2L));
+
+    // then
+    assertThat(listFiles()).containsExactly("00000000000000000001.zbr", "00000000000000000002.zbr");
+    assertThat(acknowledgedPositions).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldWriteRecordWhichIsNotReadFromLog() throws Exception {
+    // given
+    final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
+    final Record record =
+        new RecordImpl<>(
+            objectMapper,
+            10L,
+            1L,
+            Instant.ofEpochMilli(100L),
+            2,
+            3,
+            -1L,
+            new RecordMetadataImpl(
+                objectMapper,
+                PARTITION_ID,
+                MessageIntent.PUBLISHED,
+                RecordType.EVENT,
+                RejectionType.NULL_VAL,
+                "",
+                ValueType.MESSAGE),
+            new MessageRecordValueImpl(objectMapper, "{\"foo\":1}", "name", "id", "key", 1000L));
+    open();
+
+    // when
+    exporter.export(record);
+    exporter.close();
+
+    // then
+    final UnsafeBuffer content =
+        new UnsafeBuffer(Files.readAllBytes(partitionDirectory.resolve(listFiles().get(0))));
+    final int offset = FileExporter.FILE_HEADER_LENGTH;
+    assertThat(content.getLong(offset + FileExporter.KEY_OFFSET, Protocol.ENDIANNESS))
+        .isEqualTo(10L);
+    assertThat(content.getLong(offset + FileExporter.TIMESTAMP_OFFSET, Protocol.ENDIANNESS))
+        .isEqualTo(100L);
+
+    final short metadataLength =
+        content.getShort(offset + FileExporter.METADATA_LENGTH_OFFSET, Protocol.ENDIANNESS);
+    final RecordMetadata metadata = new RecordMetadata();
+    metadata.wrap(content, offset + FileExporter.METADATA_OFFSET, metadataLength);
+    assertThat(metadata.getValueType()).isEqualTo(ValueType.MESSAGE);
+    assertThat(metadata.getIntent()).isEqualTo(MessageIntent.PUBLISHED);
+
+    final int valueOffset = offset + FileExporter.METADATA_OFFSET + metadataLength;
+    final byte[] value = new byte[content.capacity() - valueOffset];
+    content.getBytes(valueOffset, value);
+    assertThat(new RecordJsonWriter().toJson(new UnsafeBuffer(value)))
+        .isEqualTo(record.getValue().toJson());
+  }
+
+  private void open() {
+    exporter = new FileExporter();
+    exporter.configure(
+        new ExporterContext(
+            LoggerFactory.getLogger(FileExporterTest.class),
+            new ExporterConfiguration(EXPORTER_ID, arguments)));
+    exporter.open(controller);
+  }
+
+  private void runScheduledTasks() {
+    final List<Runnable> tasks = new ArrayList<>(scheduledTasks);
+    scheduledTasks.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  private List<String> listFiles() throws IOException {
+    return Files.list(partitionDirectory)
+        .map(path -> path.getFileName().toString())
+        .filter(name -> !name.equals(ExportCheckpoint.FILE_NAME))
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private static int getRecordLength() {
+    return FileExporter.METADATA_OFFSET + METADATA.capacity() + VALUE.capacity();
+  }
+
+  private Record newRecord(final long position) {
+    final LoggedEvent event = mock(LoggedEvent.class);
+    when(event.getPosition()).thenReturn(position);
+    when(event.getKey()).thenReturn(position * 10);
+    when(event.getMetadata()).thenReturn(METADATA);
+    when(event.getMetadataOffset()).thenReturn(0);
+    when(event.getMetadataLength()).thenReturn((short) METADATA.capacity());
+    when(event.getValueBuffer()).thenReturn(VALUE);
+    when(event.getValueOffset()).thenReturn(0);
+    when(event.getValueLength()).thenReturn(VALUE.capacity());
+
+    final RecordView record = new RecordView(new ExporterObjectMapper(), PARTITION_ID);
+    record.wrap(event, null);
+    return record;
+  }
+
+  private Record newJsonRecord(final long position, final String json) {
+    final Record record = mock(Record.class, RETURNS_DEEP_STUBS);
+    when(record.getPosition()).thenReturn(position);
+    when(record.getMetadata().getPartitionId()).thenReturn(PARTITION_ID);
+    when(record.toJsonBytes()).thenReturn(json.getBytes(StandardCharsets.UTF_8));
+    return record;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.test.util.MsgPackUtil;
+import io.zeebe.util.buffer.BufferReader;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+public class RecordViewTest {
+  private static final int PARTITION_ID = 1;
+
+  private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+
+  private RecordView recordView;
+  private JobRecordValueView valueView;
+
+  @Before
+  public void setUp() {
+    final RecordMetadata metadata =
+        new RecordMetadata()
+            .valueType(ValueType.JOB)
+            .recordType(RecordType.EVENT)
+            .intent(JobIntent.ACTIVATED);
+
+    final JobRecord job =
+        new JobRecord()
+            .setType("type")
+            .setWorker("worker")
+            .setRetries(3)
+            .setDeadline(1234)
+            .setVariables(MsgPackUtil.asMsgPack("{\"foo\":\"bar\"}"))
+            .setCustomHeaders(MsgPackUtil.asMsgPack("{\"header\":[1,2]}"));
+    job.getHeaders().setBpmnProcessId("process").setElementId("task");
+
+    final LoggedEvent event = mock(LoggedEvent.class);
+    when(event.getKey()).thenReturn(1L);
+    when(event.getPosition()).thenReturn(2L);
+    when(event.getTimestamp()).thenReturn(3L);
+    when(event.getRaftTerm()).thenReturn(4);
+    when(event.getProducerId()).thenReturn(5);
+    when(event.getSourceEventPosition()).thenReturn(6L);
+
+    // the metadata is followed by the value, like in the log
+    final int metadataLength = metadata.getLength();
+    final int valueLength = job.getLength();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[metadataLength + valueLength]);
+    metadata.write(buffer, 0);
+    job.write(buffer, metadataLength);
+
+    doAnswer(readFrom(buffer, 0, metadataLength)).when(event).readMetadata(any());
+    doAnswer(readFrom(buffer, metadataLength, valueLength)).when(event).readValue(any());
+
+    valueView = spy(new JobRecordValueView(objectMapper));
+    recordView = spy(new RecordView(objectMapper, PARTITION_ID));
+    recordView.wrap(event, valueView);
+  }
+
+  @Test
+  public void shouldWriteJsonWithoutCopy() throws Exception {
+    // when
+    final String json = recordView.toJson();
+    final byte[] jsonBytes = recordView.toJsonBytes();
+
+    // then
+    verify(recordView, never()).copy();
+    verify(valueView, never()).copy();
+
+    final String copiedJson = objectMapper.toJson(recordView.copy());
+    assertThat(jsonMapper.readTree(json)).isEqualTo(jsonMapper.readTree(copiedJson));
+    assertThat(jsonMapper.readTree(jsonBytes)).isEqualTo(jsonMapper.readTree(copiedJson));
+  }
+
+  @Test
+  public void shouldWriteValueJsonWithoutCopy() throws Exception {
+    // when
+    final String json = recordView.getValue().toJson();
+
+    // then
+    verify(valueView, never()).copy();
+    assertThat(jsonMapper.readTree(json))
+        .isEqualTo(jsonMapper.readTree(objectMapper.toJson(valueView.copy())));
+  }
+
+  @Test
+  public void shouldPrintWithoutCopy() {
+    // when
+    final String string = recordView.toString();
+
+    // then
+    verify(recordView, never()).copy();
+    verify(valueView, never()).copy();
+    assertThat(string).contains("position=2", "intent=ACTIVATED", "\"worker\":\"worker\"");
+  }
+
+  private static Answer<Void> readFrom(
+      final DirectBuffer buffer, final int offset, final int length) {
+    return invocation -> {
+      final BufferReader reader = invocation.getArgument(0);
+      reader.wrap(buffer, offset, length);
+      return null;
+    };
+  }
+}
@@ -42,6 +42,7 @@ import io.zeebe.broker.exporter.record.value.job.HeadersImpl;
 import io.zeebe.broker.exporter.record.value.raft.RaftMemberImpl;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.broker.exporter.stream.ExporterRecord.ExporterPosition;
+import io.zeebe.broker.exporter.util.ControlledTestBatchExporter;
 import io.zeebe.broker.exporter.util.ControlledTestExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter.PojoExporterConfiguration;
@@ -51,6 +52,7 @@ import io.zeebe.broker.subscription.message.data.WorkflowInstanceSubscriptionRec
 import io.zeebe.broker.util.StreamProcessorControl;
 import io.zeebe.broker.util.StreamProcessorRule;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.exporter.api.context.Context.RecordFilter;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.exporter.api.record.RecordValue;
 import io.zeebe.exporter.api.record.value.DeploymentRecordValue;
@@ -69,6 +71,8 @@ import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.BpmnElementType;
 import io.zeebe.protocol.ErrorType;
 import io.zeebe.protocol.VariableDocumentUpdateSemantic;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.ResourceType;
@@ -107,9 +111,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.agrona.DirectBuffer;
@@ -129,6 +135,19 @@ public class ExporterStreamProcessorTest {
   private static final DirectBuffer CUSTOM_HEADERS_MSGPACK =
       new UnsafeBuffer(OBJECT_MAPPER.toMsgpack(CUSTOM_HEADERS));
 
+  private static final RecordFilter JOBS_ONLY =
+      new RecordFilter() {
+        @Override
+        public boolean acceptType(final RecordType recordType) {
+          return true;
+        }
+
+        @Override
+        public boolean acceptValue(final ValueType valueType) {
+          return valueType == ValueType.JOB;
+        }
+      };
+
   @Rule
   public StreamProcessorRule rule =
       new StreamProcessorRule(
@@ -290,6 +309,94 @@ public class ExporterStreamProcessorTest {
     assertThat(state.getPosition(descriptors.get(0).getId())).isEqualTo(lowestPosition);
   }
 
+  @Test
+  public void shouldNotifyPositionListener() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    exporters.get(0).shouldAutoUpdatePosition(true);
+    final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    rule.runStreamProcessor(
+        (db, dbContext) ->
+            new ExporterStreamProcessor(db, dbContext, PARTITION_ID, descriptors, positions::put));
+
+    // when
+    final long position = writeEvent();
+
+    // then
+    TestUtil.waitUntil(() -> positions.getOrDefault("0", -1L) == position);
+  }
+
+  @Test
+  public void shouldPersistPositionsPeriodically() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    exporters.get(0).shouldAutoUpdatePosition(true);
+    final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    rule.runStreamProcessor(
+        (db, dbContext) -> {
+          final ExporterStreamProcessor processor =
+              new ExporterStreamProcessor(
+                  db,
+                  dbContext,
+                  PARTITION_ID,
+                  descriptors,
+                  positions::put,
+                  Duration.ofSeconds(10),
+                  Duration.ZERO,
+                  ExporterStreamProcessor.DEFAULT_CATCH_UP_READERS);
+          state = processor.getState();
+          return processor;
+        });
+
+    final long position = writeEvent();
+    TestUtil.waitUntil(() -> positions.getOrDefault("0", -1L) == position);
+    assertThat(state.getPosition("0")).isEqualTo(ExporterRecord.POSITION_UNKNOWN);
+
+    // when
+    rule.getClock().addTime(Duration.ofSeconds(10));
+
+    // then
+    TestUtil.waitUntil(() -> state.getPosition("0") == position);
+  }
+
+  @Test
+  public void shouldCommitPositionsPeriodically() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    exporters.get(0).shouldAutoUpdatePosition(true);
+    final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    rule.runStreamProcessor(
+        (db, dbContext) ->
+            new ExporterStreamProcessor(
+                db,
+                dbContext,
+                PARTITION_ID,
+                descriptors,
+                positions::put,
+                Duration.ZERO,
+                Duration.ofSeconds(10),
+                ExporterStreamProcessor.DEFAULT_CATCH_UP_READERS));
+
+    final long firstPosition = writeEvent();
+    TestUtil.waitUntil(() -> positions.getOrDefault("0", -1L) == firstPosition);
+
+    // when
+    rule.getClock().addTime(Duration.ofSeconds(10));
+    writeEvent();
+
+    // then
+    TestUtil.waitUntil(() -> getCommittedExporterRecords().size() == 1);
+
+    final Map<String, Long> committedPositions = new HashMap<>();
+    for (final ExporterPosition position : getCommittedExporterRecords().get(0).getPositions()) {
+      committedPositions.put(bufferAsString(position.getId()), position.getPosition());
+    }
+    assertThat(committedPositions).containsExactly(entry("0", firstPosition));
+  }
+
   @Test
   public void shouldRetryExportingOnException() {
     final StreamProcessorControl control =
@@ -369,6 +476,305 @@ public class ExporterStreamProcessorTest {
         .isEqualTo(lowestPosition);
   }
 
+  @Test
+  public void shouldExportBatchesAndAcknowledgePositionOnCompletion() {
+    // given
+    final ControlledTestBatchExporter exporter =
+        new ControlledTestBatchExporter().maxBatchSize(2).maxInFlightBatches(1);
+    final ExporterDescriptor descriptor = createBatchExporter(exporter);
+
+    rule.runStreamProcessor(
+        (db, dbContext) -> {
+          final ExporterStreamProcessor processor =
+              createStreamProcessor(db, Collections.singletonList(descriptor));
+          state = processor.getState();
+          return processor;
+        });
+
+    // when
+    final long firstPosition = writeEvent();
+    final long secondPosition = writeEvent();
+    final long thirdPosition = writeEvent();
+    final long fourthPosition = writeEvent();
+    TestUtil.waitUntil(() -> exporter.getExportedBatches().size() == 1);
+
+    // then
+    assertThat(exporter.getExportedBatches().get(0))
+        .extracting(Record::getPosition)
+        .containsExactly(firstPosition, secondPosition);
+    assertThat(state.getPosition(descriptor.getId())).isEqualTo(ExporterRecord.POSITION_UNKNOWN);
+
+    // when
+    exporter.getCompletion(0).complete(null);
+    TestUtil.waitUntil(
+        () -> {
+          rule.getClock().addTime(Duration.ofMillis(100));
+          return exporter.getExportedBatches().size() == 2;
+        });
+    exporter.getCompletion(1).complete(null);
+
+    // then
+    assertThat(exporter.getExportedBatches().get(1))
+        .extracting(Record::getPosition)
+        .containsExactly(thirdPosition, fourthPosition);
+    TestUtil.waitUntil(
+        () -> {
+          rule.getClock().addTime(Duration.ofMillis(100));
+          return state.getPosition(descriptor.getId()) == fourthPosition;
+        });
+  }
+
+  @Test
+  public void shouldRetryFailedBatch() {
+    // given
+    final ControlledTestBatchExporter exporter = new ControlledTestBatchExporter().maxBatchSize(1);
+    final ExporterDescriptor descriptor = createBatchExporter(exporter);
+
+    rule.runStreamProcessor(
+        (db, dbContext) -> {
+          final ExporterStreamProcessor processor =
+              createStreamProcessor(db, Collections.singletonList(descriptor));
+          state = processor.getState();
+          return processor;
+        });
+
+    final long position = writeEvent();
+    TestUtil.waitUntil(() -> exporter.getExportedBatches().size() == 1);
+
+    // when
+    exporter.getCompletion(0).completeExceptionally(new RuntimeException("expected"));
+    TestUtil.waitUntil(
+        () -> {
+          rule.getClock().addTime(Duration.ofMillis(100));
+          return exporter.getExportedBatches().size() == 2;
+        });
+    exporter.getCompletion(1).complete(null);
+
+    // then
+    assertThat(exporter.getExportedBatches().get(1))
+        .extracting(Record::getPosition)
+        .containsExactly(position);
+    TestUtil.waitUntil(
+        () -> {
+          rule.getClock().addTime(Duration.ofMillis(100));
+          return state.getPosition(descriptor.getId()) == position;
+        });
+  }
+
+  @Test
+  public void shouldCatchUpBacklogInParallel() {
+    // given
+    final ControlledTestBatchExporter exporter =
+        new ControlledTestBatchExporter()
+            .maxBatchSize(10)
+            .maxInFlightBatches(2)
+            .supportsOutOfOrderBatches(true);
+    final ExporterDescriptor descriptor = createBatchExporter(exporter);
+
+    // the backlog spans several partitions of the write buffer
+    final List<Long> backlogPositions = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      backlogPositions.add(writeLargeEvent());
+    }
+
+    // when
+    rule.runStreamProcessor(
+        (db, dbContext) -> {
+          final ExporterStreamProcessor processor =
+              createStreamProcessor(db, Collections.singletonList(descriptor));
+          state = processor.getState();
+          return processor;
+        });
+
+    // then
+    // the readers export in parallel, but the batches count against the in flight limit
+    TestUtil.waitUntil(() -> exporter.getExportedBatches().size() == 2);
+    rule.getClock().addTime(Duration.ofSeconds(1));
+    assertThat(getInFlightBatchCount(exporter)).isEqualTo(2);
+
+    // when
+    final long tailPosition = writeEvent();
+    completeBatchesUntil(exporter, 2, () -> state.getPosition(descriptor.getId()) == tailPosition);
+
+    // then
+    final List<Long> exportedPositions =
+        exporter.getExportedBatches().stream()
+            .flatMap(List::stream)
+            .map(Record::getPosition)
+            .collect(Collectors.toList());
+    assertThat(exportedPositions).containsAll(backlogPositions).contains(tailPosition);
+  }
+
+  @Test
+  public void shouldCatchUpWhenFallingBehind() {
+    // given
+    final ControlledTestBatchExporter exporter =
+        new ControlledTestBatchExporter()
+            .maxBatchSize(1)
+            .maxInFlightBatches(2)
+            .supportsOutOfOrderBatches(true);
+    final ExporterDescriptor descriptor = createBatchExporter(exporter);
+
+    rule.runStreamProcessor(
+        (db, dbContext) -> {
+          final ExporterStreamProcessor processor =
+              createStreamProcessor(db, Collections.singletonList(descriptor));
+          state = processor.getState();
+          return processor;
+        });
+
+    final long firstPosition = writeEvent();
+    TestUtil.waitUntil(() -> exporter.getExportedBatches().size() == 1);
+
+    // when
+    // the exporter falls behind by several partitions of the write buffer
+    final List<Long> backlogPositions = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      backlogPositions.add(writeLargeEvent());
+    }
+    final long lastPosition = backlogPositions.get(backlogPositions.size() - 1);
+    completeBatchesUntil(exporter, 2, () -> state.getPosition(descriptor.getId()) == lastPosition);
+
+    // then
+    final List<Long> exportedPositions =
+        exporter.getExportedBatches().stream()
+            .flatMap(List::stream)
+            .map(Record::getPosition)
+            .collect(Collectors.toList());
+    assertThat(exportedPositions)
+        .startsWith(firstPosition)
+        .containsAll(backlogPositions)
+        .doesNotHaveDuplicates();
+    // the readers of the catch-up export the ranges of the backlog in parallel
+    final List<Long> sortedPositions =
+        exportedPositions.stream().sorted().collect(Collectors.toList());
+    assertThat(exportedPositions).isNotEqualTo(sortedPositions);
+  }
+
+  @Test
+  public void shouldOnlyExportRecordsAcceptedByFilter() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(2);
+    exporters
+        .get(0)
+        .onConfigure(
+            context ->
+                context.setFilter(
+                    new RecordFilter() {
+                      @Override
+                      public boolean acceptType(final RecordType recordType) {
+                        return true;
+                      }
+
+                      @Override
+                      public boolean acceptValue(final ValueType valueType) {
+                        return valueType == ValueType.JOB;
+                      }
+                    }));
+
+    // when
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db, dbContext) ->
+                new ExporterStreamProcessor(db, dbContext, PARTITION_ID, descriptors));
+    writeEvent();
+    final long jobPosition = rule.writeEvent(JobIntent.CREATED, new JobRecord());
+
+    control.blockAfterEvent(e -> e.getPosition() == jobPosition);
+    control.start();
+    TestUtil.waitUntil(control::isBlocked);
+
+    // then
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(jobPosition);
+    assertThat(exporters.get(1).getExportedRecords()).hasSize(2);
+  }
+
+  @Test
+  public void shouldUpdatePositionOfFilteredRecords() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    exporters.get(0).shouldAutoUpdatePosition(true).onConfigure(c -> c.setFilter(JOBS_ONLY));
+    final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    rule.runStreamProcessor(
+        (db, dbContext) ->
+            new ExporterStreamProcessor(db, dbContext, PARTITION_ID, descriptors, positions::put));
+
+    // when
+    final long jobPosition = rule.writeEvent(JobIntent.CREATED, new JobRecord());
+    final long filteredPosition = writeEvent();
+
+    // then
+    TestUtil.waitUntil(() -> positions.getOrDefault("0", -1L) == filteredPosition);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(jobPosition);
+  }
+
+  @Test
+  public void shouldNotPassUnacknowledgedRecordsWithFilteredRecords() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    exporters.get(0).onConfigure(c -> c.setFilter(JOBS_ONLY));
+    final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db, dbContext) ->
+                new ExporterStreamProcessor(
+                    db, dbContext, PARTITION_ID, descriptors, positions::put));
+
+    final long jobPosition = rule.writeEvent(JobIntent.CREATED, new JobRecord());
+    final long filteredPosition = writeEvent();
+
+    // when
+    control.blockAfterEvent(e -> e.getPosition() == filteredPosition);
+    control.start();
+    TestUtil.waitUntil(control::isBlocked);
+
+    // then
+    assertThat(positions.get("0")).isLessThan(jobPosition);
+
+    // when
+    exporters.get(0).getController().updateLastExportedRecordPosition(jobPosition);
+
+    // then
+    TestUtil.waitUntil(() -> positions.getOrDefault("0", -1L) == filteredPosition);
+  }
+
+  @Test
+  public void shouldExportReusedViewsWhichCanBeCopied() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    final List<Record> exportedViews = new ArrayList<>();
+    exporters.get(0).onExport(exportedViews::add);
+
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db, dbContext) ->
+                new ExporterStreamProcessor(db, dbContext, PARTITION_ID, descriptors));
+
+    // when
+    final long firstPosition = writeEvent();
+    final long secondPosition = writeEvent();
+
+    control.blockAfterEvent(e -> e.getPosition() == secondPosition);
+    control.start();
+    TestUtil.waitUntil(control::isBlocked);
+
+    // then
+    assertThat(exportedViews).hasSize(2);
+    assertThat(exportedViews.get(0)).isSameAs(exportedViews.get(1));
+
+    final List<Record> copiedRecords = exporters.get(0).getExportedRecords();
+    assertThat(copiedRecords)
+        .extracting(Record::getPosition)
+        .containsExactly(firstPosition, secondPosition);
+    assertThat(copiedRecords.get(0).getValue()).isEqualTo(copiedRecords.get(1).getValue());
+  }
+
   @Test
   public void shouldExportDeploymentEvent() {
     // given
@@ -843,11 +1249,50 @@ public class ExporterStreamProcessorTest {
     return descriptors;
   }
 
+  private ExporterDescriptor createBatchExporter(final ControlledTestBatchExporter exporter) {
+    final ExporterDescriptor descriptor =
+        spy(new ExporterDescriptor("batch", exporter.getClass(), null));
+    doAnswer(c -> exporter).when(descriptor).newInstance();
+    return descriptor;
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
   }
 
+  private long writeLargeEvent() {
+    final DeploymentRecord event = new DeploymentRecord();
+    event.resources().add().setResource(new byte[64 * 1024]);
+    return rule.writeEvent(DeploymentIntent.CREATED, event);
+  }
+
+  private int getInFlightBatchCount(final ControlledTestBatchExporter exporter) {
+    int count = 0;
+    for (int i = 0; i < exporter.getExportedBatches().size(); i++) {
+      if (!exporter.getCompletion(i).isDone()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Completes the exported batches until the condition is met, checking the in flight limit. */
+  private void completeBatchesUntil(
+      final ControlledTestBatchExporter exporter,
+      final int maxInFlightBatches,
+      final BooleanSupplier condition) {
+    TestUtil.waitUntil(
+        () -> {
+          assertThat(getInFlightBatchCount(exporter)).isLessThanOrEqualTo(maxInFlightBatches);
+          for (int i = 0; i < exporter.getExportedBatches().size(); i++) {
+            exporter.getCompletion(i).complete(null);
+          }
+          rule.getClock().addTime(Duration.ofMillis(100));
+          return condition.getAsBoolean();
+        });
+  }
+
   private long writeExporterEvent(final String id, final long position) {
     final ExporterRecord event = new ExporterRecord();
     final ExporterPosition exporterPosition = event.getPositions().add();
@@ -857,6 +1302,23 @@ public class ExporterStreamProcessorTest {
     return rule.writeEvent(ExporterIntent.EXPORTED, event);
   }
 
+  private List<ExporterRecord> getCommittedExporterRecords() {
+    return rule.events()
+        .filter(
+            e -> {
+              final RecordMetadata metadata = new RecordMetadata();
+              e.readMetadata(metadata);
+              return metadata.getValueType() == ValueType.EXPORTER;
+            })
+        .map(
+            e -> {
+              final ExporterRecord record = new ExporterRecord();
+              e.readValue(record);
+              return record;
+            })
+        .collect(Collectors.toList());
+  }
+
   private Map<String, Object> newConfig(final String... pairs) {
     final Map<String, Object> config = new HashMap<>();
 
@@ -0,0 +1,82 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.util;
+
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.BatchExporter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ControlledTestBatchExporter implements BatchExporter {
+  private final List<List<Record>> exportedBatches = new CopyOnWriteArrayList<>();
+  private final List<CompletableFuture<Void>> completions = new CopyOnWriteArrayList<>();
+
+  private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+  private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
+  private boolean supportsOutOfOrderBatches;
+
+  public ControlledTestBatchExporter maxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+    return this;
+  }
+
+  public ControlledTestBatchExporter maxInFlightBatches(final int maxInFlightBatches) {
+    this.maxInFlightBatches = maxInFlightBatches;
+    return this;
+  }
+
+  public ControlledTestBatchExporter supportsOutOfOrderBatches(
+      final boolean supportsOutOfOrderBatches) {
+    this.supportsOutOfOrderBatches = supportsOutOfOrderBatches;
+    return this;
+  }
+
+  public List<List<Record>> getExportedBatches() {
+    return exportedBatches;
+  }
+
+  public CompletableFuture<Void> getCompletion(final int batchIndex) {
+    return completions.get(batchIndex);
+  }
+
+  @Override
+  public CompletionStage<Void> exportBatch(final List<Record> records) {
+    final CompletableFuture<Void> completion = new CompletableFuture<>();
+    // the completion is added first, so there is one for each batch which is visible
+    completions.add(completion);
+    exportedBatches.add(records);
+    return completion;
+  }
+
+  @Override
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  @Override
+  public int getMaxInFlightBatches() {
+    return maxInFlightBatches;
+  }
+
+  @Override
+  public boolean supportsOutOfOrderBatches() {
+    return supportsOutOfOrderBatches;
+  }
+}
@@ -113,7 +113,7 @@ public class ControlledTestExporter implements Exporter {
       onExport.accept(record);
     }
 
-    exportedRecords.add(record);
+    exportedRecords.add(record.copy());
 
     if (shouldAutoUpdatePosition) {
       getController().updateLastExportedRecordPosition(record.getPosition());
@@ -15,6 +15,9 @@
  */
 package io.zeebe.exporter.api.context;
 
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
 import org.slf4j.Logger;
 
 /** Encapsulates context associated with the exporter on open. */
@@ -24,4 +27,40 @@ public interface Context {
 
   /** @return configuration for this exporter */
   Configuration getConfiguration();
+
+  /**
+   * Apply the given filter to limit the records which are exported. The filter is evaluated on the
+   * metadata of a record before the record is created, so filtered records cost nearly nothing.
+   * Should be called during {@link io.zeebe.exporter.api.spi.Exporter#configure(Context)}.
+   *
+   * <p>The default implementation ignores the filter, so contexts which do not support filtering
+   * pass all records to the exporter.
+   *
+   * @param filter the filter to apply, or null to export all records
+   */
+  default void setFilter(RecordFilter filter) {}
+
+  /** Decides which records are passed to the exporter, based on their metadata. */
+  interface RecordFilter {
+    /**
+     * @param recordType the type of the record (event, command or command rejection)
+     * @return true if records of the given type should be exported
+     */
+    boolean acceptType(RecordType recordType);
+
+    /**
+     * @param valueType the type of the record value (e.g. job, workflow instance, etc.)
+     * @return true if records with the given value type should be exported
+     */
+    boolean acceptValue(ValueType valueType);
+
+    /**
+     * @param valueType the type of the record value
+     * @param intent the intent of the record
+     * @return true if records with the given intent should be exported
+     */
+    default boolean acceptIntent(ValueType valueType, Intent intent) {
+      return true;
+    }
+  }
 }
@@ -15,6 +15,7 @@
  */
 package io.zeebe.exporter.api.record;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 /** Represents a record published to the log stream. */
@@ -82,4 +83,25 @@ public interface Record<T extends RecordValue> {
 
   /** @return a JSON marshaled representation of this record */
   String toJson();
+
+  /**
+   * Returns the same representation as {@link #toJson()}, encoded as UTF-8. Implementations may
+   * write the bytes directly, which avoids the intermediate string.
+   *
+   * @return a UTF-8 encoded JSON marshaled representation of this record
+   */
+  default byte[] toJsonBytes() {
+    return toJson().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns a record which is independent of this record. Records which are views on an underlying
+   * buffer decode their values on access and are only valid until the buffer is reused, so they
+   * must be copied to keep them. Immutable records may return themselves.
+   *
+   * @return an immutable copy of this record
+   */
+  default Record<T> copy() {
+    return this;
+  }
 }
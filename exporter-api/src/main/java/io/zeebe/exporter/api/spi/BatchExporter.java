@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter.api.spi;
+
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.exporter.api.record.Record;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Optional extension of the {@link Exporter} interface for exporters which export records
+ * asynchronously in batches, e.g. to a remote system.
+ *
+ * <p>Instead of {@link Exporter#export(Record)}, the broker collects the records in batches of at
+ * most {@link #getMaxBatchSize()} records and hands them off to {@link #exportBatch(List)}. A batch
+ * which is not full is handed off after {@link #getMaxBatchDelay()} at the latest. At most {@link
+ * #getMaxInFlightBatches()} batches are exported at the same time; if this limit is reached, the
+ * broker stops exporting until one of the batches is completed.
+ *
+ * <p>The broker acknowledges the position of a batch once it and all previous batches are
+ * completed, so implementations should not call {@link
+ * Controller#updateLastExportedRecordPosition(long)} themselves. A batch which completes
+ * exceptionally is exported again after a delay.
+ */
+public interface BatchExporter extends Exporter {
+  int DEFAULT_MAX_BATCH_SIZE = 100;
+  int DEFAULT_MAX_IN_FLIGHT_BATCHES = 2;
+  Duration DEFAULT_MAX_BATCH_DELAY = Duration.ofSeconds(1);
+
+  /**
+   * Exports the given batch of records. The method is called on the exporter thread and should not
+   * block; the actual export should happen asynchronously.
+   *
+   * <p>The records are ordered by their position and the list is not modified after the call. The
+   * records are copies, so they can be used after the call, e.g. by another thread.
+   *
+   * @param records the records to export, never empty
+   * @return a completion stage which is completed once all records are exported, or completed
+   *     exceptionally if the batch should be exported again
+   */
+  CompletionStage<Void> exportBatch(List<Record> records);
+
+  /** @return the maximum count of records in a single batch */
+  default int getMaxBatchSize() {
+    return DEFAULT_MAX_BATCH_SIZE;
+  }
+
+  /** @return the maximum count of batches which are exported at the same time */
+  default int getMaxInFlightBatches() {
+    return DEFAULT_MAX_IN_FLIGHT_BATCHES;
+  }
+
+  /** @return the maximum time a record is kept in an incomplete batch before it is exported */
+  default Duration getMaxBatchDelay() {
+    return DEFAULT_MAX_BATCH_DELAY;
+  }
+
+  /**
+   * Whether batches may be exported out of order. If true, the broker catches up a large backlog of
+   * the exporter with several readers in parallel, see the exporter configuration. The records of a
+   * batch are still ordered, but batches of different parts of the log are exported at the same
+   * time and complete in any order, so the exporter must not depend on the order of the records
+   * across batches, e.g. because it indexes them by their position.
+   *
+   * <p>Like all other methods, {@link #exportBatch(List)} is only called on the exporter thread.
+   *
+   * @return true if batches may be exported out of order, false by default
+   */
+  default boolean supportsOutOfOrderBatches() {
+    return false;
+  }
+
+  /**
+   * Exports the single record synchronously as batch. The broker never calls this method for a
+   * batch exporter, it only exists to satisfy the {@link Exporter} interface.
+   */
+  @Override
+  default void export(final Record record) {
+    exportBatch(Collections.singletonList(record)).toCompletableFuture().join();
+  }
+}
@@ -66,6 +66,9 @@ public interface Exporter {
    * called indefinitely until it terminates without any exception. It is up to the implementation
    * to handle errors properly, to implement retry strategies, etc.
    *
+   * <p>The record may be a view which is only valid during the call. Implementations which keep the
+   * record beyond the call must keep a {@link Record#copy()} of it instead.
+   *
    * @param record the record to export
    */
   void export(final Record record);
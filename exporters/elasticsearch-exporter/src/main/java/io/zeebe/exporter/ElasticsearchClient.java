@@ -15,7 +15,18 @@
  */
 package io.zeebe.exporter;
 
+import io.zeebe.exporter.ElasticsearchExporterConfiguration.IndexConfiguration;
 import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.record.RecordValue;
+import io.zeebe.exporter.api.record.value.ErrorRecordValue;
+import io.zeebe.exporter.api.record.value.IncidentRecordValue;
+import io.zeebe.exporter.api.record.value.JobRecordValue;
+import io.zeebe.exporter.api.record.value.MessageSubscriptionRecordValue;
+import io.zeebe.exporter.api.record.value.TimerRecordValue;
+import io.zeebe.exporter.api.record.value.VariableRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceCreationRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceRecordValue;
+import io.zeebe.exporter.api.record.value.WorkflowInstanceSubscriptionRecordValue;
 import io.zeebe.protocol.clientapi.ValueType;
 import java.io.IOException;
 import java.io.InputStream;
@@ -23,8 +34,15 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -32,36 +50,71 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.indices.alias.Alias;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverRequest;
+import org.elasticsearch.action.admin.indices.rollover.RolloverResponse;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.cluster.metadata.AliasMetaData;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.slf4j.Logger;
 
 public class ElasticsearchClient {
 
   public static final String INDEX_TEMPLATE_FILENAME_PATTERN = "/zeebe-record-%s-template.json";
   public static final String INDEX_DELIMITER = "_";
+  public static final String WRITE_ALIAS_SUFFIX = "write";
+  /** the first index of a rollover series, the date is resolved by elasticsearch */
+  public static final String FIRST_ROLLOVER_INDEX_PATTERN = "<%s{now/d{yyyy-MM-dd}}-000001>";
+  /** the number of most recent indices of a rollover series which are resolved */
+  public static final int MAX_RESOLVED_INDICES = 100;
+
+  private static final String INDICES_AGGREGATION = "indices";
+  private static final String POSITION_AGGREGATION = "position";
 
   private final ElasticsearchExporterConfiguration configuration;
   private final Logger log;
   protected final RestHighLevelClient client;
-  private BulkRequest bulkRequest;
 
   private final DateTimeFormatter formatter;
 
+  /**
+   * The concrete indices of the rollover series of each value type, by the position of the first
+   * record which is written to them. A record is always written to the index which it was written
+   * to first, so that a record which is exported again overwrites itself instead of being
+   * duplicated in the current index of the series. Guarded by itself.
+   */
+  private final Map<ValueType, NavigableMap<Long, String>> writeIndices =
+      new EnumMap<>(ValueType.class);
+
+  /** the highest position of a record which was assigned to a rollover index */
+  private long highestWrittenPosition = -1L;
+
   public ElasticsearchClient(final ElasticsearchExporterConfiguration configuration, Logger log) {
     this.configuration = configuration;
     this.log = log;
     this.client = createClient();
-    this.bulkRequest = new BulkRequest();
     this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
   }
 
@@ -69,50 +122,93 @@ public class ElasticsearchClient {
     client.close();
   }
 
-  public void index(final Record<?> record) {
-    final IndexRequest request =
-        new IndexRequest(indexFor(record), typeFor(record), idFor(record))
-            .source(record.toJson(), XContentType.JSON);
-    bulk(request);
-  }
-
-  public void bulk(final IndexRequest indexRequest) {
-    bulkRequest.add(indexRequest);
+  public IndexRequest newIndexRequest(final Record<?> record) {
+    return new IndexRequest(indexFor(record), typeFor(record), idFor(record))
+        .routing(routingFor(record))
+        .source(record.toJsonBytes(), XContentType.JSON);
   }
 
-  /** @return true if all bulk records where flushed successfully */
-  public boolean flush() {
-    boolean success = true;
-    if (bulkRequest.numberOfActions() > 0) {
-      try {
-        final BulkResponse responses = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-        success = checkBulkResponses(responses);
-      } catch (IOException e) {
-        throw new ElasticsearchExporterException("Failed to flush bulk", e);
-      }
-
-      if (success) {
-        // all records where flushed, create new bulk request, otherwise retry next time
+  /**
+   * Indexes the given records asynchronously. The records are split into bulk requests of at most
+   * {@link ElasticsearchExporterConfiguration.BulkConfiguration#memoryLimit} bytes, which are sent
+   * concurrently.
+   *
+   * @return a future which is completed with the records which failed to be indexed, or completed
+   *     exceptionally if a bulk request failed as a whole
+   */
+  public CompletableFuture<List<Record<?>>> bulk(final List<Record<?>> records) {
+    final List<CompletableFuture<List<Record<?>>>> futures = new ArrayList<>();
+
+    BulkRequest bulkRequest = new BulkRequest();
+    List<Record<?>> bulkRecords = new ArrayList<>();
+
+    for (final Record<?> record : records) {
+      final IndexRequest indexRequest = newIndexRequest(record);
+      final long requestSize = indexRequest.source().length();
+
+      if (bulkRequest.numberOfActions() > 0
+          && bulkRequest.estimatedSizeInBytes() + requestSize > configuration.bulk.memoryLimit) {
+        futures.add(sendBulk(bulkRequest, bulkRecords));
         bulkRequest = new BulkRequest();
+        bulkRecords = new ArrayList<>();
       }
+
+      bulkRequest.add(indexRequest);
+      bulkRecords.add(record);
     }
 
-    return success;
+    if (bulkRequest.numberOfActions() > 0) {
+      futures.add(sendBulk(bulkRequest, bulkRecords));
+    }
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .thenApply(
+            nothing -> {
+              final List<Record<?>> failedRecords = new ArrayList<>();
+              futures.forEach(future -> failedRecords.addAll(future.join()));
+              return failedRecords;
+            });
+  }
+
+  private CompletableFuture<List<Record<?>>> sendBulk(
+      final BulkRequest bulkRequest, final List<Record<?>> records) {
+    final CompletableFuture<List<Record<?>>> future = new CompletableFuture<>();
+
+    client.bulkAsync(
+        bulkRequest,
+        RequestOptions.DEFAULT,
+        new ActionListener<BulkResponse>() {
+          @Override
+          public void onResponse(final BulkResponse response) {
+            future.complete(getFailedRecords(response, records));
+          }
+
+          @Override
+          public void onFailure(final Exception e) {
+            future.completeExceptionally(
+                new ElasticsearchExporterException("Failed to flush bulk", e));
+          }
+        });
+
+    return future;
   }
 
-  private boolean checkBulkResponses(final BulkResponse responses) {
-    for (BulkItemResponse response : responses) {
+  private List<Record<?>> getFailedRecords(
+      final BulkResponse responses, final List<Record<?>> records) {
+    if (!responses.hasFailures()) {
+      return Collections.emptyList();
+    }
+
+    final List<Record<?>> failedRecords = new ArrayList<>();
+    for (final BulkItemResponse response : responses) {
       if (response.isFailed()) {
-        log.warn("Failed to flush at least one bulk request {}", response.getFailureMessage());
-        return false;
+        log.warn("Failed to index record: {}", response.getFailureMessage());
+        // the items of the response have the same order as the requests
+        failedRecords.add(records.get(response.getItemId()));
       }
     }
 
-    return true;
-  }
-
-  public boolean shouldFlush() {
-    return bulkRequest.numberOfActions() >= configuration.bulk.size;
+    return failedRecords;
   }
 
   /** @return true if request was acknowledged */
@@ -144,12 +240,170 @@ public class ElasticsearchClient {
     // update alias in template in case it was changed in configuration
     template.put("aliases", Collections.singletonMap(templateName, Collections.EMPTY_MAP));
 
+    // update shards in template in case they were changed in configuration
+    final Object settings = template.get("settings");
+    if (settings instanceof Map) {
+      ((Map<String, Object>) settings).put("number_of_shards", configuration.index.numberOfShards);
+    }
+
     final PutIndexTemplateRequest request =
         new PutIndexTemplateRequest(templateName).source(template);
 
     return putIndexTemplate(request);
   }
 
+  /**
+   * Creates the first index of the rollover series of the given value type with the write alias,
+   * unless the write alias already exists.
+   *
+   * @return true if the index was created or already exists
+   */
+  public boolean createWriteIndex(final ValueType valueType) {
+    final String writeAlias = writeAliasFor(valueType);
+
+    try {
+      if (client.indices().existsAlias(new GetAliasesRequest(writeAlias), RequestOptions.DEFAULT)) {
+        return true;
+      }
+
+      final String index =
+          String.format(
+              FIRST_ROLLOVER_INDEX_PATTERN, indexPrefixForValueType(valueType) + INDEX_DELIMITER);
+      final CreateIndexRequest request =
+          new CreateIndexRequest(index).alias(new Alias(writeAlias).writeIndex(true));
+
+      return client.indices().create(request, RequestOptions.DEFAULT).isAcknowledged();
+    } catch (IOException e) {
+      throw new ElasticsearchExporterException("Failed to create write index " + writeAlias, e);
+    }
+  }
+
+  /**
+   * Rolls the write alias of the given value type over to a new index, if the current index meets
+   * one of the configured rollover conditions.
+   *
+   * @return a future which is completed with true if the index was rolled over
+   */
+  public CompletableFuture<Boolean> rollover(final ValueType valueType) {
+    final IndexConfiguration index = configuration.index;
+    final RolloverRequest request = new RolloverRequest(writeAliasFor(valueType), null);
+    if (index.rolloverMaxDocs > 0) {
+      request.addMaxIndexDocsCondition(index.rolloverMaxDocs);
+    }
+    if (index.rolloverMaxSize != null && !index.rolloverMaxSize.isEmpty()) {
+      request.addMaxIndexSizeCondition(
+          ByteSizeValue.parseBytesSizeValue(index.rolloverMaxSize, "rolloverMaxSize"));
+    }
+
+    final CompletableFuture<Boolean> future = new CompletableFuture<>();
+    client
+        .indices()
+        .rolloverAsync(
+            request,
+            RequestOptions.DEFAULT,
+            new ActionListener<RolloverResponse>() {
+              @Override
+              public void onResponse(final RolloverResponse response) {
+                final String writeIndex =
+                    response.isRolledOver() ? response.getNewIndex() : response.getOldIndex();
+                updateWriteIndex(valueType, writeIndex);
+                future.complete(response.isRolledOver());
+              }
+
+              @Override
+              public void onFailure(final Exception e) {
+                future.completeExceptionally(
+                    new ElasticsearchExporterException("Failed to roll over " + valueType, e));
+              }
+            });
+
+    return future;
+  }
+
+  /**
+   * Resolves the concrete indices of the rollover series of the given value type which contain
+   * records of the given partition, and the current write index. Records which are exported again,
+   * e.g. after a restart, are written to the index which contains them already.
+   */
+  public void resolveWriteIndices(final ValueType valueType, final int partitionId) {
+    final String writeAlias = writeAliasFor(valueType);
+    final NavigableMap<Long, String> indices = new TreeMap<>();
+    long highestPosition = -1L;
+    long nextPosition = Long.MIN_VALUE;
+
+    try {
+      final GetAliasesResponse aliasesResponse =
+          client.indices().getAlias(new GetAliasesRequest(writeAlias), RequestOptions.DEFAULT);
+      final String writeIndex = writeIndexOf(aliasesResponse.getAliases());
+
+      final SearchSourceBuilder source =
+          new SearchSourceBuilder()
+              .size(0)
+              .query(QueryBuilders.termQuery("metadata.partitionId", partitionId))
+              .aggregation(
+                  AggregationBuilders.terms(INDICES_AGGREGATION)
+                      .field("_index")
+                      .size(MAX_RESOLVED_INDICES)
+                      .order(BucketOrder.aggregation(POSITION_AGGREGATION, false))
+                      .subAggregation(
+                          AggregationBuilders.max(POSITION_AGGREGATION).field("position")));
+      final SearchRequest searchRequest =
+          new SearchRequest(indexPrefixForValueType(valueType) + INDEX_DELIMITER + "*")
+              .source(source);
+      final SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+
+      // the buckets are ordered by their highest position, descending
+      final List<? extends Terms.Bucket> buckets =
+          ((Terms) searchResponse.getAggregations().get(INDICES_AGGREGATION)).getBuckets();
+      for (int i = buckets.size() - 1; i >= 0; i--) {
+        final Terms.Bucket bucket = buckets.get(i);
+        final Max indexPosition = bucket.getAggregations().get(POSITION_AGGREGATION);
+
+        indices.put(nextPosition, bucket.getKeyAsString());
+        highestPosition = (long) indexPosition.getValue();
+        nextPosition = highestPosition + 1;
+      }
+
+      if (indices.isEmpty() || !writeIndex.equals(indices.lastEntry().getValue())) {
+        indices.put(nextPosition, writeIndex);
+      }
+    } catch (IOException e) {
+      throw new ElasticsearchExporterException(
+          "Failed to resolve the indices of write alias " + writeAlias, e);
+    }
+
+    synchronized (writeIndices) {
+      writeIndices.put(valueType, indices);
+      highestWrittenPosition = Math.max(highestWrittenPosition, highestPosition);
+    }
+  }
+
+  private static String writeIndexOf(final Map<String, Set<AliasMetaData>> aliasesByIndex) {
+    for (final Map.Entry<String, Set<AliasMetaData>> entry : aliasesByIndex.entrySet()) {
+      for (final AliasMetaData alias : entry.getValue()) {
+        if (aliasesByIndex.size() == 1 || Boolean.TRUE.equals(alias.writeIndex())) {
+          return entry.getKey();
+        }
+      }
+    }
+
+    throw new ElasticsearchExporterException(
+        "Failed to find the write index of aliases " + aliasesByIndex);
+  }
+
+  /**
+   * Sets the index which the records of the given value type are written to from now on. The
+   * records which were written before are still written to their index.
+   */
+  private void updateWriteIndex(final ValueType valueType, final String writeIndex) {
+    synchronized (writeIndices) {
+      final NavigableMap<Long, String> indices = writeIndices.get(valueType);
+      if (indices != null && !writeIndex.equals(indices.lastEntry().getValue())) {
+        indices.put(highestWrittenPosition + 1, writeIndex);
+      }
+    }
+  }
+
   /** @return true if request was acknowledged */
   private boolean putIndexTemplate(final PutIndexTemplateRequest putIndexTemplateRequest) {
     try {
@@ -204,11 +458,69 @@ public class ElasticsearchClient {
   }
 
   protected String indexFor(final Record<?> record) {
-    return indexPrefixForValueType(record.getMetadata().getValueType())
+    final ValueType valueType = record.getMetadata().getValueType();
+    if (configuration.index.isRolloverEnabled()) {
+      return rolloverIndexFor(valueType, record.getPosition());
+    }
+
+    return indexPrefixForValueType(valueType)
         + INDEX_DELIMITER
         + formatter.format(record.getTimestamp());
   }
 
+  private String rolloverIndexFor(final ValueType valueType, final long position) {
+    synchronized (writeIndices) {
+      final NavigableMap<Long, String> indices = writeIndices.get(valueType);
+      if (indices == null) {
+        return writeAliasFor(valueType);
+      }
+
+      highestWrittenPosition = Math.max(highestWrittenPosition, position);
+      return indices.floorEntry(position).getValue();
+    }
+  }
+
+  /**
+   * @return the key of the workflow instance of the record, if the records should be routed by
+   *     their workflow instance, otherwise null to route by id
+   */
+  protected String routingFor(final Record<?> record) {
+    if (!configuration.index.routeByWorkflowInstance) {
+      return null;
+    }
+
+    final long workflowInstanceKey = workflowInstanceKeyOf(record.getValue());
+    return workflowInstanceKey > 0 ? String.valueOf(workflowInstanceKey) : null;
+  }
+
+  private static long workflowInstanceKeyOf(final RecordValue value) {
+    if (value instanceof WorkflowInstanceRecordValue) {
+      return ((WorkflowInstanceRecordValue) value).getWorkflowInstanceKey();
+    } else if (value instanceof JobRecordValue) {
+      return ((JobRecordValue) value).getHeaders().getWorkflowInstanceKey();
+    } else if (value instanceof IncidentRecordValue) {
+      return ((IncidentRecordValue) value).getWorkflowInstanceKey();
+    } else if (value instanceof VariableRecordValue) {
+      return ((VariableRecordValue) value).getWorkflowInstanceKey();
+    } else if (value instanceof TimerRecordValue) {
+      return ((TimerRecordValue) value).getWorkflowInstanceKey();
+    } else if (value instanceof WorkflowInstanceCreationRecordValue) {
+      return ((WorkflowInstanceCreationRecordValue) value).getInstanceKey();
+    } else if (value instanceof WorkflowInstanceSubscriptionRecordValue) {
+      return ((WorkflowInstanceSubscriptionRecordValue) value).getWorkflowInstanceKey();
+    } else if (value instanceof MessageSubscriptionRecordValue) {
+      return ((MessageSubscriptionRecordValue) value).getWorkflowInstanceKey();
+    } else if (value instanceof ErrorRecordValue) {
+      return ((ErrorRecordValue) value).getWorkflowInstanceKey();
+    } else {
+      return -1L;
+    }
+  }
+
+  protected String writeAliasFor(final ValueType valueType) {
+    return indexPrefixForValueType(valueType) + INDEX_DELIMITER + WRITE_ALIAS_SUFFIX;
+  }
+
   protected String idFor(final Record<?> record) {
     return record.getMetadata().getPartitionId() + "-" + record.getPosition();
   }
@@ -17,40 +17,62 @@ package io.zeebe.exporter;
 
 import io.zeebe.exporter.ElasticsearchExporterConfiguration.IndexConfiguration;
 import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Context.RecordFilter;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
-import io.zeebe.exporter.api.spi.Exporter;
+import io.zeebe.exporter.api.spi.BatchExporter;
+import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 
-public class ElasticsearchExporter implements Exporter {
+public class ElasticsearchExporter implements BatchExporter {
 
   public static final String ZEEBE_RECORD_TEMPLATE_JSON = "/zeebe-record-template.json";
 
   private Logger log;
-  private Controller controller;
 
   private ElasticsearchExporterConfiguration configuration;
 
   private ElasticsearchClient client;
 
-  private long lastPosition = -1;
+  private Controller controller;
+
   private boolean indexTemplatesCreated;
 
+  /**
+   * The records which could not be indexed when a batch failed, by the position of the last record
+   * of the batch. The broker exports a failed batch again with the same records, so only these
+   * records are indexed again.
+   */
+  private final Map<Long, List<Record<?>>> failedRecordsByBatch = new ConcurrentHashMap<>();
+
   @Override
   public void configure(Context context) {
     log = context.getLogger();
     configuration =
         context.getConfiguration().instantiate(ElasticsearchExporterConfiguration.class);
     log.debug("Exporter configured with {}", configuration);
+
+    context.setFilter(new ElasticsearchRecordFilter(configuration));
   }
 
   @Override
   public void open(Controller controller) {
     this.controller = controller;
     client = createClient();
-    scheduleDelayedFlush();
+
+    if (configuration.index.isRolloverEnabled()) {
+      scheduleRollover();
+    }
+
     log.info("Exporter opened");
   }
 
@@ -60,8 +82,6 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void close() {
-    flush();
-
     try {
       client.close();
     } catch (Exception e) {
@@ -71,40 +91,74 @@ public class ElasticsearchExporter implements Exporter {
   }
 
   @Override
-  public void export(Record record) {
-    if (!indexTemplatesCreated) {
-      createIndexTemplates();
+  public CompletionStage<Void> exportBatch(List<Record> records) {
+    if (records.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
     }
 
-    if (configuration.shouldIndexRecord(record)) {
-      client.index(record);
+    if (!indexTemplatesCreated) {
+      createIndexTemplates(records.get(0).getMetadata().getPartitionId());
     }
 
-    lastPosition = record.getPosition();
+    final long batchPosition = records.get(records.size() - 1).getPosition();
+    List<Record<?>> recordsToIndex = failedRecordsByBatch.remove(batchPosition);
+    if (recordsToIndex == null) {
+      recordsToIndex = new ArrayList<>(records.size());
+      for (final Record<?> record : records) {
+        if (configuration.shouldIndexRecord(record)) {
+          recordsToIndex.add(record);
+        }
+      }
+    }
 
-    if (client.shouldFlush()) {
-      flush();
+    if (recordsToIndex.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
     }
+
+    return index(batchPosition, records.size(), recordsToIndex, 0);
   }
 
-  private void flushAndReschedule() {
-    flush();
-    scheduleDelayedFlush();
+  private CompletableFuture<Void> index(
+      long batchPosition, int batchSize, List<Record<?>> recordsToIndex, int attempt) {
+    return client
+        .bulk(recordsToIndex)
+        .thenCompose(
+            failedRecords -> {
+              if (failedRecords.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+              } else if (attempt < configuration.bulk.retries) {
+                return index(batchPosition, batchSize, failedRecords, attempt + 1);
+              } else {
+                failedRecordsByBatch.put(batchPosition, failedRecords);
+                throw new ElasticsearchExporterException(
+                    String.format(
+                        "Failed to index %d of %d records", failedRecords.size(), batchSize));
+              }
+            });
   }
 
-  private void scheduleDelayedFlush() {
-    controller.scheduleTask(Duration.ofSeconds(configuration.bulk.delay), this::flushAndReschedule);
+  @Override
+  public int getMaxBatchSize() {
+    return configuration.bulk.size;
   }
 
-  private void flush() {
-    if (client.flush()) {
-      controller.updateLastExportedRecordPosition(lastPosition);
-    } else {
-      log.warn("Failed to flush bulk completely");
-    }
+  @Override
+  public int getMaxInFlightBatches() {
+    return configuration.bulk.concurrentRequests;
+  }
+
+  @Override
+  public Duration getMaxBatchDelay() {
+    return Duration.ofSeconds(configuration.bulk.delay);
+  }
+
+  /** The records are indexed by their position, so the order of the batches does not matter. */
+  @Override
+  public boolean supportsOutOfOrderBatches() {
+    return true;
   }
 
-  private void createIndexTemplates() {
+  private void createIndexTemplates(final int partitionId) {
     final IndexConfiguration index = configuration.index;
 
     if (index.createTemplate) {
@@ -148,9 +202,54 @@ public class ElasticsearchExporter implements Exporter {
       }
     }
 
+    if (index.isRolloverEnabled()) {
+      forEachIndexedValueType(valueType -> createWriteIndex(valueType, partitionId));
+    }
+
     indexTemplatesCreated = true;
   }
 
+  private void createWriteIndex(final ValueType valueType, final int partitionId) {
+    if (!client.createWriteIndex(valueType)) {
+      log.warn("Create write index for value type {} was not acknowledged", valueType);
+    }
+
+    client.resolveWriteIndices(valueType, partitionId);
+  }
+
+  private void scheduleRollover() {
+    final Duration interval = Duration.ofSeconds(configuration.index.rolloverInterval);
+    controller.scheduleTask(interval, this::rollover);
+  }
+
+  private void rollover() {
+    // the write indices are created together with the templates on the first export
+    if (indexTemplatesCreated) {
+      forEachIndexedValueType(
+          valueType ->
+              client
+                  .rollover(valueType)
+                  .whenComplete(
+                      (rolledOver, error) -> {
+                        if (error != null) {
+                          log.warn("Failed to roll over index of value type {}", valueType, error);
+                        } else if (rolledOver) {
+                          log.debug("Rolled over index of value type {}", valueType);
+                        }
+                      }));
+    }
+
+    scheduleRollover();
+  }
+
+  private void forEachIndexedValueType(final Consumer<ValueType> consumer) {
+    for (final ValueType valueType : ValueType.values()) {
+      if (configuration.shouldIndexValueType(valueType)) {
+        consumer.accept(valueType);
+      }
+    }
+  }
+
   private void createRootIndexTemplate() {
     final String templateName = configuration.index.prefix;
     final String filename = ZEEBE_RECORD_TEMPLATE_JSON;
@@ -164,4 +263,22 @@ public class ElasticsearchExporter implements Exporter {
       log.warn("Put index template for value type {} was not acknowledged", valueType);
     }
   }
+
+  private static class ElasticsearchRecordFilter implements RecordFilter {
+    private final ElasticsearchExporterConfiguration configuration;
+
+    ElasticsearchRecordFilter(ElasticsearchExporterConfiguration configuration) {
+      this.configuration = configuration;
+    }
+
+    @Override
+    public boolean acceptType(RecordType recordType) {
+      return configuration.shouldIndexRecordType(recordType);
+    }
+
+    @Override
+    public boolean acceptValue(ValueType valueType) {
+      return configuration.shouldIndexValueType(valueType);
+    }
+  }
 }
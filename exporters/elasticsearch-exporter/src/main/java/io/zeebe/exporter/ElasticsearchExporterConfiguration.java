@@ -70,6 +70,22 @@ public class ElasticsearchExporterConfiguration {
     public boolean workflowInstanceCreation = false;
     public boolean workflowInstanceSubscription = false;
 
+    // number of shards of the indices, overrides the index templates
+    public int numberOfShards = 1;
+    // route the records of a workflow instance to the same shard
+    public boolean routeByWorkflowInstance = false;
+
+    // roll over to a new index once the index contains this many documents, 0 to disable
+    public long rolloverMaxDocs = 0;
+    // roll over to a new index once the index has this size, e.g. "50gb", empty to disable
+    public String rolloverMaxSize = "";
+    // interval in seconds to check the rollover conditions
+    public int rolloverInterval = 60;
+
+    public boolean isRolloverEnabled() {
+      return rolloverMaxDocs > 0 || (rolloverMaxSize != null && !rolloverMaxSize.isEmpty());
+    }
+
     @Override
     public String toString() {
       return "IndexConfiguration{"
@@ -106,6 +122,17 @@ public class ElasticsearchExporterConfiguration {
           + workflowInstanceCreation
           + ", workflowInstanceSubscription="
           + workflowInstanceSubscription
+          + ", numberOfShards="
+          + numberOfShards
+          + ", routeByWorkflowInstance="
+          + routeByWorkflowInstance
+          + ", rolloverMaxDocs="
+          + rolloverMaxDocs
+          + ", rolloverMaxSize='"
+          + rolloverMaxSize
+          + '\''
+          + ", rolloverInterval="
+          + rolloverInterval
           + '}';
     }
   }
@@ -115,10 +142,27 @@ public class ElasticsearchExporterConfiguration {
     public int delay = 5;
     // bulk size before flush
     public int size = 1_000;
+    // maximum size of a single bulk request in bytes
+    public long memoryLimit = 10 * 1024 * 1024;
+    // count of bulks which are sent concurrently
+    public int concurrentRequests = 2;
+    // how often failed records of a bulk are indexed again before the bulk is failed
+    public int retries = 3;
 
     @Override
     public String toString() {
-      return "BulkConfiguration{" + "delay=" + delay + ", size=" + size + '}';
+      return "BulkConfiguration{"
+          + "delay="
+          + delay
+          + ", size="
+          + size
+          + ", memoryLimit="
+          + memoryLimit
+          + ", concurrentRequests="
+          + concurrentRequests
+          + ", retries="
+          + retries
+          + '}';
     }
   }
 
@@ -142,7 +186,7 @@ public class ElasticsearchExporterConfiguration {
         && shouldIndexValueType(metadata.getValueType());
   }
 
-  private boolean shouldIndexValueType(ValueType valueType) {
+  public boolean shouldIndexValueType(ValueType valueType) {
     switch (valueType) {
       case DEPLOYMENT:
         return index.deployment;
@@ -173,7 +217,7 @@ public class ElasticsearchExporterConfiguration {
     }
   }
 
-  private boolean shouldIndexRecordType(RecordType recordType) {
+  public boolean shouldIndexRecordType(RecordType recordType) {
     switch (recordType) {
       case EVENT:
         return index.event;
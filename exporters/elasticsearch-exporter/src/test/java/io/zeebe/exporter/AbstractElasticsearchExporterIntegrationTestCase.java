@@ -28,10 +28,12 @@ import io.zeebe.test.util.record.RecordingExporterTestWatcher;
 import io.zeebe.util.ZbLogger;
 import java.io.IOException;
 import java.util.Map;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.core.CountRequest;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
 import org.elasticsearch.common.settings.Settings;
 import org.junit.After;
@@ -163,8 +165,26 @@ public abstract class AbstractElasticsearchExporterIntegrationTestCase {
       }
     }
 
+    void refresh() {
+      try {
+        client.indices().refresh(new RefreshRequest(), RequestOptions.DEFAULT);
+      } catch (IOException e) {
+        throw new ElasticsearchExporterException("Failed to refresh indices", e);
+      }
+    }
+
+    long count(final String index) {
+      try {
+        return client.count(new CountRequest(index), RequestOptions.DEFAULT).getCount();
+      } catch (IOException e) {
+        throw new ElasticsearchExporterException("Failed to count documents of " + index, e);
+      }
+    }
+
     Map<String, Object> get(Record<?> record) {
-      final GetRequest request = new GetRequest(indexFor(record), typeFor(record), idFor(record));
+      final GetRequest request =
+          new GetRequest(indexFor(record), typeFor(record), idFor(record))
+              .routing(routingFor(record));
       try {
         final GetResponse response = client.get(request, RequestOptions.DEFAULT);
         if (response.isExists()) {
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.exporter.api.record.Record;
+import io.zeebe.protocol.clientapi.ValueType;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ElasticsearchExporterRolloverIT
+    extends AbstractElasticsearchExporterIntegrationTestCase {
+
+  @Test
+  public void shouldNotDuplicateRecordsWhichAreExportedAgainAfterRollover() throws Exception {
+    // given
+    elastic.start();
+    configuration = getDefaultConfiguration();
+    configuration.index.rolloverMaxDocs = 1;
+    esClient = createElasticsearchClient(configuration);
+
+    exporterBrokerRule.start();
+    exporterBrokerRule.performSampleWorkload();
+
+    final List<Record<?>> records = new ArrayList<>();
+    exporterBrokerRule.visitExportedRecords(
+        r -> {
+          if (r.getMetadata().getValueType() == ValueType.JOB) {
+            records.add(r);
+          }
+        });
+    final int partitionId = records.get(0).getMetadata().getPartitionId();
+
+    esClient.createWriteIndex(ValueType.JOB);
+    esClient.resolveWriteIndices(ValueType.JOB, partitionId);
+    assertThat(esClient.bulk(records).join()).isEmpty();
+    esClient.refresh();
+    assertThat(esClient.rollover(ValueType.JOB).join()).isTrue();
+
+    // when - the records are exported again by a new exporter, e.g. after a restart
+    final ElasticsearchTestClient restartedClient = createElasticsearchClient(configuration);
+    restartedClient.resolveWriteIndices(ValueType.JOB, partitionId);
+    assertThat(restartedClient.bulk(records).join()).isEmpty();
+    restartedClient.close();
+
+    // then
+    esClient.refresh();
+    assertThat(esClient.count(configuration.index.prefix + "-job_*")).isEqualTo(records.size());
+  }
+}
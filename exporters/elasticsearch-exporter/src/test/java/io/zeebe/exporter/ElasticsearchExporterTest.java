@@ -19,9 +19,12 @@ import static io.zeebe.exporter.ElasticsearchExporter.ZEEBE_RECORD_TEMPLATE_JSON
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,9 +32,16 @@ import io.zeebe.exporter.api.record.Record;
 import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.test.exporter.ExporterTestHarness;
+import io.zeebe.test.exporter.record.MockRecord;
+import io.zeebe.test.exporter.record.MockRecordMetadata;
 import io.zeebe.util.ZbLogger;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -140,7 +150,7 @@ public class ElasticsearchExporterTest {
       final Record record =
           testHarness.export(
               r -> r.getMetadata().setValueType(valueType).setRecordType(RecordType.EVENT));
-      verify(esClient).index(record);
+      verify(esClient).bulk(Collections.singletonList(record));
     }
   }
 
@@ -184,7 +194,7 @@ public class ElasticsearchExporterTest {
       final Record record =
           testHarness.export(
               r -> r.getMetadata().setValueType(valueType).setRecordType(RecordType.EVENT));
-      verify(esClient, never()).index(record);
+      verify(esClient, never()).bulk(any());
     }
   }
 
@@ -203,7 +213,7 @@ public class ElasticsearchExporterTest {
                     .setRecordType(RecordType.EVENT));
 
     // then
-    verify(esClient, never()).index(record);
+    verify(esClient, never()).bulk(any());
   }
 
   @Test
@@ -224,7 +234,7 @@ public class ElasticsearchExporterTest {
       final Record record =
           testHarness.export(
               r -> r.getMetadata().setValueType(ValueType.DEPLOYMENT).setRecordType(recordType));
-      verify(esClient).index(record);
+      verify(esClient).bulk(Collections.singletonList(record));
     }
   }
 
@@ -246,7 +256,7 @@ public class ElasticsearchExporterTest {
       final Record record =
           testHarness.export(
               r -> r.getMetadata().setValueType(ValueType.DEPLOYMENT).setRecordType(recordType));
-      verify(esClient, never()).index(record);
+      verify(esClient, never()).bulk(any());
     }
   }
 
@@ -266,14 +276,11 @@ public class ElasticsearchExporterTest {
                     .setRecordType(RecordType.SBE_UNKNOWN));
 
     // then
-    verify(esClient, never()).index(record);
+    verify(esClient, never()).bulk(any());
   }
 
   @Test
-  public void shouldUpdateLastPositionOnFlush() {
-    // given
-    when(esClient.shouldFlush()).thenReturn(true);
-
+  public void shouldUpdateLastPositionWhenBulkIsCompleted() {
     // when
     createAndOpenExporter();
     final Record record =
@@ -288,7 +295,7 @@ public class ElasticsearchExporterTest {
   }
 
   @Test
-  public void shouldFlushOnClose() {
+  public void shouldCloseClientOnClose() throws Exception {
     // given
     createAndOpenExporter();
 
@@ -296,40 +303,92 @@ public class ElasticsearchExporterTest {
     testHarness.close();
 
     // then
-    verify(esClient).flush();
+    verify(esClient).close();
   }
 
   @Test
-  public void shouldFlushAfterDelay() {
+  public void shouldUseBulkConfigurationForBatches() {
     // given
-    config.index.event = true;
-    config.index.workflowInstance = true;
     config.bulk.delay = 10;
+    config.bulk.size = 123;
+    config.bulk.concurrentRequests = 4;
 
-    // scenario: bulk size is not reached still we want to flush
-    config.bulk.size = Integer.MAX_VALUE;
-    when(esClient.shouldFlush()).thenReturn(false);
-    createAndOpenExporter();
+    // when
+    final ElasticsearchExporter exporter = createAndOpenExporter();
+
+    // then
+    assertThat(exporter.getMaxBatchDelay()).isEqualTo(Duration.ofSeconds(config.bulk.delay));
+    assertThat(exporter.getMaxBatchSize()).isEqualTo(config.bulk.size);
+    assertThat(exporter.getMaxInFlightBatches()).isEqualTo(config.bulk.concurrentRequests);
+  }
+
+  @Test
+  public void shouldIndexFailedRecordsAgain() {
+    // given
+    final ElasticsearchExporter exporter = createAndOpenExporter();
+    final Record first = newWorkflowInstanceRecord(1);
+    final Record second = newWorkflowInstanceRecord(2);
+
+    when(esClient.bulk(any()))
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(second)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
     // when
-    testHarness.export(
-        r ->
-            r.getMetadata()
-                .setValueType(ValueType.WORKFLOW_INSTANCE)
-                .setRecordType(RecordType.EVENT));
+    exporter.exportBatch(Arrays.asList(first, second)).toCompletableFuture().join();
+
+    // then
+    verify(esClient).bulk(Arrays.asList(first, second));
+    verify(esClient).bulk(Collections.singletonList(second));
+  }
+
+  @Test
+  public void shouldOnlyIndexFailedRecordsWhenBatchIsRetried() {
+    // given
+    config.bulk.retries = 0;
+    final ElasticsearchExporter exporter = createAndOpenExporter();
+    final Record first = newWorkflowInstanceRecord(1);
+    final Record second = newWorkflowInstanceRecord(2);
+    final List<Record> batch = Arrays.asList(first, second);
+
+    when(esClient.bulk(any()))
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(second)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+    // when
+    assertThatThrownBy(() -> exporter.exportBatch(batch).toCompletableFuture().join())
+        .hasCauseInstanceOf(ElasticsearchExporterException.class);
+    exporter.exportBatch(batch).toCompletableFuture().join();
 
     // then
-    assertThat(testHarness.getController().getScheduledTasks()).hasSize(1);
-    assertThat(testHarness.getController().getScheduledTasks().get(0).getDelay())
-        .isEqualTo(Duration.ofSeconds(config.bulk.delay));
+    verify(esClient).bulk(Arrays.asList(first, second));
+    verify(esClient).bulk(Collections.singletonList(second));
+  }
+
+  @Test
+  public void shouldOnlyIndexFailedRecordsWhenBatchIsRetriedWithOtherList() {
+    // given
+    config.bulk.retries = 0;
+    final ElasticsearchExporter exporter = createAndOpenExporter();
+    final Record first = newWorkflowInstanceRecord(1);
+    final Record second = newWorkflowInstanceRecord(2);
+
+    when(esClient.bulk(any()))
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(second)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
-    // and
-    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
-    verify(esClient).flush();
+    // when
+    final List<Record> batch = Arrays.asList(first, second);
+    assertThatThrownBy(() -> exporter.exportBatch(batch).toCompletableFuture().join())
+        .hasCauseInstanceOf(ElasticsearchExporterException.class);
+    exporter.exportBatch(new ArrayList<>(batch)).toCompletableFuture().join();
+
+    // then
+    verify(esClient).bulk(Arrays.asList(first, second));
+    verify(esClient).bulk(Collections.singletonList(second));
   }
 
   @Test
-  public void shouldUpdatePositionAfterDelayEvenIfNoRecordsAreExported() {
+  public void shouldUpdatePositionEvenIfNoRecordsAreExported() {
     // given
     // scenario: events are not exported but still their position should be recorded
     config.index.event = false;
@@ -344,13 +403,95 @@ public class ElasticsearchExporterTest {
                         .setValueType(ValueType.WORKFLOW_INSTANCE)
                         .setRecordType(RecordType.EVENT))
             .export(4);
-    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
 
     // then no record was indexed but the exporter record position was updated
-    verify(esClient, never()).index(any());
+    verify(esClient, never()).bulk(any());
     assertThat(testHarness.getController().getPosition()).isEqualTo(exported.get(3).getPosition());
   }
 
+  @Test
+  public void shouldCreateWriteIndicesIfRolloverIsEnabled() {
+    // given
+    config.index.createTemplate = false;
+    config.index.rolloverMaxDocs = 1_000;
+    config.index.deployment = true;
+    config.index.job = true;
+    config.index.workflowInstance = false;
+    createAndOpenExporter();
+
+    // when
+    testHarness.export();
+
+    // then
+    verify(esClient).createWriteIndex(ValueType.DEPLOYMENT);
+    verify(esClient).createWriteIndex(ValueType.JOB);
+    verify(esClient, never()).createWriteIndex(ValueType.WORKFLOW_INSTANCE);
+  }
+
+  @Test
+  public void shouldResolveWriteIndicesOfPartitionIfRolloverIsEnabled() {
+    // given
+    config.index.createTemplate = false;
+    config.index.rolloverMaxDocs = 1_000;
+    config.index.deployment = true;
+    config.index.workflowInstance = false;
+    createAndOpenExporter();
+
+    // when
+    testHarness.export(r -> r.getMetadata().setPartitionId(3));
+    testHarness.export(r -> r.getMetadata().setPartitionId(3));
+
+    // then
+    verify(esClient).resolveWriteIndices(ValueType.DEPLOYMENT, 3);
+    verify(esClient, never()).resolveWriteIndices(eq(ValueType.WORKFLOW_INSTANCE), anyInt());
+  }
+
+  @Test
+  public void shouldNotCreateWriteIndicesIfRolloverIsDisabled() {
+    // given
+    config.index.deployment = true;
+    createAndOpenExporter();
+
+    // when
+    testHarness.export();
+
+    // then
+    verify(esClient, never()).createWriteIndex(any());
+    assertThat(testHarness.getController().getScheduledTasks()).isEmpty();
+  }
+
+  @Test
+  public void shouldRolloverPeriodically() {
+    // given
+    config.index.rolloverMaxSize = "1gb";
+    config.index.rolloverInterval = 30;
+    config.index.deployment = true;
+    createAndOpenExporter();
+    testHarness.export();
+
+    // when
+    testHarness.runScheduledTasks(Duration.ofSeconds(30));
+    testHarness.runScheduledTasks(Duration.ofSeconds(30));
+
+    // then
+    verify(esClient, times(2)).rollover(ValueType.DEPLOYMENT);
+  }
+
+  @Test
+  public void shouldNotRolloverBeforeFirstExport() {
+    // given
+    config.index.rolloverMaxDocs = 1_000;
+    config.index.deployment = true;
+    createAndOpenExporter();
+
+    // when
+    testHarness.runScheduledTasks(Duration.ofSeconds(config.index.rolloverInterval));
+
+    // then
+    verify(esClient, never()).rollover(any());
+    assertThat(testHarness.getController().getScheduledTasks()).hasSize(2);
+  }
+
   private ElasticsearchExporter createExporter() {
     return createExporter(esClient);
   }
@@ -376,11 +517,23 @@ public class ElasticsearchExporterTest {
     return exporter;
   }
 
+  private Record newWorkflowInstanceRecord(final long position) {
+    return new MockRecord()
+        .setPosition(position)
+        .setTimestamp(Instant.now())
+        .setMetadata(
+            new MockRecordMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+  }
+
   private ElasticsearchClient mockElasticsearchClient() {
     final ElasticsearchClient client = mock(ElasticsearchClient.class);
-    when(client.flush()).thenReturn(true);
+    when(client.bulk(any())).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
     when(client.putIndexTemplate(any(ValueType.class))).thenReturn(true);
     when(client.putIndexTemplate(anyString(), anyString(), anyString())).thenReturn(true);
+    when(client.createWriteIndex(any())).thenReturn(true);
+    when(client.rollover(any())).thenReturn(CompletableFuture.completedFuture(false));
     return client;
   }
 }
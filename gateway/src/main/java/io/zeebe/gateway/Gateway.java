@@ -21,6 +21,7 @@ import io.grpc.netty.NettyServerBuilder;
 import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.BrokerClientImpl;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.function.Function;
@@ -43,6 +44,7 @@ public class Gateway {
 
   private final Function<GatewayCfg, ServerBuilder> serverBuilderFactory;
   private final GatewayCfg gatewayCfg;
+  private final LocalTransportRegistry localTransportRegistry;
 
   private Server server;
   private BrokerClient brokerClient;
@@ -51,9 +53,25 @@ public class Gateway {
     this(gatewayCfg, DEFAULT_SERVER_BUILDER_FACTORY);
   }
 
+  /**
+   * Creates a gateway which is embedded in a broker and connects to the server transports of the
+   * given registry without sockets.
+   */
+  public Gateway(GatewayCfg gatewayCfg, LocalTransportRegistry localTransportRegistry) {
+    this(gatewayCfg, DEFAULT_SERVER_BUILDER_FACTORY, localTransportRegistry);
+  }
+
   public Gateway(GatewayCfg gatewayCfg, Function<GatewayCfg, ServerBuilder> serverBuilderFactory) {
+    this(gatewayCfg, serverBuilderFactory, null);
+  }
+
+  private Gateway(
+      GatewayCfg gatewayCfg,
+      Function<GatewayCfg, ServerBuilder> serverBuilderFactory,
+      LocalTransportRegistry localTransportRegistry) {
     this.gatewayCfg = gatewayCfg;
     this.serverBuilderFactory = serverBuilderFactory;
+    this.localTransportRegistry = localTransportRegistry;
   }
 
   public GatewayCfg getGatewayCfg() {
@@ -80,7 +98,7 @@ public class Gateway {
   }
 
   protected BrokerClient buildBrokerClient() {
-    return new BrokerClientImpl(gatewayCfg);
+    return new BrokerClientImpl(gatewayCfg, null, localTransportRegistry);
   }
 
   public void listenAndServe() throws InterruptedException, IOException {
@@ -28,6 +28,7 @@ import io.zeebe.transport.ClientTransportBuilder;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.SocketAddress;
 import io.zeebe.transport.Transports;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.transport.impl.memory.UnboundedMemoryPool;
 import io.zeebe.util.ByteValue;
@@ -57,6 +58,17 @@ public class BrokerClientImpl implements BrokerClient {
   }
 
   public BrokerClientImpl(final GatewayCfg configuration, final ActorClock actorClock) {
+    this(configuration, actorClock, null);
+  }
+
+  /**
+   * @param localTransportRegistry the server transports of the brokers which run in this
+   *     application and are connected without sockets, or null
+   */
+  public BrokerClientImpl(
+      final GatewayCfg configuration,
+      final ActorClock actorClock,
+      final LocalTransportRegistry localTransportRegistry) {
 
     this.actorScheduler =
         ActorScheduler.newActorScheduler()
@@ -84,6 +96,7 @@ public class BrokerClientImpl implements BrokerClient {
             .messageMemoryPool(
                 new UnboundedMemoryPool()) // Client is not sending any heavy messages
             .requestMemoryPool(new NonBlockingMemoryPool(transportBufferSize))
+            .localChannels(localTransportRegistry)
             .scheduler(actorScheduler);
 
     // internal transport is used for topology request
@@ -92,6 +105,7 @@ public class BrokerClientImpl implements BrokerClient {
             .messageMaxLength(1024 * 1024)
             .messageMemoryPool(new UnboundedMemoryPool())
             .requestMemoryPool(new UnboundedMemoryPool())
+            .localChannels(localTransportRegistry)
             .scheduler(actorScheduler);
 
     transport = transportBuilder.build();
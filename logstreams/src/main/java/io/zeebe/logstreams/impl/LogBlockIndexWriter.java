@@ -96,6 +96,7 @@ public class LogBlockIndexWriter extends Actor {
   private final int maxSnapshots;
 
   private Metric snapshotsCreated;
+  private Metric recoveryTimeMetric;
 
   public LogBlockIndexWriter(
       String name,
@@ -136,7 +137,14 @@ public class LogBlockIndexWriter extends Actor {
             .type("counter")
             .label("logName", getName())
             .create();
+    recoveryTimeMetric =
+        metricsManager
+            .newMetric("logstream_blockidx_recovery_duration_millis")
+            .type("gauge")
+            .label("logName", getName())
+            .create();
 
+    final long startTime = System.currentTimeMillis();
     try {
       final long snapshotPosition = blockIndex.getLastPosition();
       final long snapshotBlockAddress =
@@ -159,6 +167,7 @@ public class LogBlockIndexWriter extends Actor {
       LOG.error("Failed to recover block index", e);
       throw new RuntimeException("Failed to recover block index", e);
     }
+    recoveryTimeMetric.setOrdered(System.currentTimeMillis() - startTime);
   }
 
   @Override
@@ -300,6 +309,7 @@ public class LogBlockIndexWriter extends Actor {
     allocatedBuffer.close();
     onCommitPositionUpdatedConditions.removeConsumer(onCommitCondition);
     snapshotsCreated.close();
+    recoveryTimeMetric.close();
   }
 
   public Metric getSnapshotsCreated() {
@@ -55,6 +55,7 @@ public class LogStreamBuilder {
 
   protected int initialLogSegmentId = 0;
   protected boolean deleteOnClose;
+  protected String logArchiveDirectory;
 
   protected int maxAppendBlockSize = 1024 * 1024;
   protected int writeBufferSize = 1024 * 1024 * 8;
@@ -116,6 +117,12 @@ public class LogStreamBuilder {
     return this;
   }
 
+  /** @param logArchiveDirectory the directory to archive old log segments into, may be null */
+  public LogStreamBuilder logArchiveDirectory(final String logArchiveDirectory) {
+    this.logArchiveDirectory = logArchiveDirectory;
+    return this;
+  }
+
   public LogStreamBuilder deleteOnClose(final boolean deleteOnClose) {
     this.deleteOnClose = deleteOnClose;
     return this;
@@ -243,7 +250,11 @@ public class LogStreamBuilder {
 
     final FsLogStorageConfiguration storageConfig =
         new FsLogStorageConfiguration(
-            logSegmentSize, getLogDirectory(), initialLogSegmentId, deleteOnClose);
+            logSegmentSize,
+            getLogDirectory(),
+            initialLogSegmentId,
+            deleteOnClose,
+            logArchiveDirectory);
 
     final FsLogStorageService logStorageService =
         new FsLogStorageService(storageConfig, partitionId, logStorageStubber);
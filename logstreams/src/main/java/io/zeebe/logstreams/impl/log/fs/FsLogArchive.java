@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.fs;
+
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.INVALID_ADDR;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.util.FileUtil;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+
+/**
+ * Cold storage of filled log segments. Archived segments are stored compressed in a separate
+ * directory, which may be located on a slower and cheaper disk than the log.
+ *
+ * <p>The archived segments are always a contiguous range of segment ids which precedes the segments
+ * of the log storage, because only the oldest segments are archived. To read from an archived
+ * segment, it is decompressed into a cache directory. The most recently read segments are kept in
+ * the cache.
+ */
+public class FsLogArchive {
+  public static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
+
+  private static final int DEFAULT_CACHED_SEGMENTS = 2;
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+  private static final String TMP_FILE_SUFFIX = ".tmp";
+
+  private final FsLogStorageConfiguration config;
+  private final Map<Integer, FsLogSegment> cachedSegments;
+
+  private volatile int firstSegmentId = -1;
+  private volatile int lastSegmentId = -1;
+
+  public FsLogArchive(final FsLogStorageConfiguration config) {
+    this.config = config;
+    this.cachedSegments =
+        new LinkedHashMap<Integer, FsLogSegment>(DEFAULT_CACHED_SEGMENTS, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Integer, FsLogSegment> eldest) {
+            if (size() > DEFAULT_CACHED_SEGMENTS) {
+              evict(eldest.getValue());
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  public synchronized void open() throws IOException {
+    final File archiveDir = new File(config.getArchivePath());
+    final File cacheDir = new File(config.getArchiveCachePath());
+
+    if (cacheDir.exists()) {
+      FileUtil.deleteFolder(cacheDir.getAbsolutePath());
+    }
+    Files.createDirectories(cacheDir.toPath());
+
+    final int[] segmentIds =
+        Arrays.stream(archiveDir.listFiles(config::matchesArchivedFileNamePattern))
+            .mapToInt(config::getSegmentId)
+            .sorted()
+            .toArray();
+
+    if (segmentIds.length > 0) {
+      firstSegmentId = segmentIds[0];
+      lastSegmentId = segmentIds[segmentIds.length - 1];
+
+      if (lastSegmentId - firstSegmentId + 1 != segmentIds.length) {
+        throw new IllegalStateException(
+            String.format(
+                "Cannot open log archive %s: archived segments are not contiguous %s",
+                archiveDir, Arrays.toString(segmentIds)));
+      }
+    } else {
+      firstSegmentId = -1;
+      lastSegmentId = -1;
+    }
+  }
+
+  public synchronized void close() {
+    cachedSegments.values().forEach(this::evict);
+    cachedSegments.clear();
+  }
+
+  /**
+   * Compresses the given filled segment into the archive. The segment itself is not modified and
+   * must be deleted by the caller afterwards.
+   */
+  public synchronized void archive(final FsLogSegment segment) throws IOException {
+    final int segmentId = segment.getSegmentId();
+    if (!isEmpty() && segmentId != lastSegmentId + 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected to archive segment %d, but got segment %d", lastSegmentId + 1, segmentId));
+    }
+
+    final Path archivedFile = Paths.get(config.archivedFileName(segmentId));
+    final Path tmpFile = Paths.get(archivedFile + TMP_FILE_SUFFIX);
+
+    try (InputStream inputStream = Files.newInputStream(Paths.get(segment.getFileName()));
+        OutputStream outputStream =
+            new GZIPOutputStream(Files.newOutputStream(tmpFile), COPY_BUFFER_SIZE)) {
+      copy(inputStream, outputStream);
+    }
+
+    try (FileChannel channel = FileUtil.openChannel(tmpFile.toString(), false)) {
+      channel.force(true);
+    }
+    Files.move(tmpFile, archivedFile, ATOMIC_MOVE);
+
+    if (isEmpty()) {
+      firstSegmentId = segmentId;
+    }
+    lastSegmentId = segmentId;
+  }
+
+  /**
+   * Reads from the archived segment with the given id, like {@link
+   * FsLogSegment#readBytes(ByteBuffer, int)}.
+   *
+   * @return the result of the read operation, or {@link FsLogSegment#INVALID_ADDR} if the segment
+   *     is not archived
+   */
+  public synchronized int readBytes(
+      final int segmentId, final ByteBuffer readBuffer, final int fileOffset) {
+    if (!contains(segmentId)) {
+      return INVALID_ADDR;
+    }
+
+    FsLogSegment segment = cachedSegments.get(segmentId);
+    if (segment == null) {
+      segment = decompress(segmentId);
+      cachedSegments.put(segmentId, segment);
+    }
+
+    return segment.readBytes(readBuffer, fileOffset);
+  }
+
+  /** Deletes the archived segments which have a lower id than the given one. */
+  public synchronized void deleteSegmentsUntil(final int segmentId) {
+    if (isEmpty()) {
+      return;
+    }
+
+    final int deleteUntil = Math.min(segmentId, lastSegmentId + 1);
+    for (int id = firstSegmentId; id < deleteUntil; id++) {
+      final FsLogSegment cachedSegment = cachedSegments.remove(id);
+      if (cachedSegment != null) {
+        evict(cachedSegment);
+      }
+      FileUtil.deleteFile(new File(config.archivedFileName(id)));
+    }
+
+    if (deleteUntil > lastSegmentId) {
+      firstSegmentId = -1;
+      lastSegmentId = -1;
+    } else if (deleteUntil > firstSegmentId) {
+      firstSegmentId = deleteUntil;
+    }
+  }
+
+  public boolean contains(final int segmentId) {
+    final int firstSegmentId = this.firstSegmentId; // volatile load
+    return firstSegmentId >= 0 && firstSegmentId <= segmentId && segmentId <= lastSegmentId;
+  }
+
+  public boolean isEmpty() {
+    return firstSegmentId < 0;
+  }
+
+  /** @return the id of the first archived segment, or -1 if the archive is empty */
+  public int getFirstSegmentId() {
+    return firstSegmentId;
+  }
+
+  public int getLastSegmentId() {
+    return lastSegmentId;
+  }
+
+  public int getSegmentCount() {
+    return isEmpty() ? 0 : lastSegmentId - firstSegmentId + 1;
+  }
+
+  private FsLogSegment decompress(final int segmentId) {
+    final Path cacheFile = Paths.get(config.archiveCacheFileName(segmentId));
+    final Path tmpFile = Paths.get(cacheFile + TMP_FILE_SUFFIX);
+
+    try (InputStream inputStream =
+            new GZIPInputStream(
+                Files.newInputStream(Paths.get(config.archivedFileName(segmentId))),
+                COPY_BUFFER_SIZE);
+        OutputStream outputStream = Files.newOutputStream(tmpFile)) {
+      copy(inputStream, outputStream);
+    } catch (final IOException e) {
+      throw new RuntimeException("Failed to decompress archived segment " + segmentId, e);
+    }
+
+    try {
+      Files.move(tmpFile, cacheFile, ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new RuntimeException("Failed to decompress archived segment " + segmentId, e);
+    }
+
+    final FsLogSegment segment = new FsLogSegment(cacheFile.toString());
+    if (!segment.openSegment(false)) {
+      throw new RuntimeException("Cannot open archived segment " + segmentId);
+    }
+    segment.setFilled();
+
+    LOG.debug("Decompressed archived segment {} to {}", segmentId, cacheFile);
+    return segment;
+  }
+
+  private void evict(final FsLogSegment segment) {
+    segment.closeSegment();
+    segment.delete();
+  }
+
+  private static void copy(final InputStream inputStream, final OutputStream outputStream)
+      throws IOException {
+    final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+    int bytesRead;
+    while ((bytesRead = inputStream.read(buffer)) >= 0) {
+      outputStream.write(buffer, 0, bytesRead);
+    }
+  }
+}
@@ -17,8 +17,12 @@ package io.zeebe.logstreams.impl.log.fs;
 
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_CAPACITY_OFFSET;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_CHECKSUM_OFFSET;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_ID_OFFSET;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_SIZE_OFFSET;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_STATE_OFFSET;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_STATE_SEALED;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.util.FileUtil;
@@ -28,6 +32,8 @@ import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -58,6 +64,12 @@ public class FsLogSegment {
 
   protected MappedByteBuffer mappedBuffer;
 
+  private final UnsafeBuffer sealedFields = new UnsafeBuffer(new byte[3 * SIZE_OF_INT]);
+  private final CRC32 checksum = new CRC32();
+
+  /** the log segments hold one reference, readers hold one while they read from the segment */
+  private final AtomicInteger references = new AtomicInteger(1);
+
   protected final Rater rater =
       new Rater(
           1024 * 1024 * 4,
@@ -107,6 +119,34 @@ public class FsLogSegment {
     FileUtil.deleteFile(file);
   }
 
+  /** @return false if the segment was retired and closed already, and must not be read anymore */
+  public boolean retain() {
+    int count;
+    do {
+      count = references.get();
+      if (count <= 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(count, count + 1));
+
+    return true;
+  }
+
+  public void release() {
+    if (references.decrementAndGet() == 0) {
+      closeSegment();
+      delete();
+    }
+  }
+
+  /**
+   * Releases the reference of the log segments, after the segment was removed from them. The
+   * segment is closed and deleted once the last reader released it.
+   */
+  public void retire() {
+    release();
+  }
+
   public String getFileName() {
     return fileName;
   }
@@ -261,6 +301,37 @@ public class FsLogSegment {
     state = STATE_FILLED;
   }
 
+  /**
+   * Persists that the segment is filled, together with a checksum over its metadata. Must only be
+   * called after the data of the segment is flushed, because a sealed segment is not checked for
+   * consistency again when the log storage is opened.
+   */
+  public void seal() {
+    if (!isSealed()) {
+      metadataSection.putInt(SEGMENT_STATE_OFFSET, SEGMENT_STATE_SEALED);
+      metadataSection.putInt(SEGMENT_CHECKSUM_OFFSET, calculateChecksum());
+      mappedBuffer.force();
+    }
+
+    setFilled();
+  }
+
+  /** @return true, if the segment was sealed and its metadata matches the persisted checksum */
+  public boolean isSealed() {
+    return metadataSection.getInt(SEGMENT_STATE_OFFSET) == SEGMENT_STATE_SEALED
+        && metadataSection.getInt(SEGMENT_CHECKSUM_OFFSET) == calculateChecksum();
+  }
+
+  private int calculateChecksum() {
+    sealedFields.putInt(0, getSegmentId());
+    sealedFields.putInt(SIZE_OF_INT, getCapacity());
+    sealedFields.putInt(2 * SIZE_OF_INT, getSize());
+
+    checksum.reset();
+    checksum.update(sealedFields.byteArray());
+    return (int) checksum.getValue();
+  }
+
   public boolean isConsistent() throws IOException {
     final long currentFileSize = fileChannel.size();
     final int committedSize = getSize();
@@ -43,6 +43,10 @@ import static org.agrona.IoUtil.BLOCK_SIZE;
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
  *  |                        Segment Capacity                       |
  *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                         Segment State                         |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                        Sealed Checksum                        |
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
  *  |                       Cache Line Padding                    ...
  * ...                                                              |
  *  +---------------------------------------------------------------+
@@ -53,14 +57,24 @@ import static org.agrona.IoUtil.BLOCK_SIZE;
  *  +---------------------------------------------------------------+
  *
  * </pre>
+ *
+ * The segment state and the sealed checksum are written once a filled segment has been flushed. A
+ * segment which is sealed with a valid checksum is known to be consistent and does not have to be
+ * checked again when the log storage is opened. Both fields are located in the padding of the
+ * capacity field, so that segments written by older versions are simply treated as not sealed.
  */
 public class FsLogSegmentDescriptor {
 
   public static final int SEGMENT_ID_OFFSET;
   public static final int VERSION_OFFSET;
   public static final int SEGMENT_CAPACITY_OFFSET;
+  public static final int SEGMENT_STATE_OFFSET;
+  public static final int SEGMENT_CHECKSUM_OFFSET;
   public static final int SEGMENT_SIZE_OFFSET;
 
+  public static final int SEGMENT_STATE_UNSEALED = 0;
+  public static final int SEGMENT_STATE_SEALED = 1;
+
   public static final int METADATA_LENGTH;
 
   static {
@@ -73,6 +87,8 @@ public class FsLogSegmentDescriptor {
     offset += SIZE_OF_INT;
 
     SEGMENT_CAPACITY_OFFSET = offset;
+    SEGMENT_STATE_OFFSET = offset + SIZE_OF_INT;
+    SEGMENT_CHECKSUM_OFFSET = SEGMENT_STATE_OFFSET + SIZE_OF_INT;
     offset += (2 * CACHE_LINE_LENGTH);
 
     SEGMENT_SIZE_OFFSET = offset;
@@ -15,57 +15,100 @@
  */
 package io.zeebe.logstreams.impl.log.fs;
 
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.INVALID_ADDR;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The readable segments of the log storage. The segments are published as an immutable {@link
+ * Segments} snapshot through a single volatile field, so readers always see an initial segment id
+ * which matches the segments array, while segments are added, deleted or archived.
+ */
 public class FsLogSegments {
-  protected int initalSegmentId = -1;
+  private volatile Segments segments = new Segments(-1, new FsLogSegment[0]);
 
-  protected FsLogSegment[] segments = new FsLogSegment[0];
+  /** optional, contains the segments before the initial segment */
+  protected FsLogArchive archive;
 
-  protected volatile int segmentCount = 0;
+  public void setArchive(FsLogArchive archive) {
+    this.archive = archive;
+  }
 
   public void init(int initalSegmentId, FsLogSegment[] initialSegments) {
-    this.segments = initialSegments;
-    this.initalSegmentId = initalSegmentId;
-    this.segmentCount = initialSegments.length; // volatile store
+    this.segments = new Segments(initalSegmentId, initialSegments);
   }
 
   /** invoked by the conductor after a new segment has been allocated */
-  public void addSegment(FsLogSegment segment) {
-    final FsLogSegment[] newSegments = new FsLogSegment[segments.length + 1];
+  public synchronized void addSegment(FsLogSegment segment) {
+    final Segments current = this.segments;
+    final FsLogSegment[] newSegments = new FsLogSegment[current.segments.length + 1];
 
-    System.arraycopy(segments, 0, newSegments, 0, segments.length);
-    newSegments[segments.length] = segment;
-    this.segments = newSegments;
+    System.arraycopy(current.segments, 0, newSegments, 0, current.segments.length);
+    newSegments[current.segments.length] = segment;
 
-    this.segmentCount = newSegments.length; // volatile store
+    this.segments = new Segments(current.initialSegmentId, newSegments);
   }
 
-  public void removeSegmentsUntil(int segmentId) {
-    final int segmentIdx = segmentId - initalSegmentId;
-    final int newLength = segments.length - segmentIdx;
+  /**
+   * Removes the segments before the given segment id. The removed segments are not closed, see
+   * {@link FsLogSegment#retire()}.
+   */
+  public synchronized void removeSegmentsUntil(int segmentId) {
+    final Segments current = this.segments;
+    final int segmentIdx = segmentId - current.initialSegmentId;
+    final int newLength = current.segments.length - segmentIdx;
     final FsLogSegment[] newSegments = new FsLogSegment[newLength];
 
-    System.arraycopy(segments, segmentIdx, newSegments, 0, newLength);
-    this.segments = newSegments;
-    initalSegmentId += segmentIdx;
-    this.segmentCount = newSegments.length; // volatile store
+    System.arraycopy(current.segments, segmentIdx, newSegments, 0, newLength);
+
+    this.segments = new Segments(segmentId, newSegments);
   }
 
   public FsLogSegment getSegment(int segmentId) {
-    final int segmentCount = this.segmentCount; // volatile load
-
-    final FsLogSegment[] segments = this.segments;
+    return segments.getSegment(segmentId);
+  }
 
-    final int segmentIdx = segmentId - initalSegmentId;
+  /**
+   * Reads from the segment with the given id. If the segment is not part of the log anymore, it is
+   * read from the archive.
+   *
+   * @return the result of {@link FsLogSegment#readBytes(ByteBuffer, int)}, or {@link
+   *     FsLogSegment#INVALID_ADDR} if the segment doesn't exist
+   */
+  public int readBytes(int segmentId, ByteBuffer readBuffer, int fileOffset) {
+    final FsLogSegment segment = getSegment(segmentId);
+
+    // the segment may be archived concurrently, it is only closed after the read
+    if (segment != null && segment.retain()) {
+      try {
+        return segment.readBytes(readBuffer, fileOffset);
+      } finally {
+        segment.release();
+      }
+    } else if (archive != null) {
+      return archive.readBytes(segmentId, readBuffer, fileOffset);
+    } else {
+      return INVALID_ADDR;
+    }
+  }
 
-    if (0 <= segmentIdx && segmentIdx < segmentCount) {
-      return segments[segmentIdx];
+  /** @return the id of the first readable segment, including archived segments */
+  public int getFirstSegmentId() {
+    if (archive != null && !archive.isEmpty()) {
+      return archive.getFirstSegmentId();
     } else {
-      return null;
+      return segments.initialSegmentId;
     }
   }
 
+  /** @return the id of the first segment which is not archived */
+  public int getInitialSegmentId() {
+    return segments.initialSegmentId;
+  }
+
   public FsLogSegment getFirst() {
-    if (segmentCount > 0) {
+    final FsLogSegment[] segments = this.segments.segments;
+    if (segments.length > 0) {
       return segments[0];
     } else {
       return null;
@@ -73,20 +116,40 @@ public class FsLogSegments {
   }
 
   public void closeAll() {
-    final FsLogSegment[] segments = this.segments;
+    final FsLogSegment[] segments = this.segments.segments;
     for (FsLogSegment readableLogSegment : segments) {
       readableLogSegment.closeSegment();
     }
 
-    this.segments = new FsLogSegment[0];
-    this.segmentCount = 0;
+    this.segments = new Segments(-1, new FsLogSegment[0]);
   }
 
   public int getLastSegmentId() {
-    return initalSegmentId + (segmentCount - 1);
+    final Segments segments = this.segments;
+    return segments.initialSegmentId + (segments.segments.length - 1);
   }
 
   public int getSegmentCount() {
-    return segmentCount;
+    return segments.segments.length;
+  }
+
+  private static final class Segments {
+    private final int initialSegmentId;
+    private final FsLogSegment[] segments;
+
+    private Segments(int initialSegmentId, FsLogSegment[] segments) {
+      this.initialSegmentId = initialSegmentId;
+      this.segments = segments;
+    }
+
+    private FsLogSegment getSegment(int segmentId) {
+      final int segmentIdx = segmentId - initialSegmentId;
+
+      if (0 <= segmentIdx && segmentIdx < segments.length) {
+        return segments[segmentIdx];
+      } else {
+        return null;
+      }
+    }
   }
 }
@@ -20,9 +20,12 @@ import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
 import static io.zeebe.dispatcher.impl.PositionUtil.position;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.END_OF_SEGMENT;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.INSUFFICIENT_CAPACITY;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.INVALID_ADDR;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.NO_DATA;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_SIZE_OFFSET;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_STATE_OFFSET;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_STATE_UNSEALED;
 import static io.zeebe.util.FileUtil.moveFile;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
@@ -43,6 +46,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
@@ -66,12 +70,19 @@ public class FsLogStorage implements LogStorage {
 
   protected FsLogSegment currentSegment;
 
+  /** Archived log segments, null if archiving is disabled */
+  protected FsLogArchive archive;
+
   protected int dirtySegmentId = -1;
 
   protected volatile int state = STATE_CREATED;
 
   private Metric totalBytesMetric;
   private Metric segmentCountMetric;
+  private Metric openCleanupTimeMetric;
+  private Metric openSegmentsTimeMetric;
+  private Metric openConsistencyCheckTimeMetric;
+  private Metric archivedSegmentCountMetric;
 
   private final int partitionId;
 
@@ -146,21 +157,81 @@ public class FsLogStorage implements LogStorage {
 
     final int segmentId = partitionId(address);
 
-    final int firstSegmentId = logSegments.initalSegmentId;
+    if (archive != null && address >= 0) {
+      archive.deleteSegmentsUntil(segmentId);
+      archivedSegmentCountMetric.setOrdered(archive.getSegmentCount());
+    }
+
+    final int firstSegmentId = logSegments.getInitialSegmentId();
     final int lastSegmentId = logSegments.getLastSegmentId();
     if (segmentId > firstSegmentId && segmentId <= lastSegmentId) {
       // segment id has to be larger then initial id,
       // since we don't delete data within a segment
-      for (int i = logSegments.initalSegmentId; i < segmentId; i++) {
-        final FsLogSegment segmentToDelete = logSegments.getSegment(i);
-        if (segmentToDelete != null) {
-          segmentToDelete.closeSegment();
-          segmentToDelete.delete();
-        }
+      final List<FsLogSegment> deletedSegments = new ArrayList<>();
+      for (int i = firstSegmentId; i < segmentId; i++) {
+        deletedSegments.add(logSegments.getSegment(i));
       }
+      logSegments.removeSegmentsUntil(segmentId);
+
+      // the segments are deleted once the readers which still read from them are done
+      deletedSegments.forEach(FsLogSegment::retire);
+
       final int diff = segmentId - firstSegmentId;
       LOG.info("Deleted {} segments from log storage ({} to {}).", diff, firstSegmentId, segmentId);
-      logSegments.removeSegmentsUntil(segmentId);
+    }
+  }
+
+  /**
+   * Archiving is triggered by the snapshot directors of the stream processors, it is synchronized
+   * since more than one stream processor can archive the same log.
+   */
+  @Override
+  public synchronized void archive(long address) {
+    ensureOpenedStorage();
+
+    if (archive == null || address < 0) {
+      return;
+    }
+
+    final int segmentId = partitionId(address);
+    final int firstSegmentId = logSegments.getInitialSegmentId();
+    // the current segment is never archived, since it can still be appended
+    final int archiveUntil = Math.min(segmentId, currentSegment.getSegmentId());
+
+    int nextSegmentId = firstSegmentId;
+    try {
+      while (nextSegmentId < archiveUntil) {
+        final FsLogSegment segment = logSegments.getSegment(nextSegmentId);
+        if (!segment.isSealed()) {
+          // only segments which are completely flushed can be archived
+          break;
+        }
+
+        archive.archive(segment);
+        nextSegmentId++;
+      }
+    } catch (final IOException e) {
+      LOG.error("Failed to archive log segment {}.", nextSegmentId, e);
+    }
+
+    if (nextSegmentId > firstSegmentId) {
+      final List<FsLogSegment> archivedSegments = new ArrayList<>();
+      for (int i = firstSegmentId; i < nextSegmentId; i++) {
+        archivedSegments.add(logSegments.getSegment(i));
+      }
+
+      // reads of the archived segments are served by the archive from now on, the segments are
+      // deleted once the readers which still read from them are done
+      logSegments.removeSegmentsUntil(nextSegmentId);
+      archivedSegments.forEach(FsLogSegment::retire);
+
+      LOG.info(
+          "Archived {} segments of log storage ({} to {}).",
+          nextSegmentId - firstSegmentId,
+          firstSegmentId,
+          nextSegmentId - 1);
+      segmentCountMetric.setOrdered(logSegments.getSegmentCount());
+      archivedSegmentCountMetric.setOrdered(archive.getSegmentCount());
     }
   }
 
@@ -224,6 +295,8 @@ public class FsLogStorage implements LogStorage {
       mappedBuffer = fileChannel.map(MapMode.READ_WRITE, 0, METADATA_LENGTH);
       final UnsafeBuffer metadataSection = new UnsafeBuffer(mappedBuffer, 0, METADATA_LENGTH);
       metadataSection.putInt(SEGMENT_SIZE_OFFSET, size);
+      // the truncated segment becomes the last segment and can be appended again
+      metadataSection.putInt(SEGMENT_STATE_OFFSET, SEGMENT_STATE_UNSEALED);
       mappedBuffer.force();
     } catch (final IOException e) {
       LangUtil.rethrowUnchecked(e);
@@ -246,13 +319,12 @@ public class FsLogStorage implements LogStorage {
     final int segmentId = partitionId(addr);
     final int segmentOffset = partitionOffset(addr);
 
-    final FsLogSegment segment = logSegments.getSegment(segmentId);
-
     long opStatus = OP_RESULT_INVALID_ADDR;
 
-    if (segment != null) {
-      final int readResult = segment.readBytes(readBuffer, segmentOffset);
+    // reads the segment from the archive, if it was archived already
+    final int readResult = logSegments.readBytes(segmentId, readBuffer, segmentOffset);
 
+    if (readResult != INVALID_ADDR) {
       if (readResult >= 0) {
         // processing
         final int processingResult = processor.process(readBuffer, readResult);
@@ -290,26 +362,79 @@ public class FsLogStorage implements LogStorage {
             .newMetric("storage_fs_segment_count")
             .label("partition", String.valueOf(partitionId))
             .create();
+    openCleanupTimeMetric = newOpenPhaseMetric("cleanup");
+    openSegmentsTimeMetric = newOpenPhaseMetric("segments");
+    openConsistencyCheckTimeMetric = newOpenPhaseMetric("consistency");
+    archivedSegmentCountMetric =
+        metricsManager
+            .newMetric("storage_fs_archived_segment_count")
+            .type("gauge")
+            .label("partition", String.valueOf(partitionId))
+            .create();
 
     final String path = config.getPath();
     final File logDir = new File(path);
     logDir.mkdirs();
 
+    long startTime = System.currentTimeMillis();
     deleteBackupFilesIfExist(logDir);
     applyTruncatedFileIfExists(logDir);
+    openArchive(logDir);
+    openCleanupTimeMetric.setOrdered(System.currentTimeMillis() - startTime);
 
+    startTime = System.currentTimeMillis();
     initLogSegments(logDir);
+    openSegmentsTimeMetric.setOrdered(System.currentTimeMillis() - startTime);
 
+    startTime = System.currentTimeMillis();
     checkConsistency();
+    openConsistencyCheckTimeMetric.setOrdered(System.currentTimeMillis() - startTime);
 
     state = STATE_OPENED;
   }
 
+  private void openArchive(final File logDir) {
+    if (!config.isArchiveEnabled()) {
+      return;
+    }
+
+    archive = new FsLogArchive(config);
+    try {
+      archive.open();
+    } catch (final IOException e) {
+      throw new RuntimeException("Cannot open log archive " + config.getArchivePath(), e);
+    }
+
+    if (!archive.isEmpty()) {
+      // the segments were archived, but the broker stopped before they were deleted
+      final List<File> archivedFiles =
+          Arrays.asList(
+              logDir.listFiles(
+                  file ->
+                      config.matchesFragmentFileNamePattern(file)
+                          && config.getSegmentId(file) <= archive.getLastSegmentId()));
+      archivedFiles.forEach(FileUtil::deleteFile);
+    }
+    archivedSegmentCountMetric.setOrdered(archive.getSegmentCount());
+  }
+
+  private Metric newOpenPhaseMetric(final String phase) {
+    return metricsManager
+        .newMetric("storage_fs_open_duration_millis")
+        .type("gauge")
+        .label("partition", String.valueOf(partitionId))
+        .label("phase", phase)
+        .create();
+  }
+
   protected void initLogSegments(final File logDir) {
     final List<FsLogSegment> readableLogSegments = new ArrayList<>();
 
     final List<File> logFiles =
-        Arrays.asList(logDir.listFiles(config::matchesFragmentFileNamePattern));
+        new ArrayList<>(Arrays.asList(logDir.listFiles(config::matchesFragmentFileNamePattern)));
+
+    // sort segments by the id encoded in the file name
+    logFiles.sort(Comparator.comparingInt(config::getSegmentId));
 
     logFiles.forEach(
         (file) -> {
@@ -321,12 +446,15 @@ public class FsLogStorage implements LogStorage {
           }
         });
 
-    // sort segments by id
-    readableLogSegments.sort((s1, s2) -> Integer.compare(s1.getSegmentId(), s2.getSegmentId()));
-
     // set all segments but the last one filled
     for (int i = 0; i < readableLogSegments.size() - 1; i++) {
       final FsLogSegment segment = readableLogSegments.get(i);
+
+      if (!segment.isSealed()) {
+        // written by an older version or the broker stopped before the segment was flushed
+        checkConsistency(segment);
+        flushAndSeal(segment);
+      }
       segment.setFilled();
 
       totalBytesMetric.getAndAddOrdered(segment.getSize());
@@ -337,7 +465,11 @@ public class FsLogStorage implements LogStorage {
     if (existingSegments > 0) {
       currentSegment = readableLogSegments.get(existingSegments - 1);
     } else {
-      final int initialSegmentId = config.initialSegmentId;
+      // continue after the archived segments
+      final int initialSegmentId =
+          archive != null && !archive.isEmpty()
+              ? archive.getLastSegmentId() + 1
+              : config.initialSegmentId;
       final String initialSegmentName = config.fileName(initialSegmentId);
       final int segmentSize = config.getSegmentSize();
 
@@ -358,21 +490,35 @@ public class FsLogStorage implements LogStorage {
         readableLogSegments.toArray(new FsLogSegment[readableLogSegments.size()]);
 
     final FsLogSegments logSegments = new FsLogSegments();
-    logSegments.init(config.initialSegmentId, segmentsArray);
+    logSegments.init(segmentsArray[0].getSegmentId(), segmentsArray);
+    logSegments.setArchive(archive);
     segmentCountMetric.setOrdered(logSegments.getSegmentCount());
 
     this.logSegments = logSegments;
   }
 
   protected void checkConsistency() {
+    checkConsistency(currentSegment);
+  }
+
+  private void flushAndSeal(final FsLogSegment segment) {
     try {
-      if (!currentSegment.isConsistent()) {
+      segment.flush();
+      segment.seal();
+    } catch (final IOException e) {
+      throw new RuntimeException("Fail to seal log segment: " + segment.getFileName(), e);
+    }
+  }
+
+  protected void checkConsistency(final FsLogSegment segment) {
+    try {
+      if (!segment.isConsistent()) {
         // try to auto-repair segment
-        currentSegment.truncateUncommittedData();
+        segment.truncateUncommittedData();
       }
 
-      if (!currentSegment.isConsistent()) {
-        throw new RuntimeException("Inconsistent log segment: " + currentSegment.getFileName());
+      if (!segment.isConsistent()) {
+        throw new RuntimeException("Inconsistent log segment: " + segment.getFileName());
       }
     } catch (final IOException e) {
       throw new RuntimeException("Fail to check consistency", e);
@@ -416,12 +562,7 @@ public class FsLogStorage implements LogStorage {
     if (existingSegments == 0) {
       shouldApply = truncatedSegmentId == config.initialSegmentId;
     } else {
-      final File lastSegment =
-          segments.stream()
-              .max((s1, s2) -> Integer.compare(getSegmentId(s1), getSegmentId(s2)))
-              .get();
-
-      final int lastSegmentId = getSegmentId(lastSegment);
+      final int lastSegmentId = segments.stream().mapToInt(config::getSegmentId).max().getAsInt();
 
       shouldApply = lastSegmentId + 1 == truncatedSegmentId;
     }
@@ -433,10 +574,17 @@ public class FsLogStorage implements LogStorage {
   public void close() {
     segmentCountMetric.close();
     totalBytesMetric.close();
+    openCleanupTimeMetric.close();
+    openSegmentsTimeMetric.close();
+    openConsistencyCheckTimeMetric.close();
+    archivedSegmentCountMetric.close();
 
     ensureOpenedStorage();
 
     logSegments.closeAll();
+    if (archive != null) {
+      archive.close();
+    }
 
     if (config.isDeleteOnClose()) {
       final String logPath = config.getPath();
@@ -458,7 +606,13 @@ public class FsLogStorage implements LogStorage {
 
     if (dirtySegmentId >= 0) {
       for (int id = dirtySegmentId; id <= currentSegment.getSegmentId(); id++) {
-        logSegments.getSegment(id).flush();
+        final FsLogSegment segment = logSegments.getSegment(id);
+        segment.flush();
+
+        if (segment.isFilled()) {
+          // the segment is durable and will not change anymore
+          segment.seal();
+        }
       }
 
       dirtySegmentId = -1;
@@ -479,6 +633,10 @@ public class FsLogStorage implements LogStorage {
   public long getFirstBlockAddress() {
     ensureOpenedStorage();
 
+    if (archive != null && !archive.isEmpty()) {
+      return position(archive.getFirstSegmentId(), METADATA_LENGTH);
+    }
+
     final FsLogSegment firstSegment = logSegments.getFirst();
     if (firstSegment != null && firstSegment.getSizeVolatile() > METADATA_LENGTH) {
       return position(firstSegment.getSegmentId(), METADATA_LENGTH);
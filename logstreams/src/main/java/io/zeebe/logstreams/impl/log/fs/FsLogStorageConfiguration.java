@@ -35,17 +35,39 @@ public class FsLogStorageConfiguration {
   protected static final String TRUNCATED_FILE_NAME_TEMPLATE =
       BACKUP_FILE_NAME_TEMPLATE + SEGMENT_FILE_TRUNCATED_SUFFIX;
 
+  protected static final String SEGMENT_FILE_ARCHIVED_SUFFIX = ".gz";
+  protected static final String ARCHIVED_FILE_NAME_PATTERN =
+      FRAGMENT_FILE_NAME_PATTERN + SEGMENT_FILE_ARCHIVED_SUFFIX;
+  protected static final String ARCHIVED_FILE_NAME_TEMPLATE =
+      FRAGMENT_FILE_NAME_TEMPLATE + SEGMENT_FILE_ARCHIVED_SUFFIX;
+  protected static final String ARCHIVE_CACHE_DIRECTORY = "cache";
+
   protected final int segmentSize;
   protected final String path;
   protected final int initialSegmentId;
   protected final boolean deleteOnClose;
+  protected final String archivePath;
 
   public FsLogStorageConfiguration(
       int segmentSize, String path, int initialSegmentId, boolean deleteOnClose) {
+    this(segmentSize, path, initialSegmentId, deleteOnClose, null);
+  }
+
+  /**
+   * @param archivePath the directory to which old segments are archived in compressed form, or null
+   *     if segments should not be archived
+   */
+  public FsLogStorageConfiguration(
+      int segmentSize,
+      String path,
+      int initialSegmentId,
+      boolean deleteOnClose,
+      String archivePath) {
     this.segmentSize = segmentSize;
     this.path = path;
     this.initialSegmentId = initialSegmentId;
     this.deleteOnClose = deleteOnClose;
+    this.archivePath = archivePath;
   }
 
   public String getFragmentFileNameTemplate() {
@@ -72,6 +94,15 @@ public class FsLogStorageConfiguration {
     return String.format(TRUNCATED_FILE_NAME_TEMPLATE, path, segmentId);
   }
 
+  public String archivedFileName(int segmentId) {
+    return String.format(ARCHIVED_FILE_NAME_TEMPLATE, archivePath, segmentId);
+  }
+
+  /** @return the name of the file to which the archived segment is decompressed for reading */
+  public String archiveCacheFileName(int segmentId) {
+    return String.format(FRAGMENT_FILE_NAME_TEMPLATE, getArchiveCachePath(), segmentId);
+  }
+
   public boolean matchesFragmentFileNamePattern(File file) {
     return matchesFileNamePattern(file, FRAGMENT_FILE_NAME_PATTERN);
   }
@@ -84,6 +115,19 @@ public class FsLogStorageConfiguration {
     return matchesFileNamePattern(file, TRUNCATED_FILE_NAME_PATTERN);
   }
 
+  public boolean matchesArchivedFileNamePattern(File file) {
+    return matchesFileNamePattern(file, ARCHIVED_FILE_NAME_PATTERN);
+  }
+
+  /**
+   * Returns the id of the segment from the name of the given segment file, without opening the
+   * file.
+   */
+  public int getSegmentId(File file) {
+    final String fileName = file.getName();
+    return Integer.parseInt(fileName.substring(0, fileName.indexOf('.')));
+  }
+
   protected boolean matchesFileNamePattern(File file, String pattern) {
     return file.getName().matches(pattern);
   }
@@ -95,4 +139,16 @@ public class FsLogStorageConfiguration {
   public int getInitialSegmentId() {
     return initialSegmentId;
   }
+
+  public String getArchivePath() {
+    return archivePath;
+  }
+
+  public String getArchiveCachePath() {
+    return archivePath + File.separatorChar + ARCHIVE_CACHE_DIRECTORY;
+  }
+
+  public boolean isArchiveEnabled() {
+    return archivePath != null;
+  }
 }
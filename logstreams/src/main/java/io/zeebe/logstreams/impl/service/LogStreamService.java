@@ -263,6 +263,23 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     }
   }
 
+  @Override
+  public void archive(long position) {
+    final long blockAddress = logBlockIndex.lookupBlockAddress(logBlockIndexContext, position);
+
+    if (blockAddress != LogBlockIndex.VALUE_NOT_FOUND) {
+      LOG.info(
+          "Archive data from logstream until position '{}' (address: '{}').",
+          position,
+          blockAddress);
+      logStorage.archive(blockAddress);
+    } else {
+      LOG.debug(
+          "Tried to archive log stream, but found no corresponding address in the log block index for the given position {}.",
+          position);
+    }
+  }
+
   @Override
   public void setCommitPosition(final long commitPosition) {
     this.commitPosition.setOrdered(commitPosition);
@@ -220,6 +220,40 @@ public class BufferedLogStreamReader implements LogStreamReader {
     }
   }
 
+  @Override
+  public void resizeBuffer(final int capacity) {
+    final int newCapacity = Math.min(capacity, MAX_BUFFER_CAPACITY);
+    if (isClosed() || newCapacity == byteBuffer.capacity()) {
+      return;
+    }
+
+    // preserve the returned event and all events which are read but not returned yet
+    final int offsetToCopy = minimalOffsetToPreserve();
+    final int bufferedLength = byteBuffer.position() - offsetToCopy;
+    if (bufferedLength > newCapacity) {
+      // the buffered events don't fit into the new buffer, keep the current one
+      return;
+    }
+
+    final AllocatedBuffer newAllocatedBuffer = bufferAllocator.allocate(newCapacity);
+    final ByteBuffer newByteBuffer = newAllocatedBuffer.getRawBuffer();
+
+    byteBuffer.limit(byteBuffer.position());
+    byteBuffer.position(offsetToCopy);
+    newByteBuffer.put(byteBuffer);
+
+    byteBuffer = newByteBuffer;
+    directBuffer.wrap(byteBuffer);
+
+    allocatedBuffer.close();
+    allocatedBuffer = newAllocatedBuffer;
+
+    // update buffer and event offsets
+    bufferOffset -= offsetToCopy;
+    wrapReturnedEvent(returnedEvent.getFragmentOffset() - offsetToCopy);
+    wrapNextEvent(nextEvent.getFragmentOffset() - offsetToCopy);
+  }
+
   private void allocateBuffer(final int capacity) {
     if (!isClosed()
         && (allocatedBuffer != null && allocatedBuffer.capacity() == MAX_BUFFER_CAPACITY)
@@ -140,6 +140,14 @@ public interface LogStream extends AutoCloseable {
    */
   void delete(long position);
 
+  /**
+   * Triggers archiving of data from the log stream, where the given position is used as upper
+   * bound. Archived data can still be read.
+   *
+   * @param position the position as upper bound
+   */
+  void archive(long position);
+
   void registerOnCommitPositionUpdatedCondition(ActorCondition condition);
 
   void removeOnCommitPositionUpdatedCondition(ActorCondition condition);
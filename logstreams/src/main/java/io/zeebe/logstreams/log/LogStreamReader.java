@@ -73,6 +73,14 @@ public interface LogStreamReader extends Iterator<LoggedEvent>, CloseableSilentl
    */
   long getPosition();
 
+  /**
+   * Changes the capacity of the read buffer, keeping the events which are already read. A larger
+   * buffer allows to read more events with one read operation on the log storage.
+   *
+   * @param capacity the new capacity of the read buffer
+   */
+  void resizeBuffer(int capacity);
+
   /**
    * Returns true if the log stream reader was closed.
    *
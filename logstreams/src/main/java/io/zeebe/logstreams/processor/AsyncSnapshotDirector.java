@@ -20,10 +20,12 @@ import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -47,10 +49,20 @@ public class AsyncSnapshotDirector extends Actor {
       "Enforce snapshot creation for last written position {} with commit position {}.";
   private static final String ERROR_MSG_ENFORCED_SNAPSHOT =
       "Unexpected exception occured on creating snapshot, was enforced to do so.";
+  private static final String ERROR_MSG_SNAPSHOT_SIZE =
+      "Unexpected exception occurred on calculating the snapshot size.";
+  private static final String ERROR_MSG_VALID_SNAPSHOT_LISTENER =
+      "Unexpected exception occurred on notifying about the valid snapshot.";
+
+  private static final String LOG_MSG_SKIP_SNAPSHOT =
+      "Skip snapshot for {}, no events were processed since the last snapshot at position {}.";
+  private static final String LOG_MSG_ADAPTIVE_SNAPSHOT =
+      "Trigger snapshot for {}, {} events with {} bytes were processed in {} ms since the last snapshot.";
 
   private static final int INITIAL_POSITION = -1;
 
   private final Runnable prepareTakingSnapshot = this::prepareTakingSnapshot;
+  private final Runnable checkSnapshotPolicy = this::checkSnapshotPolicy;
 
   private final Supplier<ActorFuture<Long>> asyncLastProcessedPositionSupplier;
   private final Supplier<ActorFuture<Long>> asyncLastWrittenPositionSupplier;
@@ -65,6 +77,18 @@ public class AsyncSnapshotDirector extends Actor {
   private final StreamProcessorMetrics metrics;
   private final String processorName;
   private final int maxSnapshots;
+  private final SnapshotPolicy snapshotPolicy;
+  private final LongSupplier readEventCountSupplier;
+  private final LongSupplier readEventBytesSupplier;
+  private final long replayEventsPerSecond;
+  private final LongConsumer validSnapshotListener;
+
+  private long lastSnapshotPosition;
+  private long lastSnapshotTime;
+  private long readEventCountAtLastSnapshot;
+  private long readEventBytesAtLastSnapshot;
+  private long pendingReadEventCount;
+  private long pendingReadEventBytes;
 
   private ActorCondition commitCondition;
   private long lastWrittenEventPosition = INITIAL_POSITION;
@@ -81,7 +105,13 @@ public class AsyncSnapshotDirector extends Actor {
       Consumer<ActorCondition> conditionCheckOut,
       LongSupplier commitPositionSupplier,
       StreamProcessorMetrics metrics,
-      int maxSnapshots) {
+      int maxSnapshots,
+      SnapshotPolicy snapshotPolicy,
+      LongSupplier readEventCountSupplier,
+      LongSupplier readEventBytesSupplier,
+      long replayEventsPerSecond,
+      long lastSnapshotPosition,
+      LongConsumer validSnapshotListener) {
     this.asyncLastProcessedPositionSupplier = asyncLastProcessedPositionSupplier;
     this.asyncLastWrittenPositionSupplier = asyncLastWrittenPositionSupplier;
     this.snapshotController = snapshotController;
@@ -93,6 +123,12 @@ public class AsyncSnapshotDirector extends Actor {
     this.snapshotRate = snapshotRate;
     this.metrics = metrics;
     this.maxSnapshots = Math.max(maxSnapshots, 1);
+    this.snapshotPolicy = snapshotPolicy;
+    this.readEventCountSupplier = readEventCountSupplier;
+    this.readEventBytesSupplier = readEventBytesSupplier;
+    this.replayEventsPerSecond = replayEventsPerSecond;
+    this.lastSnapshotPosition = lastSnapshotPosition;
+    this.validSnapshotListener = validSnapshotListener;
   }
 
   @Override
@@ -100,6 +136,11 @@ public class AsyncSnapshotDirector extends Actor {
     actor.setSchedulingHints(SchedulingHints.ioBound());
     actor.runAtFixedRate(snapshotRate, prepareTakingSnapshot);
 
+    lastSnapshotTime = ActorClock.currentTimeMillis();
+    if (snapshotPolicy.isAdaptive()) {
+      actor.runAtFixedRate(snapshotPolicy.getCheckInterval(), checkSnapshotPolicy);
+    }
+
     commitCondition = actor.onCondition(getConditionNameForPosition(), this::onCommitCheck);
     conditionRegistration.accept(commitCondition);
   }
@@ -136,26 +177,53 @@ public class AsyncSnapshotDirector extends Actor {
     return snapshotCreation;
   }
 
+  private void checkSnapshotPolicy() {
+    if (pendingSnapshot) {
+      return;
+    }
+
+    final long events = readEventCountSupplier.getAsLong() - readEventCountAtLastSnapshot;
+    final long bytes = readEventBytesSupplier.getAsLong() - readEventBytesAtLastSnapshot;
+    final long millisSinceLastSnapshot = ActorClock.currentTimeMillis() - lastSnapshotTime;
+
+    if (snapshotPolicy.shouldTakeSnapshot(
+        millisSinceLastSnapshot, events, bytes, replayEventsPerSecond)) {
+      LOG.debug(LOG_MSG_ADAPTIVE_SNAPSHOT, processorName, events, bytes, millisSinceLastSnapshot);
+      prepareTakingSnapshot();
+    }
+  }
+
   private void prepareTakingSnapshot() {
     if (pendingSnapshot) {
       return;
     }
 
+    // set before the position is resolved, so that no other snapshot is started meanwhile
+    pendingSnapshot = true;
+
     final ActorFuture<Long> lastProcessedPosition = asyncLastProcessedPositionSupplier.get();
     actor.runOnCompletion(
         lastProcessedPosition,
         (lowerBoundSnapshotPosition, error) -> {
           if (error == null) {
+            if (lowerBoundSnapshotPosition <= lastSnapshotPosition) {
+              LOG.debug(LOG_MSG_SKIP_SNAPSHOT, processorName, lastSnapshotPosition);
+              pendingSnapshot = false;
+              return;
+            }
+
             this.lowerBoundSnapshotPosition = lowerBoundSnapshotPosition;
+            pendingReadEventCount = readEventCountSupplier.getAsLong();
+            pendingReadEventBytes = readEventBytesSupplier.getAsLong();
             takeSnapshot();
           } else {
+            pendingSnapshot = false;
             LOG.error(ERROR_MSG_ON_RESOLVE_PROCESSED_POS, error);
           }
         });
   }
 
   private void takeSnapshot() {
-    pendingSnapshot = true;
     createSnapshot(snapshotController::takeTempSnapshot);
 
     final ActorFuture<Long> lastWrittenPosition = asyncLastWrittenPositionSupplier.get();
@@ -194,6 +262,7 @@ public class AsyncSnapshotDirector extends Actor {
       try {
 
         snapshotController.moveValidSnapshot(lowerBoundSnapshotPosition);
+        onSnapshotValid();
 
         try {
           snapshotController.ensureMaxSnapshotCount(maxSnapshots);
@@ -209,7 +278,26 @@ public class AsyncSnapshotDirector extends Actor {
     }
   }
 
-  public void close() {
-    actor.close();
+  private void onSnapshotValid() {
+    lastSnapshotPosition = lowerBoundSnapshotPosition;
+    lastSnapshotTime = ActorClock.currentTimeMillis();
+    readEventCountAtLastSnapshot = pendingReadEventCount;
+    readEventBytesAtLastSnapshot = pendingReadEventBytes;
+
+    try {
+      metrics.recordSnapshotSize(snapshotController.getValidSnapshotSize(lastSnapshotPosition));
+    } catch (Exception ex) {
+      LOG.error(ERROR_MSG_SNAPSHOT_SIZE, ex);
+    }
+
+    try {
+      validSnapshotListener.accept(lastSnapshotPosition);
+    } catch (Exception ex) {
+      LOG.error(ERROR_MSG_VALID_SNAPSHOT_LISTENER, ex);
+    }
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
   }
 }
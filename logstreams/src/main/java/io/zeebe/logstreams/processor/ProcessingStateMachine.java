@@ -17,6 +17,7 @@ package io.zeebe.logstreams.processor;
 
 import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
@@ -30,6 +31,7 @@ import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BooleanSupplier;
 import org.slf4j.Logger;
 
@@ -157,6 +159,10 @@ public final class ProcessingStateMachine {
   private boolean onErrorHandling;
   private long errorRecordPosition = -1;
 
+  // read by the snapshot director to decide when a snapshot should be taken
+  private final AtomicLong readEventCount = new AtomicLong();
+  private final AtomicLong readEventBytes = new AtomicLong();
+
   private void skipRecord() {
     actor.submit(this::readNextEvent);
     metrics.incrementEventsSkippedCount();
@@ -174,6 +180,7 @@ public final class ProcessingStateMachine {
       }
 
       currentEvent = logStreamReader.next();
+      countReadEvent(currentEvent);
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
         processEvent(currentEvent);
@@ -183,6 +190,14 @@ public final class ProcessingStateMachine {
     }
   }
 
+  private void countReadEvent(final LoggedEvent event) {
+    final int length =
+        LogEntryDescriptor.headerLength(event.getMetadataLength()) + event.getValueLength();
+
+    readEventCount.lazySet(readEventCount.get() + 1);
+    readEventBytes.lazySet(readEventBytes.get() + length);
+  }
+
   private void processEvent(final LoggedEvent event) {
     try {
       eventProcessor = streamProcessor.onEvent(event);
@@ -327,8 +342,26 @@ public final class ProcessingStateMachine {
     return actor.call(this::getLastWrittenEventPosition);
   }
 
+  /**
+   * Resolves the last processed position to take a snapshot, after the stream processor is notified
+   * via {@link StreamProcessor#onSnapshot()}.
+   */
   public ActorFuture<Long> getLastProcessedPositionAsync() {
-    return actor.call(this::getLastSuccessfulProcessedEventPosition);
+    return actor.call(
+        () -> {
+          streamProcessor.onSnapshot();
+          return getLastSuccessfulProcessedEventPosition();
+        });
+  }
+
+  /** @return the count of events which were read since the processing has started */
+  public long getReadEventCount() {
+    return readEventCount.get();
+  }
+
+  /** @return the approximated size in bytes of the events which were read */
+  public long getReadEventBytes() {
+    return readEventBytes.get();
   }
 
   public static class ProcessingStateMachineBuilder {
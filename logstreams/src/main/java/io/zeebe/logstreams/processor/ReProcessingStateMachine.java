@@ -26,10 +26,9 @@ import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.BooleanSupplier;
+import org.agrona.collections.LongHashSet;
 import org.slf4j.Logger;
 
 /**
@@ -67,6 +66,13 @@ import org.slf4j.Logger;
  * </pre>
  *
  * See https://textik.com/#773271ce7ea2096a
+ *
+ * <p>If the reprocessing batch size is greater than one, the events are reprocessed in batches
+ * instead (see {@link #reprocessNextBatch()}): the events of a batch are processed one after
+ * another in the same transaction, which is committed once at the end of the batch. Since no
+ * responses are sent and no events are written on reprocessing, this avoids a transaction commit
+ * and an actor job per event. If an event fails to process, the batch is rolled back and the events
+ * are reprocessed again up to the failed event, which is then retried until it succeeds.
  */
 public final class ReProcessingStateMachine {
 
@@ -81,6 +87,8 @@ public final class ReProcessingStateMachine {
 
   private static final String LOG_STMT_REPROCESSING_FINISHED =
       "Processor {} finished reprocessing at event position {}";
+  private static final String LOG_STMT_BATCH_FAILED =
+      "Failed to reprocess event {} in batch with processor {}, will roll back and retry.";
   private static final String LOG_STMT_FAILED_ON_PROCESSING =
       "Event {} failed on processing last time, will call #onError to update workflow instance blacklist.";
 
@@ -102,7 +110,10 @@ public final class ReProcessingStateMachine {
   private final RetryStrategy processRetryStrategy;
 
   private final BooleanSupplier abortCondition;
-  private final Set<Long> failedEventPositions = new HashSet<>();
+  private final LongHashSet failedEventPositions = new LongHashSet();
+
+  private final int batchSize;
+  private final Runnable reprocessNext;
 
   private ReProcessingStateMachine(
       StreamProcessorContext context,
@@ -121,6 +132,9 @@ public final class ReProcessingStateMachine {
     this.updateStateRetryStrategy = new EndlessRetryStrategy(actor);
     this.processRetryStrategy = new EndlessRetryStrategy(actor);
     this.abortCondition = abortCondition;
+
+    this.batchSize = context.getReprocessingBatchSize();
+    this.reprocessNext = batchSize > 1 ? this::reprocessNextBatch : this::reprocessNextEvent;
   }
 
   // current iteration
@@ -129,6 +143,9 @@ public final class ReProcessingStateMachine {
   private LoggedEvent currentEvent;
   private EventProcessor eventProcessor;
   private ZeebeDbTransaction zeebeDbTransaction;
+  private int nextBatchLimit;
+  private long replayedEventCount;
+  private long lastReplayedPosition = -1L;
 
   ActorFuture<Void> startRecover(final long snapshotPosition) {
     recoveryFuture = new CompletableActorFuture<>();
@@ -145,7 +162,8 @@ public final class ReProcessingStateMachine {
           streamProcessorName,
           lastSourceEventPosition);
       logStreamReader.seek(startPosition);
-      reprocessNextEvent();
+      nextBatchLimit = batchSize;
+      reprocessNext.run();
     } else {
       recoveryFuture.complete(null);
     }
@@ -195,6 +213,12 @@ public final class ReProcessingStateMachine {
     }
 
     currentEvent = logStreamReader.next();
+
+    // events of a batch which is rolled back are read again, but only counted once
+    if (currentEvent.getPosition() > lastReplayedPosition) {
+      lastReplayedPosition = currentEvent.getPosition();
+      replayedEventCount++;
+    }
     if (currentEvent.getPosition() > lastSourceEventPosition) {
       throw new IllegalStateException(
           String.format(
@@ -220,6 +244,76 @@ public final class ReProcessingStateMachine {
     }
   }
 
+  private void reprocessNextBatch() {
+    final int batchLimit = nextBatchLimit;
+    nextBatchLimit = batchSize;
+
+    long batchStartPosition = -1L;
+    int eventCount = 0;
+    boolean isLastSourceEvent = false;
+
+    zeebeDbTransaction = dbContext.getCurrentTransaction();
+
+    try {
+      while (eventCount < batchLimit && !isLastSourceEvent) {
+        readNextEvent();
+
+        if (eventCount == 0) {
+          batchStartPosition = currentEvent.getPosition();
+        }
+
+        if (eventFilter == null || eventFilter.applies(currentEvent)) {
+          eventProcessor = null;
+          try {
+            eventProcessor = streamProcessor.onEvent(currentEvent);
+          } catch (final Exception e) {
+            LOG.error(
+                ERROR_MESSAGE_ON_EVENT_FAILED_SKIP_EVENT, currentEvent, streamProcessorName, e);
+          }
+
+          if (eventProcessor != null) {
+            try {
+              zeebeDbTransaction.run(chooseOperationForEvent(currentEvent));
+            } catch (final Exception e) {
+              LOG.debug(LOG_STMT_BATCH_FAILED, currentEvent, streamProcessorName, e);
+              onBatchFailed(batchStartPosition, eventCount);
+              return;
+            }
+          }
+        }
+
+        eventCount++;
+        isLastSourceEvent = currentEvent.getPosition() == lastSourceEventPosition;
+      }
+    } catch (final RuntimeException e) {
+      recoveryFuture.completeExceptionally(e);
+      return;
+    }
+
+    // commits the batch and continues with the next one
+    updateStateUntilDone();
+  }
+
+  private void onBatchFailed(final long batchStartPosition, final int succeededEventCount) {
+    try {
+      zeebeDbTransaction.rollback();
+      zeebeDbTransaction = null;
+    } catch (final Exception e) {
+      recoveryFuture.completeExceptionally(e);
+      return;
+    }
+
+    if (succeededEventCount == 0) {
+      // retry the failed event on its own until it succeeds
+      processUntilDone(currentEvent);
+    } else {
+      // reprocess the events before the failed event again, the failed event starts the next batch
+      logStreamReader.seek(batchStartPosition);
+      nextBatchLimit = succeededEventCount;
+      actor.submit(reprocessNext);
+    }
+  }
+
   private void reprocessEvent(final LoggedEvent currentEvent) {
     try {
       eventProcessor = streamProcessor.onEvent(currentEvent);
@@ -296,7 +390,7 @@ public final class ReProcessingStateMachine {
       LOG.info(LOG_STMT_REPROCESSING_FINISHED, streamProcessorName, currentEvent.getPosition());
       onRecovered();
     } else {
-      actor.submit(this::reprocessNextEvent);
+      actor.submit(reprocessNext);
     }
   }
 
@@ -305,6 +399,11 @@ public final class ReProcessingStateMachine {
     failedEventPositions.clear();
   }
 
+  /** @return the count of distinct events which were read from the log stream on reprocessing */
+  long getReplayedEventCount() {
+    return replayedEventCount;
+  }
+
   public static class ReprocessingStateMachineBuilder {
 
     private StreamProcessorContext streamProcessorContext;
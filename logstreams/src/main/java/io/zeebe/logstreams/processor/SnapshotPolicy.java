@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import java.time.Duration;
+
+/**
+ * Defines when a snapshot should be taken in addition to the fixed snapshot period. A snapshot is
+ * triggered as soon as one of the configured thresholds is exceeded since the last valid snapshot:
+ *
+ * <ul>
+ *   <li>the number of processed events
+ *   <li>the size of the processed events in bytes
+ *   <li>the estimated time to replay the processed events on recovery
+ * </ul>
+ *
+ * The minimal interval prevents taking snapshots too frequently under high load. A negative
+ * threshold (or <code>null</code> for the replay duration) disables the corresponding trigger.
+ */
+public class SnapshotPolicy {
+  public static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+  /** Used to estimate the replay duration until a replay rate was measured on recovery. */
+  public static final long DEFAULT_REPLAY_EVENTS_PER_SECOND = 10_000;
+
+  private Duration minInterval = Duration.ZERO;
+  private long maxEvents = -1;
+  private long maxBytes = -1;
+  private Duration maxReplayDuration;
+  private Duration checkInterval = DEFAULT_CHECK_INTERVAL;
+
+  public Duration getMinInterval() {
+    return minInterval;
+  }
+
+  public SnapshotPolicy minInterval(Duration minInterval) {
+    this.minInterval = minInterval;
+    return this;
+  }
+
+  public long getMaxEvents() {
+    return maxEvents;
+  }
+
+  public SnapshotPolicy maxEvents(long maxEvents) {
+    this.maxEvents = maxEvents;
+    return this;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public SnapshotPolicy maxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    return this;
+  }
+
+  public Duration getMaxReplayDuration() {
+    return maxReplayDuration;
+  }
+
+  public SnapshotPolicy maxReplayDuration(Duration maxReplayDuration) {
+    this.maxReplayDuration = maxReplayDuration;
+    return this;
+  }
+
+  public Duration getCheckInterval() {
+    return checkInterval;
+  }
+
+  public SnapshotPolicy checkInterval(Duration checkInterval) {
+    this.checkInterval = checkInterval;
+    return this;
+  }
+
+  /** @return true if at least one adaptive trigger is configured */
+  public boolean isAdaptive() {
+    return maxEvents > 0 || maxBytes > 0 || maxReplayDuration != null;
+  }
+
+  /**
+   * @param millisSinceLastSnapshot the time which has passed since the last snapshot
+   * @param events the count of events processed since the last snapshot
+   * @param bytes the size of the events processed since the last snapshot
+   * @param replayEventsPerSecond the measured replay rate, or a non-positive value if unknown
+   * @return true if a snapshot should be taken now
+   */
+  public boolean shouldTakeSnapshot(
+      long millisSinceLastSnapshot, long events, long bytes, long replayEventsPerSecond) {
+    if (events <= 0 || millisSinceLastSnapshot < minInterval.toMillis()) {
+      return false;
+    }
+
+    if (maxEvents > 0 && events >= maxEvents) {
+      return true;
+    }
+
+    if (maxBytes > 0 && bytes >= maxBytes) {
+      return true;
+    }
+
+    if (maxReplayDuration != null) {
+      final long rate =
+          replayEventsPerSecond > 0 ? replayEventsPerSecond : DEFAULT_REPLAY_EVENTS_PER_SECOND;
+      final long estimatedReplayMillis = events * 1000 / rate;
+      return estimatedReplayMillis >= maxReplayDuration.toMillis();
+    }
+
+    return false;
+  }
+}
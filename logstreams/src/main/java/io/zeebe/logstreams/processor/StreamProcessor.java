@@ -54,6 +54,14 @@ public interface StreamProcessor {
     // no nothing
   }
 
+  /**
+   * Callback which is invoked by the controller right before a snapshot of the state is taken. An
+   * implementation can write state which is only kept in memory so far.
+   */
+  default void onSnapshot() {
+    // do nothing
+  }
+
   /**
    * Returns the last successful processed event position from the state. This is used after load
    * the latest snapshot and recover the state, to find the position for reprocessing.
@@ -32,8 +32,14 @@ import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.LongSupplier;
 
 public class StreamProcessorBuilder {
+  /** Count of events which are reprocessed in one transaction on recovery. */
+  public static final int DEFAULT_REPROCESSING_BATCH_SIZE = 1_000;
+  /** Read buffer size of the reader on reprocessing, which allows to read ahead. */
+  public static final int DEFAULT_REPROCESSING_READ_BUFFER_SIZE = 512 * 1024;
+
   protected int id;
   protected String name;
 
@@ -55,6 +61,11 @@ public class StreamProcessorBuilder {
   private List<ServiceName<?>> additionalDependencies;
   private StreamProcessorFactory streamProcessorFactory;
   private int maxSnapshots;
+  private int reprocessingBatchSize = DEFAULT_REPROCESSING_BATCH_SIZE;
+  private int reprocessingReadBufferSize = DEFAULT_REPROCESSING_READ_BUFFER_SIZE;
+  private SnapshotPolicy snapshotPolicy;
+  private boolean archiveLogOnSnapshot;
+  private LongSupplier archivePositionLimit = () -> Long.MAX_VALUE;
 
   public StreamProcessorBuilder(int id, String name) {
     this.id = id;
@@ -93,6 +104,48 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /** @param snapshotPolicy triggers snapshots in addition to the snapshot period */
+  public StreamProcessorBuilder snapshotPolicy(SnapshotPolicy snapshotPolicy) {
+    this.snapshotPolicy = snapshotPolicy;
+    return this;
+  }
+
+  /**
+   * @param archiveLogOnSnapshot if the events before a valid snapshot should be archived, see
+   *     {@link LogStream#archive(long)}
+   */
+  public StreamProcessorBuilder archiveLogOnSnapshot(boolean archiveLogOnSnapshot) {
+    this.archiveLogOnSnapshot = archiveLogOnSnapshot;
+    return this;
+  }
+
+  /**
+   * @param archivePositionLimit supplies the position up to which the log may be archived at most,
+   *     e.g. the lowest position which other readers of the log still need
+   */
+  public StreamProcessorBuilder archivePositionLimit(LongSupplier archivePositionLimit) {
+    this.archivePositionLimit = archivePositionLimit;
+    return this;
+  }
+
+  /**
+   * @param reprocessingBatchSize the maximum count of events which are reprocessed in one
+   *     transaction, <code>1</code> reprocesses each event in its own transaction
+   */
+  public StreamProcessorBuilder reprocessingBatchSize(int reprocessingBatchSize) {
+    this.reprocessingBatchSize = reprocessingBatchSize;
+    return this;
+  }
+
+  /**
+   * @param reprocessingReadBufferSize the size of the read buffer while reprocessing, the reader
+   *     uses its default buffer size again once the processor is recovered
+   */
+  public StreamProcessorBuilder reprocessingReadBufferSize(int reprocessingReadBufferSize) {
+    this.reprocessingReadBufferSize = reprocessingReadBufferSize;
+    return this;
+  }
+
   public StreamProcessorBuilder snapshotController(SnapshotController snapshotController) {
     this.snapshotController = snapshotController;
     return this;
@@ -168,7 +221,16 @@ public class StreamProcessorBuilder {
 
     ctx.setSnapshotPeriod(snapshotPeriod);
     ctx.setMaxSnapshots(maxSnapshots);
+
+    if (snapshotPolicy == null) {
+      snapshotPolicy = new SnapshotPolicy();
+    }
+    ctx.setSnapshotPolicy(snapshotPolicy);
+    ctx.setArchiveLogOnSnapshot(archiveLogOnSnapshot);
+    ctx.setArchivePositionLimit(archivePositionLimit);
     ctx.setSnapshotController(snapshotController);
+    ctx.setReprocessingBatchSize(Math.max(1, reprocessingBatchSize));
+    ctx.setReprocessingReadBufferSize(reprocessingReadBufferSize);
 
     logStreamReader = new BufferedLogStreamReader();
     ctx.setLogStreamReader(logStreamReader);
@@ -15,6 +15,7 @@
  */
 package io.zeebe.logstreams.processor;
 
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
@@ -22,6 +23,7 @@ import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ActorScheduler;
 import java.time.Duration;
+import java.util.function.LongSupplier;
 
 public class StreamProcessorContext {
   protected int id;
@@ -45,6 +47,11 @@ public class StreamProcessorContext {
   private Runnable suspendRunnable;
   private Runnable resumeRunnable;
   private int maxSnapshots;
+  private int reprocessingBatchSize = 1;
+  private int reprocessingReadBufferSize = BufferedLogStreamReader.DEFAULT_INITIAL_BUFFER_CAPACITY;
+  private SnapshotPolicy snapshotPolicy = new SnapshotPolicy();
+  private boolean archiveLogOnSnapshot;
+  private LongSupplier archivePositionLimit = () -> Long.MAX_VALUE;
 
   public LogStream getLogStream() {
     return logStream;
@@ -175,4 +182,44 @@ public class StreamProcessorContext {
   public int getMaxSnapshots() {
     return maxSnapshots;
   }
+
+  public SnapshotPolicy getSnapshotPolicy() {
+    return snapshotPolicy;
+  }
+
+  public void setSnapshotPolicy(final SnapshotPolicy snapshotPolicy) {
+    this.snapshotPolicy = snapshotPolicy;
+  }
+
+  public int getReprocessingBatchSize() {
+    return reprocessingBatchSize;
+  }
+
+  public void setReprocessingBatchSize(final int reprocessingBatchSize) {
+    this.reprocessingBatchSize = reprocessingBatchSize;
+  }
+
+  public boolean isArchiveLogOnSnapshot() {
+    return archiveLogOnSnapshot;
+  }
+
+  public void setArchiveLogOnSnapshot(final boolean archiveLogOnSnapshot) {
+    this.archiveLogOnSnapshot = archiveLogOnSnapshot;
+  }
+
+  public LongSupplier getArchivePositionLimit() {
+    return archivePositionLimit;
+  }
+
+  public void setArchivePositionLimit(final LongSupplier archivePositionLimit) {
+    this.archivePositionLimit = archivePositionLimit;
+  }
+
+  public int getReprocessingReadBufferSize() {
+    return reprocessingReadBufferSize;
+  }
+
+  public void setReprocessingReadBufferSize(final int reprocessingReadBufferSize) {
+    this.reprocessingReadBufferSize = reprocessingReadBufferSize;
+  }
 }
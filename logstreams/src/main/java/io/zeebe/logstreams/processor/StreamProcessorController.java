@@ -18,6 +18,7 @@ package io.zeebe.logstreams.processor;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
@@ -27,6 +28,7 @@ import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,6 +55,7 @@ public class StreamProcessorController extends Actor {
   private Phase phase = Phase.REPROCESSING;
 
   private long snapshotPosition = -1L;
+  private long lowerBoundSnapshotPosition = -1L;
 
   private ActorCondition onCommitPositionUpdatedCondition;
 
@@ -63,6 +66,7 @@ public class StreamProcessorController extends Actor {
   private ProcessingStateMachine processingStateMachine;
   private AsyncSnapshotDirector asyncSnapshotDirector;
   private final int maxSnapshots;
+  private long replayEventsPerSecond = -1;
 
   public StreamProcessorController(final StreamProcessorContext context) {
     this.streamProcessorContext = context;
@@ -139,6 +143,10 @@ public class StreamProcessorController extends Actor {
               .setAbortCondition(this::isClosed)
               .build();
 
+      // read ahead with a larger buffer while reprocessing
+      logStreamReader.resizeBuffer(streamProcessorContext.getReprocessingReadBufferSize());
+
+      final long recoveryStartTime = ActorClock.currentTimeMillis();
       final ActorFuture<Void> recoverFuture =
           reProcessingStateMachine.startRecover(snapshotPosition);
 
@@ -149,6 +157,9 @@ public class StreamProcessorController extends Actor {
               LOG.error("Unexpected error on recovery happens.", throwable);
               onFailure();
             } else {
+              measureReplayRate(
+                  reProcessingStateMachine.getReplayedEventCount(),
+                  ActorClock.currentTimeMillis() - recoveryStartTime);
               onRecovered();
             }
           });
@@ -159,7 +170,7 @@ public class StreamProcessorController extends Actor {
   }
 
   private long recoverFromSnapshot() throws Exception {
-    final long lowerBoundSnapshotPosition = snapshotController.recover();
+    lowerBoundSnapshotPosition = snapshotController.recover();
     final ZeebeDb zeebeDb = snapshotController.openDb();
 
     dbContext = zeebeDb.createContext();
@@ -184,8 +195,33 @@ public class StreamProcessorController extends Actor {
     return snapshotPosition;
   }
 
+  private void onSnapshotValid(final long snapshotPosition) {
+    if (streamProcessorContext.isArchiveLogOnSnapshot()) {
+      // the events before the snapshot are not needed for recovery anymore, but other readers of
+      // the log may still need some of them
+      final long archivePosition =
+          Math.min(snapshotPosition, streamProcessorContext.getArchivePositionLimit().getAsLong());
+
+      if (archivePosition >= 0) {
+        streamProcessorContext.getLogStream().archive(archivePosition);
+      }
+    }
+  }
+
+  private void measureReplayRate(final long replayedEvents, final long replayMillis) {
+    if (replayedEvents > 0 && replayMillis > 0) {
+      replayEventsPerSecond = replayedEvents * 1000 / replayMillis;
+      LOG.debug(
+          "Replayed {} events in {} ms on recovery of {}.",
+          replayedEvents,
+          replayMillis,
+          getName());
+    }
+  }
+
   private void onRecovered() {
     phase = Phase.PROCESSING;
+    logStreamReader.resizeBuffer(BufferedLogStreamReader.DEFAULT_INITIAL_BUFFER_CAPACITY);
 
     final LogStream logStream = streamProcessorContext.getLogStream();
     asyncSnapshotDirector =
@@ -199,7 +235,13 @@ public class StreamProcessorController extends Actor {
             logStream::removeOnCommitPositionUpdatedCondition,
             logStream::getCommitPosition,
             metrics,
-            maxSnapshots);
+            maxSnapshots,
+            streamProcessorContext.getSnapshotPolicy(),
+            processingStateMachine::getReadEventCount,
+            processingStateMachine::getReadEventBytes,
+            replayEventsPerSecond,
+            lowerBoundSnapshotPosition,
+            this::onSnapshotValid);
 
     actorScheduler.submitActor(asyncSnapshotDirector);
 
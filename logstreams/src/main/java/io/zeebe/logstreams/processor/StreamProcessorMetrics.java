@@ -15,15 +15,25 @@
  */
 package io.zeebe.logstreams.processor;
 
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
 
 public class StreamProcessorMetrics {
+  private static final long[] SNAPSHOT_DURATION_BUCKETS_MILLIS = {
+    10, 100, 1_000, 10_000, 60_000, 300_000
+  };
+  private static final long[] SNAPSHOT_SIZE_BUCKETS_BYTES = {
+    1L << 20, 10L << 20, 100L << 20, 1L << 30, 10L << 30
+  };
+
   private final Metric eventsProcessedCountMetric;
   private final Metric eventsWrittenCountMetric;
   private final Metric eventsSkippedCountMetric;
   private final Metric snapshotSizeMetric;
   private final Metric snapshotTimeMillisMetric;
+  private final Histogram snapshotDurationHistogram;
+  private final Histogram snapshotSizeHistogram;
 
   public StreamProcessorMetrics(
       final MetricsManager metricsManager, final String processorName, final String partitionId) {
@@ -69,6 +79,20 @@ public class StreamProcessorMetrics {
             .label("processor", processorName)
             .label("partition", partitionId)
             .create();
+
+    snapshotDurationHistogram =
+        metricsManager
+            .newMetric("streamprocessor_snapshot_duration_millis")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .createHistogram(SNAPSHOT_DURATION_BUCKETS_MILLIS);
+
+    snapshotSizeHistogram =
+        metricsManager
+            .newMetric("streamprocessor_snapshot_size_bytes")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .createHistogram(SNAPSHOT_SIZE_BUCKETS_BYTES);
   }
 
   public void close() {
@@ -77,6 +101,8 @@ public class StreamProcessorMetrics {
     eventsWrittenCountMetric.close();
     snapshotTimeMillisMetric.close();
     snapshotSizeMetric.close();
+    snapshotDurationHistogram.close();
+    snapshotSizeHistogram.close();
   }
 
   public void incrementEventsProcessedCount() {
@@ -93,9 +119,11 @@ public class StreamProcessorMetrics {
 
   public void recordSnapshotSize(final long size) {
     snapshotSizeMetric.setOrdered(size);
+    snapshotSizeHistogram.record(size);
   }
 
   public void recordSnapshotCreationTime(final long creationTime) {
     snapshotTimeMillisMetric.setOrdered(creationTime);
+    snapshotDurationHistogram.record(creationTime);
   }
 }
@@ -78,6 +78,14 @@ public interface LogStorage {
    */
   void delete(long address);
 
+  /**
+   * Moves the data before the given address to the archive, if the storage supports archiving.
+   * Archived data can still be read, but reading it may be slower.
+   *
+   * @param address the address until we try to archive
+   */
+  void archive(long address);
+
   /**
    * Naive implementation of the {@link #read(ByteBuffer, long, ReadResultProcessor)} method. Does
    * not process the bytes which are read.
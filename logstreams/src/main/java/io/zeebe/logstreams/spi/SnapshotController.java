@@ -39,6 +39,15 @@ public interface SnapshotController extends AutoCloseable {
    */
   void moveValidSnapshot(long lowerBoundSnapshotPosition) throws IOException;
 
+  /**
+   * Returns the size of the valid snapshot which belongs to the given position.
+   *
+   * @param lowerBoundSnapshotPosition the lower bound snapshot position
+   * @return the size of the snapshot in bytes
+   * @throws IOException thrown if the snapshot files can't be read
+   */
+  long getValidSnapshotSize(long lowerBoundSnapshotPosition) throws IOException;
+
   /**
    * Recovers the state from the latest snapshot and returns the lower bound snapshot position.
    *
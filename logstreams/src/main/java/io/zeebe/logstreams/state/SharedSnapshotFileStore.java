@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import io.zeebe.logstreams.impl.Loggers;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+
+/**
+ * Stores the immutable SST files of all snapshots exactly once. A snapshot directory references the
+ * shared files via hard links and a {@link SnapshotManifest}, so unchanged files are neither copied
+ * nor transferred again when a new snapshot is taken.
+ *
+ * <p>Files are addressed by their name and size. SST files are never modified once they are written
+ * and RocksDB does not reuse their file numbers, so the files are only read if a different file
+ * with the same name and size is stored already, e.g. of a database which was recreated. Such a
+ * file is compared with the stored one and, if it differs, addressed by its checksum as well. The
+ * reference count of a shared file is the number of manifests which contain it, it is rebuilt from
+ * the manifests when the store is opened. Shared files without references are deleted.
+ */
+public class SharedSnapshotFileStore {
+  private static final Logger LOG = Loggers.SNAPSHOT_LOGGER;
+
+  static final String FILES_DIRECTORY = "files";
+  static final String MANIFESTS_DIRECTORY = "manifests";
+  static final String MANIFEST_EXTENSION = ".manifest";
+  private static final String SHARED_FILE_EXTENSION = ".sst";
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  private final File filesDirectory;
+  private final File manifestsDirectory;
+  private final Map<String, Integer> referenceCounts = new HashMap<>();
+
+  private boolean isOpen;
+
+  public SharedSnapshotFileStore(final File rootDirectory) {
+    this.filesDirectory = new File(rootDirectory, FILES_DIRECTORY);
+    this.manifestsDirectory = new File(rootDirectory, MANIFESTS_DIRECTORY);
+  }
+
+  /** Rebuilds the reference counts from the stored manifests and purges unreferenced files. */
+  public void open() throws IOException {
+    if (isOpen) {
+      return;
+    }
+
+    Files.createDirectories(filesDirectory.toPath());
+    Files.createDirectories(manifestsDirectory.toPath());
+
+    referenceCounts.clear();
+    final File[] manifestFiles = manifestsDirectory.listFiles();
+    if (manifestFiles != null) {
+      for (final File manifestFile : manifestFiles) {
+        final String name = manifestFile.getName();
+        if (name.endsWith(MANIFEST_EXTENSION)) {
+          final long position =
+              Long.parseLong(name.substring(0, name.length() - MANIFEST_EXTENSION.length()));
+          SnapshotManifest.read(position, manifestFile.toPath())
+              .getFileKeys()
+              .forEach(key -> referenceCounts.merge(key, 1, Integer::sum));
+        } else {
+          // left over from an interrupted write
+          Files.delete(manifestFile.toPath());
+        }
+      }
+    }
+
+    final File[] sharedFiles = filesDirectory.listFiles();
+    if (sharedFiles != null) {
+      for (final File sharedFile : sharedFiles) {
+        if (!referenceCounts.containsKey(sharedFile.getName())) {
+          LOG.debug("Purge unreferenced shared snapshot file {}", sharedFile);
+          Files.delete(sharedFile.toPath());
+        }
+      }
+    }
+
+    isOpen = true;
+  }
+
+  /**
+   * Moves the SST files of the given snapshot directory into the store. Files which are already
+   * stored are replaced by a link to the stored file.
+   *
+   * @param position the lower bound position of the snapshot
+   * @param snapshotDirectory the directory which contains the snapshot
+   * @return the manifest of the snapshot
+   */
+  public SnapshotManifest share(long position, File snapshotDirectory) throws IOException {
+    open();
+
+    final SnapshotManifest manifest = new SnapshotManifest(position);
+    final File[] files = snapshotDirectory.listFiles();
+
+    if (files != null) {
+      for (final File file : files) {
+        if (file.isFile() && file.getName().endsWith(SHARED_FILE_EXTENSION)) {
+          final String key = createKey(file);
+          final Path sharedFile = getFile(key).toPath();
+
+          if (Files.exists(sharedFile)) {
+            if (Files.isSameFile(sharedFile, file.toPath())) {
+              // already linked, e.g. the file was restored from a shared snapshot
+              manifest.addFile(file.getName(), key);
+              continue;
+            }
+
+            // the key was verified against the content of the stored file
+            Files.delete(file.toPath());
+            Files.createLink(file.toPath(), sharedFile);
+          } else {
+            Files.createLink(sharedFile, file.toPath());
+          }
+
+          manifest.addFile(file.getName(), key);
+        }
+      }
+    }
+
+    // the manifest is written last, files which are stored but not referenced are purged on open
+    manifest.write(getManifestPath(position));
+    manifest.getFileKeys().forEach(key -> referenceCounts.merge(key, 1, Integer::sum));
+
+    LOG.debug("Shared {} files of snapshot {}.", manifest.getFiles().size(), position);
+    return manifest;
+  }
+
+  /**
+   * Releases the references of the given snapshot. Stored files which are not referenced by other
+   * snapshots are deleted.
+   */
+  public void release(long position) throws IOException {
+    open();
+
+    final Path manifestPath = getManifestPath(position);
+    if (!Files.exists(manifestPath)) {
+      return;
+    }
+
+    final SnapshotManifest manifest = SnapshotManifest.read(position, manifestPath);
+    Files.delete(manifestPath);
+
+    for (final String key : manifest.getFileKeys()) {
+      final int referenceCount = referenceCounts.merge(key, -1, Integer::sum);
+      if (referenceCount <= 0) {
+        referenceCounts.remove(key);
+        Files.deleteIfExists(getFile(key).toPath());
+      }
+    }
+  }
+
+  /** @return the manifest of the given snapshot, or null if the snapshot is not shared */
+  public SnapshotManifest getManifest(long position) throws IOException {
+    final Path manifestPath = getManifestPath(position);
+    if (!Files.exists(manifestPath)) {
+      return null;
+    }
+    return SnapshotManifest.read(position, manifestPath);
+  }
+
+  public boolean contains(String key) {
+    return referenceCounts.containsKey(key);
+  }
+
+  public int getReferenceCount(String key) {
+    return referenceCounts.getOrDefault(key, 0);
+  }
+
+  public File getFile(String key) {
+    return new File(filesDirectory, key);
+  }
+
+  private Path getManifestPath(long position) {
+    return new File(manifestsDirectory, position + MANIFEST_EXTENSION).toPath();
+  }
+
+  /**
+   * @return the name and size of the file, and its checksum if a different file with the same name
+   *     and size is stored already
+   */
+  private String createKey(File file) throws IOException {
+    final String name = file.getName();
+    final String baseName = name.substring(0, name.length() - SHARED_FILE_EXTENSION.length());
+    final String key = String.format("%s-%d%s", baseName, file.length(), SHARED_FILE_EXTENSION);
+
+    final Path sharedFile = getFile(key).toPath();
+    if (!Files.exists(sharedFile)
+        || Files.isSameFile(sharedFile, file.toPath())
+        || hasSameContent(sharedFile, file.toPath())) {
+      return key;
+    }
+
+    LOG.warn(
+        "Shared snapshot file {} differs from snapshot file {} of the same size, store it apart.",
+        sharedFile,
+        file);
+    return String.format(
+        "%s-%d-%08x%s", baseName, file.length(), checksum(file.toPath()), SHARED_FILE_EXTENSION);
+  }
+
+  private static boolean hasSameContent(Path file, Path otherFile) throws IOException {
+    try (InputStream input = Files.newInputStream(file);
+        InputStream otherInput = Files.newInputStream(otherFile)) {
+      final byte[] buffer = new byte[READ_BUFFER_SIZE];
+      final byte[] otherBuffer = new byte[READ_BUFFER_SIZE];
+
+      int length;
+      while ((length = readFully(input, buffer)) > 0) {
+        final int otherLength = readFully(otherInput, otherBuffer);
+        final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, length);
+        final ByteBuffer otherBytes = ByteBuffer.wrap(otherBuffer, 0, otherLength);
+
+        if (!bytes.equals(otherBytes)) {
+          return false;
+        }
+      }
+      return otherInput.read() < 0;
+    }
+  }
+
+  private static long checksum(Path file) throws IOException {
+    final CRC32 crc = new CRC32();
+
+    try (InputStream input = Files.newInputStream(file)) {
+      final byte[] buffer = new byte[READ_BUFFER_SIZE];
+      int length;
+      while ((length = input.read(buffer)) > 0) {
+        crc.update(buffer, 0, length);
+      }
+    }
+    return crc.getValue();
+  }
+
+  /** @return the count of bytes which were read, less than the buffer only at the end of input */
+  private static int readFully(InputStream input, byte[] buffer) throws IOException {
+    int length = 0;
+    while (length < buffer.length) {
+      final int read = input.read(buffer, length, buffer.length - length);
+      if (read < 0) {
+        break;
+      }
+      length += read;
+    }
+    return length;
+  }
+}
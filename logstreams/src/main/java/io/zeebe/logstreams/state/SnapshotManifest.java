@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Describes which shared files a snapshot consists of. Each entry maps the name of a file in the
+ * snapshot directory to the key of the shared file in the {@link SharedSnapshotFileStore}.
+ *
+ * <p>A manifest is stored as text file with one entry per line: <code>fileName key</code>.
+ */
+public class SnapshotManifest {
+  private static final String SEPARATOR = " ";
+
+  private final long position;
+  private final Map<String, String> files = new TreeMap<>();
+
+  public SnapshotManifest(long position) {
+    this.position = position;
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  public void addFile(String fileName, String key) {
+    files.put(fileName, key);
+  }
+
+  /** @return the shared file key of the given file name, or null if it is not shared */
+  public String getKey(String fileName) {
+    return files.get(fileName);
+  }
+
+  public Map<String, String> getFiles() {
+    return Collections.unmodifiableMap(files);
+  }
+
+  public Collection<String> getFileKeys() {
+    return Collections.unmodifiableCollection(files.values());
+  }
+
+  /**
+   * @param availableKeys the keys of the shared files which are already available, e.g. on the
+   *     receiver of a snapshot
+   * @return the keys of the files which are missing to restore this snapshot
+   */
+  public List<String> getMissingFileKeys(Collection<String> availableKeys) {
+    final List<String> missingKeys = new ArrayList<>();
+    for (final String key : files.values()) {
+      if (!availableKeys.contains(key)) {
+        missingKeys.add(key);
+      }
+    }
+    return missingKeys;
+  }
+
+  /** Writes the manifest atomically to the given path. */
+  public void write(Path path) throws IOException {
+    final List<String> lines = new ArrayList<>(files.size());
+    files.forEach((fileName, key) -> lines.add(fileName + SEPARATOR + key));
+
+    final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+    Files.write(tmpPath, lines, StandardCharsets.UTF_8);
+    Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public static SnapshotManifest read(long position, Path path) throws IOException {
+    final SnapshotManifest manifest = new SnapshotManifest(position);
+
+    for (final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+      final int separatorIndex = line.indexOf(SEPARATOR);
+      if (separatorIndex > 0) {
+        manifest.addFile(line.substring(0, separatorIndex), line.substring(separatorIndex + 1));
+      }
+    }
+
+    return manifest;
+  }
+}
@@ -23,8 +23,10 @@ import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 
 /** Controls how snapshot/recovery operations are performed */
@@ -33,11 +35,13 @@ public class StateSnapshotController implements SnapshotController {
 
   private final StateStorage storage;
   private final ZeebeDbFactory zeebeDbFactory;
+  private final SharedSnapshotFileStore sharedFileStore;
   private ZeebeDb db;
 
   public StateSnapshotController(final ZeebeDbFactory rocksDbFactory, final StateStorage storage) {
     this.zeebeDbFactory = rocksDbFactory;
     this.storage = storage;
+    this.sharedFileStore = new SharedSnapshotFileStore(storage.getSharedSnapshotDirectory());
   }
 
   @Override
@@ -48,6 +52,7 @@ public class StateSnapshotController implements SnapshotController {
 
     final File snapshotDir = storage.getSnapshotDirectoryFor(lowerBoundSnapshotPosition);
     db.createSnapshot(snapshotDir);
+    shareSnapshotFiles(lowerBoundSnapshotPosition, snapshotDir);
   }
 
   @Override
@@ -86,6 +91,25 @@ public class StateSnapshotController implements SnapshotController {
         snapshotDir.getAbsolutePath());
 
     Files.move(previousLocation.toPath(), snapshotDir.toPath());
+    shareSnapshotFiles(lowerBoundSnapshotPosition, snapshotDir);
+  }
+
+  private void shareSnapshotFiles(long lowerBoundSnapshotPosition, File snapshotDir) {
+    try {
+      sharedFileStore.share(lowerBoundSnapshotPosition, snapshotDir);
+    } catch (IOException e) {
+      // the snapshot is still complete, only its files are not deduplicated
+      LOG.warn("Failed to share files of snapshot {}.", snapshotDir.getAbsolutePath(), e);
+    }
+  }
+
+  @Override
+  public long getValidSnapshotSize(long lowerBoundSnapshotPosition) throws IOException {
+    final File snapshotDir = storage.getSnapshotDirectoryFor(lowerBoundSnapshotPosition);
+
+    try (Stream<Path> files = Files.walk(snapshotDir.toPath())) {
+      return files.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+    }
   }
 
   @Override
@@ -134,6 +158,7 @@ public class StateSnapshotController implements SnapshotController {
           snapshots.subList(0, snapshots.size() - maxSnapshotCount);
 
       for (final String snapshot : snapshotsToRemove) {
+        sharedFileStore.release(Long.parseLong(new File(snapshot).getName()));
         FileUtil.deleteFolder(snapshot);
         LOG.debug("Purged snapshot {}", snapshot);
       }
@@ -153,6 +178,10 @@ public class StateSnapshotController implements SnapshotController {
     }
   }
 
+  public SharedSnapshotFileStore getSharedFileStore() {
+    return sharedFileStore;
+  }
+
   public boolean isDbOpened() {
     return db != null;
   }
@@ -31,6 +31,7 @@ public class StateStorage {
   private static final String DEFAULT_RUNTIME_DIRECTORY = "runtime";
   private static final String DEFAULT_SNAPSHOTS_DIRECTORY = "snapshots";
   static final String TEMP_SNAPSHOT_DIRECTORY = "tmp/";
+  static final String SHARED_SNAPSHOT_DIRECTORY = "shared";
 
   private final File runtimeDirectory;
   private final File snapshotsDirectory;
@@ -70,6 +71,11 @@ public class StateStorage {
     return tmpSnapshotDirectory;
   }
 
+  /** @return the directory of the files which are shared between snapshots */
+  public File getSharedSnapshotDirectory() {
+    return new File(snapshotsDirectory, SHARED_SNAPSHOT_DIRECTORY);
+  }
+
   public List<File> list() {
     final File[] snapshotFolders = snapshotsDirectory.listFiles();
     final List<File> snapshots = new ArrayList<>();
@@ -25,6 +25,7 @@ import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.util.Random;
 import org.junit.Before;
@@ -283,6 +284,51 @@ public class FsLogSegmentTest {
     }
   }
 
+  @Test
+  public void shouldSealSegment() {
+    fsLogSegment.allocate(1, CAPACITY);
+    fsLogSegment.append(ByteBuffer.wrap(MSG));
+    assertThat(fsLogSegment.isSealed()).isFalse();
+
+    fsLogSegment.seal();
+
+    assertThat(fsLogSegment.isSealed()).isTrue();
+    assertThat(fsLogSegment.isFilled()).isTrue();
+  }
+
+  @Test
+  public void shouldRestoreSealedSegment() {
+    fsLogSegment.allocate(1, CAPACITY);
+    fsLogSegment.append(ByteBuffer.wrap(MSG));
+    fsLogSegment.seal();
+    fsLogSegment.closeSegment();
+
+    final FsLogSegment restoredSegment = new FsLogSegment(logFileName);
+    restoredSegment.openSegment(false);
+
+    assertThat(restoredSegment.isSealed()).isTrue();
+  }
+
+  @Test
+  public void shouldNotBeSealedIfMetadataChanged() throws IOException {
+    fsLogSegment.allocate(1, CAPACITY);
+    fsLogSegment.append(ByteBuffer.wrap(MSG));
+    fsLogSegment.seal();
+    fsLogSegment.closeSegment();
+
+    // change the committed size without updating the checksum
+    try (FileChannel fileChannel = FileUtil.openChannel(logFileName, false)) {
+      final ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder());
+      size.putInt(0, FsLogSegmentDescriptor.METADATA_LENGTH);
+      fileChannel.write(size, FsLogSegmentDescriptor.SEGMENT_SIZE_OFFSET);
+    }
+
+    final FsLogSegment restoredSegment = new FsLogSegment(logFileName);
+    restoredSegment.openSegment(false);
+
+    assertThat(restoredSegment.isSealed()).isFalse();
+  }
+
   protected byte[] readLogFile(final String logFilePath, final long address, final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocate(capacity);
 
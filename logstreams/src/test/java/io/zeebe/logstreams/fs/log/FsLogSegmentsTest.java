@@ -16,6 +16,9 @@
 package io.zeebe.logstreams.fs.log;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
 import io.zeebe.logstreams.impl.log.fs.FsLogSegment;
@@ -122,4 +125,40 @@ public class FsLogSegmentsTest {
 
     assertThat(fsLogSegments.getFirst()).isNull();
   }
+
+  @Test
+  public void shouldRemoveSegmentsUntil() {
+    final FsLogSegments fsLogSegments = new FsLogSegments();
+
+    fsLogSegments.init(1, new FsLogSegment[] {firstSegment, secondSegment});
+
+    fsLogSegments.removeSegmentsUntil(2);
+
+    assertThat(fsLogSegments.getInitialSegmentId()).isEqualTo(2);
+    assertThat(fsLogSegments.getSegmentCount()).isEqualTo(1);
+    assertThat(fsLogSegments.getSegment(1)).isNull();
+    assertThat(fsLogSegments.getSegment(2)).isEqualTo(secondSegment);
+  }
+
+  @Test
+  public void shouldCloseRetiredSegmentAfterLastReader() {
+    // given
+    final FsLogSegment segment = spy(new FsLogSegment("segment"));
+    doNothing().when(segment).closeSegment();
+    doNothing().when(segment).delete();
+
+    assertThat(segment.retain()).isTrue();
+
+    // when
+    segment.retire();
+
+    // then
+    verify(segment, never()).closeSegment();
+
+    segment.release();
+
+    verify(segment).closeSegment();
+    verify(segment).delete();
+    assertThat(segment.retain()).isFalse();
+  }
 }
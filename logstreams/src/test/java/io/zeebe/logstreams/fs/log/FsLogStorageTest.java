@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import io.zeebe.dispatcher.impl.PositionUtil;
+import io.zeebe.logstreams.impl.log.fs.FsLogSegment;
 import io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
@@ -436,6 +437,41 @@ public class FsLogStorageTest {
     }
   }
 
+  @Test
+  public void shouldSealFilledSegmentsOnFlush() throws Exception {
+    // given
+    fsLogStorage.open();
+    final long address = appendFullSegmentWithMsgAfterwards();
+
+    // when
+    fsLogStorage.flush();
+    fsLogStorage.close();
+
+    // then
+    assertThat(isSealed(fsStorageConfig.fileName(0))).isTrue();
+    assertThat(isSealed(fsStorageConfig.fileName(1))).isFalse();
+
+    fsLogStorage.open();
+    assertMessage(address, MSG);
+  }
+
+  @Test
+  public void shouldSealFilledSegmentsOnOpen() {
+    // given
+    fsLogStorage.open();
+    final long address = appendFullSegmentWithMsgAfterwards();
+    fsLogStorage.close();
+
+    assertThat(isSealed(fsStorageConfig.fileName(0))).isFalse();
+
+    // when
+    fsLogStorage.open();
+
+    // then
+    assertThat(isSealed(fsStorageConfig.fileName(0))).isTrue();
+    assertMessage(address, MSG);
+  }
+
   @Test
   public void shouldNotTruncateIfNotOpen() {
     thrown.expect(IllegalStateException.class);
@@ -926,6 +962,96 @@ public class FsLogStorageTest {
     fsLogStorage.close();
   }
 
+  @Test
+  public void shouldReadArchivedSegments() throws Exception {
+    // given
+    final File archiveDirectory = openArchivingStorage();
+    final long firstAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long secondAddress = appendFullSegmentWithMsgAfterwards();
+    fsLogStorage.flush();
+
+    // when
+    fsLogStorage.archive(secondAddress);
+
+    // then
+    assertThat(logDirectory.listFiles(fsStorageConfig::matchesFragmentFileNamePattern)).hasSize(1);
+    assertThat(archiveDirectory.listFiles(fsStorageConfig::matchesArchivedFileNamePattern))
+        .hasSize(2);
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(firstAddress);
+    assertMessage(firstAddress, MSG);
+    assertMessage(secondAddress, MSG);
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldNotArchiveUnflushedSegments() {
+    // given
+    final File archiveDirectory = openArchivingStorage();
+    fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long secondAddress = appendFullSegmentWithMsgAfterwards();
+
+    // when
+    fsLogStorage.archive(secondAddress);
+
+    // then
+    assertThat(logDirectory.listFiles(fsStorageConfig::matchesFragmentFileNamePattern)).hasSize(3);
+    assertThat(archiveDirectory.listFiles(fsStorageConfig::matchesArchivedFileNamePattern))
+        .isEmpty();
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldRestoreArchiveOnReopen() throws Exception {
+    // given
+    openArchivingStorage();
+    final long firstAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long secondAddress = appendFullSegmentWithMsgAfterwards();
+    fsLogStorage.flush();
+    fsLogStorage.archive(secondAddress);
+    fsLogStorage.close();
+
+    // when
+    fsLogStorage = new FsLogStorage(fsStorageConfig, new MetricsManager(), 0);
+    fsLogStorage.open();
+    final long thirdAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    // then
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(firstAddress);
+    assertMessage(firstAddress, MSG);
+    assertMessage(secondAddress, MSG);
+    assertMessage(thirdAddress, MSG);
+    assertThat(PositionUtil.partitionId(thirdAddress))
+        .isEqualTo(PositionUtil.partitionId(secondAddress));
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldDeleteArchivedSegments() throws Exception {
+    // given
+    final File archiveDirectory = openArchivingStorage();
+    fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long secondAddress = appendFullSegmentWithMsgAfterwards();
+    fsLogStorage.flush();
+    fsLogStorage.archive(secondAddress);
+
+    // when
+    fsLogStorage.delete(secondAddress);
+
+    // then
+    assertThat(archiveDirectory.listFiles(fsStorageConfig::matchesArchivedFileNamePattern))
+        .isEmpty();
+    assertThat(fsLogStorage.getFirstBlockAddress())
+        .isEqualTo(
+            PositionUtil.position(
+                PositionUtil.partitionId(secondAddress), FsLogSegmentDescriptor.METADATA_LENGTH));
+    assertMessage(secondAddress, MSG);
+
+    fsLogStorage.close();
+  }
+
   protected byte[] readLogFile(final String logFilePath, final long address, final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocate(capacity);
 
@@ -967,6 +1093,33 @@ public class FsLogStorageTest {
     Files.delete(Paths.get(file));
   }
 
+  private File openArchivingStorage() {
+    final File archiveDirectory = new File(logDirectory, "archive");
+    fsStorageConfig =
+        new FsLogStorageConfiguration(
+            SEGMENT_SIZE, logPath, 0, false, archiveDirectory.getAbsolutePath());
+    fsLogStorage = new FsLogStorage(fsStorageConfig, new MetricsManager(), 0);
+    fsLogStorage.open();
+    return archiveDirectory;
+  }
+
+  private long appendFullSegmentWithMsgAfterwards() {
+    final byte[] largeBlock = new byte[SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH];
+    new Random().nextBytes(largeBlock);
+    fsLogStorage.append(ByteBuffer.wrap(largeBlock));
+    return fsLogStorage.append(ByteBuffer.wrap(MSG));
+  }
+
+  protected boolean isSealed(final String segmentFileName) {
+    final FsLogSegment segment = new FsLogSegment(segmentFileName);
+    segment.openSegment(false);
+    try {
+      return segment.isSealed();
+    } finally {
+      segment.closeSegment();
+    }
+  }
+
   private long appendLargeBlockWithMsgAfterwards(int msgLength) {
     final byte[] largeBlockBeforeMessage =
         new byte[SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH - (msgLength)];
@@ -390,6 +390,37 @@ public class LogStreamReaderTest {
     assertThat(reader.hasNext()).isFalse();
   }
 
+  @Test
+  public void shouldContinueIteratingAfterBufferIsResized() {
+    // given
+    final int eventCount = 1_000;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+    reader.seekToFirstEvent();
+
+    long expectedKey = 1;
+    for (; expectedKey <= 10; expectedKey++) {
+      assertThat(reader.hasNext()).isTrue();
+      assertThat(reader.next().getKey()).isEqualTo(expectedKey);
+    }
+
+    // when
+    reader.resizeBuffer(512 * 1024);
+
+    for (; expectedKey <= 500; expectedKey++) {
+      assertThat(reader.hasNext()).isTrue();
+      assertThat(reader.next().getKey()).isEqualTo(expectedKey);
+    }
+
+    reader.resizeBuffer(BufferedLogStreamReader.DEFAULT_INITIAL_BUFFER_CAPACITY);
+
+    // then
+    for (; expectedKey <= eventCount; expectedKey++) {
+      assertThat(reader.hasNext()).isTrue();
+      assertThat(reader.next().getKey()).isEqualTo(expectedKey);
+    }
+    assertThat(reader.hasNext()).isFalse();
+  }
+
   @Test
   public void shouldIterateMultipleTimes() {
     // given
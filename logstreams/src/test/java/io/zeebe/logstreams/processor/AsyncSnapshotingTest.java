@@ -16,6 +16,8 @@
 package io.zeebe.logstreams.processor;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
@@ -29,12 +31,13 @@ import io.zeebe.logstreams.state.StateSnapshotController;
 import io.zeebe.logstreams.state.StateStorage;
 import io.zeebe.logstreams.util.LogStreamRule;
 import io.zeebe.test.util.AutoCloseableRule;
-import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 import java.util.function.Supplier;
 import org.junit.Before;
 import org.junit.Rule;
@@ -47,6 +50,7 @@ import org.mockito.Mockito;
 public class AsyncSnapshotingTest {
   private static final long TIMEOUT = 2_000L;
   private static final int MAX_SNAPSHOTS = 3;
+  private static final long MAX_EVENTS = 1_000;
 
   private final TemporaryFolder tempFolderRule = new TemporaryFolder();
   private final AutoCloseableRule autoCloseableRule = new AutoCloseableRule();
@@ -59,6 +63,10 @@ public class AsyncSnapshotingTest {
   private StateSnapshotController snapshotController;
   private LogStream logStream;
   private AsyncSnapshotDirector asyncSnapshotDirector;
+  private Supplier<ActorFuture<Long>> positionSupplier;
+  private Supplier<ActorFuture<Long>> writtenSupplier;
+  private LongConsumer validSnapshotListener;
+  private final AtomicLong readEventCount = new AtomicLong();
 
   @Before
   public void setup() throws IOException {
@@ -75,18 +83,22 @@ public class AsyncSnapshotingTest {
 
     logStreamRule.setCommitPosition(25L);
     logStream = spy(logStreamRule.getLogStream());
-    final ActorScheduler actorScheduler = logStreamRule.getActorScheduler();
-
-    final Supplier<ActorFuture<Long>> positionSupplier = mock(Supplier.class);
+    positionSupplier = mock(Supplier.class);
     when(positionSupplier.get())
         .thenReturn(CompletableActorFuture.completed(25L))
         .thenReturn(CompletableActorFuture.completed(32L));
 
-    final Supplier<ActorFuture<Long>> writtenSupplier = mock(Supplier.class);
+    writtenSupplier = mock(Supplier.class);
     when(writtenSupplier.get())
         .thenReturn(CompletableActorFuture.completed(99L), CompletableActorFuture.completed(100L));
 
-    asyncSnapshotDirector =
+    validSnapshotListener = mock(LongConsumer.class);
+
+    asyncSnapshotDirector = createAsyncSnapshotDirector(-1L);
+  }
+
+  private AsyncSnapshotDirector createAsyncSnapshotDirector(final long lastSnapshotPosition) {
+    final AsyncSnapshotDirector asyncSnapshotDirector =
         new AsyncSnapshotDirector(
             "processor-1",
             Duration.ofSeconds(15),
@@ -97,8 +109,15 @@ public class AsyncSnapshotingTest {
             actorCondition -> logStream.removeOnCommitPositionUpdatedCondition(actorCondition),
             () -> logStream.getCommitPosition(),
             mock(StreamProcessorMetrics.class),
-            MAX_SNAPSHOTS);
-    actorScheduler.submitActor(asyncSnapshotDirector).join();
+            MAX_SNAPSHOTS,
+            new SnapshotPolicy().maxEvents(MAX_EVENTS),
+            readEventCount::get,
+            () -> 0L,
+            -1,
+            lastSnapshotPosition,
+            validSnapshotListener);
+    logStreamRule.getActorScheduler().submitActor(asyncSnapshotDirector).join();
+    return asyncSnapshotDirector;
   }
 
   @Test
@@ -134,6 +153,20 @@ public class AsyncSnapshotingTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldNotifyListenerWhenSnapshotIsValid() {
+    // given
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    verify(snapshotController, timeout(TIMEOUT).times(1)).takeTempSnapshot();
+    verify(validSnapshotListener, after(500).never()).accept(anyLong());
+
+    // when
+    logStreamRule.setCommitPosition(100L);
+
+    // then
+    verify(validSnapshotListener, timeout(TIMEOUT).times(1)).accept(25L);
+  }
+
   @Test
   public void shouldNotTakeMoreThenOneSnapshot() {
     // given
@@ -169,4 +202,72 @@ public class AsyncSnapshotingTest {
     // then
     verify(snapshotController, timeout(500).times(1)).moveValidSnapshot(32);
   }
+
+  @Test
+  public void shouldTakeSnapshotIfMaxEventsExceeded() {
+    // given
+    readEventCount.set(MAX_EVENTS);
+
+    // when
+    logStreamRule.getClock().addTime(SnapshotPolicy.DEFAULT_CHECK_INTERVAL);
+
+    // then
+    verify(snapshotController, timeout(TIMEOUT).times(1)).takeTempSnapshot();
+  }
+
+  @Test
+  public void shouldNotTakeSnapshotIfNothingWasProcessed() throws Exception {
+    // given
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    verify(snapshotController, timeout(500).times(1)).takeTempSnapshot();
+    logStreamRule.setCommitPosition(99L);
+    verify(snapshotController, timeout(500).times(1)).moveValidSnapshot(25);
+
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    verify(snapshotController, timeout(500).times(2)).takeTempSnapshot();
+    logStreamRule.setCommitPosition(100L);
+    verify(snapshotController, timeout(500).times(1)).moveValidSnapshot(32);
+
+    // when
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+
+    // then
+    verify(positionSupplier, timeout(TIMEOUT).times(3)).get();
+    verify(snapshotController, after(500).times(2)).takeTempSnapshot();
+  }
+
+  @Test
+  public void shouldNotStartAnotherSnapshotWhilePositionIsResolved() {
+    // given
+    final CompletableActorFuture<Long> lastProcessedPosition = new CompletableActorFuture<>();
+    when(positionSupplier.get()).thenReturn(lastProcessedPosition);
+
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    verify(positionSupplier, timeout(TIMEOUT).times(1)).get();
+
+    // when
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+    readEventCount.set(MAX_EVENTS);
+    logStreamRule.getClock().addTime(SnapshotPolicy.DEFAULT_CHECK_INTERVAL);
+
+    // then
+    verify(positionSupplier, after(500).times(1)).get();
+
+    lastProcessedPosition.complete(25L);
+    verify(snapshotController, timeout(TIMEOUT).times(1)).takeTempSnapshot();
+  }
+
+  @Test
+  public void shouldNotTakeSnapshotOfRecoveredPosition() {
+    // given
+    asyncSnapshotDirector.close().join();
+    asyncSnapshotDirector = createAsyncSnapshotDirector(25L);
+
+    // when
+    logStreamRule.getClock().addTime(Duration.ofMinutes(1));
+
+    // then
+    verify(positionSupplier, timeout(TIMEOUT).times(1)).get();
+    verify(snapshotController, after(500).never()).takeTempSnapshot();
+  }
 }
@@ -15,10 +15,13 @@
  */
 package io.zeebe.logstreams.processor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -51,6 +54,7 @@ public class ReProcessingStateMachineTest {
   @Mock private DbContext dbContext;
 
   private ZeebeDbTransaction zeebeDbTransaction;
+  private StreamProcessorContext streamProcessorContext;
   private ActorControl actor;
   private EventProcessor eventProcessor;
   private LoggedEvent loggedEvent;
@@ -74,7 +78,7 @@ public class ReProcessingStateMachineTest {
     when(streamProcessor.onEvent(any())).thenReturn(eventProcessor);
     when(streamProcessor.getFailedPosition(any())).thenReturn(-1L);
 
-    final StreamProcessorContext streamProcessorContext = new StreamProcessorContext();
+    streamProcessorContext = new StreamProcessorContext();
     streamProcessorContext.setActorControl(actor);
     streamProcessorContext.setLogStreamReader(logStreamReader);
     streamProcessorContext.setName("testProcessor");
@@ -229,6 +233,121 @@ public class ReProcessingStateMachineTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldReprocessEventsInOneTransaction() throws Exception {
+    // given
+    final LoggedEvent otherEvent = mock(LoggedEvent.class);
+    when(otherEvent.getPosition()).thenReturn(1L);
+    when(loggedEvent.getPosition()).thenReturn(2L);
+    when(loggedEvent.getSourceEventPosition()).thenReturn(2L);
+    when(logStreamReader.hasNext()).thenReturn(true, true, true, false, true, true);
+    when(logStreamReader.next()).thenReturn(otherEvent, loggedEvent, otherEvent, loggedEvent);
+
+    reProcessingStateMachine = buildBatchReprocessingStateMachine(10);
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    // when
+    actor.call(
+        () -> {
+          final ActorFuture<Void> recoverFuture = reProcessingStateMachine.startRecover(0L);
+          actor.runOnCompletion(recoverFuture, (v, t) -> latch.countDown());
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    final InOrder inOrder =
+        Mockito.inOrder(streamProcessor, eventProcessor, dbContext, zeebeDbTransaction);
+    inOrder.verify(dbContext, times(1)).getCurrentTransaction();
+
+    // process both events in the same transaction
+    inOrder.verify(streamProcessor, times(1)).onEvent(otherEvent);
+    inOrder.verify(zeebeDbTransaction, times(1)).run(any());
+    inOrder.verify(eventProcessor, times(1)).processEvent();
+    inOrder.verify(streamProcessor, times(1)).onEvent(loggedEvent);
+    inOrder.verify(zeebeDbTransaction, times(1)).run(any());
+    inOrder.verify(eventProcessor, times(1)).processEvent();
+
+    // update state once
+    inOrder.verify(zeebeDbTransaction, times(1)).commit();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldRetryFailedEventOfBatch() throws Exception {
+    // given
+    final LoggedEvent otherEvent = mock(LoggedEvent.class);
+    when(otherEvent.getPosition()).thenReturn(1L);
+    when(loggedEvent.getPosition()).thenReturn(2L);
+    when(loggedEvent.getSourceEventPosition()).thenReturn(2L);
+    // the first pass scans the log for the last source event, then the batches read the events
+    when(logStreamReader.hasNext()).thenReturn(true, true, true, false, true);
+    when(logStreamReader.next())
+        .thenReturn(
+            otherEvent,
+            loggedEvent, // scan
+            otherEvent,
+            loggedEvent, // first batch, fails on the second event
+            otherEvent, // first event again as own batch
+            loggedEvent); // failed event as next batch
+
+    doCallRealMethod()
+        .doThrow(new RuntimeException("expected"))
+        .doCallRealMethod()
+        .when(zeebeDbTransaction)
+        .run(any());
+
+    reProcessingStateMachine = buildBatchReprocessingStateMachine(10);
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    // when
+    actor.call(
+        () -> {
+          final ActorFuture<Void> recoverFuture = reProcessingStateMachine.startRecover(0L);
+          actor.runOnCompletion(recoverFuture, (v, t) -> latch.countDown());
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    final InOrder inOrder = Mockito.inOrder(streamProcessor, logStreamReader, zeebeDbTransaction);
+
+    // first batch fails on the second event
+    inOrder.verify(streamProcessor).onEvent(otherEvent);
+    inOrder.verify(zeebeDbTransaction).run(any());
+    inOrder.verify(streamProcessor).onEvent(loggedEvent);
+    inOrder.verify(zeebeDbTransaction).run(any());
+    inOrder.verify(zeebeDbTransaction).rollback();
+
+    // reprocess the first event again as own batch
+    inOrder.verify(logStreamReader).seek(1L);
+    inOrder.verify(streamProcessor).onEvent(otherEvent);
+    inOrder.verify(zeebeDbTransaction).run(any());
+    inOrder.verify(zeebeDbTransaction).commit();
+
+    // retry the failed event
+    inOrder.verify(streamProcessor).onEvent(loggedEvent);
+    inOrder.verify(zeebeDbTransaction).run(any());
+    inOrder.verify(zeebeDbTransaction).commit();
+
+    verify(zeebeDbTransaction, times(4)).run(any());
+    verify(zeebeDbTransaction, times(1)).rollback();
+    verify(zeebeDbTransaction, times(2)).commit();
+    // the events which are read again after the rollback are counted once
+    assertThat(reProcessingStateMachine.getReplayedEventCount()).isEqualTo(2);
+  }
+
+  private ReProcessingStateMachine buildBatchReprocessingStateMachine(final int batchSize) {
+    streamProcessorContext.setReprocessingBatchSize(batchSize);
+
+    return ReProcessingStateMachine.builder()
+        .setStreamProcessorContext(streamProcessorContext)
+        .setStreamProcessor(streamProcessor)
+        .setDbContext(dbContext)
+        .setAbortCondition(() -> false)
+        .build();
+  }
+
   private class ControllableActor extends Actor {
 
     public ActorControl getActor() {
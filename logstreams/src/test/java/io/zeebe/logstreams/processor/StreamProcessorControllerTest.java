@@ -39,6 +39,7 @@ import io.zeebe.db.impl.DefaultColumnFamily;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 import io.zeebe.logstreams.LogStreams;
 import io.zeebe.logstreams.impl.service.StreamProcessorService;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.spi.SnapshotController;
@@ -407,6 +408,72 @@ public class StreamProcessorControllerTest {
     assertThat(metadata.getValue()).isEqualTo(lastEventPosition);
   }
 
+  @Test
+  public void shouldArchiveLogOnValidSnapshot() throws Exception {
+    // given
+    streamProcessorController.closeAsync().join();
+
+    final LogStream logStream = spy(logStreamRule.getLogStream());
+    streamProcessorController =
+        LogStreams.createStreamProcessor("archiving", PROCESSOR_ID)
+            .logStream(logStream)
+            .actorScheduler(logStreamRule.getActorScheduler())
+            .serviceContainer(logStreamRule.getServiceContainer())
+            .snapshotController(snapshotController)
+            .maxSnapshots(MAX_SNAPSHOTS)
+            .streamProcessorFactory(this::createStreamProcessor)
+            .snapshotPeriod(SNAPSHOT_INTERVAL)
+            .archiveLogOnSnapshot(true)
+            .build()
+            .join()
+            .getController();
+
+    // when
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+    writeEventAndWaitUntilProcessed(EVENT_1);
+
+    // then
+    verify(snapshotController, timeout(5000).times(1)).moveValidSnapshot(lastEventPosition);
+    verify(logStream, timeout(5000).times(1)).archive(lastEventPosition);
+  }
+
+  @Test
+  public void shouldNotArchiveLogBeyondArchivePositionLimit() throws Exception {
+    // given
+    streamProcessorController.closeAsync().join();
+
+    final AtomicLong archivePositionLimit = new AtomicLong(-1L);
+    final LogStream logStream = spy(logStreamRule.getLogStream());
+    streamProcessorController =
+        LogStreams.createStreamProcessor("archiving", PROCESSOR_ID)
+            .logStream(logStream)
+            .actorScheduler(logStreamRule.getActorScheduler())
+            .serviceContainer(logStreamRule.getServiceContainer())
+            .snapshotController(snapshotController)
+            .maxSnapshots(MAX_SNAPSHOTS)
+            .streamProcessorFactory(this::createStreamProcessor)
+            .snapshotPeriod(SNAPSHOT_INTERVAL)
+            .archiveLogOnSnapshot(true)
+            .archivePositionLimit(archivePositionLimit::get)
+            .build()
+            .join()
+            .getController();
+
+    final long firstEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+    archivePositionLimit.set(firstEventPosition);
+
+    // when
+    final long lastEventPosition = writeEventAndWaitUntilProcessed(EVENT_1);
+    logStreamRule.getClock().addTime(SNAPSHOT_INTERVAL);
+    writeEventAndWaitUntilProcessed(EVENT_1);
+
+    // then
+    verify(snapshotController, timeout(5000).times(1)).moveValidSnapshot(lastEventPosition);
+    verify(logStream, timeout(5000).times(1)).archive(firstEventPosition);
+    verify(logStream, never()).archive(lastEventPosition);
+  }
+
   @Test
   public void shouldEnsureMaxSnapshotCount() throws Exception {
     // given
@@ -24,6 +24,10 @@ import io.zeebe.logstreams.util.RocksDBWrapper;
 import io.zeebe.test.util.AutoCloseableRule;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map.Entry;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -142,4 +146,156 @@ public class StateSnapshotControllerTest {
     final long latestLowerBound = snapshotController.recover();
     assertThat(latestLowerBound).isEqualTo(2322);
   }
+
+  @Test
+  public void shouldShareFilesBetweenSnapshots() throws Exception {
+    // given
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(snapshotController.openDb());
+    wrapper.putInt("foo", 1);
+    snapshotController.takeSnapshot(1);
+
+    // when
+    wrapper.putInt("bar", 2);
+    snapshotController.takeSnapshot(2);
+
+    // then
+    final SharedSnapshotFileStore fileStore = snapshotController.getSharedFileStore();
+    final SnapshotManifest firstManifest = fileStore.getManifest(1);
+    final SnapshotManifest secondManifest = fileStore.getManifest(2);
+
+    assertThat(firstManifest.getFileKeys()).isNotEmpty();
+    assertThat(secondManifest.getFileKeys()).containsAll(firstManifest.getFileKeys());
+    assertThat(secondManifest.getMissingFileKeys(firstManifest.getFileKeys())).isNotEmpty();
+    assertThat(firstManifest.getFileKeys())
+        .allSatisfy(key -> assertThat(fileStore.getReferenceCount(key)).isEqualTo(2));
+  }
+
+  @Test
+  public void shouldReleaseSharedFilesOfPurgedSnapshots() throws Exception {
+    // given
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(snapshotController.openDb());
+    wrapper.putInt("foo", 1);
+    snapshotController.takeSnapshot(1);
+    wrapper.putInt("bar", 2);
+    snapshotController.takeSnapshot(2);
+
+    final SharedSnapshotFileStore fileStore = snapshotController.getSharedFileStore();
+    final SnapshotManifest secondManifest = fileStore.getManifest(2);
+
+    // when
+    snapshotController.ensureMaxSnapshotCount(1);
+
+    // then
+    assertThat(fileStore.getManifest(1)).isNull();
+    assertThat(secondManifest.getFileKeys())
+        .allSatisfy(
+            key -> {
+              assertThat(fileStore.getReferenceCount(key)).isEqualTo(1);
+              assertThat(fileStore.getFile(key)).exists();
+            });
+
+    snapshotController.close();
+    assertThat(snapshotController.recover()).isEqualTo(2);
+    wrapper.wrap(snapshotController.openDb());
+    assertThat(wrapper.getInt("foo")).isEqualTo(1);
+    assertThat(wrapper.getInt("bar")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRestoreReferenceCountsOnOpen() throws Exception {
+    // given
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(snapshotController.openDb());
+    wrapper.putInt("foo", 1);
+    snapshotController.takeSnapshot(1);
+    snapshotController.takeSnapshot(2);
+    final SnapshotManifest manifest = snapshotController.getSharedFileStore().getManifest(1);
+
+    // when
+    final SharedSnapshotFileStore fileStore =
+        new SharedSnapshotFileStore(storage.getSharedSnapshotDirectory());
+    fileStore.open();
+
+    // then
+    assertThat(manifest.getFileKeys())
+        .allSatisfy(key -> assertThat(fileStore.getReferenceCount(key)).isEqualTo(2));
+  }
+
+  @Test
+  public void shouldLinkSnapshotFilesToSharedFiles() throws Exception {
+    // given
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(snapshotController.openDb());
+    wrapper.putInt("foo", 1);
+    snapshotController.takeSnapshot(1);
+
+    // when
+    snapshotController.takeSnapshot(2);
+
+    // then
+    final SharedSnapshotFileStore fileStore = snapshotController.getSharedFileStore();
+    final SnapshotManifest manifest = fileStore.getManifest(2);
+    final File snapshotDirectory = storage.getSnapshotDirectoryFor(2);
+
+    assertThat(manifest.getFiles()).isNotEmpty();
+    for (final Entry<String, String> file : manifest.getFiles().entrySet()) {
+      final Path snapshotFile = new File(snapshotDirectory, file.getKey()).toPath();
+      final Path sharedFile = fileStore.getFile(file.getValue()).toPath();
+      assertThat(Files.isSameFile(snapshotFile, sharedFile)).isTrue();
+    }
+  }
+
+  @Test
+  public void shouldNotShareDifferentFilesWithSameNameAndSize() throws Exception {
+    // given
+    final SharedSnapshotFileStore fileStore =
+        new SharedSnapshotFileStore(tempFolderRule.newFolder("shared"));
+    final File firstSnapshot = tempFolderRule.newFolder("first");
+    final File secondSnapshot = tempFolderRule.newFolder("second");
+    final Path firstFile = Files.write(new File(firstSnapshot, "000001.sst").toPath(), bytes(1));
+    final Path secondFile = Files.write(new File(secondSnapshot, "000001.sst").toPath(), bytes(2));
+
+    // when
+    final SnapshotManifest firstManifest = fileStore.share(1, firstSnapshot);
+    final SnapshotManifest secondManifest = fileStore.share(2, secondSnapshot);
+
+    // then
+    final String firstKey = firstManifest.getFiles().get("000001.sst");
+    final String secondKey = secondManifest.getFiles().get("000001.sst");
+
+    assertThat(secondKey).isNotEqualTo(firstKey);
+    assertThat(Files.readAllBytes(firstFile)).isEqualTo(bytes(1));
+    assertThat(Files.readAllBytes(secondFile)).isEqualTo(bytes(2));
+    assertThat(Files.readAllBytes(fileStore.getFile(secondKey).toPath())).isEqualTo(bytes(2));
+  }
+
+  @Test
+  public void shouldShareCopiedFileWithSameContent() throws Exception {
+    // given
+    final SharedSnapshotFileStore fileStore =
+        new SharedSnapshotFileStore(tempFolderRule.newFolder("shared"));
+    final File firstSnapshot = tempFolderRule.newFolder("first");
+    final File secondSnapshot = tempFolderRule.newFolder("second");
+    Files.write(new File(firstSnapshot, "000001.sst").toPath(), bytes(1));
+    final Path copiedFile = Files.write(new File(secondSnapshot, "000001.sst").toPath(), bytes(1));
+
+    // when
+    final SnapshotManifest firstManifest = fileStore.share(1, firstSnapshot);
+    final SnapshotManifest secondManifest = fileStore.share(2, secondSnapshot);
+
+    // then
+    final String key = firstManifest.getFiles().get("000001.sst");
+
+    assertThat(secondManifest.getFiles()).containsEntry("000001.sst", key);
+    assertThat(fileStore.getReferenceCount(key)).isEqualTo(2);
+    assertThat(Files.isSameFile(copiedFile, fileStore.getFile(key).toPath())).isTrue();
+  }
+
+  private static byte[] bytes(int value) {
+    final byte[] bytes = new byte[1024];
+    Arrays.fill(bytes, (byte) value);
+    return bytes;
+  }
 }
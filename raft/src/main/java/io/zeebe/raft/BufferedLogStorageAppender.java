@@ -29,7 +29,9 @@ import io.zeebe.raft.protocol.AppendRequest;
 import io.zeebe.raft.protocol.AppendResponse;
 import io.zeebe.util.allocation.AllocatedBuffer;
 import io.zeebe.util.allocation.BufferAllocators;
+import io.zeebe.util.sched.clock.ActorClock;
 import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -41,6 +43,7 @@ public class BufferedLogStorageAppender {
   private final RecordMetadata metadata = new RecordMetadata();
   private final RaftConfigurationEvent configuration = new RaftConfigurationEvent();
   private final AppendResponse appendResponse = new AppendResponse();
+  private final LoggedEventImpl blockEvent = new LoggedEventImpl();
 
   private final Raft raft;
   private final LogStream logStream;
@@ -110,24 +113,42 @@ public class BufferedLogStorageAppender {
         || (term == lastBufferedTerm && position >= lastBufferedPosition);
   }
 
+  /**
+   * Writes the events buffered since the last flush to the log storage with a single append, and
+   * acknowledges the last written position once for all append requests they were received with.
+   */
   public void flushAndAck() {
+    if (deferredAck.hasDeferredAck()) {
+      flushAndAck(deferredAck.nodeId, deferredAck.commitPosition);
+    }
+  }
+
+  private boolean flushAndAck(final int nodeId, final long commitPosition) {
     try {
-      if (deferredAck.hasDeferredAck()) {
-        if (!flushBufferedEvents()) {
-          // unable to flush events, abort and try again with last buffered position
-          rejectAppendRequest(lastBufferedPosition, deferredAck.nodeId);
-        } else {
-          acceptAppendRequest(lastWrittenPosition, deferredAck.commitPosition, deferredAck.nodeId);
-        }
+      if (!flushBufferedEvents()) {
+        // unable to flush events, abort and try again with last buffered position
+        rejectAppendRequest(lastBufferedPosition, nodeId);
+        return false;
+      } else {
+        acceptAppendRequest(lastWrittenPosition, commitPosition, nodeId);
+        return true;
       }
     } finally {
+      if (deferredAck.hasDeferredAck()) {
+        final long latencyNanos = ActorClock.current().getNanoTime() - deferredAck.firstAppendNanos;
+        raft.getMetrics().recordFollowerAck(latencyNanos / 1_000, deferredAck.appends);
+      }
+
       deferredAck.reset();
     }
   }
 
-  public void appendEvent(final AppendRequest appendRequest, final LoggedEventImpl event) {
-    deferredAck.reset();
+  /** @return the number of append requests which are buffered but not acknowledged yet */
+  public int getDeferredAppends() {
+    return deferredAck.appends;
+  }
 
+  public void appendEvent(final AppendRequest appendRequest, final LoggedEventImpl event) {
     if (event != null) {
       final long previousPosition = appendRequest.getPreviousEventPosition();
       final long previousTerm = appendRequest.getPreviousEventTerm();
@@ -138,15 +159,8 @@ public class BufferedLogStorageAppender {
 
       if (previousPosition == lastBufferedPosition && previousTerm == lastBufferedTerm) {
         final int eventLength = event.getFragmentLength();
-        if (remainingCapacity() < eventLength) {
-          if (!flushBufferedEvents()) {
-            // unable to flush events, abort and try again with last buffered position
-            rejectAppendRequest(lastBufferedPosition, appendRequest.getNodeId());
-            return;
-          } else {
-            acceptAppendRequest(
-                lastWrittenPosition, appendRequest.getCommitPosition(), appendRequest.getNodeId());
-          }
+        if (remainingCapacity() < eventLength && !flushAndAckOnFullBuffer(appendRequest)) {
+          return;
         }
 
         if (remainingCapacity() < eventLength) {
@@ -184,6 +198,60 @@ public class BufferedLogStorageAppender {
     }
   }
 
+  /**
+   * Appends consecutive events, as they are stored in the log of the leader, as a whole to the
+   * buffer.
+   */
+  public void appendBlock(final AppendRequest appendRequest, final DirectBuffer block) {
+    final long previousPosition = appendRequest.getPreviousEventPosition();
+    final long previousTerm = appendRequest.getPreviousEventTerm();
+
+    if (previousPosition == lastWrittenPosition && previousTerm == lastWrittenTerm) {
+      discardBufferedEvents();
+    }
+
+    if (previousPosition == lastBufferedPosition && previousTerm == lastBufferedTerm) {
+      final int blockLength = block.capacity();
+      if (remainingCapacity() < blockLength && !flushAndAckOnFullBuffer(appendRequest)) {
+        return;
+      }
+
+      if (remainingCapacity() < blockLength) {
+        allocateMemory(Math.max(blockLength, INITIAL_CAPACITY));
+      }
+
+      buffer.putBytes(offset, block, 0, blockLength);
+      offset += blockLength;
+
+      int eventOffset = 0;
+      while (eventOffset < blockLength) {
+        blockEvent.wrap(block, eventOffset);
+        eventOffset += blockEvent.getFragmentLength();
+
+        blockEvent.readMetadata(metadata);
+        if (metadata.getValueType() == ValueType.RAFT) {
+          // update configuration
+          blockEvent.readValue(configuration);
+          raft.replaceMembersOnConfigurationChange(configuration.members());
+        }
+      }
+
+      lastBufferedPosition = blockEvent.getPosition();
+      lastBufferedTerm = blockEvent.getRaftTerm();
+    } else {
+      LOG.warn(
+          "Block to append does not follow previous event {}/{} != {}/{}",
+          lastBufferedPosition,
+          lastBufferedTerm,
+          previousPosition,
+          previousTerm);
+    }
+
+    if (lastWrittenPosition != lastBufferedPosition) {
+      deferredAck.deferAck(appendRequest);
+    }
+  }
+
   public void truncateLog(final AppendRequest appendRequest, final LoggedEventImpl event) {
     deferredAck.reset();
 
@@ -245,6 +313,12 @@ public class BufferedLogStorageAppender {
     }
   }
 
+  private boolean flushAndAckOnFullBuffer(final AppendRequest appendRequest) {
+    final long commitPosition =
+        Math.max(deferredAck.commitPosition, appendRequest.getCommitPosition());
+    return flushAndAck(appendRequest.getNodeId(), commitPosition);
+  }
+
   private void allocateMemory(final int capacity) {
     if (allocatedBuffer != null) {
       allocatedBuffer.close();
@@ -317,13 +391,21 @@ public class BufferedLogStorageAppender {
     return lastBufferedPosition;
   }
 
+  /** Collects the append requests which are acknowledged together after the next flush. */
   class DeferredAck {
     long commitPosition = -1;
     Integer nodeId;
+    int appends;
+    long firstAppendNanos;
 
     void deferAck(AppendRequest request) {
+      if (appends == 0) {
+        firstAppendNanos = ActorClock.current().getNanoTime();
+      }
+
+      appends++;
       nodeId = request.getNodeId();
-      commitPosition = request.getCommitPosition();
+      commitPosition = Math.max(commitPosition, request.getCommitPosition());
     }
 
     boolean hasDeferredAck() {
@@ -333,6 +415,7 @@ public class BufferedLogStorageAppender {
     void reset() {
       commitPosition = -1;
       nodeId = null;
+      appends = 0;
     }
   }
 }
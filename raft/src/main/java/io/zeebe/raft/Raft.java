@@ -114,11 +114,15 @@ public class Raft extends Actor
   private final ServerResponse serverResponse = new ServerResponse();
 
   private ServiceStartContext serviceContext;
+  private RaftMetrics metrics;
 
   private final String raftName;
   private AbstractRaftState state;
   private RaftJoinService raftJoinedService;
 
+  /** the term of the election started because the leader handed over its leadership */
+  private int leaderTransferTerm = -1;
+
   public Raft(
       final String raftName,
       final RaftConfiguration configuration,
@@ -148,6 +152,10 @@ public class Raft extends Actor
     this.logStream.setTerm(getTerm());
 
     this.serviceContext = startContext;
+    this.metrics =
+        new RaftMetrics(
+            startContext.getScheduler().getMetricsManager(),
+            Integer.toString(logStream.getPartitionId()));
 
     raftJoinedService = new RaftJoinService(this, actor);
     serviceContext.createService(joinServiceName(raftName), raftJoinedService).install();
@@ -166,6 +174,11 @@ public class Raft extends Actor
     becomeFollower(getTerm());
   }
 
+  @Override
+  protected void onActorClosed() {
+    metrics.close();
+  }
+
   // state transitions
 
   public void becomeFollower(final int term) {
@@ -183,6 +196,44 @@ public class Raft extends Actor
     tryTakeTransition(transition, this::transitionToLeader);
   }
 
+  /**
+   * Starts an election for the next term right away, without polling the other members first, as
+   * the leader asked this node to take over the leadership.
+   */
+  public void becomeCandidateOnLeaderTransfer() {
+    final int term = getTerm() + 1;
+    leaderTransferTerm = term;
+    becomeCandidate(term);
+  }
+
+  /** @return true if the current term was started by a leader transfer */
+  public boolean isLeaderTransferTerm() {
+    return leaderTransferTerm == getTerm();
+  }
+
+  /**
+   * Asks the given member to take over the leadership. This node steps down if it is the leader and
+   * the member has replicated all committed events.
+   *
+   * @return a future which is completed with true if the transfer was started
+   */
+  public ActorFuture<Boolean> transferLeadership(final int nodeId) {
+    return actor.call(
+        () -> state instanceof LeaderState && ((LeaderState) state).transferLeadership(nodeId));
+  }
+
+  /**
+   * Marks this node as the preferred leader of the partition, which shortens its election timeout
+   * so that it usually wins elections.
+   */
+  public void setPreferredLeader(final boolean preferredLeader) {
+    heartbeat.setPreferredLeader(preferredLeader);
+  }
+
+  public boolean isPreferredLeader() {
+    return heartbeat.isPreferredLeader();
+  }
+
   private void transitionToFollower(final Void value, final Throwable throwable) {
     final int term = currentTransition.getTerm();
 
@@ -221,6 +272,7 @@ public class Raft extends Actor
     final ServiceName<AbstractRaftState> candidateServiceName =
         candidateServiceName(raftName, term);
     final CandidateState candidateState = new CandidateState(this, actor);
+    metrics.countElectionStarted();
 
     final ActorFuture<AbstractRaftState> whenCandicate =
         serviceContext
@@ -253,6 +305,7 @@ public class Raft extends Actor
         .install();
 
     final LeaderState leaderState = new LeaderState(this, actor);
+    metrics.countElectionWon();
     installOperation
         .createService(leaderServiceName, leaderState)
         .dependency(LogStreamServiceNames.logWriteBufferServiceName(logStream.getLogName()))
@@ -472,6 +525,7 @@ public class Raft extends Actor
       persistentStorage.setTerm(term).setVotedFor(null).save();
 
       logStream.setTerm(term);
+      metrics.countTermChange();
     } else if (currentTerm > term) {
       LOG.debug("Cannot set term to smaller value {} < {}", term, currentTerm);
     }
@@ -695,6 +749,14 @@ public class Raft extends Actor
     return messageReceiveBuffer;
   }
 
+  /**
+   * @return the number of bytes this member can buffer of incoming messages, which is advertised to
+   *     the leader to limit the bytes in flight
+   */
+  public int getReceiveWindow() {
+    return messageReceiveBuffer.capacity();
+  }
+
   @Override
   public String getName() {
     return raftName;
@@ -704,6 +766,10 @@ public class Raft extends Actor
     return heartbeat;
   }
 
+  public RaftMetrics getMetrics() {
+    return metrics;
+  }
+
   public Injector<LogStream> getLogStreamInjector() {
     return logStreamInjector;
   }
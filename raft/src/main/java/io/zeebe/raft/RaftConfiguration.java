@@ -15,13 +15,16 @@
  */
 package io.zeebe.raft;
 
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.DurationUtil;
 import java.time.Duration;
+import org.agrona.BitUtil;
 
 public class RaftConfiguration {
   private String heartbeatInterval = "250ms";
   private String electionInterval = "1s";
   private String leaveTimeout = "1s";
+  private String receiveBufferSize = "2M";
 
   public String getHeartbeatInterval() {
     return heartbeatInterval;
@@ -62,6 +65,21 @@ public class RaftConfiguration {
     return this;
   }
 
+  public String getReceiveBufferSize() {
+    return receiveBufferSize;
+  }
+
+  /** @return the size of the receive buffer, rounded up to the next power of two */
+  public int getReceiveBufferSizeBytes() {
+    final int bytes = (int) new ByteValue(receiveBufferSize).toBytes();
+    return BitUtil.findNextPositivePowerOfTwo(bytes);
+  }
+
+  public RaftConfiguration setReceiveBufferSize(String receiveBufferSize) {
+    this.receiveBufferSize = receiveBufferSize;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "RaftConfiguration{"
@@ -74,6 +92,9 @@ public class RaftConfiguration {
         + ", leaveTimeout='"
         + leaveTimeout
         + '\''
+        + ", receiveBufferSize='"
+        + receiveBufferSize
+        + '\''
         + '}';
   }
 }
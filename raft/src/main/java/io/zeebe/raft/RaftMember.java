@@ -23,6 +23,9 @@ public class RaftMember {
 
   private long matchPosition;
 
+  /** the size of the receive buffer advertised by the member, negative if unknown */
+  private volatile int receiveWindow = -1;
+
   public RaftMember(final int nodeId) {
     this.nodeId = nodeId;
   }
@@ -31,19 +34,29 @@ public class RaftMember {
     return nodeId;
   }
 
-  public void onFollowerHasAcknowledgedPosition(long position) {
+  public void onFollowerHasAcknowledgedPosition(long position, int receiveWindow) {
     matchPosition = position;
-    replicationController.onFollowerHasAcknowledgedPosition(position);
+    this.receiveWindow = receiveWindow;
+    replicationController.onFollowerHasAcknowledgedPosition(position, receiveWindow);
   }
 
-  public void onFollowerHasFailedPosition(long position) {
-    replicationController.onFollowerHasFailedPosition(position);
+  public void onFollowerHasFailedPosition(long position, int receiveWindow) {
+    this.receiveWindow = receiveWindow;
+    replicationController.onFollowerHasFailedPosition(position, receiveWindow);
   }
 
   public long getMatchPosition() {
     return matchPosition;
   }
 
+  public int getReceiveWindow() {
+    return receiveWindow;
+  }
+
+  public void setReceiveWindow(int receiveWindow) {
+    this.receiveWindow = receiveWindow;
+  }
+
   public void setReplicationController(MemberReplicateLogController replicationController) {
     this.replicationController = replicationController;
   }
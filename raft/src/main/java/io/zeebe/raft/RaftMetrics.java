@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class RaftMetrics {
+  private static final long[] LATENCY_BUCKETS_MICROS = {
+    100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 1_000_000
+  };
+  private static final long[] APPENDS_PER_FLUSH_BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128};
+
+  private final MetricsManager metricsManager;
+  private final String partitionId;
+
+  private final Histogram followerAckLatencyHistogram;
+  private final Histogram followerAppendsPerFlushHistogram;
+  private final Histogram commitLatencyHistogram;
+  private final Metric electionsStartedCount;
+  private final Metric electionsWonCount;
+  private final Metric termChangesCount;
+
+  public RaftMetrics(final MetricsManager metricsManager, final String partitionId) {
+    this.metricsManager = metricsManager;
+    this.partitionId = partitionId;
+
+    followerAckLatencyHistogram =
+        metricsManager
+            .newMetric("raft_follower_append_ack_latency_micros")
+            .label("partition", partitionId)
+            .createHistogram(LATENCY_BUCKETS_MICROS);
+
+    followerAppendsPerFlushHistogram =
+        metricsManager
+            .newMetric("raft_follower_appends_per_flush")
+            .label("partition", partitionId)
+            .createHistogram(APPENDS_PER_FLUSH_BUCKETS);
+
+    commitLatencyHistogram =
+        metricsManager
+            .newMetric("raft_append_commit_latency_micros")
+            .label("partition", partitionId)
+            .createHistogram(LATENCY_BUCKETS_MICROS);
+
+    electionsStartedCount =
+        metricsManager
+            .newMetric("raft_elections_count")
+            .type("counter")
+            .label("partition", partitionId)
+            .label("result", "started")
+            .create();
+
+    electionsWonCount =
+        metricsManager
+            .newMetric("raft_elections_count")
+            .type("counter")
+            .label("partition", partitionId)
+            .label("result", "won")
+            .create();
+
+    termChangesCount =
+        metricsManager
+            .newMetric("raft_term_changes_count")
+            .type("counter")
+            .label("partition", partitionId)
+            .create();
+  }
+
+  public void close() {
+    followerAckLatencyHistogram.close();
+    followerAppendsPerFlushHistogram.close();
+    commitLatencyHistogram.close();
+    electionsStartedCount.close();
+    electionsWonCount.close();
+    termChangesCount.close();
+  }
+
+  /**
+   * Records an acknowledgement sent by a follower after flushing the appended events.
+   *
+   * @param latencyMicros the time since the first append request acknowledged by it was received
+   * @param appends the number of append requests acknowledged by it
+   */
+  public void recordFollowerAck(final long latencyMicros, final int appends) {
+    followerAckLatencyHistogram.record(latencyMicros);
+    followerAppendsPerFlushHistogram.record(appends);
+  }
+
+  /** Records the time from appending an event to the log of the leader until it is committed. */
+  public void recordCommitLatency(final long latencyMicros) {
+    commitLatencyHistogram.record(latencyMicros);
+  }
+
+  public void countElectionStarted() {
+    electionsStartedCount.incrementOrdered();
+  }
+
+  public void countElectionWon() {
+    electionsWonCount.incrementOrdered();
+  }
+
+  public void countTermChange() {
+    termChangesCount.incrementOrdered();
+  }
+
+  /** @return the metrics of the replication to the given member, which must be closed after use */
+  public MemberReplicationMetrics newMemberReplicationMetrics(final int nodeId) {
+    return new MemberReplicationMetrics(nodeId);
+  }
+
+  /** Metrics of the leader about the replication of its log to one member. */
+  public class MemberReplicationMetrics {
+    private final Metric lagPositions;
+    private final Metric inFlightBytes;
+    private final Metric window;
+
+    MemberReplicationMetrics(final int nodeId) {
+      final String follower = Integer.toString(nodeId);
+
+      lagPositions =
+          metricsManager
+              .newMetric("raft_follower_replication_lag_positions")
+              .type("gauge")
+              .label("partition", partitionId)
+              .label("follower", follower)
+              .create();
+
+      inFlightBytes =
+          metricsManager
+              .newMetric("raft_follower_inflight_bytes")
+              .type("gauge")
+              .label("partition", partitionId)
+              .label("follower", follower)
+              .create();
+
+      window =
+          metricsManager
+              .newMetric("raft_follower_window_bytes")
+              .type("gauge")
+              .label("partition", partitionId)
+              .label("follower", follower)
+              .create();
+    }
+
+    /**
+     * @param lagPositions the distance between the last position appended by the leader and the
+     *     position acknowledged by the member
+     */
+    public void setLagPositions(final long lagPositions) {
+      this.lagPositions.setOrdered(lagPositions);
+    }
+
+    public void setInFlight(final int inFlightBytes, final int windowBytes) {
+      this.inFlightBytes.setOrdered(inFlightBytes);
+      this.window.setOrdered(windowBytes);
+    }
+
+    public void close() {
+      lagPositions.close();
+      inFlightBytes.close();
+      window.close();
+    }
+  }
+}
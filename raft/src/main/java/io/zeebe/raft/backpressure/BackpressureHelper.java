@@ -15,16 +15,38 @@
  */
 package io.zeebe.raft.backpressure;
 
+/**
+ * Limits the bytes which are sent to a follower but not yet acknowledged.
+ *
+ * <p>The follower advertises the size of its receive buffer, which is the upper bound of the bytes
+ * in flight. Within this bound, the window is sized by the bandwidth-delay product of the
+ * connection to the follower: the minimal round trip time of an acknowledgement multiplied with the
+ * rate in which the follower acknowledges bytes. As the window is a multiple of this product, it
+ * grows while the connection is not saturated, similar to the slow start of TCP, and settles once
+ * the acknowledged rate no longer increases.
+ */
 public class BackpressureHelper {
+  /** The window until the bandwidth-delay product of the connection is measured */
+  public static final int INITIAL_WINDOW = 64 * 1024;
+
+  /** The share of the remote buffer which is kept free for other messages, e.g. heartbeats */
+  private static final double REMOTE_BUFFER_RESERVE = 0.2;
+
+  /** The window is this multiple of the bandwidth-delay product, so that it can grow */
+  private static final int WINDOW_GAIN = 2;
+
   /**
    * records the size in bytes of each event by position. Required when the follower acknowledges
    * positions.
    */
   private final EventSizesByPosition eventSizesByPosition = new EventSizesByPosition();
 
-  /** The size of the remote buffer in bytes */
+  /** The size of the remote buffer in bytes, which can be used for events */
   private int remoteBufferSize;
 
+  /** The number of bytes which can currently be in flight */
+  private int window;
+
   /** The number of bytes that are currently "in flight". Sent, but not acknowledged */
   private int currentInFlight = 0;
 
@@ -33,29 +55,92 @@ public class BackpressureHelper {
 
   private boolean isFirstEventSent;
 
+  /** The minimal round trip time of an acknowledgement in nanoseconds */
+  private long minRoundTripTime = Long.MAX_VALUE;
+
+  /** The rate in which the follower acknowledges bytes, in bytes per nanosecond */
+  private double acknowledgeRate;
+
+  private long rateIntervalStart = -1;
+  private long rateIntervalBytes;
+
+  /** If events could not be sent in the current rate interval because the window was full */
+  private boolean isWindowLimited;
+
   /**
    * Initializes the backpressure helper with a remote buffersize
    *
    * @param remoteBufferSize size of the remote buffer in bytes
    */
   public BackpressureHelper(int remoteBufferSize) {
-    this.remoteBufferSize = remoteBufferSize - (int) (remoteBufferSize * 0.2);
+    setRemoteBufferSize(remoteBufferSize);
+    this.window = Math.min(INITIAL_WINDOW, this.remoteBufferSize);
   }
 
-  public void onEventSent(long position, int eventSize) {
+  /**
+   * Updates the size of the remote buffer, as advertised by the follower.
+   *
+   * @param remoteBufferSize size of the remote buffer in bytes, ignored if not positive
+   */
+  public void setRemoteBufferSize(int remoteBufferSize) {
+    if (remoteBufferSize > 0) {
+      this.remoteBufferSize = remoteBufferSize - (int) (remoteBufferSize * REMOTE_BUFFER_RESERVE);
+      this.window = Math.min(window, this.remoteBufferSize);
+    }
+  }
+
+  public void onEventSent(long position, int eventSize, long now) {
     if (!isFirstEventSent && !isFirstEventAcknowledged) {
       isFirstEventSent = true;
     }
 
-    eventSizesByPosition.add(position, eventSize);
+    eventSizesByPosition.add(position, eventSize, now);
     currentInFlight += eventSize;
   }
 
-  public void onEventAcknowledged(long position) {
+  public void onEventAcknowledged(long position, long now) {
     if (isFirstEventSent && !isFirstEventAcknowledged) {
       isFirstEventAcknowledged = true;
     }
-    currentInFlight -= eventSizesByPosition.markConsumed(position);
+
+    final int acknowledged = eventSizesByPosition.markConsumed(position);
+    currentInFlight -= acknowledged;
+
+    if (acknowledged > 0) {
+      final long sentAt = eventSizesByPosition.getLastConsumedTimestamp();
+      minRoundTripTime = Math.min(minRoundTripTime, Math.max(1, now - sentAt));
+
+      updateWindow(acknowledged, now);
+    }
+  }
+
+  private void updateWindow(int acknowledged, long now) {
+    if (rateIntervalStart < 0) {
+      rateIntervalStart = now;
+      return;
+    }
+
+    rateIntervalBytes += acknowledged;
+
+    final long elapsed = now - rateIntervalStart;
+    if (elapsed >= minRoundTripTime) {
+      final double rate = (double) rateIntervalBytes / elapsed;
+
+      if (rate > acknowledgeRate) {
+        acknowledgeRate = rate;
+      } else if (isWindowLimited) {
+        // only decrease if the rate was not limited by the events to send
+        acknowledgeRate += (rate - acknowledgeRate) / 4;
+      }
+
+      final long bandwidthDelayProduct = (long) (acknowledgeRate * minRoundTripTime);
+      final long nextWindow = Math.max(INITIAL_WINDOW, WINDOW_GAIN * bandwidthDelayProduct);
+      window = (int) Math.min(nextWindow, remoteBufferSize);
+
+      rateIntervalStart = now;
+      rateIntervalBytes = 0;
+      isWindowLimited = false;
+    }
   }
 
   public void reset() {
@@ -63,13 +148,33 @@ public class BackpressureHelper {
     currentInFlight = 0;
     isFirstEventSent = false;
     isFirstEventAcknowledged = false;
+    rateIntervalStart = -1;
+    rateIntervalBytes = 0;
+    isWindowLimited = false;
   }
 
   public boolean canSend(int bytes) {
-    if (!isFirstEventSent) {
+    if (!isFirstEventSent || currentInFlight == 0) {
+      // always send at least one event, even if it is larger than the window
+      return true;
+    } else if (window > currentInFlight + bytes) {
       return true;
     } else {
-      return remoteBufferSize > currentInFlight + bytes;
+      isWindowLimited = true;
+      return false;
     }
   }
+
+  /** @return the number of bytes which are sent but not acknowledged yet */
+  public int getInFlight() {
+    return currentInFlight;
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  public int getRemoteBufferSize() {
+    return remoteBufferSize;
+  }
 }
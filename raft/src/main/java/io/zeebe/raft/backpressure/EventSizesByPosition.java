@@ -26,7 +26,8 @@ import org.agrona.BitUtil;
  *
  * <p>For each event position that has not yet been acknowledged by the follower, the size of the
  * corresponding event (in bytes) is recorded. When the follower acknowledges an event, all event
- * sizes up to (and including) this position are removed.
+ * sizes up to (and including) this position are removed. Optionally, the time when the event was
+ * sent is recorded as well, to measure the round trip time of an acknowledgement.
  *
  * <p>The datastructure is array backed and optimized for linear scanning access. The arrays are
  * automatically grown to the necessary size. Once this state is reached, it is garbage free in a
@@ -35,15 +36,18 @@ import org.agrona.BitUtil;
 public class EventSizesByPosition {
   private long[] positions;
   private int[] eventSizes;
+  private long[] timestamps;
   private int capacity;
   private long head;
   private long tail;
+  private long lastConsumedTimestamp = -1;
 
   public EventSizesByPosition(int initialCapacity) {
     this.capacity = initialCapacity;
 
     this.positions = new long[capacity];
     this.eventSizes = new int[capacity];
+    this.timestamps = new long[capacity];
 
     this.head = 0;
     this.tail = 0;
@@ -70,12 +74,24 @@ public class EventSizesByPosition {
    * @param eventSize the size of the event
    */
   public void add(long pos, int eventSize) {
+    add(pos, eventSize, -1);
+  }
+
+  /**
+   * record the size of an event by position, together with the time when it was sent
+   *
+   * @param pos the position of the vent
+   * @param eventSize the size of the event
+   * @param timestamp the time when the event was sent
+   */
+  public void add(long pos, int eventSize, long timestamp) {
     ensureCapacity();
 
     final int offset = offset(head++, capacity);
 
     positions[offset] = pos;
     eventSizes[offset] = eventSize;
+    timestamps[offset] = timestamp;
   }
 
   /**
@@ -93,9 +109,11 @@ public class EventSizesByPosition {
 
       if (position <= limit) {
         consumed += eventSizes[offset];
+        lastConsumedTimestamp = timestamps[offset];
 
         positions[offset] = 0;
         eventSizes[offset] = 0;
+        timestamps[offset] = 0;
 
         tail++;
       } else {
@@ -106,6 +124,14 @@ public class EventSizesByPosition {
     return consumed;
   }
 
+  /**
+   * @return the time when the last event was sent which was consumed by {@link
+   *     #markConsumed(long)}, or -1 if no time was recorded
+   */
+  public long getLastConsumedTimestamp() {
+    return lastConsumedTimestamp;
+  }
+
   public boolean isEmpty() {
     return size() == 0;
   }
@@ -120,15 +146,26 @@ public class EventSizesByPosition {
 
   private void ensureCapacity() {
     if (size() == capacity) {
-      capacity = BitUtil.findNextPositivePowerOfTwo(capacity + 1);
+      final int newCapacity = BitUtil.findNextPositivePowerOfTwo(capacity + 1);
 
-      final long[] positions = new long[capacity];
-      System.arraycopy(this.positions, 0, positions, 0, this.positions.length);
-      this.positions = positions;
+      final long[] positions = new long[newCapacity];
+      final int[] eventSizes = new int[newCapacity];
+      final long[] timestamps = new long[newCapacity];
 
-      final int[] eventSizes = new int[capacity];
-      System.arraycopy(this.eventSizes, 0, eventSizes, 0, this.eventSizes.length);
+      // the offsets depend on the capacity, so the entries are copied to their new offsets
+      for (long i = tail; i < head; i++) {
+        final int offset = offset(i, capacity);
+        final int newOffset = offset(i, newCapacity);
+
+        positions[newOffset] = this.positions[offset];
+        eventSizes[newOffset] = this.eventSizes[offset];
+        timestamps[newOffset] = this.timestamps[offset];
+      }
+
+      this.positions = positions;
       this.eventSizes = eventSizes;
+      this.timestamps = timestamps;
+      this.capacity = newCapacity;
     }
   }
 
@@ -137,5 +174,7 @@ public class EventSizesByPosition {
     tail = 0;
     Arrays.fill(positions, 0);
     Arrays.fill(eventSizes, 0);
+    Arrays.fill(timestamps, 0);
+    lastConsumedTimestamp = -1;
   }
 }
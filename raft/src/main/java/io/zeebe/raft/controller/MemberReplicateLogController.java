@@ -15,18 +15,25 @@
  */
 package io.zeebe.raft.controller;
 
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getFragmentLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getPosition;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getRaftTerm;
 import static io.zeebe.raft.AppendRequestEncoder.previousEventPositionNullValue;
 import static io.zeebe.raft.AppendRequestEncoder.previousEventTermNullValue;
 
+import io.zeebe.logstreams.impl.CompleteEventsInBlockProcessor;
+import io.zeebe.logstreams.impl.LogStorageAppender;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndexContext;
 import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.raft.Loggers;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.RaftMember;
+import io.zeebe.raft.RaftMetrics.MemberReplicationMetrics;
 import io.zeebe.raft.backpressure.BackpressureHelper;
 import io.zeebe.raft.protocol.AppendRequest;
 import io.zeebe.servicecontainer.Service;
@@ -34,24 +41,39 @@ import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.ClientOutput;
 import io.zeebe.transport.ClientTransport;
+import io.zeebe.util.allocation.AllocatedBuffer;
+import io.zeebe.util.allocation.BufferAllocators;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.clock.ActorClock;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
-/** Per-follower replication controller */
+/**
+ * Per-follower replication controller
+ *
+ * <p>Events are sent one by one, as they are appended. If the follower lags behind the commit
+ * position, e.g. after it was down, the controller catches it up by sending blocks of consecutive
+ * events, which are read from the log storage as they are stored and appended by the follower as a
+ * whole.
+ */
 public class MemberReplicateLogController extends Actor implements Service<Void> {
-  /** TODO: remove constant, follower should tell us on join or other request */
-  public static final int REMOTE_BUFFER_SIZE = 1024 * 1024 * 2;
+  /** The maximal length of a block, the length of the request data is encoded as uint16 */
+  public static final int MAX_BLOCK_LENGTH = 63 * 1024;
+
+  /** Upper bound of the headers of an append request and its frame in the receive buffer */
+  private static final int BLOCK_REQUEST_HEADER_LENGTH = 1024;
 
   private static final Logger LOG = Loggers.RAFT_LOGGER;
   private static final boolean IS_TRACE_ENABLED = LOG.isTraceEnabled();
 
   private final AppendRequest appendRequest = new AppendRequest();
 
-  private final BackpressureHelper backpressureHelper = new BackpressureHelper(REMOTE_BUFFER_SIZE);
+  private final BackpressureHelper backpressureHelper;
+  private final MemberReplicationMetrics metrics;
   private final LogBlockIndex logBlockIndex;
   private final LogBlockIndexContext indexContext;
 
@@ -71,6 +93,24 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
   private int previousTerm;
 
   private ActorCondition appenderCondition;
+
+  // catch up
+  private final LogStorage logStorage;
+  private final AllocatedBuffer allocatedBlockBuffer =
+      BufferAllocators.allocateDirect(MAX_BLOCK_LENGTH);
+  private final ByteBuffer blockBuffer = allocatedBlockBuffer.getRawBuffer();
+  private final UnsafeBuffer blockView = new UnsafeBuffer(blockBuffer);
+  private final CompleteEventsInBlockProcessor completeEventsProcessor =
+      new CompleteEventsInBlockProcessor();
+  /** address in the log storage of the last read block */
+  private long blockAddress = -1;
+  /** address in the log storage after the last read block, or -1 if unknown */
+  private long nextBlockAddress = -1;
+  /** if the follower acknowledged an event since the last reset, i.e. its log matches */
+  private boolean isFollowerLogMatching;
+  /** if the reader has to be positioned after the previous event, as blocks were sent */
+  private boolean isReaderBehind;
+
   private final String name;
 
   private RaftMember member;
@@ -88,10 +128,16 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     this.clientOutput = clientTransport.getOutput();
     this.logStream = raft.getLogStream();
 
+    // assume the follower has the same buffer size, until it advertises its size
+    this.backpressureHelper =
+        new BackpressureHelper(raft.getConfiguration().getReceiveBufferSizeBytes());
+
+    this.logStorage = logStream.getLogStorage();
     this.logBlockIndex = logStream.getLogBlockIndex();
     this.indexContext = logBlockIndex.createLogBlockIndexContext();
 
     this.reader = new BufferedLogStreamReader(logStream, true);
+    this.metrics = raft.getMetrics().newMemberReplicationMetrics(nodeId);
   }
 
   @Override
@@ -114,6 +160,7 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
   @Override
   protected void onActorStarted() {
     member.setReplicationController(this);
+    backpressureHelper.setRemoteBufferSize(member.getReceiveWindow());
 
     if (IS_TRACE_ENABLED) {
       LOG.trace("started");
@@ -130,7 +177,7 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
   protected void onActorClosing() {
     member.setReplicationController(null);
 
-    raft.getLogStream().removeOnCommitPositionUpdatedCondition(appenderCondition);
+    raft.getLogStream().removeOnAppendCondition(appenderCondition);
   }
 
   @Override
@@ -140,6 +187,8 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     }
 
     reader.close();
+    allocatedBlockBuffer.close();
+    metrics.close();
   }
 
   private void onHeartbeatTimerFired() {
@@ -158,24 +207,34 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     actor.runUntilDone(sendNextEventsFn);
   }
 
-  public void onFollowerHasAcknowledgedPosition(long position) {
+  public void onFollowerHasAcknowledgedPosition(long position, int receiveWindow) {
     actor.run(
         () -> {
           if (IS_TRACE_ENABLED) {
-            LOG.trace("follower acknowledged position {}", position);
+            LOG.trace(
+                "follower acknowledged position {}, send window {} bytes",
+                position,
+                backpressureHelper.getWindow());
           }
-          backpressureHelper.onEventAcknowledged(position);
+          backpressureHelper.setRemoteBufferSize(receiveWindow);
+          backpressureHelper.onEventAcknowledged(position, ActorClock.current().getNanoTime());
+          isFollowerLogMatching = true;
+          updateLagMetrics(position);
+          updateInFlightMetrics();
           actor.runUntilDone(sendNextEventsFn);
         });
   }
 
-  public void onFollowerHasFailedPosition(long position) {
+  public void onFollowerHasFailedPosition(long position, int receiveWindow) {
     actor.run(
         () -> {
           if (IS_TRACE_ENABLED) {
             LOG.trace("follower failed position {}", position);
           }
+          backpressureHelper.setRemoteBufferSize(receiveWindow);
           backpressureHelper.reset();
+          updateInFlightMetrics();
+          resetCatchUp();
           resetToPosition(position);
           actor.runUntilDone(sendNextEventsFn);
         });
@@ -188,6 +247,16 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
     actor.setPriority(ActorPriority.REGULAR);
 
+    if (isCatchingUp() && sendNextBlock()) {
+      return;
+    }
+
+    if (isReaderBehind) {
+      // continue with single events after the last sent block
+      isReaderBehind = false;
+      setPreviousEvent(previousPosition);
+    }
+
     final LoggedEventImpl nextEvent = getNextEvent();
 
     appendRequest
@@ -208,7 +277,9 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
         lastRequestTimestamp = now;
 
         if (nextEvent != null) {
-          backpressureHelper.onEventSent(nextEvent.getPosition(), requestSize);
+          backpressureHelper.onEventSent(
+              nextEvent.getPosition(), requestSize, ActorClock.current().getNanoTime());
+          updateInFlightMetrics();
           setPreviousEvent(nextEvent);
         }
       } else {
@@ -227,6 +298,188 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     }
   }
 
+  private void updateLagMetrics(final long acknowledgedPosition) {
+    final LogStorageAppender appender = logStream.getLogStorageAppender();
+    if (appender == null) {
+      return;
+    }
+
+    if (isFollowerCaughtUp(acknowledgedPosition)) {
+      // the follower has acknowledged every appended event
+      metrics.setLagPositions(0);
+    } else {
+      // the appender position is the position of the next event
+      final long lastPosition = appender.getCurrentAppenderPosition() - 1;
+      metrics.setLagPositions(Math.max(0, lastPosition - acknowledgedPosition));
+    }
+  }
+
+  private boolean isFollowerCaughtUp(final long acknowledgedPosition) {
+    return !isReaderBehind
+        && acknowledgedPosition >= previousPosition
+        && bufferedEvent == null
+        && !reader.hasNext();
+  }
+
+  private void updateInFlightMetrics() {
+    metrics.setInFlight(backpressureHelper.getInFlight(), backpressureHelper.getWindow());
+  }
+
+  private boolean isCatchingUp() {
+    return isFollowerLogMatching
+        && !isClosing
+        && previousPosition >= 0
+        && previousPosition < logStream.getCommitPosition();
+  }
+
+  /**
+   * Reads the events after the previous event as a block from the log storage, and sends them in
+   * one request.
+   *
+   * @return false if no block could be read, e.g. because the next event is larger than a block
+   */
+  private boolean sendNextBlock() {
+    final int blockOffset = readNextBlock();
+    if (blockOffset < 0) {
+      resetCatchUp();
+      return false;
+    }
+
+    final int blockEnd = blockBuffer.position();
+    int lastEventOffset = blockOffset;
+    for (int offset = blockOffset; offset < blockEnd; ) {
+      lastEventOffset = offset;
+      offset += getFragmentLength(blockView, offset);
+    }
+
+    appendRequest
+        .reset()
+        .setRaft(raft)
+        .setPreviousEventPosition(previousPosition)
+        .setPreviousEventTerm(previousTerm)
+        .setBlock(blockView, blockOffset, blockEnd - blockOffset);
+
+    final int requestSize = appendRequest.getLength();
+    final long now = ActorClock.currentTimeMillis();
+
+    if (!backpressureHelper.canSend(requestSize)) {
+      // read the block again once the follower acknowledged more events
+      nextBlockAddress = blockAddress;
+
+      if (now - lastRequestTimestamp >= heartbeatInterval.toMillis()) {
+        sendHeartbeat(now);
+      }
+      actor.done();
+    } else if (clientOutput.sendMessage(nodeId, appendRequest)) {
+      final long lastPosition = getPosition(blockView, lastEventOffset);
+
+      lastRequestTimestamp = now;
+      backpressureHelper.onEventSent(lastPosition, requestSize, ActorClock.current().getNanoTime());
+      updateInFlightMetrics();
+
+      previousPosition = lastPosition;
+      previousTerm = getRaftTerm(blockView, lastEventOffset);
+      isReaderBehind = true;
+    } else {
+      nextBlockAddress = blockAddress;
+      actor.setPriority(ActorPriority.LOW);
+      actor.yield();
+    }
+
+    return true;
+  }
+
+  private void sendHeartbeat(final long now) {
+    appendRequest
+        .reset()
+        .setRaft(raft)
+        .setPreviousEventPosition(previousPosition)
+        .setPreviousEventTerm(previousTerm);
+
+    if (clientOutput.sendMessage(nodeId, appendRequest)) {
+      lastRequestTimestamp = now;
+    }
+  }
+
+  /**
+   * Reads the events after the previous event into the block buffer, starting at the address after
+   * the last block or at the indexed block of the previous event.
+   *
+   * @return the offset of the first event after the previous event in the block buffer, or -1 if no
+   *     complete event after the previous event could be read
+   */
+  private int readNextBlock() {
+    final int maxBlockLength = getMaxBlockLength(getReceiveWindow());
+    if (maxBlockLength <= 0) {
+      // the follower can not receive blocks, so the events are sent one by one
+      return -1;
+    }
+
+    long address = nextBlockAddress;
+    if (address < 0) {
+      address = logBlockIndex.lookupBlockAddress(indexContext, previousPosition);
+      if (address < 0) {
+        address = logStorage.getFirstBlockAddress();
+      }
+    }
+
+    while (address >= 0) {
+      blockBuffer.clear();
+      blockBuffer.limit(maxBlockLength);
+
+      final long nextAddress = logStorage.read(blockBuffer, address, completeEventsProcessor);
+      if (nextAddress <= 0) {
+        // no data, invalid address or an event which is larger than a block
+        return -1;
+      }
+
+      final int readLength = blockBuffer.position();
+      int offset = 0;
+      while (offset < readLength && getPosition(blockView, offset) <= previousPosition) {
+        offset += getFragmentLength(blockView, offset);
+      }
+
+      if (offset < readLength) {
+        blockAddress = address;
+        nextBlockAddress = nextAddress;
+        return offset;
+      } else {
+        address = nextAddress;
+      }
+    }
+
+    return -1;
+  }
+
+  private int getReceiveWindow() {
+    final int receiveWindow = member.getReceiveWindow();
+    if (receiveWindow <= 0) {
+      return raft.getConfiguration().getReceiveBufferSizeBytes();
+    }
+    return receiveWindow;
+  }
+
+  /**
+   * @param receiveWindow the size of the receive buffer of the follower, which accepts messages up
+   *     to an eighth of its size
+   * @return the maximal length of a block, so that the request fits into the receive buffer, or
+   *     zero if the receive buffer is too small for a block request
+   */
+  public static int getMaxBlockLength(final int receiveWindow) {
+    final int maxBlockLength = receiveWindow / 8 - BLOCK_REQUEST_HEADER_LENGTH;
+    return Math.max(0, Math.min(MAX_BLOCK_LENGTH, maxBlockLength));
+  }
+
+  private void resetCatchUp() {
+    nextBlockAddress = -1;
+    isFollowerLogMatching = false;
+
+    if (isReaderBehind) {
+      isReaderBehind = false;
+      setPreviousEvent(previousPosition);
+    }
+  }
+
   private void setBufferedEvent(final LoggedEventImpl bufferedEvent) {
     this.bufferedEvent = bufferedEvent;
   }
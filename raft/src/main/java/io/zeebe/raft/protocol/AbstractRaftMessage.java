@@ -26,10 +26,14 @@ public abstract class AbstractRaftMessage implements BufferReader, BufferWriter
   protected final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
   protected final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
 
+  /**
+   * Wraps the message if the buffer contains a message of this type. Messages of a previous schema
+   * version are accepted as well, the fields which were added since then have their null value.
+   */
   public boolean tryWrap(final DirectBuffer buffer, final int offset, final int length) {
     headerDecoder.wrap(buffer, offset);
 
-    if (headerDecoder.version() != getVersion()
+    if (headerDecoder.version() > getVersion()
         || headerDecoder.schemaId() != getSchemaId()
         || headerDecoder.templateId() != getTemplateId()) {
       return false;
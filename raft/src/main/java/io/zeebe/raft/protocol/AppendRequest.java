@@ -51,6 +51,7 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
 
   // write
   private LoggedEventImpl writeEvent;
+  private final DirectBuffer writeBlock = new UnsafeBuffer(0, 0);
 
   public AppendRequest() {
     reset();
@@ -68,6 +69,7 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
     readEvent.wrap(null, -1);
 
     writeEvent = null;
+    writeBlock.wrap(0, 0);
 
     return this;
   }
@@ -137,6 +139,24 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
     return this;
   }
 
+  /** @return true if the request contains more than one event */
+  public boolean isBlock() {
+    return readEvent.getBuffer() != null && readEvent.getFragmentLength() < readData.capacity();
+  }
+
+  /** @return the consecutive events of the request, as they are stored in the log */
+  public DirectBuffer getBlock() {
+    return readData;
+  }
+
+  /**
+   * Sets consecutive events to append, as they are stored in the log, instead of a single event.
+   */
+  public AppendRequest setBlock(final DirectBuffer buffer, final int offset, final int length) {
+    writeBlock.wrap(buffer, offset, length);
+    return this;
+  }
+
   public AppendRequest setRaft(final Raft raft) {
     final LogStream logStream = raft.getLogStream();
 
@@ -154,6 +174,8 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
 
     if (writeEvent != null) {
       length += writeEvent.getFragmentLength();
+    } else {
+      length += writeBlock.capacity();
     }
 
     return length;
@@ -217,6 +239,8 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
     if (writeEvent != null) {
       bodyEncoder.putData(
           writeEvent.getBuffer(), writeEvent.getFragmentOffset(), writeEvent.getFragmentLength());
+    } else if (writeBlock.capacity() > 0) {
+      bodyEncoder.putData(writeBlock, 0, writeBlock.capacity());
     }
   }
 }
@@ -18,6 +18,7 @@ package io.zeebe.raft.protocol;
 import static io.zeebe.raft.AppendResponseEncoder.nodeIdNullValue;
 import static io.zeebe.raft.AppendResponseEncoder.partitionIdNullValue;
 import static io.zeebe.raft.AppendResponseEncoder.previousEventPositionNullValue;
+import static io.zeebe.raft.AppendResponseEncoder.receiveWindowNullValue;
 import static io.zeebe.raft.AppendResponseEncoder.termNullValue;
 
 import io.zeebe.logstreams.log.LogStream;
@@ -39,6 +40,7 @@ public class AppendResponse extends AbstractRaftMessage
   protected boolean succeeded;
   protected long previousEventPosition;
   protected int nodeId;
+  protected int receiveWindow;
 
   public AppendResponse() {
     reset();
@@ -50,6 +52,7 @@ public class AppendResponse extends AbstractRaftMessage
     succeeded = false;
     previousEventPosition = previousEventPositionNullValue();
     nodeId = nodeIdNullValue();
+    receiveWindow = receiveWindowNullValue();
 
     return this;
   }
@@ -102,12 +105,18 @@ public class AppendResponse extends AbstractRaftMessage
     return nodeId;
   }
 
+  /** @return the size of the receive buffer of the sender in bytes, negative if unknown */
+  public int getReceiveWindow() {
+    return receiveWindow;
+  }
+
   public AppendResponse setRaft(final Raft raft) {
     final LogStream logStream = raft.getLogStream();
 
     partitionId = logStream.getPartitionId();
     term = raft.getTerm();
     nodeId = raft.getNodeId();
+    receiveWindow = raft.getReceiveWindow();
 
     return this;
   }
@@ -133,6 +142,7 @@ public class AppendResponse extends AbstractRaftMessage
     succeeded = bodyDecoder.succeeded() == BooleanType.TRUE;
     previousEventPosition = bodyDecoder.previousEventPosition();
     nodeId = bodyDecoder.nodeId();
+    receiveWindow = bodyDecoder.receiveWindow();
 
     assert bodyDecoder.limit() == frameEnd
         : "Decoder read only to position "
@@ -159,6 +169,7 @@ public class AppendResponse extends AbstractRaftMessage
         .term(term)
         .succeeded(succeeded ? BooleanType.TRUE : BooleanType.FALSE)
         .previousEventPosition(previousEventPosition)
-        .nodeId(nodeId);
+        .nodeId(nodeId)
+        .receiveWindow(receiveWindow);
   }
 }
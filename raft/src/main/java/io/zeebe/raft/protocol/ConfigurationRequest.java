@@ -17,6 +17,7 @@ package io.zeebe.raft.protocol;
 
 import static io.zeebe.raft.ConfigurationRequestEncoder.nodeIdNullValue;
 import static io.zeebe.raft.ConfigurationRequestEncoder.partitionIdNullValue;
+import static io.zeebe.raft.ConfigurationRequestEncoder.receiveWindowNullValue;
 import static io.zeebe.raft.ConfigurationRequestEncoder.termNullValue;
 
 import io.zeebe.logstreams.log.LogStream;
@@ -37,6 +38,7 @@ public class ConfigurationRequest extends AbstractRaftMessage
   protected int term;
   protected int nodeId;
   protected boolean joinRequest;
+  protected int receiveWindow;
 
   public ConfigurationRequest() {
     reset();
@@ -47,6 +49,7 @@ public class ConfigurationRequest extends AbstractRaftMessage
     term = termNullValue();
     nodeId = nodeIdNullValue();
     joinRequest = true;
+    receiveWindow = receiveWindowNullValue();
 
     return this;
   }
@@ -85,12 +88,18 @@ public class ConfigurationRequest extends AbstractRaftMessage
     return nodeId;
   }
 
+  /** @return the size of the receive buffer of the sender in bytes, negative if unknown */
+  public int getReceiveWindow() {
+    return receiveWindow;
+  }
+
   public ConfigurationRequest setRaft(final Raft raft) {
     final LogStream logStream = raft.getLogStream();
 
     partitionId = logStream.getPartitionId();
     term = raft.getTerm();
     nodeId = raft.getNodeId();
+    receiveWindow = raft.getReceiveWindow();
 
     return this;
   }
@@ -120,6 +129,7 @@ public class ConfigurationRequest extends AbstractRaftMessage
     term = bodyDecoder.term();
     nodeId = bodyDecoder.nodeId();
     joinRequest = bodyDecoder.join() == BooleanType.TRUE;
+    receiveWindow = bodyDecoder.receiveWindow();
 
     assert bodyDecoder.limit() == frameEnd
         : "Decoder read only to position "
@@ -145,6 +155,7 @@ public class ConfigurationRequest extends AbstractRaftMessage
         .partitionId(partitionId)
         .term(term)
         .nodeId(nodeId)
-        .join(joinRequest ? BooleanType.TRUE : BooleanType.FALSE);
+        .join(joinRequest ? BooleanType.TRUE : BooleanType.FALSE)
+        .receiveWindow(receiveWindow);
   }
 }
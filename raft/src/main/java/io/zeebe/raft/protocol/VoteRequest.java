@@ -22,6 +22,7 @@ import static io.zeebe.raft.VoteRequestEncoder.partitionIdNullValue;
 import static io.zeebe.raft.VoteRequestEncoder.termNullValue;
 
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.raft.BooleanType;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.VoteRequestDecoder;
 import io.zeebe.raft.VoteRequestEncoder;
@@ -38,6 +39,7 @@ public class VoteRequest extends AbstractRaftMessage implements HasNodeId, HasTe
   private long lastEventPosition;
   private int lastEventTerm;
   private int nodeId;
+  private boolean leaderTransfer;
 
   public VoteRequest() {
     reset();
@@ -49,6 +51,7 @@ public class VoteRequest extends AbstractRaftMessage implements HasNodeId, HasTe
     lastEventPosition = lastEventPositionNullValue();
     lastEventTerm = lastEventTermNullValue();
     nodeId = nodeIdNullValue();
+    leaderTransfer = false;
 
     return this;
   }
@@ -86,6 +89,15 @@ public class VoteRequest extends AbstractRaftMessage implements HasNodeId, HasTe
     return this;
   }
 
+  public boolean isLeaderTransfer() {
+    return leaderTransfer;
+  }
+
+  public VoteRequest setLeaderTransfer(final boolean leaderTransfer) {
+    this.leaderTransfer = leaderTransfer;
+    return this;
+  }
+
   @Override
   protected int getVersion() {
     return bodyDecoder.sbeSchemaVersion();
@@ -107,6 +119,7 @@ public class VoteRequest extends AbstractRaftMessage implements HasNodeId, HasTe
     partitionId = logStream.getPartitionId();
     term = raft.getTerm();
     nodeId = raft.getNodeId();
+    leaderTransfer = raft.isLeaderTransferTerm();
 
     return this;
   }
@@ -132,6 +145,7 @@ public class VoteRequest extends AbstractRaftMessage implements HasNodeId, HasTe
     lastEventPosition = bodyDecoder.lastEventPosition();
     lastEventTerm = bodyDecoder.lastEventTerm();
     nodeId = bodyDecoder.nodeId();
+    leaderTransfer = bodyDecoder.leaderTransfer() == BooleanType.TRUE;
 
     assert bodyDecoder.limit() == frameEnd
         : "Decoder read only to position "
@@ -158,6 +172,7 @@ public class VoteRequest extends AbstractRaftMessage implements HasNodeId, HasTe
         .term(term)
         .lastEventPosition(lastEventPosition)
         .lastEventTerm(lastEventTerm)
-        .nodeId(nodeId);
+        .nodeId(nodeId)
+        .leaderTransfer(leaderTransfer ? BooleanType.TRUE : BooleanType.FALSE);
   }
 }
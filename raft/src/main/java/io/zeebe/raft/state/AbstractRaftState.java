@@ -27,6 +27,7 @@ import io.zeebe.raft.protocol.AppendResponse;
 import io.zeebe.raft.protocol.ConfigurationRequest;
 import io.zeebe.raft.protocol.ConfigurationResponse;
 import io.zeebe.raft.protocol.HasNodeId;
+import io.zeebe.raft.protocol.LeaderTransferRequest;
 import io.zeebe.raft.protocol.PollRequest;
 import io.zeebe.raft.protocol.PollResponse;
 import io.zeebe.raft.protocol.VoteRequest;
@@ -61,6 +62,7 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
   protected final PollRequest pollRequest = new PollRequest();
   protected final VoteRequest voteRequest = new VoteRequest();
   protected final AppendRequest appendRequest = new AppendRequest();
+  protected final LeaderTransferRequest leaderTransferRequest = new LeaderTransferRequest();
 
   protected final BufferedLogStreamReader reader;
 
@@ -141,6 +143,8 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
       appendRequest(appendRequest);
     } else if (appendResponse.tryWrap(buffer, index, length)) {
       appendResponse(appendResponse);
+    } else if (leaderTransferRequest.tryWrap(buffer, index, length)) {
+      leaderTransferRequest(leaderTransferRequest);
     }
   }
 
@@ -189,17 +193,22 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
       final RemoteAddress remoteAddress,
       final long requestId,
       final VoteRequest voteRequest) {
-    raft.mayStepDown(voteRequest);
+    final boolean isLeaderTransfer = voteRequest.isLeaderTransfer();
+    if (raft.mayStepDown(voteRequest) && isLeaderTransfer && getState() == RaftState.FOLLOWER) {
+      // a follower does not act on its former term anymore, so it can vote in the new term right
+      // away instead of waiting for the transition to the new term
+      raft.setTerm(voteRequest.getTerm());
+    }
 
     final boolean granted =
         raft.isTermCurrent(voteRequest)
             && raft.canVoteFor(voteRequest)
             && appender.isAfterOrEqualsLastEvent(
-                voteRequest.getLastEventPosition(), voteRequest.getLastEventTerm())
-            && heartbeat.shouldElect();
+                voteRequest.getLastEventPosition(), voteRequest.getLastEventTerm());
 
     if (granted) {
-      if (heartbeat.shouldElect()) {
+      // the leader itself asked the candidate to take over, so the heartbeat is not awaited
+      if (isLeaderTransfer || heartbeat.shouldElect()) {
         raft.setVotedFor(voteRequest.getNodeId());
         acceptVoteRequest(serverOutput, remoteAddress, requestId);
       } else {
@@ -220,6 +229,10 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
     raft.mayStepDown(appendResponse);
   }
 
+  protected void leaderTransferRequest(final LeaderTransferRequest leaderTransferRequest) {
+    raft.mayStepDown(leaderTransferRequest);
+  }
+
   protected void acceptConfigurationRequest(
       final ServerOutput serverOutput, final RemoteAddress remoteAddress, final long requestId) {
     configurationResponse.reset().setSucceeded(true).setRaft(raft);
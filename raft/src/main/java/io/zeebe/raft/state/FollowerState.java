@@ -18,11 +18,17 @@ package io.zeebe.raft.state;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.protocol.AppendRequest;
+import io.zeebe.raft.protocol.LeaderTransferRequest;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.SchedulingHints;
 
 public class FollowerState extends AbstractRaftState {
+  private static final int MAX_MESSAGES_PER_READ = 16;
+
+  /** bounds the delay of the ack while the leader keeps sending append requests */
+  private static final int MAX_APPENDS_PER_FLUSH = 64;
+
   public FollowerState(Raft raft, ActorControl raftActor) {
     super(raft, raftActor);
   }
@@ -46,11 +52,13 @@ public class FollowerState extends AbstractRaftState {
 
   @Override
   protected void consumeMessage() {
-    super.consumeMessage();
+    messageBuffer.read(this, MAX_MESSAGES_PER_READ);
 
-    // when there are no more append requests immediately available,
-    // flush now and send the ack immediately
-    if (!appender.isClosed() && !messageBuffer.hasAvailable()) {
+    // when there are no more append requests immediately available, or enough appends are
+    // coalesced, flush now and send one ack for all of them
+    if (!appender.isClosed()
+        && (!messageBuffer.hasAvailable()
+            || appender.getDeferredAppends() >= MAX_APPENDS_PER_FLUSH)) {
       appender.flushAndAck();
     }
   }
@@ -65,13 +73,23 @@ public class FollowerState extends AbstractRaftState {
 
     if (!appender.isClosed() && raft.isTermCurrent(appendRequest)) {
       final boolean lastEvent = appender.isLastEvent(previousEventPosition, previousEventTerm);
-      if (lastEvent) {
+      if (lastEvent && appendRequest.isBlock()) {
+        appender.appendBlock(appendRequest, appendRequest.getBlock());
+      } else if (lastEvent) {
         appender.appendEvent(appendRequest, event);
       } else {
+        // a block is truncated to its first event, the leader sends the following events again
         appender.truncateLog(appendRequest, event);
       }
     } else {
       rejectAppendRequest(appendRequest, appender.getLastPosition());
     }
   }
+
+  @Override
+  protected void leaderTransferRequest(final LeaderTransferRequest leaderTransferRequest) {
+    if (!raft.mayStepDown(leaderTransferRequest) && raft.isTermCurrent(leaderTransferRequest)) {
+      raft.becomeCandidateOnLeaderTransfer();
+    }
+  }
 }
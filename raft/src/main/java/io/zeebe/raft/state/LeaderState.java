@@ -15,31 +15,43 @@
  */
 package io.zeebe.raft.state;
 
+import io.zeebe.logstreams.impl.LogStorageAppender;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.intent.RaftIntent;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.RaftMember;
+import io.zeebe.raft.RaftMetrics;
 import io.zeebe.raft.controller.AppendRaftEventController;
 import io.zeebe.raft.protocol.AppendResponse;
 import io.zeebe.raft.protocol.ConfigurationRequest;
+import io.zeebe.raft.protocol.LeaderTransferRequest;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.clock.ActorClock;
 import java.util.Arrays;
 import java.util.List;
 
 public class LeaderState extends AbstractRaftState {
   private final AppendRaftEventController configurationChangeController;
 
+  private final RaftMetrics metrics;
+
   private ActorCondition appendCondition;
 
+  // the commit latency is measured for one appended event at a time
+  private ActorCondition sampleAppendCondition;
+  private long sampledPosition = -1;
+  private long sampledTimestamp;
+
   private boolean initialEventCommitted = false;
   private long initialEventPosition = -1;
 
   public LeaderState(Raft raft, ActorControl raftActor) {
     super(raft, raftActor);
     this.configurationChangeController = new AppendRaftEventController(raft, raftActor);
+    this.metrics = raft.getMetrics();
   }
 
   @Override
@@ -49,12 +61,20 @@ public class LeaderState extends AbstractRaftState {
     if (raftMembers.getMemberSize() == 0) {
       createOnAppendCondition();
     }
+
+    sampleAppendCondition =
+        raftActor.onCondition("sample-append-condition", this::sampleAppendedPosition);
+    logStream.registerOnAppendCondition(sampleAppendCondition);
   }
 
   @Override
   protected void onLeaveState() {
     configurationChangeController.close();
     removeOnAppendCondition();
+
+    sampleAppendCondition.cancel();
+    logStream.removeOnAppendCondition(sampleAppendCondition);
+
     super.onLeaveState();
   }
 
@@ -89,7 +109,8 @@ public class LeaderState extends AbstractRaftState {
       if (initialEventCommitted && !configurationChangeController.isHandlingConfigurationChange()) {
         final int member = configurationRequest.getNodeId();
         if (configurationRequest.isJoinRequest()) {
-          join(serverOutput, remoteAddress, requestId, member);
+          final int receiveWindow = configurationRequest.getReceiveWindow();
+          join(serverOutput, remoteAddress, requestId, member, receiveWindow);
         } else {
           leave(serverOutput, remoteAddress, requestId, member);
         }
@@ -103,11 +124,15 @@ public class LeaderState extends AbstractRaftState {
       final ServerOutput serverOutput,
       final RemoteAddress remoteAddress,
       final long requestId,
-      final int newMember) {
+      final int newMember,
+      final int receiveWindow) {
     if (raftMembers.hasMember(newMember)) {
+      raftMembers.getMember(newMember).setReceiveWindow(receiveWindow);
       acceptConfigurationRequest(serverOutput, remoteAddress, requestId);
     } else {
       if (raft.joinMember(newMember)) {
+        raftMembers.getMember(newMember).setReceiveWindow(receiveWindow);
+
         configurationChangeController.prepare(
             serverOutput, remoteAddress, requestId, RaftIntent.MEMBER_ADDED);
         configurationChangeController.appendEvent();
@@ -151,15 +176,16 @@ public class LeaderState extends AbstractRaftState {
     if (!raft.mayStepDown(appendResponse)) {
       final boolean succeeded = appendResponse.isSucceeded();
       final long eventPosition = appendResponse.getPreviousEventPosition();
+      final int receiveWindow = appendResponse.getReceiveWindow();
 
       final RaftMember member = raftMembers.getMember(appendResponse.getNodeId());
 
       if (member != null) {
         if (succeeded) {
-          member.onFollowerHasAcknowledgedPosition(eventPosition);
+          member.onFollowerHasAcknowledgedPosition(eventPosition, receiveWindow);
           commit();
         } else {
-          member.onFollowerHasFailedPosition(eventPosition);
+          member.onFollowerHasFailedPosition(eventPosition, receiveWindow);
         }
       }
     }
@@ -192,17 +218,72 @@ public class LeaderState extends AbstractRaftState {
         && commitPosition >= initialEventPosition
         && logStream.getCommitPosition() < commitPosition) {
       logStream.setCommitPosition(commitPosition);
+      recordCommitLatency(commitPosition);
     }
   }
 
   private void commitPositionOnSingleNode() {
+    // sample before the position is committed, the sample condition may run after this one
+    sampleAppendedPosition();
+
     final long commitPosition = logStream.getLogStorageAppender().getCurrentAppenderPosition() - 1;
 
     if (initialEventPosition >= 0
         && commitPosition >= initialEventPosition
         && logStream.getCommitPosition() < commitPosition) {
       logStream.setCommitPosition(commitPosition);
+      recordCommitLatency(commitPosition);
+    }
+  }
+
+  private void sampleAppendedPosition() {
+    final LogStorageAppender appender = logStream.getLogStorageAppender();
+
+    if (sampledPosition < 0 && appender != null) {
+      final long appendedPosition = appender.getCurrentAppenderPosition() - 1;
+
+      if (appendedPosition > logStream.getCommitPosition()) {
+        sampledPosition = appendedPosition;
+        sampledTimestamp = ActorClock.current().getNanoTime();
+      }
+    }
+  }
+
+  private void recordCommitLatency(final long commitPosition) {
+    if (sampledPosition >= 0 && commitPosition >= sampledPosition) {
+      final long latencyNanos = ActorClock.current().getNanoTime() - sampledTimestamp;
+      metrics.recordCommitLatency(latencyNanos / 1_000);
+
+      sampledPosition = -1;
+    }
+  }
+
+  /**
+   * Hands the leadership over to the given member: asks it to start an election right away and
+   * steps down. Only a member which has replicated all committed events can take over, as the other
+   * members would not vote for it otherwise.
+   *
+   * @return true if the member was asked to take over, false if it is not able to
+   */
+  public boolean transferLeadership(final int nodeId) {
+    final RaftMember member = raftMembers.getMember(nodeId);
+
+    if (!initialEventCommitted
+        || member == null
+        || member.getMatchPosition() < logStream.getCommitPosition()) {
+      return false;
+    }
+
+    final LeaderTransferRequest request = leaderTransferRequest.reset().setRaft(raft);
+    if (!raft.sendMessage(nodeId, request)) {
+      return false;
     }
+
+    // do not compete with the member in the election it is about to start
+    heartbeat.update();
+    raft.becomeFollower(raft.getTerm());
+
+    return true;
   }
 
   public void setInitialEventPosition(long position) {
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.raft.backpressure.BackpressureHelper;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.junit.Test;
+
+public class BackpressureHelperTest {
+  private static final int REMOTE_BUFFER_SIZE = 16 * 1024 * 1024;
+  private static final int EVENT_SIZE = 1024;
+
+  private final BackpressureHelper backpressureHelper = new BackpressureHelper(REMOTE_BUFFER_SIZE);
+
+  @Test
+  public void shouldLimitInFlightBytesToInitialWindow() {
+    // when
+    final int sent = sendWhilePossible(0, 0);
+
+    // then
+    assertThat(sent * EVENT_SIZE).isLessThanOrEqualTo(BackpressureHelper.INITIAL_WINDOW);
+    assertThat((sent + 1) * EVENT_SIZE).isGreaterThanOrEqualTo(BackpressureHelper.INITIAL_WINDOW);
+  }
+
+  @Test
+  public void shouldAlwaysSendOneEvent() {
+    // given
+    backpressureHelper.onEventSent(1, EVENT_SIZE, 0);
+    backpressureHelper.onEventAcknowledged(1, 10);
+
+    // then
+    assertThat(backpressureHelper.canSend(BackpressureHelper.INITIAL_WINDOW * 2)).isTrue();
+  }
+
+  @Test
+  public void shouldLimitWindowToAdvertisedBufferSize() {
+    // when
+    backpressureHelper.setRemoteBufferSize(32 * 1024);
+
+    // then
+    assertThat(backpressureHelper.getRemoteBufferSize()).isLessThan(32 * 1024);
+    assertThat(backpressureHelper.getWindow()).isEqualTo(backpressureHelper.getRemoteBufferSize());
+  }
+
+  @Test
+  public void shouldIgnoreUnknownBufferSize() {
+    // when
+    backpressureHelper.setRemoteBufferSize(-1);
+
+    // then
+    assertThat(backpressureHelper.getRemoteBufferSize()).isGreaterThan(0);
+    assertThat(backpressureHelper.getWindow()).isEqualTo(BackpressureHelper.INITIAL_WINDOW);
+  }
+
+  @Test
+  public void shouldGrowWindowUpToRemoteBufferSize() {
+    // given - a connection with a round trip time of 10 ms and unlimited bandwidth
+    final long roundTripTime = 10_000_000;
+    long now = 0;
+    long position = 0;
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      position += sendWhilePossible(position, now);
+      now += roundTripTime;
+      backpressureHelper.onEventAcknowledged(position - 1, now);
+    }
+
+    // then
+    assertThat(backpressureHelper.getWindow()).isEqualTo(backpressureHelper.getRemoteBufferSize());
+  }
+
+  @Test
+  public void shouldSizeWindowByBandwidthDelayProduct() {
+    // given - a connection with a round trip time of 1 ms and 100 MB/s
+    final long roundTripTime = 1_000_000;
+    final double bytesPerNano = 0.1;
+    final long bandwidthDelayProduct = (long) (bytesPerNano * roundTripTime);
+
+    final Deque<long[]> inFlight = new ArrayDeque<>();
+    long now = 0;
+    long position = 0;
+    long lastDelivery = 0;
+
+    // when
+    while (now < 1_000_000_000) {
+      while (backpressureHelper.canSend(EVENT_SIZE)) {
+        backpressureHelper.onEventSent(position, EVENT_SIZE, now);
+
+        lastDelivery =
+            Math.max(now + roundTripTime / 2, lastDelivery + (long) (EVENT_SIZE / bytesPerNano));
+        inFlight.add(new long[] {position, lastDelivery + roundTripTime / 2});
+        position++;
+      }
+
+      final long[] acknowledged = inFlight.poll();
+      now = acknowledged[1];
+      backpressureHelper.onEventAcknowledged(acknowledged[0], now);
+    }
+
+    // then
+    assertThat(backpressureHelper.getWindow())
+        .isGreaterThan((int) bandwidthDelayProduct)
+        .isLessThan((int) (3 * bandwidthDelayProduct));
+  }
+
+  private int sendWhilePossible(long position, long now) {
+    int sent = 0;
+    while (backpressureHelper.canSend(EVENT_SIZE)) {
+      backpressureHelper.onEventSent(position + sent, EVENT_SIZE, now);
+      sent++;
+    }
+    return sent;
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.headerLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.metadataOffset;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setMetadataLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setPosition;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setRaftTerm;
+import static io.zeebe.raft.AppendRequestEncoder.previousEventTermNullValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.LoggedEventImpl;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.state.StateStorage;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.raft.protocol.AppendRequest;
+import io.zeebe.raft.protocol.AppendResponse;
+import io.zeebe.raft.util.MetricsDump;
+import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class BufferedLogStorageAppenderTest {
+  private static final int LEADER_NODE_ID = 1;
+  private static final int TERM = 1;
+
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+  public ActorSchedulerRule actorScheduler = new ActorSchedulerRule();
+  public ServiceContainerRule serviceContainer = new ServiceContainerRule(actorScheduler);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(tempFolder).around(actorScheduler).around(serviceContainer);
+
+  private final MetricsManager metricsManager = new MetricsManager();
+  private final AppenderActor appenderActor = new AppenderActor();
+  private final List<Long> acknowledgedPositions = new ArrayList<>();
+
+  private final Raft leader = mock(Raft.class);
+  private final LogStream leaderLogStream = mock(LogStream.class);
+
+  private LogStream logStream;
+  private BufferedLogStorageAppender appender;
+  private long lastPosition;
+  private int lastTerm = previousEventTermNullValue();
+
+  @Before
+  public void setUp() throws Exception {
+    logStream =
+        LogStreams.createFsLogStream(0)
+            .logName("test")
+            .deleteOnClose(true)
+            .logDirectory(tempFolder.newFolder("log").getAbsolutePath())
+            .serviceContainer(serviceContainer.get())
+            .indexStateStorage(
+                new StateStorage(
+                    tempFolder.newFolder("runtime"), tempFolder.newFolder("snapshots")))
+            .build()
+            .join();
+
+    final Raft raft = mock(Raft.class);
+    when(raft.getLogStream()).thenReturn(logStream);
+    when(raft.getMetrics()).thenReturn(new RaftMetrics(metricsManager, "0"));
+    when(raft.sendMessage(anyInt(), any()))
+        .thenAnswer(
+            invocation -> {
+              final AppendResponse response = invocation.getArgument(1);
+              assertThat(response.isSucceeded()).isTrue();
+              acknowledgedPositions.add(response.getPreviousEventPosition());
+              return true;
+            });
+
+    when(leader.getNodeId()).thenReturn(LEADER_NODE_ID);
+    when(leader.getTerm()).thenReturn(TERM);
+    when(leader.getLogStream()).thenReturn(leaderLogStream);
+
+    actorScheduler.submitActor(appenderActor).join();
+    appender =
+        appenderActor.call(
+            () -> {
+              final BufferedLogStorageAppender appender = new BufferedLogStorageAppender(raft);
+              appender.reset();
+              return appender;
+            });
+    lastPosition = appender.getLastPosition();
+  }
+
+  @Test
+  public void shouldAcknowledgeBufferedAppendsOnceOnFlush() {
+    // given
+    appendEvent(1, 10);
+    appendEvent(2, 30);
+    appendEvent(3, 20);
+
+    // when
+    appenderActor.run(appender::flushAndAck);
+
+    // then
+    assertThat(acknowledgedPositions).containsExactly(3L);
+    assertThat(logStream.getCommitPosition()).isEqualTo(3);
+    assertThat(getValue("zb_raft_follower_appends_per_flush_count")).isEqualTo(1);
+    assertThat(getValue("zb_raft_follower_appends_per_flush_sum")).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldCommitHighestCommitPositionOfBufferedAppends() {
+    // given
+    appendEvent(1, 2);
+    appendEvent(2, 1);
+    appendEvent(3, 1);
+
+    // when
+    appenderActor.run(appender::flushAndAck);
+
+    // then
+    assertThat(acknowledgedPositions).containsExactly(3L);
+    assertThat(logStream.getCommitPosition()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAcknowledgeOnceIfBufferIsFull() {
+    // given
+    final int valueLength = BufferedLogStorageAppender.INITIAL_CAPACITY / 2;
+    appendEvent(1, 1, valueLength);
+
+    // when
+    appendEvent(2, 1, valueLength);
+
+    // then
+    assertThat(acknowledgedPositions).containsExactly(1L);
+    assertThat(appender.getDeferredAppends()).isEqualTo(1);
+
+    // when
+    appenderActor.run(appender::flushAndAck);
+
+    // then
+    assertThat(acknowledgedPositions).containsExactly(1L, 2L);
+    assertThat(getValue("zb_raft_follower_appends_per_flush_count")).isEqualTo(2);
+    assertThat(getValue("zb_raft_follower_appends_per_flush_sum")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotAcknowledgeIfNothingIsBuffered() {
+    // when
+    appenderActor.run(appender::flushAndAck);
+
+    // then
+    assertThat(acknowledgedPositions).isEmpty();
+    assertThat(getValue("zb_raft_follower_appends_per_flush_count")).isEqualTo(0);
+  }
+
+  private void appendEvent(final long position, final long commitPosition) {
+    appendEvent(position, commitPosition, 64);
+  }
+
+  private void appendEvent(final long position, final long commitPosition, final int valueLength) {
+    when(leaderLogStream.getCommitPosition()).thenReturn(commitPosition);
+
+    final LoggedEventImpl event = newEvent(position, valueLength);
+    final AppendRequest request =
+        new AppendRequest()
+            .setRaft(leader)
+            .setPreviousEventPosition(lastPosition)
+            .setPreviousEventTerm(lastTerm)
+            .setEvent(event);
+
+    appenderActor.run(() -> appender.appendEvent(request, event));
+    lastPosition = position;
+    lastTerm = TERM;
+  }
+
+  private LoggedEventImpl newEvent(final long position, final int valueLength) {
+    final RecordMetadata metadata =
+        new RecordMetadata().recordType(RecordType.EVENT).valueType(ValueType.JOB);
+    final int metadataLength = metadata.getLength();
+    final int length = headerLength(metadataLength) + valueLength;
+
+    final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[alignedFramedLength(length)]);
+    buffer.putInt(lengthOffset(0), framedLength(length));
+    setPosition(buffer, messageOffset(0), position);
+    setRaftTerm(buffer, messageOffset(0), TERM);
+    setMetadataLength(buffer, messageOffset(0), (short) metadataLength);
+    metadata.write(buffer, metadataOffset(messageOffset(0)));
+
+    final LoggedEventImpl event = new LoggedEventImpl();
+    event.wrap(buffer, 0);
+    return event;
+  }
+
+  private long getValue(final String name) {
+    return MetricsDump.getValue(metricsManager, name, "partition=\"0\"");
+  }
+
+  private static class AppenderActor extends Actor {
+    <T> T call(final Callable<T> callable) {
+      return actor.call(callable).join();
+    }
+
+    void run(final Runnable runnable) {
+      actor.call(runnable).join();
+    }
+  }
+}
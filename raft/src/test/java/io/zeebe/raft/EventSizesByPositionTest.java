@@ -116,6 +116,36 @@ public class EventSizesByPositionTest {
     assertThat(eventSizesByPosition.getCurrentCapacity()).isEqualTo(initalCapacity);
   }
 
+  @Test
+  public void canConsumeAfterResizeOfWrappedEntries() {
+    final int initalCapacity = eventSizesByPosition.getCurrentCapacity();
+    final int consumed = initalCapacity / 2;
+
+    for (int i = 0; i < consumed; i++) {
+      eventSizesByPosition.add(i, i);
+    }
+    eventSizesByPosition.markConsumed(consumed - 1);
+
+    for (int i = consumed; i <= consumed + initalCapacity; i++) {
+      eventSizesByPosition.add(i, i);
+    }
+
+    for (int i = consumed; i <= consumed + initalCapacity; i++) {
+      assertThat(eventSizesByPosition.markConsumed(i)).isEqualTo(i);
+    }
+    assertThat(eventSizesByPosition.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldReturnTimestampOfLastConsumed() {
+    eventSizesByPosition.add(1, 1, 10);
+    eventSizesByPosition.add(2, 2, 20);
+    eventSizesByPosition.add(3, 3, 30);
+
+    assertThat(eventSizesByPosition.markConsumed(2)).isEqualTo(3);
+    assertThat(eventSizesByPosition.getLastConsumedTimestamp()).isEqualTo(20);
+  }
+
   @Test
   public void doesNotConsumerIfSmaller() {
     eventSizesByPosition.add(1, 1);
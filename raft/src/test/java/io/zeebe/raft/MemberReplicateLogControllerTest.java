@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import static io.zeebe.raft.RaftServiceNames.replicateLogConrollerServiceName;
+import static io.zeebe.raft.controller.MemberReplicateLogController.MAX_BLOCK_LENGTH;
+import static io.zeebe.raft.controller.MemberReplicateLogController.getMaxBlockLength;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.state.StateStorage;
+import io.zeebe.raft.controller.MemberReplicateLogController;
+import io.zeebe.servicecontainer.ServiceName;
+import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.transport.ClientOutput;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class MemberReplicateLogControllerTest {
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+  public ActorSchedulerRule actorScheduler = new ActorSchedulerRule();
+  public ServiceContainerRule serviceContainer = new ServiceContainerRule(actorScheduler);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(tempFolder).around(actorScheduler).around(serviceContainer);
+
+  @Test
+  public void shouldLimitBlockLengthToMaxBlockLength() {
+    assertThat(getMaxBlockLength(16 * 1024 * 1024)).isEqualTo(MAX_BLOCK_LENGTH);
+  }
+
+  @Test
+  public void shouldLimitBlockLengthToReceiveWindow() {
+    // when
+    final int maxBlockLength = getMaxBlockLength(64 * 1024);
+
+    // then
+    assertThat(maxBlockLength).isPositive().isLessThan(64 * 1024 / 8);
+  }
+
+  @Test
+  public void shouldNotSendBlocksIfReceiveWindowIsTooSmall() {
+    assertThat(getMaxBlockLength(8 * 1024)).isZero();
+    assertThat(getMaxBlockLength(4 * 1024)).isZero();
+    assertThat(getMaxBlockLength(0)).isZero();
+  }
+
+  @Test
+  public void shouldRemoveAppendConditionOnClose() throws Exception {
+    // given
+    final LogStream logStream = mock(LogStream.class, delegatesTo(createLogStream()));
+    final MemberReplicateLogController controller = createController(logStream);
+
+    final ServiceName<Void> serviceName = replicateLogConrollerServiceName("test", 1, 2);
+    serviceContainer.get().createService(serviceName, controller).install().join();
+
+    final ArgumentCaptor<ActorCondition> condition = ArgumentCaptor.forClass(ActorCondition.class);
+    verify(logStream).registerOnAppendCondition(condition.capture());
+
+    // when
+    serviceContainer.get().removeService(serviceName).join();
+
+    // then
+    verify(logStream).removeOnAppendCondition(condition.getValue());
+    verify(logStream, never()).removeOnCommitPositionUpdatedCondition(any());
+  }
+
+  private LogStream createLogStream() throws Exception {
+    final StateStorage stateStorage =
+        new StateStorage(tempFolder.newFolder("runtime"), tempFolder.newFolder("snapshots"));
+
+    return LogStreams.createFsLogStream(0)
+        .logName("test")
+        .deleteOnClose(true)
+        .logDirectory(tempFolder.newFolder("log").getAbsolutePath())
+        .serviceContainer(serviceContainer.get())
+        .indexStateStorage(stateStorage)
+        .build()
+        .join();
+  }
+
+  private MemberReplicateLogController createController(final LogStream logStream) {
+    final Raft raft = mock(Raft.class);
+    when(raft.getName()).thenReturn("test");
+    when(raft.getLogStream()).thenReturn(logStream);
+    when(raft.getConfiguration()).thenReturn(new RaftConfiguration());
+    when(raft.getMetrics()).thenReturn(new RaftMetrics(new MetricsManager(), "0"));
+
+    final RaftMember member = mock(RaftMember.class);
+    when(member.getNodeId()).thenReturn(2);
+
+    final ClientTransport clientTransport = mock(ClientTransport.class);
+    when(clientTransport.getOutput()).thenReturn(mock(ClientOutput.class));
+
+    return new MemberReplicateLogController(raft, member, clientTransport);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.raft.RaftMetrics.MemberReplicationMetrics;
+import io.zeebe.raft.util.MetricsDump;
+import io.zeebe.util.metrics.MetricsManager;
+import org.junit.Test;
+
+public class RaftMetricsTest {
+  private final MetricsManager metricsManager = new MetricsManager();
+  private final RaftMetrics metrics = new RaftMetrics(metricsManager, "1");
+
+  @Test
+  public void shouldRecordFollowerAck() {
+    // when
+    metrics.recordFollowerAck(150, 3);
+
+    // then
+    final String latency = "zb_raft_follower_append_ack_latency_micros";
+    assertThat(getValue(latency + "_count", "partition=\"1\"")).isEqualTo(1);
+    assertThat(getValue(latency + "_sum", "partition=\"1\"")).isEqualTo(150);
+    assertThat(getValue(latency + "_bucket", "le=\"100\"")).isEqualTo(0);
+    assertThat(getValue(latency + "_bucket", "le=\"250\"")).isEqualTo(1);
+
+    final String appends = "zb_raft_follower_appends_per_flush";
+    assertThat(getValue(appends + "_sum", "partition=\"1\"")).isEqualTo(3);
+    assertThat(getValue(appends + "_bucket", "le=\"2\"")).isEqualTo(0);
+    assertThat(getValue(appends + "_bucket", "le=\"4\"")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRecordCommitLatency() {
+    // when
+    metrics.recordCommitLatency(2_000);
+
+    // then
+    final String latency = "zb_raft_append_commit_latency_micros";
+    assertThat(getValue(latency + "_count", "partition=\"1\"")).isEqualTo(1);
+    assertThat(getValue(latency + "_sum", "partition=\"1\"")).isEqualTo(2_000);
+    assertThat(getValue(latency + "_bucket", "le=\"1000\"")).isEqualTo(0);
+    assertThat(getValue(latency + "_bucket", "le=\"2500\"")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCountElectionsAndTermChanges() {
+    // when
+    metrics.countElectionStarted();
+    metrics.countElectionStarted();
+    metrics.countElectionWon();
+    metrics.countTermChange();
+
+    // then
+    assertThat(getValue("zb_raft_elections_count", "result=\"started\"")).isEqualTo(2);
+    assertThat(getValue("zb_raft_elections_count", "result=\"won\"")).isEqualTo(1);
+    assertThat(getValue("zb_raft_term_changes_count", "partition=\"1\"")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSetMemberReplicationMetrics() {
+    // given
+    final MemberReplicationMetrics memberMetrics = metrics.newMemberReplicationMetrics(2);
+
+    // when
+    memberMetrics.setLagPositions(5);
+    memberMetrics.setInFlight(100, 200);
+
+    // then
+    assertThat(getValue("zb_raft_follower_replication_lag_positions", "follower=\"2\""))
+        .isEqualTo(5);
+    assertThat(getValue("zb_raft_follower_inflight_bytes", "follower=\"2\"")).isEqualTo(100);
+    assertThat(getValue("zb_raft_follower_window_bytes", "follower=\"2\"")).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldCloseMemberReplicationMetrics() {
+    // given
+    final MemberReplicationMetrics memberMetrics = metrics.newMemberReplicationMetrics(2);
+
+    // when
+    memberMetrics.close();
+
+    // then
+    assertThat(dump()).doesNotContain("zb_raft_follower_replication_lag_positions");
+    assertThat(dump()).doesNotContain("zb_raft_follower_inflight_bytes");
+    assertThat(dump()).doesNotContain("zb_raft_follower_window_bytes");
+  }
+
+  @Test
+  public void shouldCloseMetrics() {
+    // when
+    metrics.close();
+
+    // then
+    assertThat(dump()).isEmpty();
+  }
+
+  private long getValue(final String name, final String label) {
+    return MetricsDump.getValue(metricsManager, name, label);
+  }
+
+  private String dump() {
+    return MetricsDump.dump(metricsManager);
+  }
+}
@@ -19,9 +19,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.raft.util.EventInfo;
+import io.zeebe.raft.util.MetricsDump;
 import io.zeebe.raft.util.RaftClusterRule;
 import io.zeebe.raft.util.RaftRule;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.test.util.TestUtil;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.util.List;
 import org.junit.Rule;
@@ -61,4 +63,33 @@ public class RaftSingleNodeTest {
     cluster.awaitEventCommittedOnAll(eventInfo);
     cluster.awaitEventsCommittedOnAll("foo", "bar", "end");
   }
+
+  @Test
+  public void shouldCountElection() {
+    // when
+    cluster.awaitLeader();
+
+    // then
+    assertThat(getMetric("zb_raft_elections_count", "result=\"started\"")).isEqualTo(1);
+    assertThat(getMetric("zb_raft_elections_count", "result=\"won\"")).isEqualTo(1);
+    assertThat(getMetric("zb_raft_term_changes_count", "partition=\"0\"")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRecordCommitLatency() {
+    // given
+    final RaftRule leader = cluster.awaitLeader();
+
+    // when
+    final EventInfo eventInfo = leader.writeEvents("foo", "bar", "end");
+    cluster.awaitEventCommittedOnAll(eventInfo);
+
+    // then
+    TestUtil.waitUntil(
+        () -> getMetric("zb_raft_append_commit_latency_micros_count", "partition=\"0\"") > 0);
+  }
+
+  private long getMetric(final String name, final String label) {
+    return MetricsDump.getValue(actorScheduler.get().getMetricsManager(), name, label);
+  }
 }
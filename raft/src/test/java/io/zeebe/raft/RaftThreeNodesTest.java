@@ -19,11 +19,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.raft.util.EventInfo;
+import io.zeebe.raft.util.MetricsDump;
 import io.zeebe.raft.util.RaftClusterRule;
 import io.zeebe.raft.util.RaftRule;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.test.util.TestUtil;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -130,6 +134,30 @@ public class RaftThreeNodesTest {
     cluster.awaitEventCommittedOnAll(eventInfo);
   }
 
+  @Test
+  public void shouldCatchUpLaggingFollower() {
+    // given
+    cluster.awaitClusterSize(3);
+    final RaftRule leader = cluster.awaitLeader();
+    cluster.awaitRaftEventCommittedOnAll(leader.getTerm());
+    final RaftRule follower = cluster.getOtherRafts(leader)[0];
+
+    // when the follower misses enough events to be caught up in multiple blocks
+    cluster.removeRaft(follower);
+
+    final String[] messages =
+        IntStream.range(0, 1_000).mapToObj(i -> "event-" + i).toArray(String[]::new);
+    final EventInfo eventInfo = leader.writeEvents(messages);
+    cluster.awaitEventCommitted(leader, eventInfo);
+
+    // and rejoins the cluster
+    cluster.registerRaft(follower);
+
+    // then it catches up with all events in order
+    cluster.awaitEventCommitted(follower, eventInfo);
+    assertThat(follower.eventsCommitted(messages)).isTrue();
+  }
+
   @Test
   public void shouldElectNewLeader() {
     // given
@@ -152,6 +180,94 @@ public class RaftThreeNodesTest {
     cluster.awaitEventsCommittedOnAll("foo", "bar", "end");
   }
 
+  @Test
+  public void shouldTransferLeadership() {
+    // given
+    cluster.awaitClusterSize(3);
+    final RaftRule oldLeader = cluster.awaitLeader();
+    final int oldTerm = oldLeader.getTerm();
+    cluster.awaitRaftEventCommittedOnAll(oldTerm);
+
+    final EventInfo eventInfo = oldLeader.writeEvents("foo", "bar");
+    cluster.awaitEventCommittedOnAll(eventInfo);
+
+    final RaftRule newLeader = cluster.getOtherRafts(oldLeader)[0];
+
+    // when
+    final boolean transferred =
+        oldLeader.getRaft().transferLeadership(newLeader.getNodeId()).join();
+
+    // then
+    assertThat(transferred).isTrue();
+    cluster.awaitRaftState(newLeader, RaftState.LEADER);
+    cluster.awaitRaftState(oldLeader, RaftState.FOLLOWER);
+    assertThat(newLeader.getTerm()).isGreaterThan(oldTerm);
+
+    // when
+    final EventInfo nextEventInfo = newLeader.writeEvents("baz");
+
+    // then
+    cluster.awaitEventCommittedOnAll(nextEventInfo);
+    cluster.awaitEventsCommittedOnAll("foo", "bar", "baz");
+  }
+
+  @Test
+  public void shouldTransferLeadershipWithinElectionTimeout() {
+    // given
+    cluster.awaitClusterSize(3);
+    final RaftRule oldLeader = cluster.awaitLeader();
+    final int oldTerm = oldLeader.getTerm();
+    cluster.awaitRaftEventCommittedOnAll(oldTerm);
+
+    final RaftRule newLeader = cluster.getOtherRafts(oldLeader)[0];
+    final Duration electionTimeout = newLeader.getConfiguration().getElectionIntervalDuration();
+
+    // when
+    final long startNanos = System.nanoTime();
+    oldLeader.getRaft().transferLeadership(newLeader.getNodeId()).join();
+    cluster.awaitRaftState(newLeader, RaftState.LEADER);
+    final Duration transferDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+
+    // then
+    // the voters do not wait for a heartbeat timeout, so the target wins the first election
+    assertThat(newLeader.getTerm()).isEqualTo(oldTerm + 1);
+    assertThat(transferDuration).isLessThan(electionTimeout.dividedBy(2));
+  }
+
+  @Test
+  public void shouldSetReplicationMetricsOfFollowers() {
+    // given
+    final RaftRule leader = cluster.awaitLeader();
+
+    // when
+    final EventInfo eventInfo = leader.writeEvents("foo", "bar", "end");
+    cluster.awaitEventCommittedOnAll(eventInfo);
+
+    // then
+    for (final RaftRule follower : cluster.getOtherRafts(leader)) {
+      final String label = "follower=\"" + follower.getNodeId() + "\"";
+      TestUtil.waitUntil(() -> getMetric("zb_raft_follower_replication_lag_positions", label) == 0);
+      assertThat(getMetric("zb_raft_follower_window_bytes", label)).isPositive();
+    }
+  }
+
+  @Test
+  public void shouldRemoveReplicationMetricsOfFormerLeader() {
+    // given
+    cluster.awaitClusterSize(3);
+    final RaftRule oldLeader = cluster.awaitLeader();
+    cluster.awaitRaftEventCommittedOnAll(oldLeader.getTerm());
+    final RaftRule newLeader = cluster.getOtherRafts(oldLeader)[0];
+
+    // when
+    oldLeader.getRaft().transferLeadership(newLeader.getNodeId()).join();
+    cluster.awaitRaftState(newLeader, RaftState.LEADER);
+
+    // then
+    final String label = "follower=\"" + newLeader.getNodeId() + "\"";
+    TestUtil.waitUntil(() -> getMetric("zb_raft_follower_window_bytes", label) < 0);
+  }
+
   @Test
   public void shouldRejoinCluster() {
     // given
@@ -221,4 +337,8 @@ public class RaftThreeNodesTest {
     cluster.awaitEventCommittedOnAll(eventInfo);
     cluster.awaitEventsCommittedOnAll("foo", "bar", "oh", "boy");
   }
+
+  private long getMetric(final String name, final String label) {
+    return MetricsDump.getValue(actorScheduler.get().getMetricsManager(), name, label);
+  }
 }
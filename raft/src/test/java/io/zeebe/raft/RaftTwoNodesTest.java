@@ -17,11 +17,13 @@ package io.zeebe.raft;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.raft.util.EventInfo;
 import io.zeebe.raft.util.RaftClusterRule;
 import io.zeebe.raft.util.RaftRule;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.test.util.TestUtil;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.util.List;
 import org.junit.Rule;
@@ -120,4 +122,43 @@ public class RaftTwoNodesTest {
     // bring back old leader so that we can leave without timeout
     cluster.registerRaft(oldLeader);
   }
+
+  @Test
+  public void shouldOnlyAcknowledgeWrittenEvents() {
+    // given
+    final RaftRule leader = cluster.awaitLeader();
+    cluster.awaitRaftEventCommittedOnAll(leader.getTerm());
+    final RaftRule follower = cluster.getOtherRafts(leader)[0];
+    final RaftMember member = leader.getRaft().getRaftMembers().getMember(follower.getNodeId());
+
+    try (BufferedLogStreamReader reader =
+        new BufferedLogStreamReader(follower.getLogStream(), true)) {
+      // when the follower coalesces the appends of many events
+      EventInfo eventInfo = null;
+      for (int i = 0; i < 1_000; i++) {
+        eventInfo = leader.writeEvent("event-" + i);
+        assertAcknowledgedPositionIsWritten(member, follower, reader);
+      }
+
+      // then it never acknowledges a position which is not written to its log storage
+      final long lastPosition = eventInfo.getPosition();
+      TestUtil.waitUntil(
+          () -> assertAcknowledgedPositionIsWritten(member, follower, reader) >= lastPosition);
+    }
+  }
+
+  /** @return the position which the follower acknowledged to the leader */
+  private long assertAcknowledgedPositionIsWritten(
+      final RaftMember member, final RaftRule follower, final BufferedLogStreamReader reader) {
+    // the written position only increases, so it is read after the acknowledged positions
+    final long acknowledgedPosition = member.getMatchPosition();
+    final long commitPosition = follower.getLogStream().getCommitPosition();
+
+    reader.seekToLastEvent();
+    final long writtenPosition = reader.hasNext() ? reader.next().getPosition() : -1L;
+
+    assertThat(acknowledgedPosition).isLessThanOrEqualTo(writtenPosition);
+    assertThat(commitPosition).isLessThanOrEqualTo(writtenPosition);
+    return acknowledgedPosition;
+  }
 }
@@ -20,7 +20,6 @@ import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamWriterImpl;
 import io.zeebe.protocol.impl.record.RecordMetadata;
-import io.zeebe.raft.controller.MemberReplicateLogController;
 import io.zeebe.raft.event.RaftConfigurationEvent;
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.raft.util.InMemoryRaftPersistentStorage;
@@ -100,12 +99,10 @@ public class ThroughPutTestRaft implements RaftStateListener {
             .join();
 
     persistentStorage = new InMemoryRaftPersistentStorage(logStream);
+    final int receiveBufferSize = configuration.getReceiveBufferSizeBytes();
     final OneToOneRingBufferChannel messageBuffer =
         new OneToOneRingBufferChannel(
-            new UnsafeBuffer(
-                new byte
-                    [(MemberReplicateLogController.REMOTE_BUFFER_SIZE)
-                        + RingBufferDescriptor.TRAILER_LENGTH]));
+            new UnsafeBuffer(new byte[receiveBufferSize + RingBufferDescriptor.TRAILER_LENGTH]));
 
     raft =
         new Raft(
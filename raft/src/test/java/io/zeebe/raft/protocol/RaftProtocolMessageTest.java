@@ -21,10 +21,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.raft.MessageHeaderDecoder;
+import io.zeebe.raft.MessageHeaderEncoder;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.util.RaftClusterRule;
 import io.zeebe.raft.util.RaftRule;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import org.agrona.BitUtil;
 import org.agrona.MutableDirectBuffer;
@@ -70,6 +73,7 @@ public class RaftProtocolMessageTest {
     // then
     assertPartition(configurationRequest);
     assertTerm(configurationRequest);
+    assertThat(configurationRequest.getReceiveWindow()).isEqualTo(raft.getReceiveWindow());
   }
 
   @Test
@@ -132,6 +136,53 @@ public class RaftProtocolMessageTest {
     assertNodeId(voteRequest);
     assertThat(voteRequest.getLastEventPosition()).isEqualTo(111);
     assertThat(voteRequest.getLastEventTerm()).isEqualTo(222);
+    assertThat(voteRequest.isLeaderTransfer()).isFalse();
+  }
+
+  @Test
+  public void shouldReadWriteVoteRequestOnLeaderTransfer() {
+    // given
+    VoteRequest voteRequest = new VoteRequest().setRaft(raft).setLeaderTransfer(true);
+
+    // when
+    voteRequest = writeAndRead(voteRequest);
+
+    // then
+    assertPartition(voteRequest);
+    assertTerm(voteRequest);
+    assertNodeId(voteRequest);
+    assertThat(voteRequest.isLeaderTransfer()).isTrue();
+  }
+
+  @Test
+  public void shouldReadWriteLeaderTransferRequest() {
+    // given
+    LeaderTransferRequest leaderTransferRequest = new LeaderTransferRequest().setRaft(raft);
+
+    // when
+    leaderTransferRequest = writeAndRead(leaderTransferRequest);
+
+    // then
+    assertPartition(leaderTransferRequest);
+    assertTerm(leaderTransferRequest);
+    assertNodeId(leaderTransferRequest);
+  }
+
+  @Test
+  public void shouldReadVoteRequestOfPreviousVersion() {
+    // given
+    final MutableDirectBuffer buffer =
+        writePreviousVersion(
+            new VoteRequest().setRaft(raft).setLeaderTransfer(true), BitUtil.SIZE_OF_BYTE);
+
+    // when
+    final VoteRequest voteRequest = new VoteRequest();
+    final boolean isWrapped = voteRequest.tryWrap(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(isWrapped).isTrue();
+    assertNodeId(voteRequest);
+    assertThat(voteRequest.isLeaderTransfer()).isFalse();
   }
 
   @Test
@@ -198,6 +249,39 @@ public class RaftProtocolMessageTest {
     final LoggedEventImpl actual = appendRequest.getEvent();
     assertThat(actual).isNotNull();
     assertThat(actual.getBuffer()).isEqualTo(data);
+    assertThat(appendRequest.isBlock()).isFalse();
+  }
+
+  @Test
+  public void shouldReadAndWriteAppendRequestWithBlock() {
+    // given
+    final int msgLength = BitUtil.SIZE_OF_LONG;
+    final int fragmentLength = DataFrameDescriptor.alignedFramedLength(msgLength);
+
+    final MutableDirectBuffer data = new UnsafeBuffer(new byte[2 * fragmentLength]);
+    for (int i = 0; i < 2; i++) {
+      final int offset = i * fragmentLength;
+      data.putInt(
+          DataFrameDescriptor.lengthOffset(offset), DataFrameDescriptor.framedLength(msgLength));
+      data.putLong(DataFrameDescriptor.messageOffset(offset), 123L + i);
+    }
+
+    AppendRequest appendRequest =
+        new AppendRequest()
+            .setRaft(raft)
+            .setPreviousEventPosition(111)
+            .setPreviousEventTerm(222)
+            .setBlock(data, 0, data.capacity());
+
+    // when
+    appendRequest = writeAndRead(appendRequest);
+
+    // then
+    assertThat(appendRequest.getPreviousEventPosition()).isEqualTo(111);
+    assertThat(appendRequest.getPreviousEventTerm()).isEqualTo(222);
+    assertThat(appendRequest.isBlock()).isTrue();
+    assertThat(appendRequest.getBlock()).isEqualTo(data);
+    assertThat(appendRequest.getEvent().getFragmentLength()).isEqualTo(fragmentLength);
   }
 
   @Test
@@ -215,6 +299,42 @@ public class RaftProtocolMessageTest {
     assertNodeId(appendResponse);
     assertThat(appendResponse.getPreviousEventPosition()).isEqualTo(111);
     assertThat(appendResponse.isSucceeded()).isTrue();
+    assertThat(appendResponse.getReceiveWindow()).isEqualTo(raft.getReceiveWindow());
+  }
+
+  @Test
+  public void shouldReadAppendResponseOfPreviousVersion() {
+    // given
+    final AppendResponse previousResponse =
+        new AppendResponse().setRaft(raft).setPreviousEventPosition(111).setSucceeded(true);
+    final MutableDirectBuffer buffer = writePreviousVersion(previousResponse, BitUtil.SIZE_OF_INT);
+
+    // when
+    final AppendResponse appendResponse = new AppendResponse();
+    final boolean isWrapped = appendResponse.tryWrap(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(isWrapped).isTrue();
+    assertNodeId(appendResponse);
+    assertThat(appendResponse.getPreviousEventPosition()).isEqualTo(111);
+    assertThat(appendResponse.isSucceeded()).isTrue();
+    assertThat(appendResponse.getReceiveWindow()).isNegative();
+  }
+
+  @Test
+  public void shouldReadConfigurationRequestOfPreviousVersion() {
+    // given
+    final MutableDirectBuffer buffer =
+        writePreviousVersion(new ConfigurationRequest().setRaft(raft), BitUtil.SIZE_OF_INT);
+
+    // when
+    final ConfigurationRequest configurationRequest = new ConfigurationRequest();
+    final boolean isWrapped = configurationRequest.tryWrap(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(isWrapped).isTrue();
+    assertPartition(configurationRequest);
+    assertThat(configurationRequest.getReceiveWindow()).isNegative();
   }
 
   protected void assertPartition(final HasPartition hasPartition) {
@@ -228,4 +348,33 @@ public class RaftProtocolMessageTest {
   protected void assertNodeId(final HasNodeId hasNodeId) {
     assertThat(hasNodeId.getNodeId()).isEqualTo(raft.getNodeId());
   }
+
+  /**
+   * Writes the message as it was encoded by the first version of the schema, which did not have the
+   * last field of the message block yet.
+   */
+  protected MutableDirectBuffer writePreviousVersion(
+      final BufferWriter writer, final int addedFieldLength) {
+    final MutableDirectBuffer message = new UnsafeBuffer(new byte[writer.getLength()]);
+    writer.write(message, 0);
+
+    final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder().wrap(message, 0);
+    final int headerLength = headerDecoder.encodedLength();
+    final int blockLength = headerDecoder.blockLength();
+    final int previousBlockLength = blockLength - addedFieldLength;
+
+    // remove the added field from the end of the block, the variable length data follows it
+    final MutableDirectBuffer buffer =
+        new UnsafeBuffer(new byte[message.capacity() - addedFieldLength]);
+    buffer.putBytes(0, message, 0, headerLength + previousBlockLength);
+    buffer.putBytes(
+        headerLength + previousBlockLength,
+        message,
+        headerLength + blockLength,
+        message.capacity() - headerLength - blockLength);
+
+    new MessageHeaderEncoder().wrap(buffer, 0).blockLength(previousBlockLength).version(1);
+
+    return buffer;
+  }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.util;
+
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import org.agrona.ExpandableArrayBuffer;
+
+public class MetricsDump {
+
+  /**
+   * @return the value of the first metric with the given name and label, or -1 if it is not found
+   */
+  public static long getValue(
+      final MetricsManager metricsManager, final String name, final String label) {
+    for (final String line : dump(metricsManager).split("\n")) {
+      if (line.startsWith(name + "{") && line.contains(label)) {
+        // the line ends with the value and the timestamp
+        final String[] parts = line.split(" ");
+        return Long.parseLong(parts[parts.length - 2]);
+      }
+    }
+    return -1;
+  }
+
+  public static String dump(final MetricsManager metricsManager) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, 100);
+
+    return BufferUtil.bufferAsString(buffer, 0, length);
+  }
+}
@@ -35,7 +35,6 @@ import io.zeebe.raft.Raft;
 import io.zeebe.raft.RaftApiMessageHandler;
 import io.zeebe.raft.RaftConfiguration;
 import io.zeebe.raft.RaftStateListener;
-import io.zeebe.raft.controller.MemberReplicateLogController;
 import io.zeebe.raft.event.RaftConfigurationEvent;
 import io.zeebe.raft.event.RaftConfigurationEventMember;
 import io.zeebe.raft.state.RaftState;
@@ -145,12 +144,10 @@ public class RaftRule extends ExternalResource implements RaftStateListener {
             .join();
 
     persistentStorage = new InMemoryRaftPersistentStorage(logStream);
+    final int receiveBufferSize = configuration.getReceiveBufferSizeBytes();
     final OneToOneRingBufferChannel messageBuffer =
         new OneToOneRingBufferChannel(
-            new UnsafeBuffer(
-                new byte
-                    [(MemberReplicateLogController.REMOTE_BUFFER_SIZE)
-                        + RingBufferDescriptor.TRAILER_LENGTH]));
+            new UnsafeBuffer(new byte[receiveBufferSize + RingBufferDescriptor.TRAILER_LENGTH]));
 
     raft =
         new Raft(
@@ -69,7 +69,7 @@ public class RecordingExporter implements Exporter {
   @Override
   public void export(final Record record) {
     LOCK.lock();
-    RECORDS.add(record);
+    RECORDS.add(record.copy());
     IS_EMPTY.signal();
     LOCK.unlock();
   }
@@ -21,6 +21,7 @@ import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.exporter.api.context.Configuration;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.BatchExporter;
 import io.zeebe.exporter.api.spi.Exporter;
 import io.zeebe.test.exporter.record.MockRecord;
 import io.zeebe.test.exporter.record.MockRecordMetadata;
@@ -30,6 +31,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -153,11 +155,22 @@ public class ExporterTestHarness {
   /**
    * Exports the given record, updating the latest position to the position of the record.
    *
+   * <p>A {@link BatchExporter} receives the record as a single batch; like on a live broker, the
+   * position is updated once the batch is completed.
+   *
    * @param record record to export
    * @return exported record
    */
   public MockRecord export(MockRecord record) {
-    exporter.export(record);
+    if (exporter instanceof BatchExporter) {
+      ((BatchExporter) exporter)
+          .exportBatch(Collections.singletonList(record))
+          .toCompletableFuture()
+          .join();
+      controller.updateLastExportedRecordPosition(record.getPosition());
+    } else {
+      exporter.export(record);
+    }
     position = record.getPosition();
 
     return record;
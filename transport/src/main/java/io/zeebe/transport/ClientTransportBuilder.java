@@ -15,6 +15,8 @@
  */
 package io.zeebe.transport;
 
+import static io.zeebe.util.EnsureUtil.ensureGreaterThanOrEqual;
+
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.impl.ClientOutputImpl;
@@ -27,9 +29,11 @@ import io.zeebe.transport.impl.TransportContext;
 import io.zeebe.transport.impl.actor.ClientActorContext;
 import io.zeebe.transport.impl.actor.ClientConductor;
 import io.zeebe.transport.impl.actor.Receiver;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.sender.SenderMetrics;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.time.Duration;
@@ -57,6 +61,11 @@ public class ClientTransportBuilder {
   private TransportMemoryPool messageMemoryPool =
       new NonBlockingMemoryPool(ByteValue.ofMegabytes(4));
 
+  private int senderCount = 1;
+  private int receiverCount = 1;
+  private int compressionThreshold = 0;
+  private LocalTransportRegistry localTransportRegistry;
+
   protected Duration defaultRequestRetryTimeout = Duration.ofSeconds(15);
   protected Duration defaultMessageRetryTimeout = Duration.ofSeconds(1);
 
@@ -111,6 +120,43 @@ public class ClientTransportBuilder {
     return this;
   }
 
+  /**
+   * The number of sender actors. Channels are sharded across the senders by remote, writes to one
+   * remote keep their order.
+   */
+  public ClientTransportBuilder senderCount(int senderCount) {
+    this.senderCount = senderCount;
+    return this;
+  }
+
+  /**
+   * Frames of at least this length are compressed if the remote accepts it. 0 disables the
+   * compression. Frames from remotes are decompressed regardless of this setting.
+   */
+  public ClientTransportBuilder compressionThreshold(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+    return this;
+  }
+
+  /**
+   * The number of receiver actors. Channels are sharded across the receivers by remote. If more
+   * than one receiver is used, the {@link #inputListener(ClientInputListener) input listeners} are
+   * invoked concurrently and must be thread-safe.
+   */
+  public ClientTransportBuilder receiverCount(int receiverCount) {
+    this.receiverCount = receiverCount;
+    return this;
+  }
+
+  /**
+   * If set, remotes which are server transports of the given registry are connected through an
+   * in-memory channel instead of a socket.
+   */
+  public ClientTransportBuilder localChannels(LocalTransportRegistry localTransportRegistry) {
+    this.localTransportRegistry = localTransportRegistry;
+    return this;
+  }
+
   public ClientTransportBuilder channelFactory(TransportChannelFactory channelFactory) {
     this.channelFactory = channelFactory;
     return this;
@@ -130,9 +176,16 @@ public class ClientTransportBuilder {
     validate();
 
     final ClientActorContext actorContext = new ClientActorContext();
-
-    final Sender sender =
-        new Sender(actorContext, messageMemoryPool, requestMemoryPool, keepAlivePeriod);
+    actorContext.setSenderMetrics(new SenderMetrics(scheduler.getMetricsManager(), "client"));
+
+    for (int i = 0; i < senderCount; i++) {
+      new Sender(
+          actorContext,
+          messageMemoryPool,
+          requestMemoryPool,
+          keepAlivePeriod,
+          compressionThreshold);
+    }
 
     final RemoteAddressListImpl remoteAddressList = new RemoteAddressListImpl();
     final EndpointRegistry endpointRegistry = new EndpointRegistryImpl(name, remoteAddressList);
@@ -141,7 +194,7 @@ public class ClientTransportBuilder {
         buildTransportContext(
             remoteAddressList,
             endpointRegistry,
-            new ClientReceiveHandler(sender, receiveBuffer, listeners),
+            new ClientReceiveHandler(actorContext, receiveBuffer, listeners),
             receiveBuffer);
 
     return build(actorContext, transportContext);
@@ -160,6 +213,7 @@ public class ClientTransportBuilder {
     context.setEndpointRegistry(endpointRegistry);
     context.setReceiveHandler(receiveHandler);
     context.setChannelKeepAlivePeriod(keepAlivePeriod);
+    context.setLocalTransportRegistry(localTransportRegistry);
 
     if (channelFactory != null) {
       context.setChannelFactory(channelFactory);
@@ -175,26 +229,31 @@ public class ClientTransportBuilder {
     actorContext.setMetricsManager(scheduler.getMetricsManager());
 
     final ClientConductor conductor = new ClientConductor(actorContext, context);
-    final Receiver receiver = new Receiver(actorContext, context);
-    final Sender sender = actorContext.getSender();
+
+    for (int i = 0; i < receiverCount; i++) {
+      new Receiver(actorContext, context);
+    }
 
     final ClientOutput output =
         new ClientOutputImpl(
             context.getEndpointRegistry(),
-            sender,
+            actorContext,
             defaultRequestRetryTimeout,
             defaultMessageRetryTimeout);
 
     context.setClientOutput(output);
 
     scheduler.submitActor(conductor, true);
-    scheduler.submitActor(receiver, true);
-    scheduler.submitActor(sender, true);
+    actorContext.getReceivers().forEach(r -> scheduler.submitActor(r, true));
+    actorContext.getSenders().forEach(s -> scheduler.submitActor(s, true));
 
     return new ClientTransport(actorContext, context);
   }
 
   private void validate() {
     Objects.requireNonNull(scheduler, "Scheduler must be provided");
+    ensureGreaterThanOrEqual("sender count", senderCount, 1);
+    ensureGreaterThanOrEqual("receiver count", receiverCount, 1);
+    ensureGreaterThanOrEqual("compression threshold", compressionThreshold, 0);
   }
 }
@@ -15,6 +15,8 @@
  */
 package io.zeebe.transport;
 
+import static io.zeebe.util.EnsureUtil.ensureGreaterThanOrEqual;
+
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.impl.DefaultChannelFactory;
@@ -27,9 +29,11 @@ import io.zeebe.transport.impl.TransportContext;
 import io.zeebe.transport.impl.actor.Receiver;
 import io.zeebe.transport.impl.actor.ServerActorContext;
 import io.zeebe.transport.impl.actor.ServerConductor;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.sender.SenderMetrics;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.net.InetSocketAddress;
@@ -50,6 +54,11 @@ public class ServerTransportBuilder {
   private TransportMemoryPool messageMemoryPool =
       new NonBlockingMemoryPool(ByteValue.ofMegabytes(4));
 
+  private int senderCount = 1;
+  private int receiverCount = 1;
+  private int compressionThreshold = 0;
+  private LocalTransportRegistry localTransportRegistry;
+
   public ServerTransportBuilder name(String name) {
     this.name = name;
     return this;
@@ -60,6 +69,16 @@ public class ServerTransportBuilder {
     return this;
   }
 
+  /**
+   * If set, the transport registers itself with the given registry, so that client transports of
+   * the same registry can connect to it through an in-memory channel instead of a socket.
+   */
+  public ServerTransportBuilder localTransportRegistry(
+      LocalTransportRegistry localTransportRegistry) {
+    this.localTransportRegistry = localTransportRegistry;
+    return this;
+  }
+
   public ServerTransportBuilder bindAddress(InetSocketAddress address) {
     this.bindAddress = address;
     return this;
@@ -75,6 +94,35 @@ public class ServerTransportBuilder {
     return this;
   }
 
+  /**
+   * The number of sender actors. Channels are sharded across the senders by remote, writes to one
+   * remote keep their order.
+   */
+  public ServerTransportBuilder senderCount(int senderCount) {
+    this.senderCount = senderCount;
+    return this;
+  }
+
+  /**
+   * Frames of at least this length are compressed if the remote accepts it. 0 disables the
+   * compression. Frames from remotes are decompressed regardless of this setting.
+   */
+  public ServerTransportBuilder compressionThreshold(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+    return this;
+  }
+
+  /**
+   * The number of receiver actors. Channels are sharded across the receivers by remote. If more
+   * than one receiver is used, the message and request handlers passed to {@link
+   * #build(ServerMessageHandler, ServerRequestHandler)} are invoked concurrently and must be
+   * thread-safe.
+   */
+  public ServerTransportBuilder receiverCount(int receiverCount) {
+    this.receiverCount = receiverCount;
+    return this;
+  }
+
   protected ServerTransportBuilder receiveHandler(FragmentHandler receiveHandler) {
     this.receiveHandler = receiveHandler;
     return this;
@@ -92,9 +140,9 @@ public class ServerTransportBuilder {
 
     final ServerActorContext actorContext = new ServerActorContext();
 
-    final Sender sender = new Sender(actorContext, messageMemoryPool, null, null);
+    buildSenders(actorContext);
 
-    output = new ServerOutputImpl(sender);
+    output = new ServerOutputImpl(actorContext);
 
     receiveHandler(
         new ServerReceiveHandler(
@@ -119,9 +167,9 @@ public class ServerTransportBuilder {
 
     final ServerActorContext actorContext = new ServerActorContext();
 
-    final Sender sender = new Sender(actorContext, messageMemoryPool, null, null);
+    buildSenders(actorContext);
 
-    output = new ServerOutputImpl(sender);
+    output = new ServerOutputImpl(actorContext);
 
     final TransportContext context = buildTransportContext();
 
@@ -145,25 +193,44 @@ public class ServerTransportBuilder {
     context.setRemoteAddressList(remoteAddressList);
     context.setReceiveHandler(receiveHandler);
     context.setServerSocketBinding(serverSocketBinding);
+    context.setLocalTransportRegistry(localTransportRegistry);
     context.setChannelFactory(
         new DefaultChannelFactory(scheduler.getMetricsManager(), context.getName()));
 
     return context;
   }
 
+  protected void buildSenders(ServerActorContext actorContext) {
+    actorContext.setSenderMetrics(new SenderMetrics(scheduler.getMetricsManager(), name));
+
+    for (int i = 0; i < senderCount; i++) {
+      new Sender(actorContext, messageMemoryPool, null, null, compressionThreshold);
+    }
+  }
+
   protected void buildActors(TransportContext context, ServerActorContext actorContext) {
     final ServerConductor conductor = new ServerConductor(actorContext, context);
-    final Sender sender = actorContext.getSender();
-    final Receiver receiver = new Receiver(actorContext, context);
+
+    for (int i = 0; i < receiverCount; i++) {
+      new Receiver(actorContext, context);
+    }
 
     scheduler.submitActor(conductor, true);
-    scheduler.submitActor(sender, true);
-    scheduler.submitActor(receiver, true);
+    actorContext.getSenders().forEach(s -> scheduler.submitActor(s, true));
+    actorContext.getReceivers().forEach(r -> scheduler.submitActor(r, true));
+
+    if (localTransportRegistry != null) {
+      // register with the bind, local channels are opened once the conductor is started
+      localTransportRegistry.register(context.getServerSocketBinding().getBindAddress(), conductor);
+    }
   }
 
   protected void validate() {
     Objects.requireNonNull(scheduler, "Scheduler must be provided");
     Objects.requireNonNull(bindAddress, "Bind Address must be provided");
     Objects.requireNonNull(receiveHandler, "Receive Handler must be defined");
+    ensureGreaterThanOrEqual("sender count", senderCount, 1);
+    ensureGreaterThanOrEqual("receiver count", receiverCount, 1);
+    ensureGreaterThanOrEqual("compression threshold", compressionThreshold, 0);
   }
 }
@@ -19,6 +19,7 @@ import io.zeebe.transport.ClientOutput;
 import io.zeebe.transport.ClientResponse;
 import io.zeebe.transport.EndpointRegistry;
 import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.impl.actor.ActorContext;
 import io.zeebe.transport.impl.sender.OutgoingMessage;
 import io.zeebe.transport.impl.sender.OutgoingRequest;
 import io.zeebe.transport.impl.sender.Sender;
@@ -35,17 +36,17 @@ import org.agrona.concurrent.UnsafeBuffer;
 
 public class ClientOutputImpl implements ClientOutput {
   protected final EndpointRegistry endpointRegistry;
-  protected final Sender requestManager;
+  protected final ActorContext actorContext;
   protected final Duration defaultRequestRetryTimeout;
   protected final long defaultMessageRetryTimeoutInMillis;
 
   public ClientOutputImpl(
       EndpointRegistry endpointRegistry,
-      Sender requestManager,
+      ActorContext actorContext,
       Duration defaultRequestRetryTimeout,
       Duration defaultMessageRetryTimeout) {
     this.endpointRegistry = endpointRegistry;
-    this.requestManager = requestManager;
+    this.actorContext = actorContext;
     this.defaultRequestRetryTimeout = defaultRequestRetryTimeout;
     this.defaultMessageRetryTimeoutInMillis = defaultMessageRetryTimeout.toMillis();
   }
@@ -61,13 +62,15 @@ public class ClientOutputImpl implements ClientOutput {
   }
 
   private boolean sendTransportMessage(int remoteStreamId, BufferWriter writer) {
+    final Sender requestManager = actorContext.getSender(remoteStreamId);
     final int framedMessageLength =
         TransportHeaderWriter.getFramedMessageLength(writer.getLength());
-    final ByteBuffer allocatedBuffer = requestManager.allocateMessageBuffer(framedMessageLength);
+    final ByteBuffer allocatedBuffer =
+        requestManager.allocateMessageBuffer(remoteStreamId, framedMessageLength);
 
     if (allocatedBuffer != null) {
       try {
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedMessageLength);
         final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
         headerWriter.wrapMessage(bufferView, writer, remoteStreamId);
         final long deadline = ActorClock.currentTimeMillis() + defaultMessageRetryTimeoutInMillis;
@@ -79,7 +82,7 @@ public class ClientOutputImpl implements ClientOutput {
 
         return true;
       } catch (RuntimeException e) {
-        requestManager.reclaimMessageBuffer(allocatedBuffer);
+        requestManager.reclaimMessageBuffer(remoteStreamId, allocatedBuffer, framedMessageLength);
         throw e;
       }
     } else {
@@ -104,6 +107,7 @@ public class ClientOutputImpl implements ClientOutput {
       Predicate<DirectBuffer> responseInspector,
       BufferWriter writer,
       Duration timeout) {
+    final Sender requestManager = actorContext.getSender();
     final int messageLength = writer.getLength();
     final int framedLength = TransportHeaderWriter.getFramedRequestLength(messageLength);
 
@@ -111,7 +115,7 @@ public class ClientOutputImpl implements ClientOutput {
 
     if (allocatedBuffer != null) {
       try {
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedLength);
         final OutgoingRequest request =
             new OutgoingRequest(
                 () -> endpointRegistry.getEndpoint(nodeIdSupplier.get()),
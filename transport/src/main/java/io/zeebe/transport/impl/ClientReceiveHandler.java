@@ -18,24 +18,19 @@ package io.zeebe.transport.impl;
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.ClientInputListener;
-import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.actor.ActorContext;
 import java.util.List;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class ClientReceiveHandler implements FragmentHandler {
-  private final TransportHeaderDescriptor transportHeaderDescriptor =
-      new TransportHeaderDescriptor();
-  private final RequestResponseHeaderDescriptor requestResponseHeaderDescriptor =
-      new RequestResponseHeaderDescriptor();
-
-  protected final Sender requestPool;
+  protected final ActorContext actorContext;
   protected final Dispatcher receiveBuffer;
   protected final List<ClientInputListener> listeners;
 
   public ClientReceiveHandler(
-      Sender requestPool, Dispatcher receiveBuffer, List<ClientInputListener> listeners) {
-    this.requestPool = requestPool;
+      ActorContext actorContext, Dispatcher receiveBuffer, List<ClientInputListener> listeners) {
+    this.actorContext = actorContext;
     this.receiveBuffer = receiveBuffer;
     this.listeners = listeners;
   }
@@ -43,25 +38,24 @@ public class ClientReceiveHandler implements FragmentHandler {
   @Override
   public int onFragment(
       DirectBuffer buffer, int readOffset, int length, int streamId, boolean isMarkedFailed) {
-    transportHeaderDescriptor.wrap(buffer, readOffset);
+    final int protocolId = TransportHeaderDescriptor.getProtocolId(buffer, readOffset);
     readOffset += TransportHeaderDescriptor.headerLength();
     length -= TransportHeaderDescriptor.headerLength();
 
-    final int protocolId = transportHeaderDescriptor.protocolId();
-
     switch (protocolId) {
       case TransportHeaderDescriptor.REQUEST_RESPONSE:
-        requestResponseHeaderDescriptor.wrap(buffer, readOffset);
+        final long requestId = RequestResponseHeaderDescriptor.getRequestId(buffer, readOffset);
         readOffset += RequestResponseHeaderDescriptor.headerLength();
         length -= RequestResponseHeaderDescriptor.headerLength();
 
-        final long requestId = requestResponseHeaderDescriptor.requestId();
-
         final UnsafeBuffer responseBuffer = new UnsafeBuffer(new byte[length]);
         buffer.getBytes(readOffset, responseBuffer, 0, length);
 
         invokeResponseListeners(streamId, requestId, buffer, readOffset, length);
-        requestPool.submitResponse(new IncomingResponse(requestId, responseBuffer));
+        // the response arrives on the channel the request was written to
+        actorContext
+            .getSender(streamId)
+            .submitResponse(new IncomingResponse(requestId, responseBuffer));
 
         return CONSUME_FRAGMENT_RESULT;
 
@@ -28,9 +28,22 @@ public class ControlMessages {
 
   public static final int KEEP_ALIVE_TYPE = 0;
 
-  public static final DirectBuffer KEEP_ALIVE;
+  /** Sent by a transport which compresses frames, to find out if the remote can decompress them. */
+  public static final int COMPRESSION_REQUEST_TYPE = 1;
 
-  static {
+  /** The answer to a compression request, the remote may send compressed frames afterwards. */
+  public static final int COMPRESSION_ACCEPT_TYPE = 2;
+
+  public static final DirectBuffer KEEP_ALIVE = controlMessage(KEEP_ALIVE_TYPE);
+  public static final DirectBuffer COMPRESSION_REQUEST = controlMessage(COMPRESSION_REQUEST_TYPE);
+  public static final DirectBuffer COMPRESSION_ACCEPT = controlMessage(COMPRESSION_ACCEPT_TYPE);
+
+  public static int getControlMessageType(DirectBuffer buffer, int offset) {
+    return buffer.getInt(
+        offset + TransportHeaderDescriptor.HEADER_LENGTH, CONTROL_MESSAGE_BYTEORDER);
+  }
+
+  private static DirectBuffer controlMessage(int type) {
     final TransportHeaderDescriptor transportHeaderDescriptor = new TransportHeaderDescriptor();
 
     final int messageLength = BitUtil.SIZE_OF_INT;
@@ -52,7 +65,7 @@ public class ControlMessages {
         .wrap(buf, transportHeaderOffset)
         .protocolId(TransportHeaderDescriptor.CONTROL_MESSAGE);
 
-    buf.putInt(messageOffset, KEEP_ALIVE_TYPE, CONTROL_MESSAGE_BYTEORDER);
-    KEEP_ALIVE = buf;
+    buf.putInt(messageOffset, type, CONTROL_MESSAGE_BYTEORDER);
+    return buf;
   }
 }
@@ -18,6 +18,8 @@ package io.zeebe.transport.impl;
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.impl.TransportChannel.ChannelLifecycleListener;
 import io.zeebe.transport.impl.TransportChannel.TransportChannelMetrics;
+import io.zeebe.transport.impl.local.LocalChannelPipe;
+import io.zeebe.transport.impl.local.LocalTransportChannel;
 import io.zeebe.util.metrics.MetricsManager;
 import java.nio.channels.SocketChannel;
 
@@ -51,4 +53,28 @@ public class DefaultChannelFactory implements TransportChannelFactory {
     return new TransportChannel(
         listener, remoteAddress, maxMessageSize, readHandler, media, metrics);
   }
+
+  @Override
+  public TransportChannel buildLocalClientChannel(
+      ChannelLifecycleListener listener,
+      RemoteAddressImpl remoteAddress,
+      int maxMessageSize,
+      FragmentHandler readHandler,
+      LocalChannelPipe readPipe,
+      LocalChannelPipe writePipe) {
+    return new LocalTransportChannel(
+        listener, remoteAddress, maxMessageSize, readHandler, readPipe, writePipe, metrics);
+  }
+
+  @Override
+  public TransportChannel buildLocalServerChannel(
+      ChannelLifecycleListener listener,
+      RemoteAddressImpl remoteAddress,
+      int maxMessageSize,
+      FragmentHandler readHandler,
+      LocalChannelPipe readPipe,
+      LocalChannelPipe writePipe) {
+    return new LocalTransportChannel(
+        listener, remoteAddress, maxMessageSize, readHandler, readPipe, writePipe, metrics);
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl;
+
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import java.nio.ByteBuffer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Compresses the body of a framed message with LZ4, i.e. everything after the transport header.
+ * The compressed frame looks like:
+ *
+ * <pre>
+ * +---------------------------------------------------------------+
+ * |                      DATA FRAME HEADER                        |
+ * +---------------------------------------------------------------+
+ * |   PROTOCOL ID | COMPRESSED   |
+ * +---------------------------------------------------------------+
+ * |                    UNCOMPRESSED BODY LENGTH                   |
+ * +---------------------------------------------------------------+
+ * |                     ...COMPRESSED BODY...                     |
+ * +---------------------------------------------------------------+
+ * </pre>
+ */
+public class FrameCompressor {
+  public static final int BODY_OFFSET =
+      DataFrameDescriptor.HEADER_LENGTH + TransportHeaderDescriptor.HEADER_LENGTH;
+
+  public static final int COMPRESSED_BODY_OFFSET = BODY_OFFSET + BitUtil.SIZE_OF_INT;
+
+  private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+  private final UnsafeBuffer frameView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer compressedFrameView = new UnsafeBuffer(0, 0);
+
+  /**
+   * Compresses the frame into the given buffer, without allocating one.
+   *
+   * @param frame a framed message
+   * @param target the buffer to write the compressed frame to, it must have the capacity of the
+   *     frame at the offset
+   * @param targetOffset the offset to write the compressed frame at
+   * @return the aligned length of the compressed frame, or -1 if the frame can not be compressed
+   *     into less bytes
+   */
+  public int compress(ByteBuffer frame, ByteBuffer target, int targetOffset) {
+    frameView.wrap(frame);
+
+    final int framedLength = frameView.getInt(DataFrameDescriptor.lengthOffset(0));
+    final int bodyLength = framedLength - BODY_OFFSET;
+    final int frameCapacity = DataFrameDescriptor.alignedLength(framedLength);
+
+    // the aligned compressed frame must be at least one alignment shorter than the frame
+    final int maxCompressedBodyLength =
+        frameCapacity - DataFrameDescriptor.FRAME_ALIGNMENT - COMPRESSED_BODY_OFFSET;
+    if (maxCompressedBodyLength <= 0) {
+      return -1;
+    }
+
+    final int compressedBodyLength;
+    try {
+      compressedBodyLength =
+          compressor.compress(
+              frame,
+              BODY_OFFSET,
+              bodyLength,
+              target,
+              targetOffset + COMPRESSED_BODY_OFFSET,
+              maxCompressedBodyLength);
+    } catch (LZ4Exception e) {
+      // the compressed body exceeds the maximum length
+      return -1;
+    }
+
+    final int compressedFramedLength = COMPRESSED_BODY_OFFSET + compressedBodyLength;
+    final int compressedFrameLength = DataFrameDescriptor.alignedLength(compressedFramedLength);
+
+    compressedFrameView.wrap(target, targetOffset, compressedFrameLength);
+    compressedFrameView.putBytes(0, frameView, 0, DataFrameDescriptor.HEADER_LENGTH);
+    compressedFrameView.putInt(DataFrameDescriptor.lengthOffset(0), compressedFramedLength);
+
+    final int protocolId =
+        TransportHeaderDescriptor.getProtocolId(frameView, DataFrameDescriptor.HEADER_LENGTH);
+    compressedFrameView.putShort(
+        TransportHeaderDescriptor.protocolIdOffset(DataFrameDescriptor.HEADER_LENGTH),
+        (short) (protocolId | TransportHeaderDescriptor.COMPRESSED_FLAG),
+        TransportHeaderDescriptor.HEADER_BYTE_ORDER);
+    compressedFrameView.putInt(
+        BODY_OFFSET, bodyLength, TransportHeaderDescriptor.HEADER_BYTE_ORDER);
+
+    return compressedFrameLength;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl;
+
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Restores a message which was compressed by a {@link FrameCompressor}. Works on the message of
+ * the frame, i.e. starting with the transport header.
+ */
+public class FrameDecompressor {
+  private static final int UNCOMPRESSED_LENGTH_OFFSET = TransportHeaderDescriptor.HEADER_LENGTH;
+  private static final int COMPRESSED_BODY_OFFSET =
+      UNCOMPRESSED_LENGTH_OFFSET + BitUtil.SIZE_OF_INT;
+
+  private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+  private final int maxMessageLength;
+
+  private final UnsafeBuffer messageBuffer = new UnsafeBuffer(0, 0);
+  private byte[] compressedBody = new byte[0];
+
+  public FrameDecompressor(int maxMessageLength) {
+    this.maxMessageLength = maxMessageLength;
+  }
+
+  /**
+   * Decompresses the message into {@link #getBuffer()}, starting at offset 0.
+   *
+   * @return the length of the decompressed message, or -1 if the message is corrupt; i.e. its
+   *     uncompressed length is negative or exceeds the maximum message length, or its body can not
+   *     be decompressed to this length
+   */
+  public int decompress(DirectBuffer buffer, int offset, int length) {
+    final int protocolId = TransportHeaderDescriptor.getProtocolId(buffer, offset);
+    final int bodyLength =
+        buffer.getInt(
+            offset + UNCOMPRESSED_LENGTH_OFFSET, TransportHeaderDescriptor.HEADER_BYTE_ORDER);
+    final int compressedBodyLength = length - COMPRESSED_BODY_OFFSET;
+
+    if (bodyLength < 0 || bodyLength > maxMessageLength || compressedBodyLength < 0) {
+      return -1;
+    }
+
+    final int messageLength = TransportHeaderDescriptor.HEADER_LENGTH + bodyLength;
+
+    if (compressedBody.length < compressedBodyLength) {
+      compressedBody = new byte[compressedBodyLength];
+    }
+    buffer.getBytes(offset + COMPRESSED_BODY_OFFSET, compressedBody, 0, compressedBodyLength);
+
+    if (messageBuffer.capacity() < messageLength) {
+      messageBuffer.wrap(new byte[messageLength]);
+    }
+
+    messageBuffer.putShort(
+        TransportHeaderDescriptor.PROTOCOL_ID_OFFSET,
+        (short) (protocolId & ~TransportHeaderDescriptor.COMPRESSED_FLAG),
+        TransportHeaderDescriptor.HEADER_BYTE_ORDER);
+
+    final int decompressedLength;
+    try {
+      decompressedLength =
+          decompressor.decompress(
+              compressedBody,
+              0,
+              compressedBodyLength,
+              messageBuffer.byteArray(),
+              TransportHeaderDescriptor.HEADER_LENGTH,
+              bodyLength);
+    } catch (LZ4Exception e) {
+      return -1;
+    }
+
+    if (decompressedLength != bodyLength) {
+      return -1;
+    }
+
+    return messageLength;
+  }
+
+  public DirectBuffer getBuffer() {
+    return messageBuffer;
+  }
+}
@@ -20,9 +20,6 @@ import io.zeebe.dispatcher.FragmentHandler;
 import org.agrona.DirectBuffer;
 
 public class ReceiveBufferHandler implements FragmentHandler {
-  private final TransportHeaderDescriptor transportHeaderDescriptor =
-      new TransportHeaderDescriptor();
-
   protected final Dispatcher receiveBuffer;
 
   public ReceiveBufferHandler(Dispatcher receiveBuffer) {
@@ -37,8 +34,8 @@ public class ReceiveBufferHandler implements FragmentHandler {
     }
 
     if (!isMarkedFailed) {
-      transportHeaderDescriptor.wrap(buffer, offset);
-      if (transportHeaderDescriptor.protocolId() == TransportHeaderDescriptor.CONTROL_MESSAGE) {
+      final int protocolId = TransportHeaderDescriptor.getProtocolId(buffer, offset);
+      if (protocolId == TransportHeaderDescriptor.CONTROL_MESSAGE) {
         // don't forward control messages
         return CONSUME_FRAGMENT_RESULT;
       }
@@ -45,6 +45,10 @@ public class RequestResponseHeaderDescriptor {
     return offset + REQUEST_ID_OFFSET;
   }
 
+  public static long getRequestId(DirectBuffer buffer, int offset) {
+    return buffer.getLong(requestIdOffset(offset));
+  }
+
   protected UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
 
   public RequestResponseHeaderDescriptor wrap(DirectBuffer buffer, int offset) {
@@ -17,6 +17,7 @@ package io.zeebe.transport.impl;
 
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerResponse;
+import io.zeebe.transport.impl.actor.ActorContext;
 import io.zeebe.transport.impl.sender.OutgoingMessage;
 import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.transport.impl.sender.TransportHeaderWriter;
@@ -27,22 +28,24 @@ import org.agrona.concurrent.UnsafeBuffer;
 public class ServerOutputImpl implements ServerOutput {
   private static final long NO_RETRIES = 0;
 
-  private final Sender sender;
+  private final ActorContext actorContext;
 
-  public ServerOutputImpl(Sender sender) {
-    this.sender = sender;
+  public ServerOutputImpl(ActorContext actorContext) {
+    this.actorContext = actorContext;
   }
 
   @Override
   public boolean sendMessage(int remoteStreamId, BufferWriter writer) {
+    final Sender sender = actorContext.getSender(remoteStreamId);
     final int framedMessageLength =
         TransportHeaderWriter.getFramedMessageLength(writer.getLength());
 
-    final ByteBuffer allocatedBuffer = sender.allocateMessageBuffer(framedMessageLength);
+    final ByteBuffer allocatedBuffer =
+        sender.allocateMessageBuffer(remoteStreamId, framedMessageLength);
 
     if (allocatedBuffer != null) {
       try {
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedMessageLength);
         final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
         headerWriter.wrapMessage(bufferView, writer, remoteStreamId);
 
@@ -53,7 +56,7 @@ public class ServerOutputImpl implements ServerOutput {
 
         return true;
       } catch (RuntimeException e) {
-        sender.reclaimMessageBuffer(allocatedBuffer);
+        sender.reclaimMessageBuffer(remoteStreamId, allocatedBuffer, framedMessageLength);
         throw e;
       }
     } else {
@@ -64,16 +67,17 @@ public class ServerOutputImpl implements ServerOutput {
   @Override
   public boolean sendResponse(ServerResponse response) {
     final BufferWriter writer = response.getWriter();
+    final int remoteStreamId = response.getRemoteStreamId();
+    final Sender sender = actorContext.getSender(remoteStreamId);
     final int framedLength = TransportHeaderWriter.getFramedRequestLength(writer.getLength());
 
-    final ByteBuffer allocatedBuffer = sender.allocateMessageBuffer(framedLength);
+    final ByteBuffer allocatedBuffer = sender.allocateMessageBuffer(remoteStreamId, framedLength);
 
     if (allocatedBuffer != null) {
       try {
-        final int remoteStreamId = response.getRemoteStreamId();
         final long requestId = response.getRequestId();
 
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedLength);
         final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
 
         headerWriter.wrapRequest(bufferView, writer);
@@ -87,7 +91,7 @@ public class ServerOutputImpl implements ServerOutput {
 
         return true;
       } catch (RuntimeException e) {
-        sender.reclaimMessageBuffer(allocatedBuffer);
+        sender.reclaimMessageBuffer(remoteStreamId, allocatedBuffer, framedLength);
         throw e;
       }
     } else {
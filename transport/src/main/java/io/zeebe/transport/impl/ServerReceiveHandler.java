@@ -25,10 +25,6 @@ import io.zeebe.transport.ServerRequestHandler;
 import org.agrona.DirectBuffer;
 
 public class ServerReceiveHandler implements FragmentHandler {
-  private final TransportHeaderDescriptor transportHeaderDescriptor =
-      new TransportHeaderDescriptor();
-  private final RequestResponseHeaderDescriptor requestResponseHeaderDescriptor =
-      new RequestResponseHeaderDescriptor();
   private final RemoteAddressList remoteAddressList;
   private final ServerMessageHandler messageHandler;
   private final ServerRequestHandler requestHandler;
@@ -55,20 +51,17 @@ public class ServerReceiveHandler implements FragmentHandler {
 
     final RemoteAddress remoteAddress = remoteAddressList.getByStreamId(streamId);
 
-    transportHeaderDescriptor.wrap(buffer, readOffset);
+    final int protocolId = TransportHeaderDescriptor.getProtocolId(buffer, readOffset);
     readOffset += TransportHeaderDescriptor.headerLength();
     length -= TransportHeaderDescriptor.headerLength();
 
-    final int protocolId = transportHeaderDescriptor.protocolId();
-
     switch (protocolId) {
       case TransportHeaderDescriptor.REQUEST_RESPONSE:
         if (requestHandler != null) {
-          requestResponseHeaderDescriptor.wrap(buffer, readOffset);
+          final long requestId = RequestResponseHeaderDescriptor.getRequestId(buffer, readOffset);
           readOffset += RequestResponseHeaderDescriptor.headerLength();
           length -= RequestResponseHeaderDescriptor.headerLength();
 
-          final long requestId = requestResponseHeaderDescriptor.requestId();
           result =
               requestHandler.onRequest(output, remoteAddress, buffer, readOffset, length, requestId)
                   ? CONSUME_FRAGMENT_RESULT
@@ -42,6 +42,10 @@ public class ServerSocketBinding {
     this.bindAddress = bindAddress;
   }
 
+  public InetSocketAddress getBindAddress() {
+    return bindAddress;
+  }
+
   public void doBind() {
     try {
       media = ServerSocketChannel.open();
@@ -21,6 +21,7 @@ import io.zeebe.transport.Loggers;
 import io.zeebe.util.ZbLogger;
 import io.zeebe.util.allocation.AllocatedBuffer;
 import io.zeebe.util.allocation.BufferAllocators;
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
 import java.io.IOException;
@@ -52,6 +53,7 @@ public class TransportChannel {
   private volatile int state = CLOSED;
 
   private final TransportChannelMetrics metrics;
+  private final TransportChannelMetrics.RemoteMetrics remoteMetrics;
   private final RemoteAddressImpl remoteAddress;
   private final AllocatedBuffer allocatedBuffer;
   private final ByteBuffer channelReadBuffer;
@@ -59,6 +61,11 @@ public class TransportChannel {
 
   private final ChannelLifecycleListener listener;
   private final FragmentHandler readHandler;
+  private final FrameDecompressor decompressor;
+
+  // set by the receiving side of the channel, read by the sending side
+  private volatile boolean isCompressionRequested = false;
+  private volatile boolean isCompressionAccepted = false;
 
   private SocketChannel media;
 
@@ -76,6 +83,8 @@ public class TransportChannel {
     this.remoteAddress = remoteAddress;
     this.readHandler = readHandler;
     this.metrics = metrics;
+    this.remoteMetrics = metrics.newRemoteMetrics(remoteAddress);
+    this.decompressor = new FrameDecompressor(maxMessageSize);
     this.allocatedBuffer = BufferAllocators.allocateDirect(2 * maxMessageSize);
     this.channelReadBuffer = allocatedBuffer.getRawBuffer();
     this.channelReadBufferView = new UnsafeBuffer(channelReadBuffer);
@@ -90,13 +99,17 @@ public class TransportChannel {
       TransportChannelMetrics metrics) {
     this(listener, remoteAddress, maxMessageSize, readHandler, metrics);
     this.media = media;
+    setConnected();
+  }
+
+  protected void setConnected() {
     STATE_FIELD.set(this, CONNECTED);
   }
 
   public int receive() {
     int workCount = 0;
 
-    final int received = mediaReceive(media, channelReadBuffer);
+    final int received = mediaReceive(channelReadBuffer);
 
     LOG.trace("Received {} bytes on channel {}", received, this);
 
@@ -106,6 +119,7 @@ public class TransportChannel {
     }
 
     metrics.receiveBytes.getAndAddOrdered(received);
+    remoteMetrics.receiveBytes.getAndAddOrdered(received);
 
     final int available = channelReadBuffer.position();
 
@@ -128,6 +142,11 @@ public class TransportChannel {
       } else {
         final boolean handled = handleMessage(channelReadBufferView, msgOffset, msgLength);
 
+        if (isClosed()) {
+          // the message was corrupt
+          return workCount;
+        }
+
         if (handled) {
           LOG.trace("Handler has handled message of {} bytes", framedLength);
 
@@ -150,6 +169,26 @@ public class TransportChannel {
 
   private boolean handleMessage(DirectBuffer buffer, int msgOffset, int msgLength) {
     try {
+      if (handleCompressionControlMessage(buffer, msgOffset)) {
+        return true;
+      }
+
+      if (TransportHeaderDescriptor.isCompressed(buffer, msgOffset)) {
+        final int uncompressedLength = decompressor.decompress(buffer, msgOffset, msgLength);
+
+        if (uncompressedLength < 0) {
+          LOG.warn("Closing channel {}, received a corrupt compressed message", this);
+          doClose();
+          return false;
+        }
+
+        metrics.decompressedBytes.getAndAddOrdered(uncompressedLength);
+
+        buffer = decompressor.getBuffer();
+        msgOffset = 0;
+        msgLength = uncompressedLength;
+      }
+
       return readHandler.onFragment(buffer, msgOffset, msgLength, getStreamId(), false)
           != FragmentHandler.POSTPONE_FRAGMENT_RESULT;
     } catch (Exception e) {
@@ -158,11 +197,29 @@ public class TransportChannel {
     }
   }
 
-  private int mediaReceive(SocketChannel media, ByteBuffer receiveBuffer) {
+  private boolean handleCompressionControlMessage(DirectBuffer buffer, int msgOffset) {
+    if (TransportHeaderDescriptor.getProtocolId(buffer, msgOffset)
+        != TransportHeaderDescriptor.CONTROL_MESSAGE) {
+      return false;
+    }
+
+    switch (ControlMessages.getControlMessageType(buffer, msgOffset)) {
+      case ControlMessages.COMPRESSION_REQUEST_TYPE:
+        isCompressionRequested = true;
+        return true;
+      case ControlMessages.COMPRESSION_ACCEPT_TYPE:
+        isCompressionAccepted = true;
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private int mediaReceive(ByteBuffer receiveBuffer) {
     int bytesReceived = -2;
 
     try {
-      bytesReceived = media.read(receiveBuffer);
+      bytesReceived = mediaRead(receiveBuffer);
     } catch (IOException e) {
       doClose();
     }
@@ -170,12 +227,21 @@ public class TransportChannel {
     return bytesReceived;
   }
 
-  public int write(ByteBuffer buffer) {
-    int bytesWritten = -1;
+  protected int mediaRead(ByteBuffer receiveBuffer) throws IOException {
+    return media.read(receiveBuffer);
+  }
+
+  protected long mediaWrite(ByteBuffer[] buffers, int offset, int length) throws IOException {
+    return media.write(buffers, offset, length);
+  }
+
+  public long write(ByteBuffer[] buffers, int offset, int length) {
+    long bytesWritten = -1;
 
     try {
-      bytesWritten = media.write(buffer);
+      bytesWritten = mediaWrite(buffers, offset, length);
       metrics.transmitBytes.getAndAddOrdered(bytesWritten);
+      remoteMetrics.transmitBytes.getAndAddOrdered(bytesWritten);
     } catch (IOException e) {
       doClose();
     }
@@ -183,6 +249,31 @@ public class TransportChannel {
     return bytesWritten;
   }
 
+  /** @return true once, if the remote asked whether it can send compressed frames */
+  public boolean pollCompressionRequest() {
+    if (isCompressionRequested) {
+      isCompressionRequested = false;
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /** @return true if the remote accepted to receive compressed frames */
+  public boolean isCompressionAccepted() {
+    return isCompressionAccepted;
+  }
+
+  public void onFrameCompressed(int frameLength, int compressedFrameLength) {
+    metrics.compressionInputBytes.getAndAddOrdered(frameLength);
+    metrics.compressionOutputBytes.getAndAddOrdered(compressedFrameLength);
+  }
+
+  /** @return the metrics of the remote of this channel, updated by the sender of the channel */
+  public TransportChannelMetrics.RemoteMetrics getRemoteMetrics() {
+    return remoteMetrics;
+  }
+
   public int getStreamId() {
     return remoteAddress.getStreamId();
   }
@@ -248,17 +339,7 @@ public class TransportChannel {
 
   protected void doClose() {
     try {
-      if (media != null) {
-
-        try {
-          synchronized (registeredKeys) {
-            registeredKeys.forEach(k -> k.cancel());
-            registeredKeys.clear();
-          }
-        } finally {
-          media.close();
-        }
-      }
+      closeMedia();
 
       allocatedBuffer.close();
     } catch (Exception e) {
@@ -269,6 +350,8 @@ public class TransportChannel {
 
       // ensuring to only invoke this once per channel
       if (previousState != CLOSED) {
+        remoteMetrics.close();
+
         if (listener != null) {
           final boolean wasConnected = previousState == CONNECTED;
           listener.onChannelClosed(this, wasConnected);
@@ -277,10 +360,29 @@ public class TransportChannel {
     }
   }
 
+  protected void closeMedia() throws IOException {
+    if (media != null) {
+
+      try {
+        synchronized (registeredKeys) {
+          registeredKeys.forEach(k -> k.cancel());
+          registeredKeys.clear();
+        }
+      } finally {
+        media.close();
+      }
+    }
+  }
+
   public RemoteAddressImpl getRemoteAddress() {
     return remoteAddress;
   }
 
+  /** @return true if the channel is connected to a transport of the same JVM, without a socket */
+  public boolean isLocal() {
+    return false;
+  }
+
   public void interrupt() {
     doClose();
   }
@@ -303,16 +405,33 @@ public class TransportChannel {
     return connectAttempt;
   }
 
+  public void setOpenAttempt(int attempt) {
+    connectAttempt = attempt;
+  }
+
   @Override
   public String toString() {
     return media != null ? media.toString() : "unconnected channel to remote " + remoteAddress;
   }
 
   public static class TransportChannelMetrics {
+    private static final long[] LATENCY_BUCKETS_MICROS = {
+      100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 1_000_000
+    };
+
+    private final MetricsManager metricsManager;
+    private final String transportName;
+
     final Metric receiveBytes;
     final Metric transmitBytes;
+    final Metric compressionInputBytes;
+    final Metric compressionOutputBytes;
+    final Metric decompressedBytes;
 
     public TransportChannelMetrics(MetricsManager metricsManager, String transportName) {
+      this.metricsManager = metricsManager;
+      this.transportName = transportName;
+
       receiveBytes =
           metricsManager
               .newMetric("transport_receive_bytes")
@@ -325,11 +444,119 @@ public class TransportChannel {
               .type("counter")
               .label("transport", transportName)
               .create();
+      compressionInputBytes =
+          metricsManager
+              .newMetric("transport_compression_input_bytes")
+              .type("counter")
+              .label("transport", transportName)
+              .create();
+      compressionOutputBytes =
+          metricsManager
+              .newMetric("transport_compression_output_bytes")
+              .type("counter")
+              .label("transport", transportName)
+              .create();
+      decompressedBytes =
+          metricsManager
+              .newMetric("transport_decompressed_bytes")
+              .type("counter")
+              .label("transport", transportName)
+              .create();
     }
 
     public void close() {
       receiveBytes.close();
       transmitBytes.close();
+      compressionInputBytes.close();
+      compressionOutputBytes.close();
+      decompressedBytes.close();
+    }
+
+    /** @return the metrics of the channel to the given remote, which must be closed after use */
+    public RemoteMetrics newRemoteMetrics(RemoteAddressImpl remoteAddress) {
+      return new RemoteMetrics(remoteAddress.getAddress().toString());
+    }
+
+    /** Metrics of one channel, labelled with the address of its remote. */
+    public class RemoteMetrics {
+      final Metric receiveBytes;
+      final Metric transmitBytes;
+      private final Metric pendingWrites;
+      private final Metric inFlightRequests;
+      private final Metric requestTimeouts;
+      private final Histogram requestLatency;
+
+      RemoteMetrics(String remote) {
+        receiveBytes =
+            metricsManager
+                .newMetric("transport_remote_receive_bytes")
+                .type("counter")
+                .label("transport", transportName)
+                .label("remote", remote)
+                .create();
+        transmitBytes =
+            metricsManager
+                .newMetric("transport_remote_transmit_bytes")
+                .type("counter")
+                .label("transport", transportName)
+                .label("remote", remote)
+                .create();
+        pendingWrites =
+            metricsManager
+                .newMetric("transport_remote_pending_writes")
+                .type("gauge")
+                .label("transport", transportName)
+                .label("remote", remote)
+                .create();
+        inFlightRequests =
+            metricsManager
+                .newMetric("transport_remote_inflight_requests")
+                .type("gauge")
+                .label("transport", transportName)
+                .label("remote", remote)
+                .create();
+        requestTimeouts =
+            metricsManager
+                .newMetric("transport_remote_request_timeouts")
+                .type("counter")
+                .label("transport", transportName)
+                .label("remote", remote)
+                .create();
+        requestLatency =
+            metricsManager
+                .newMetric("transport_remote_request_latency_micros")
+                .label("transport", transportName)
+                .label("remote", remote)
+                .createHistogram(LATENCY_BUCKETS_MICROS);
+      }
+
+      /**
+       * @param pendingWrites the number of batches which are queued to be written to the channel
+       * @param inFlightRequests the number of requests which are written or queued and not yet
+       *     answered
+       */
+      public void setQueueDepths(int pendingWrites, int inFlightRequests) {
+        this.pendingWrites.setOrdered(pendingWrites);
+        this.inFlightRequests.setOrdered(inFlightRequests);
+      }
+
+      /** Records the time from writing a request to the channel until its response arrived. */
+      public void recordRequestLatency(long latencyMicros) {
+        requestLatency.record(latencyMicros);
+      }
+
+      public void countRequestTimeout() {
+        requestTimeouts.incrementOrdered();
+      }
+
+      public void close() {
+        receiveBytes.close();
+        transmitBytes.close();
+        pendingWrites.close();
+        inFlightRequests.close();
+        requestTimeouts.close();
+        requestLatency.close();
+      }
     }
   }
 }
@@ -17,6 +17,7 @@ package io.zeebe.transport.impl;
 
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.impl.TransportChannel.ChannelLifecycleListener;
+import io.zeebe.transport.impl.local.LocalChannelPipe;
 import java.nio.channels.SocketChannel;
 
 public interface TransportChannelFactory {
@@ -33,4 +34,26 @@ public interface TransportChannelFactory {
       int maxMessageSize,
       FragmentHandler readHandler,
       SocketChannel media);
+
+  /** @return a channel to a server transport of the same JVM, or null if not supported */
+  default TransportChannel buildLocalClientChannel(
+      ChannelLifecycleListener listener,
+      RemoteAddressImpl remoteAddress,
+      int maxMessageSize,
+      FragmentHandler readHandler,
+      LocalChannelPipe readPipe,
+      LocalChannelPipe writePipe) {
+    return null;
+  }
+
+  /** @return a channel to a client transport of the same JVM, or null if not supported */
+  default TransportChannel buildLocalServerChannel(
+      ChannelLifecycleListener listener,
+      RemoteAddressImpl remoteAddress,
+      int maxMessageSize,
+      FragmentHandler readHandler,
+      LocalChannelPipe readPipe,
+      LocalChannelPipe writePipe) {
+    return null;
+  }
 }
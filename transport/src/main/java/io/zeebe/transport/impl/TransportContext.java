@@ -20,6 +20,7 @@ import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.ClientOutput;
 import io.zeebe.transport.EndpointRegistry;
 import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import java.time.Duration;
 
 public class TransportContext {
@@ -42,6 +43,8 @@ public class TransportContext {
 
   private TransportChannelFactory channelFactory;
 
+  private LocalTransportRegistry localTransportRegistry;
+
   public int getMessageMaxLength() {
     return messageMaxLength;
   }
@@ -137,4 +140,13 @@ public class TransportContext {
   public String getName() {
     return name;
   }
+
+  public void setLocalTransportRegistry(LocalTransportRegistry localTransportRegistry) {
+    this.localTransportRegistry = localTransportRegistry;
+  }
+
+  /** @return the registry of the server transports which can be connected locally, or null */
+  public LocalTransportRegistry getLocalTransportRegistry() {
+    return localTransportRegistry;
+  }
 }
@@ -25,6 +25,12 @@ public class TransportHeaderDescriptor {
   public static final short FULL_DUPLEX_SINGLE_MESSAGE = 1;
   public static final short CONTROL_MESSAGE = 2;
 
+  /**
+   * Set on the protocol id of a compressed frame. A compressed frame is only sent to a remote which
+   * accepted compression and is decompressed by the channel before it reaches a handler.
+   */
+  public static final short COMPRESSED_FLAG = 0x4000;
+
   public static final int PROTOCOL_ID_OFFSET;
   public static final int HEADER_LENGTH;
 
@@ -52,6 +58,14 @@ public class TransportHeaderDescriptor {
     return offset + PROTOCOL_ID_OFFSET;
   }
 
+  public static int getProtocolId(DirectBuffer buffer, int offset) {
+    return buffer.getShort(protocolIdOffset(offset), HEADER_BYTE_ORDER);
+  }
+
+  public static boolean isCompressed(DirectBuffer buffer, int offset) {
+    return (getProtocolId(buffer, offset) & COMPRESSED_FLAG) != 0;
+  }
+
   protected final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
 
   public TransportHeaderDescriptor wrap(DirectBuffer buffer, int offset) {
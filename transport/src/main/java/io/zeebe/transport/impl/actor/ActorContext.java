@@ -17,22 +17,33 @@ package io.zeebe.transport.impl.actor;
 
 import io.zeebe.transport.TransportListener;
 import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.sender.SenderMetrics;
 import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Holds the actors of a transport. Channels are sharded across the senders and receivers by the
+ * stream id of their remote, so that all writes (resp. reads) of a channel are done by the same
+ * actor and keep their order.
+ */
 public abstract class ActorContext {
   private Conductor conductor;
-  private Sender sender;
-  private Receiver receiver;
+  private final List<Sender> senders = new ArrayList<>();
+  private final List<Receiver> receivers = new ArrayList<>();
 
   private MetricsManager metricsManager;
+  private SenderMetrics senderMetrics;
 
   public void setConductor(Conductor clientConductor) {
     this.conductor = clientConductor;
   }
 
-  public void setReceiver(Receiver receiver) {
-    this.receiver = receiver;
+  /** @return the shard index of the receiver */
+  public int addReceiver(Receiver receiver) {
+    receivers.add(receiver);
+    return receivers.size() - 1;
   }
 
   public void removeListener(TransportListener listener) {
@@ -55,8 +66,10 @@ public abstract class ActorContext {
     return conductor.interruptAllChannels();
   }
 
-  public ActorFuture<Void> closeReceiver() {
-    return receiver.close();
+  public List<ActorFuture<Void>> closeReceivers() {
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>();
+    receivers.forEach(r -> closeFutures.add(r.close()));
+    return closeFutures;
   }
 
   public Conductor getConductor() {
@@ -71,8 +84,13 @@ public abstract class ActorContext {
     return (ServerConductor) conductor;
   }
 
-  public Receiver getReceiver() {
-    return receiver;
+  public List<Receiver> getReceivers() {
+    return receivers;
+  }
+
+  /** @return the receiver which reads from the channel of the given remote stream */
+  public Receiver getReceiver(int streamId) {
+    return receivers.get(shardOf(streamId, receivers.size()));
   }
 
   public MetricsManager getMetricsManager() {
@@ -83,15 +101,45 @@ public abstract class ActorContext {
     this.metricsManager = metricsManager;
   }
 
+  public SenderMetrics getSenderMetrics() {
+    return senderMetrics;
+  }
+
+  /** Sets the metrics which are shared by the senders, must be set before the senders are built. */
+  public void setSenderMetrics(SenderMetrics senderMetrics) {
+    this.senderMetrics = senderMetrics;
+  }
+
+  public List<Sender> getSenders() {
+    return senders;
+  }
+
+  /**
+   * @return the sender which accepts new requests; the request is handed over to the sender of
+   *     the remote's channel once the remote is resolved
+   */
   public Sender getSender() {
-    return sender;
+    return senders.get(0);
+  }
+
+  /** @return the sender which writes to the channel of the given remote stream */
+  public Sender getSender(int streamId) {
+    return senders.get(shardOf(streamId, senders.size()));
+  }
+
+  /** @return the shard index of the sender */
+  public int addSender(Sender sender) {
+    senders.add(sender);
+    return senders.size() - 1;
   }
 
-  public void setSender(Sender sender) {
-    this.sender = sender;
+  public List<ActorFuture<Void>> closeSenders() {
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>();
+    senders.forEach(s -> closeFutures.add(s.close()));
+    return closeFutures;
   }
 
-  public ActorFuture<Void> closeSender() {
-    return sender.close();
+  private static int shardOf(int streamId, int shardCount) {
+    return Math.floorMod(streamId, shardCount);
   }
 }
@@ -24,6 +24,7 @@ import io.zeebe.transport.impl.ClientInputMessageSubscriptionImpl;
 import io.zeebe.transport.impl.RemoteAddressImpl;
 import io.zeebe.transport.impl.TransportChannel;
 import io.zeebe.transport.impl.TransportContext;
+import io.zeebe.transport.impl.local.LocalChannelPipe;
 import io.zeebe.transport.impl.selector.ConnectTransportPoller;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
@@ -51,6 +52,11 @@ public class ClientConductor extends Conductor {
   }
 
   public void openChannel(RemoteAddressImpl address, int connectAttempt) {
+    if (transportContext.getLocalTransportRegistry() != null
+        && openLocalChannel(address, connectAttempt)) {
+      return;
+    }
+
     final TransportChannel channel =
         channelFactory.buildClientChannel(
             this,
@@ -70,6 +76,56 @@ public class ClientConductor extends Conductor {
     }
   }
 
+  private boolean openLocalChannel(RemoteAddressImpl address, int connectAttempt) {
+    final ServerConductor localServer =
+        transportContext.getLocalTransportRegistry().lookup(address.getAddress());
+    if (localServer == null) {
+      return false;
+    }
+
+    final int pipeCapacity = 2 * transportContext.getMessageMaxLength();
+    final LocalChannelPipe readPipe = new LocalChannelPipe(pipeCapacity);
+    final LocalChannelPipe writePipe = new LocalChannelPipe(pipeCapacity);
+
+    final TransportChannel channel =
+        channelFactory.buildLocalClientChannel(
+            this,
+            address,
+            transportContext.getMessageMaxLength(),
+            transportContext.getReceiveHandler(),
+            readPipe,
+            writePipe);
+
+    if (channel == null) {
+      return false;
+    }
+
+    channel.setOpenAttempt(connectAttempt);
+    channels.put(address.getStreamId(), channel);
+
+    // backoff connecton attempts, the same as for socket channels
+    actor.runDelayed(
+        Duration.ofMillis(Math.min(1000, 50 * connectAttempt)),
+        () -> {
+          if (channel.isClosed()) {
+            return;
+          }
+
+          actor.runOnCompletion(
+              localServer.openLocalChannel(writePipe, readPipe),
+              (v, t) -> {
+                if (t == null) {
+                  channel.setOpenAttempt(0);
+                  onChannelConnected(channel);
+                } else {
+                  channel.close();
+                }
+              });
+        });
+
+    return true;
+  }
+
   @Override
   public void onChannelClosed(TransportChannel channel, boolean wasConnected) {
     // #submit is better than #run here => ensures we yield and make progress on other jobs
@@ -27,8 +27,8 @@ public class Receiver extends Actor {
 
   public Receiver(ActorContext actorContext, TransportContext context) {
     this.transportPoller = new ReadTransportPoller(actor);
-    this.name = String.format("%s-receiver", context.getName());
-    actorContext.setReceiver(this);
+    final int shard = actorContext.addReceiver(this);
+    this.name = String.format("%s-receiver-%d", context.getName(), shard);
   }
 
   @Override
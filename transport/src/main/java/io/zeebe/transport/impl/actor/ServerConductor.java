@@ -26,6 +26,8 @@ import io.zeebe.transport.impl.ServerInputSubscriptionImpl;
 import io.zeebe.transport.impl.ServerSocketBinding;
 import io.zeebe.transport.impl.TransportChannel;
 import io.zeebe.transport.impl.TransportContext;
+import io.zeebe.transport.impl.local.LocalChannelPipe;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
 import io.zeebe.transport.impl.selector.AcceptTransportPoller;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
@@ -36,6 +38,7 @@ import java.nio.channels.SocketChannel;
 public class ServerConductor extends Conductor {
   private final AcceptTransportPoller acceptTransportPoller;
   private ServerSocketBinding serverSocketBinding;
+  private int localChannelCount;
 
   public ServerConductor(ServerActorContext actorContext, TransportContext context) {
     super(actorContext, context);
@@ -53,6 +56,12 @@ public class ServerConductor extends Conductor {
 
   @Override
   protected void onActorClosing() {
+    final LocalTransportRegistry localTransportRegistry =
+        transportContext.getLocalTransportRegistry();
+    if (localTransportRegistry != null) {
+      localTransportRegistry.deregister(serverSocketBinding.getBindAddress(), this);
+    }
+
     acceptTransportPoller.close();
     super.onActorClosing();
   }
@@ -95,6 +104,49 @@ public class ServerConductor extends Conductor {
     onChannelConnected(ch);
   }
 
+  /**
+   * Opens the server side of a channel to a client transport of the same JVM.
+   *
+   * @param readPipe the pipe which the client writes to
+   * @param writePipe the pipe which the client reads from
+   */
+  public ActorFuture<Void> openLocalChannel(LocalChannelPipe readPipe, LocalChannelPipe writePipe) {
+    return actor.call(
+        () -> {
+          // local clients have no socket address, give each channel its own stream which is
+          // retired once the channel is closed
+          final SocketAddress socketAddress = new SocketAddress("local", ++localChannelCount);
+          final RemoteAddressImpl remoteAddress = remoteAddressList.register(socketAddress);
+
+          final TransportChannel ch =
+              channelFactory.buildLocalServerChannel(
+                  this,
+                  remoteAddress,
+                  transportContext.getMessageMaxLength(),
+                  transportContext.getReceiveHandler(),
+                  readPipe,
+                  writePipe);
+
+          if (ch != null) {
+            onChannelConnected(ch);
+          } else {
+            remoteAddressList.retire(remoteAddress);
+            readPipe.close();
+            writePipe.close();
+          }
+        });
+  }
+
+  @Override
+  public void onChannelClosed(TransportChannel channel, boolean wasConnected) {
+    super.onChannelClosed(channel, wasConnected);
+
+    if (channel.isLocal()) {
+      // the address of a local channel is never reconnected, see #openLocalChannel
+      actor.run(() -> remoteAddressList.retire(channel.getRemoteAddress()));
+    }
+  }
+
   public ActorFuture<ServerInputSubscription> openInputSubscription(
       String subscriptionName,
       ServerOutput output,
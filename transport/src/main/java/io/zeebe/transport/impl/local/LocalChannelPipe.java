@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.local;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A single producer, single consumer byte pipe which carries one direction of a {@link
+ * LocalTransportChannel}. The sender of the writing transport writes to the pipe, the receiver of
+ * the reading transport reads from it.
+ */
+public class LocalChannelPipe {
+  private static final Runnable NO_WAKEUP = () -> {};
+
+  private final UnsafeBuffer buffer;
+  private final int capacity;
+  private final int mask;
+
+  private final AtomicLong readPosition = new AtomicLong();
+  private final AtomicLong writePosition = new AtomicLong();
+
+  private volatile boolean isClosed = false;
+  private volatile Runnable readWakeup = NO_WAKEUP;
+
+  public LocalChannelPipe(int minCapacity) {
+    this.capacity = BitUtil.findNextPositivePowerOfTwo(minCapacity);
+    this.mask = capacity - 1;
+    this.buffer = new UnsafeBuffer(new byte[capacity]);
+  }
+
+  /** @return the number of bytes written, less than the remaining bytes if the pipe is full */
+  public long write(ByteBuffer[] srcs, int offset, int length) throws ClosedChannelException {
+    if (isClosed) {
+      throw new ClosedChannelException();
+    }
+
+    long position = writePosition.get();
+    int available = capacity - (int) (position - readPosition.get());
+    long bytesWritten = 0;
+
+    for (int i = offset; i < offset + length && available > 0; i++) {
+      final ByteBuffer src = srcs[i];
+      final int bytesToWrite = Math.min(src.remaining(), available);
+
+      copyToPipe(position, src, src.position(), bytesToWrite);
+      src.position(src.position() + bytesToWrite);
+
+      position += bytesToWrite;
+      available -= bytesToWrite;
+      bytesWritten += bytesToWrite;
+    }
+
+    if (bytesWritten > 0) {
+      writePosition.set(position);
+      readWakeup.run();
+    }
+
+    return bytesWritten;
+  }
+
+  /** @return the number of bytes read, or -1 if the pipe is closed and all bytes are read */
+  public int read(ByteBuffer dst) {
+    final long position = readPosition.get();
+    final int available = (int) (writePosition.get() - position);
+
+    if (available == 0) {
+      return isClosed ? -1 : 0;
+    }
+
+    final int bytesToRead = Math.min(available, dst.remaining());
+
+    copyFromPipe(position, dst, dst.position(), bytesToRead);
+    dst.position(dst.position() + bytesToRead);
+
+    readPosition.set(position + bytesToRead);
+
+    return bytesToRead;
+  }
+
+  private void copyToPipe(long position, ByteBuffer src, int srcOffset, int length) {
+    final int index = (int) (position & mask);
+    final int firstLength = Math.min(length, capacity - index);
+
+    buffer.putBytes(index, src, srcOffset, firstLength);
+    if (firstLength < length) {
+      buffer.putBytes(0, src, srcOffset + firstLength, length - firstLength);
+    }
+  }
+
+  private void copyFromPipe(long position, ByteBuffer dst, int dstOffset, int length) {
+    final int index = (int) (position & mask);
+    final int firstLength = Math.min(length, capacity - index);
+
+    buffer.getBytes(index, dst, dstOffset, firstLength);
+    if (firstLength < length) {
+      buffer.getBytes(0, dst, dstOffset + firstLength, length - firstLength);
+    }
+  }
+
+  /** @param readWakeup invoked when bytes are written or the pipe is closed */
+  public void setReadWakeup(Runnable readWakeup) {
+    this.readWakeup = readWakeup;
+  }
+
+  public void removeReadWakeup() {
+    this.readWakeup = NO_WAKEUP;
+  }
+
+  public void close() {
+    isClosed = true;
+    readWakeup.run();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.local;
+
+import io.zeebe.dispatcher.FragmentHandler;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.TransportChannel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Selector;
+
+/**
+ * A channel between a client and a server transport of the same JVM. Instead of a socket, the
+ * channel reads from and writes to a pair of {@link LocalChannelPipe}s which are shared with its
+ * counterpart on the other side.
+ */
+public class LocalTransportChannel extends TransportChannel {
+  private final LocalChannelPipe readPipe;
+  private final LocalChannelPipe writePipe;
+
+  public LocalTransportChannel(
+      ChannelLifecycleListener listener,
+      RemoteAddressImpl remoteAddress,
+      int maxMessageSize,
+      FragmentHandler readHandler,
+      LocalChannelPipe readPipe,
+      LocalChannelPipe writePipe,
+      TransportChannelMetrics metrics) {
+    super(listener, remoteAddress, maxMessageSize, readHandler, metrics);
+    this.readPipe = readPipe;
+    this.writePipe = writePipe;
+    setConnected();
+  }
+
+  @Override
+  protected int mediaRead(ByteBuffer receiveBuffer) {
+    return readPipe.read(receiveBuffer);
+  }
+
+  @Override
+  protected long mediaWrite(ByteBuffer[] buffers, int offset, int length) throws IOException {
+    return writePipe.write(buffers, offset, length);
+  }
+
+  @Override
+  public void registerSelector(Selector selector, int ops) {
+    // the poller iterates local channels, the selector is only woken up to read new bytes
+    readPipe.setReadWakeup(selector::wakeup);
+  }
+
+  @Override
+  public void removeSelector(Selector selector) {
+    readPipe.removeReadWakeup();
+  }
+
+  @Override
+  public boolean beginConnect(int attempt) {
+    return false;
+  }
+
+  @Override
+  protected void closeMedia() {
+    readPipe.close();
+    writePipe.close();
+  }
+
+  @Override
+  public boolean isLocal() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "local channel to remote " + getRemoteAddress();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.local;
+
+import io.zeebe.transport.Loggers;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.transport.impl.actor.ServerConductor;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+
+/**
+ * Keeps track of the server transports which are registered with it, so that a client transport
+ * can open a {@link LocalTransportChannel} instead of a socket connection to them. A registry is
+ * shared by the transports of one application, e.g. a broker and its embedded gateway.
+ */
+public class LocalTransportRegistry {
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+
+  private final Map<InetSocketAddress, ServerConductor> servers = new ConcurrentHashMap<>();
+
+  public void register(InetSocketAddress bindAddress, ServerConductor conductor) {
+    servers.put(bindAddress, conductor);
+  }
+
+  public void deregister(InetSocketAddress bindAddress, ServerConductor conductor) {
+    servers.remove(bindAddress, conductor);
+  }
+
+  /** @return the registered server transport which is bound to the given address, or null */
+  public ServerConductor lookup(SocketAddress address) {
+    for (Map.Entry<InetSocketAddress, ServerConductor> server : servers.entrySet()) {
+      final InetSocketAddress bindAddress = server.getKey();
+
+      if (bindAddress.getPort() == address.port() && isBoundTo(bindAddress, address)) {
+        return server.getValue();
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean isBoundTo(InetSocketAddress bindAddress, SocketAddress address) {
+    final InetSocketAddress remoteAddress = address.toInetSocketAddress();
+
+    if (remoteAddress.isUnresolved()) {
+      return false;
+    } else if (bindAddress.getAddress().isAnyLocalAddress()) {
+      return isLocalAddress(remoteAddress.getAddress());
+    } else {
+      return bindAddress.equals(remoteAddress);
+    }
+  }
+
+  private static boolean isLocalAddress(InetAddress address) {
+    if (address.isAnyLocalAddress() || address.isLoopbackAddress()) {
+      return true;
+    }
+
+    try {
+      return NetworkInterface.getByInetAddress(address) != null;
+    } catch (Exception e) {
+      LOG.debug("Failed to resolve network interface of address {}", address, e);
+      return false;
+    }
+  }
+}
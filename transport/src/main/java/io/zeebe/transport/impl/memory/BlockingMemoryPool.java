@@ -24,9 +24,8 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 
 /**
- * Manages a fixed capacity of of memory.
- *
- * <p>Current implementation does not actually "pool" or "recycle" the memory, it leaves that to GC.
+ * Manages a fixed capacity of of memory. Reclaimed buffers are reused, see {@link
+ * DirectBufferCache}.
  *
  * <p>It does however put a fixed size on how much memory can be in use at any given point in time.
  * When no more memory is available, it blocks for the specified time until one of the following
@@ -42,18 +41,22 @@ public class BlockingMemoryPool implements TransportMemoryPool {
   private final ReentrantLock lock = new ReentrantLock(true);
   private final Condition memoryReclaimed = lock.newCondition();
 
+  private final DirectBufferCache bufferCache;
+
   private long availableCapacity = 0;
   private long maxBlockTimeMs;
 
   public BlockingMemoryPool(ByteValue capacity, long maxBlockTimeMs) {
     this.availableCapacity = capacity.toBytes();
     this.maxBlockTimeMs = maxBlockTimeMs;
+    this.bufferCache = new DirectBufferCache(capacity.toBytes());
   }
 
   @Override
   public ByteBuffer allocate(int requestedCapacity) {
     LOG.trace("Attempting to allocate {} bytes", requestedCapacity);
 
+    final int capacity = DirectBufferCache.capacityFor(requestedCapacity);
     final long deadline = System.currentTimeMillis() + maxBlockTimeMs;
 
     boolean canAllocte = false;
@@ -64,7 +67,7 @@ public class BlockingMemoryPool implements TransportMemoryPool {
       do {
         LOG.trace("Allocation attempt");
 
-        final long newRemaining = availableCapacity - requestedCapacity;
+        final long newRemaining = availableCapacity - capacity;
         canAllocte = newRemaining >= 0;
 
         if (canAllocte) {
@@ -85,7 +88,7 @@ public class BlockingMemoryPool implements TransportMemoryPool {
 
     if (canAllocte) {
       LOG.trace("Attocated {} bytes", requestedCapacity);
-      return ByteBuffer.allocate(requestedCapacity);
+      return bufferCache.allocate(capacity);
     } else {
       LOG.trace("Failed to allocate {} bytes", requestedCapacity);
       return null;
@@ -97,6 +100,7 @@ public class BlockingMemoryPool implements TransportMemoryPool {
     final int bytesReclaimed = buffer.capacity();
 
     LOG.trace("Reclaiming {} bytes", bytesReclaimed);
+    bufferCache.reclaim(buffer);
 
     try {
       lock.lock();
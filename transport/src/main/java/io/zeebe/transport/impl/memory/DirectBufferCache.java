@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+
+/**
+ * Recycles the direct buffers of a memory pool. Direct buffers are expensive to allocate and are
+ * only freed by the garbage collector, so reclaimed buffers are kept and handed out again.
+ *
+ * <p>The buffers are cached in size classes of powers of two, so a buffer can have more capacity
+ * than requested. Buffers which are larger than the largest size class are not cached.
+ */
+public class DirectBufferCache {
+  private static final int MIN_CAPACITY_SHIFT = 6; // 64 bytes
+  private static final int MAX_CAPACITY_SHIFT = 22; // 4 MB
+  private static final int MAX_BUFFERS_PER_SIZE_CLASS = 1024;
+
+  private final ManyToManyConcurrentArrayQueue<ByteBuffer>[] buffersBySizeClass;
+  private final long maxCachedBytes;
+  private final AtomicLong cachedBytes = new AtomicLong();
+
+  /** @param maxCachedBytes the capacity of all reclaimed buffers which are kept at most */
+  @SuppressWarnings("unchecked")
+  public DirectBufferCache(long maxCachedBytes) {
+    this.maxCachedBytes = maxCachedBytes;
+    this.buffersBySizeClass =
+        new ManyToManyConcurrentArrayQueue[MAX_CAPACITY_SHIFT - MIN_CAPACITY_SHIFT + 1];
+
+    for (int i = 0; i < buffersBySizeClass.length; i++) {
+      final long sizeClassCapacity = 1L << (MIN_CAPACITY_SHIFT + i);
+      final long maxBuffers = maxCachedBytes / sizeClassCapacity;
+      final int queueCapacity = (int) Math.max(2, Math.min(maxBuffers, MAX_BUFFERS_PER_SIZE_CLASS));
+
+      buffersBySizeClass[i] = new ManyToManyConcurrentArrayQueue<>(queueCapacity);
+    }
+  }
+
+  /** @return the capacity of the buffer which is allocated for the requested capacity */
+  public static int capacityFor(int requestedCapacity) {
+    if (requestedCapacity > 1 << MAX_CAPACITY_SHIFT) {
+      return requestedCapacity;
+    } else {
+      return Math.max(
+          1 << MIN_CAPACITY_SHIFT, BitUtil.findNextPositivePowerOfTwo(requestedCapacity));
+    }
+  }
+
+  /**
+   * @param capacity the capacity of the buffer, see {@link #capacityFor(int)}
+   * @return a cleared buffer of the given capacity, which is reused if one was reclaimed
+   */
+  public ByteBuffer allocate(int capacity) {
+    final ManyToManyConcurrentArrayQueue<ByteBuffer> buffers = buffersOf(capacity);
+
+    if (buffers != null) {
+      final ByteBuffer buffer = buffers.poll();
+
+      if (buffer != null) {
+        cachedBytes.addAndGet(-capacity);
+        buffer.clear();
+        return buffer;
+      }
+    }
+
+    return ByteBuffer.allocateDirect(capacity);
+  }
+
+  public void reclaim(ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    final ManyToManyConcurrentArrayQueue<ByteBuffer> buffers = buffersOf(capacity);
+
+    if (buffers != null) {
+      if (cachedBytes.addAndGet(capacity) > maxCachedBytes || !buffers.offer(buffer)) {
+        // the buffer is left to the garbage collector
+        cachedBytes.addAndGet(-capacity);
+      }
+    }
+  }
+
+  private ManyToManyConcurrentArrayQueue<ByteBuffer> buffersOf(int capacity) {
+    if (BitUtil.isPowerOfTwo(capacity)) {
+      final int shift = Integer.numberOfTrailingZeros(capacity);
+
+      if (MIN_CAPACITY_SHIFT <= shift && shift <= MAX_CAPACITY_SHIFT) {
+        return buffersBySizeClass[shift - MIN_CAPACITY_SHIFT];
+      }
+    }
+    return null;
+  }
+}
@@ -22,9 +22,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 
 /**
- * Manages a fixed capacity of of memory.
- *
- * <p>Current implementation does not actually "pool" or "recycle" the memory, it leaves that to GC.
+ * Manages a fixed capacity of of memory. Reclaimed buffers are reused, see {@link
+ * DirectBufferCache}.
  *
  * <p>The main usecase for this pool is the zeebe broker server transports where it is not desirable
  * to block actor threads.
@@ -33,9 +32,11 @@ public class NonBlockingMemoryPool implements TransportMemoryPool {
   private static final Logger LOG = Loggers.TRANSPORT_MEMORY_LOGGER;
 
   private final AtomicInteger remaining;
+  private final DirectBufferCache bufferCache;
 
   public NonBlockingMemoryPool(int capacity) {
     this.remaining = new AtomicInteger(capacity);
+    this.bufferCache = new DirectBufferCache(capacity);
   }
 
   public NonBlockingMemoryPool(ByteValue byteValue) {
@@ -46,19 +47,20 @@ public class NonBlockingMemoryPool implements TransportMemoryPool {
   public ByteBuffer allocate(int requestedCapacity) {
     LOG.trace("Attempting to allocate {} bytes", requestedCapacity);
 
+    final int capacity = DirectBufferCache.capacityFor(requestedCapacity);
     boolean canAllocate = true;
 
     int current, newRemaining;
 
     do {
       current = remaining.get();
-      newRemaining = current - requestedCapacity;
+      newRemaining = current - capacity;
       canAllocate = newRemaining > 0;
     } while (canAllocate && !remaining.compareAndSet(current, newRemaining));
 
     if (canAllocate) {
       LOG.trace("Attocated {} bytes", requestedCapacity);
-      return ByteBuffer.allocate(requestedCapacity);
+      return bufferCache.allocate(capacity);
     } else {
       LOG.trace("Failed to allocate {} bytes", requestedCapacity);
       return null;
@@ -69,6 +71,7 @@ public class NonBlockingMemoryPool implements TransportMemoryPool {
   public void reclaim(ByteBuffer buffer) {
     final int bytesReclaimed = buffer.capacity();
     LOG.trace("Reclaiming {} bytes", bytesReclaimed);
+    bufferCache.reclaim(buffer);
     remaining.addAndGet(bytesReclaimed);
   }
 }
@@ -18,6 +18,11 @@ package io.zeebe.transport.impl.memory;
 import java.nio.ByteBuffer;
 
 public interface TransportMemoryPool {
+  /**
+   * @return a direct buffer, which the channels write to the socket without copying it into a
+   *     temporary direct buffer first; or null if the pool is exhausted. The buffer may have more
+   *     capacity than requested.
+   */
   ByteBuffer allocate(int requestedCapacity);
 
   void reclaim(ByteBuffer buffer);
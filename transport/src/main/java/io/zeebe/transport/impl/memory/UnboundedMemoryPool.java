@@ -16,25 +16,31 @@
 package io.zeebe.transport.impl.memory;
 
 import io.zeebe.transport.Loggers;
+import io.zeebe.util.ByteValue;
 import java.nio.ByteBuffer;
 import org.slf4j.Logger;
 
 /**
  * used for transports where you do not need to limit memory (like client requests in the zeebe
- * broker)
+ * broker). Reclaimed buffers are reused up to a fixed capacity, see {@link DirectBufferCache}.
  */
 public class UnboundedMemoryPool implements TransportMemoryPool {
   private static final Logger LOG = Loggers.TRANSPORT_MEMORY_LOGGER;
 
+  private static final long MAX_CACHED_BYTES = ByteValue.ofMegabytes(32).toBytes();
+
+  private final DirectBufferCache bufferCache = new DirectBufferCache(MAX_CACHED_BYTES);
+
   @Override
   public ByteBuffer allocate(int requestedCapacity) {
     LOG.trace("Attocated {} bytes", requestedCapacity);
-    return ByteBuffer.allocate(requestedCapacity);
+    return bufferCache.allocate(DirectBufferCache.capacityFor(requestedCapacity));
   }
 
   @Override
   public void reclaim(ByteBuffer buffer) {
     final int bytesReclaimed = buffer.capacity();
     LOG.trace("Reclaiming {} bytes", bytesReclaimed);
+    bufferCache.reclaim(buffer);
   }
 }
@@ -34,6 +34,7 @@ public class ReadTransportPoller extends TransportPoller {
 
   protected final List<TransportChannel> channels = new ArrayList<>();
   protected final List<TransportChannel> channelsToAdd = new ArrayList<>();
+  protected final List<TransportChannel> localChannels = new ArrayList<>();
 
   protected final ToIntFunction<SelectionKey> processKeyFn = this::processKey;
   protected final Runnable pollNow = this::pollNow;
@@ -71,6 +72,7 @@ public class ReadTransportPoller extends TransportPoller {
       try {
         selector.selectNow();
         workCount += processKeys();
+        workCount += pollLocalChannels();
       } catch (IOException e) {
         selectedKeySet.reset();
         LangUtil.rethrowUnchecked(e);
@@ -85,12 +87,24 @@ public class ReadTransportPoller extends TransportPoller {
     }
   }
 
+  private int pollLocalChannels() {
+    // local channels have no selection key
+    int workCount = 0;
+    for (int i = 0; i < localChannels.size(); i++) {
+      workCount += localChannels.get(i).receive();
+    }
+    return workCount;
+  }
+
   private void maintainChannels() {
     for (int i = 0; i < channelsToAdd.size(); i++) {
       final TransportChannel channel = channelsToAdd.get(i);
       try {
         channel.registerSelector(selector, SelectionKey.OP_READ);
         channels.add(channel);
+        if (channel.isLocal()) {
+          localChannels.add(channel);
+        }
       } catch (Exception e) {
         LOG.debug("Failed to add channel {}", channel, e);
       }
@@ -120,9 +134,11 @@ public class ReadTransportPoller extends TransportPoller {
 
   public void removeChannel(TransportChannel channel) {
     channels.remove(channel);
+    localChannels.remove(channel);
   }
 
   public void clearChannels() {
     channels.clear();
+    localChannels.clear();
   }
 }
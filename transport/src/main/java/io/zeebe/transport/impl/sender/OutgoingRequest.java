@@ -52,10 +52,19 @@ public class OutgoingRequest {
 
   private long timerId = -1;
 
+  private long deadline = -1;
+
+  private RemoteAddress routedRemoteAddress;
+
   private long lastRequestId = -1;
 
   private boolean isTimedout;
 
+  // the number of batches in which the request buffer is queued to be written
+  private int pendingWrites;
+
+  private long sendTime;
+
   public OutgoingRequest(
       Supplier<RemoteAddress> remoteAddressSupplier,
       Predicate<DirectBuffer> retryPredicate,
@@ -72,7 +81,21 @@ public class OutgoingRequest {
   }
 
   public RemoteAddress getNextRemoteAddress() {
-    return remoteAddressSupplier.get();
+    if (routedRemoteAddress != null) {
+      final RemoteAddress remoteAddress = routedRemoteAddress;
+      routedRemoteAddress = null;
+      return remoteAddress;
+    } else {
+      return remoteAddressSupplier.get();
+    }
+  }
+
+  /**
+   * Hands the request over to the sender of another channel: the next remote address is the given
+   * one instead of asking the supplier again.
+   */
+  public void routeTo(RemoteAddress remoteAddress) {
+    this.routedRemoteAddress = remoteAddress;
   }
 
   public boolean tryComplete(IncomingResponse incomingResponse) {
@@ -138,6 +161,14 @@ public class OutgoingRequest {
     return timerId;
   }
 
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
   public long getLastRequestId() {
     return lastRequestId;
   }
@@ -154,4 +185,32 @@ public class OutgoingRequest {
   public boolean isTimedout() {
     return isTimedout;
   }
+
+  /** @return true if the request buffer is queued to be written to a channel */
+  public boolean isWritePending() {
+    return pendingWrites > 0;
+  }
+
+  public void onWriteQueued() {
+    pendingWrites++;
+  }
+
+  /**
+   * Called when a batch which contains the request buffer is written or discarded.
+   *
+   * @return true if the request buffer is not queued in another batch
+   */
+  public boolean onWriteCompleted() {
+    pendingWrites--;
+    return pendingWrites == 0;
+  }
+
+  /** @return the {@link System#nanoTime()} when the request was last queued to be written */
+  public long getSendTime() {
+    return sendTime;
+  }
+
+  public void setSendTime(long sendTime) {
+    this.sendTime = sendTime;
+  }
 }
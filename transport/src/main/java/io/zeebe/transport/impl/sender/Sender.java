@@ -19,9 +19,11 @@ import io.zeebe.transport.ClientResponse;
 import io.zeebe.transport.Loggers;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.impl.ControlMessages;
+import io.zeebe.transport.impl.FrameCompressor;
 import io.zeebe.transport.impl.IncomingResponse;
 import io.zeebe.transport.impl.RemoteAddressImpl;
 import io.zeebe.transport.impl.TransportChannel;
+import io.zeebe.transport.impl.TransportChannel.TransportChannelMetrics.RemoteMetrics;
 import io.zeebe.transport.impl.actor.ActorContext;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.util.ByteValue;
@@ -32,24 +34,35 @@ import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.agrona.DeadlineTimerWheel;
 import org.agrona.DeadlineTimerWheel.TimerHandler;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2IntHashMap;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
-import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
 public class Sender extends Actor implements TimerHandler {
   private static final int MAX_REQUEST_CONSUME_BATCH_SIZE = 100;
 
   private static final int DEFAULT_BATCH_SIZE = (int) ByteValue.ofKilobytes(128).toBytes();
+  private static final int MIN_BATCH_SIZE = (int) ByteValue.ofKilobytes(16).toBytes();
+  private static final int MAX_BATCH_SIZE = (int) ByteValue.ofMegabytes(4).toBytes();
+
+  private static final int MAX_BUFFERS_PER_BATCH = 64;
+
+  // the message bytes which are queued for one remote, so that a slow remote can not pin the
+  // whole memory pool which is shared by all channels
+  private static final long MAX_QUEUED_MESSAGE_BYTES_PER_REMOTE =
+      ByteValue.ofMegabytes(1).toBytes();
 
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
@@ -63,10 +76,17 @@ public class Sender extends Actor implements TimerHandler {
       new ConcurrentQueueChannel<>(new ManyToOneConcurrentLinkedQueue<>());
 
   private final Long2ObjectHashMap<OutgoingRequest> inFlightRequests = new Long2ObjectHashMap<>();
+  // the number of in-flight requests by the stream id of their remote, when sampling the metrics
+  private final Int2IntHashMap inFlightRequestsByStream = new Int2IntHashMap(0);
   private final Long2ObjectHashMap<OutgoingRequest> requestsByTimeoutIds =
       new Long2ObjectHashMap<>();
 
   private final Int2ObjectHashMap<ChannelWriteQueue> channelMap = new Int2ObjectHashMap<>();
+
+  // the bytes of the messages which are accepted and not written yet, by the stream id of their
+  // remote. Messages are accepted by the sending threads, which are rejected if the queue is full.
+  private final ConcurrentHashMap<Integer, AtomicLong> queuedMessageBytes =
+      new ConcurrentHashMap<>();
   private final List<ChannelWriteQueue> channelList = new ArrayList<>();
 
   private final Deque<Batch> recycledBuffers = new LinkedList<>();
@@ -80,16 +100,28 @@ public class Sender extends Actor implements TimerHandler {
   private final TransportMemoryPool messageMemoryPool;
   private final TransportMemoryPool requestMemoryPool;
 
+  private final ActorContext actorContext;
+  private final SenderMetrics metrics;
+
+  // frames of at least this length are compressed, if the remote accepts it; 0 if disabled
+  private final int compressionThreshold;
+  private final FrameCompressor compressor;
+
   public Sender(
       ActorContext actorContext,
       TransportMemoryPool messageMemoryPool,
       TransportMemoryPool requestMemoryPool,
-      Duration keepalivePeriod) {
+      Duration keepalivePeriod,
+      int compressionThreshold) {
     this.messageMemoryPool = messageMemoryPool;
     this.requestMemoryPool = requestMemoryPool;
     this.keepAlivePeriod = keepalivePeriod;
+    this.actorContext = actorContext;
+    this.metrics = actorContext.getSenderMetrics();
+    this.compressionThreshold = compressionThreshold;
+    this.compressor = compressionThreshold > 0 ? new FrameCompressor() : null;
 
-    actorContext.setSender(this);
+    actorContext.addSender(this);
   }
 
   @Override
@@ -114,6 +146,52 @@ public class Sender extends Actor implements TimerHandler {
     while (requestTimeouts.poll(now, this, Integer.MAX_VALUE) > 0) {
       // process timeouts
     }
+
+    answerCompressionRequests();
+    sampleQueueDepths();
+  }
+
+  private void answerCompressionRequests() {
+    boolean hasAnswered = false;
+
+    for (int i = 0; i < channelList.size(); i++) {
+      hasAnswered |= channelList.get(i).answerCompressionRequest();
+    }
+
+    if (hasAnswered) {
+      sendNext();
+    }
+  }
+
+  private void sampleQueueDepths() {
+    inFlightRequestsByStream.clear();
+
+    for (OutgoingRequest request : inFlightRequests.values()) {
+      final RemoteAddress remoteAddress = request.getCurrentRemoteAddress();
+      if (remoteAddress != null) {
+        final int streamId = remoteAddress.getStreamId();
+        inFlightRequestsByStream.put(streamId, inFlightRequestsByStream.get(streamId) + 1);
+      }
+    }
+
+    for (int i = 0; i < channelList.size(); i++) {
+      final ChannelWriteQueue sendQueue = channelList.get(i);
+      final int inFlight = inFlightRequestsByStream.get(sendQueue.channel.getStreamId());
+
+      sendQueue.remoteMetrics.setQueueDepths(sendQueue.pendingWriteCount(), inFlight);
+    }
+  }
+
+  /** @return the metrics of the channel to the current remote of the request, or null */
+  private RemoteMetrics remoteMetricsOf(OutgoingRequest request) {
+    final RemoteAddress remoteAddress = request.getCurrentRemoteAddress();
+    if (remoteAddress != null) {
+      final ChannelWriteQueue sendQueue = channelMap.get(remoteAddress.getStreamId());
+      if (sendQueue != null) {
+        return sendQueue.remoteMetrics;
+      }
+    }
+    return null;
   }
 
   private void processIncomingResponses() {
@@ -158,6 +236,12 @@ public class Sender extends Actor implements TimerHandler {
     final OutgoingRequest request = inFlightRequests.remove(response.getRequestId());
 
     if (request != null) {
+      final RemoteMetrics remoteMetrics = remoteMetricsOf(request);
+      if (remoteMetrics != null) {
+        final long latencyNanos = System.nanoTime() - request.getSendTime();
+        remoteMetrics.recordRequestLatency(latencyNanos / 1_000);
+      }
+
       boolean shouldRetry = false;
 
       try {
@@ -185,48 +269,83 @@ public class Sender extends Actor implements TimerHandler {
   }
 
   private void onRequestSubmitted(final OutgoingRequest request) {
+    if (request.isTimedout()) {
+      return;
+    }
+
+    final RemoteAddress remoteAddress = request.getNextRemoteAddress();
+
+    if (remoteAddress != null) {
+      final Sender channelSender = actorContext.getSender(remoteAddress.getStreamId());
+
+      if (channelSender != this) {
+        handOverRequest(request, remoteAddress, channelSender);
+        return;
+      }
+    }
+
     if (!request.hasTimeoutScheduled()) {
-      final long timerId =
-          requestTimeouts.scheduleTimer(
-              ActorClock.currentTimeMillis() + request.getTimeout().toMillis());
+      if (request.getDeadline() < 0) {
+        request.setDeadline(ActorClock.currentTimeMillis() + request.getTimeout().toMillis());
+      }
+
+      final long timerId = requestTimeouts.scheduleTimer(request.getDeadline());
       request.setTimerId(timerId);
       requestsByTimeoutIds.put(timerId, request);
     }
 
-    if (!request.isTimedout()) {
-      final RemoteAddress remoteAddress = request.getNextRemoteAddress();
-
-      if (remoteAddress != null) {
-        final ChannelWriteQueue sendQueue = channelMap.get(remoteAddress.getStreamId());
-        if (sendQueue != null) {
-          request.markRemoteAddress(remoteAddress);
-          sendQueue.offer(request);
-        } else {
-          // channel not open, retry
-          actor.runDelayed(Duration.ofMillis(10), () -> submittedRequests.offer(request));
-        }
+    if (remoteAddress != null) {
+      final ChannelWriteQueue sendQueue = channelMap.get(remoteAddress.getStreamId());
+      if (sendQueue != null) {
+        request.markRemoteAddress(remoteAddress);
+        sendQueue.offer(request);
       } else {
-        // no remote address available, retry
+        // channel not open, retry
         actor.runDelayed(Duration.ofMillis(10), () -> submittedRequests.offer(request));
       }
+    } else {
+      // no remote address available, retry
+      actor.runDelayed(Duration.ofMillis(10), () -> submittedRequests.offer(request));
     }
   }
 
+  /**
+   * Moves the request to the sender which owns the channel of the remote, including its timeout.
+   * The request keeps its deadline.
+   */
+  private void handOverRequest(
+      final OutgoingRequest request,
+      final RemoteAddress remoteAddress,
+      final Sender channelSender) {
+    final long timerId = request.getTimerId();
+
+    if (timerId != -1) {
+      requestTimeouts.cancelTimer(timerId);
+      requestsByTimeoutIds.remove(timerId);
+      request.setTimerId(-1);
+    }
+
+    final long lastRequestId = request.getLastRequestId();
+    if (inFlightRequests.get(lastRequestId) == request) {
+      inFlightRequests.remove(lastRequestId);
+    }
+
+    request.routeTo(remoteAddress);
+    channelSender.submitRequest(request);
+  }
+
   private void onMessageSubmitted(final OutgoingMessage message) {
     final int remoteStreamId = message.getRemoteStreamId();
     final ChannelWriteQueue sendQueue = channelMap.get(remoteStreamId);
     if (sendQueue != null) {
-      try {
-        sendQueue.offer(message);
-      } finally {
-        reclaimMessageBuffer(message.getAllocatedBuffer());
-      }
+      // the message buffer is reclaimed once it is written
+      sendQueue.offer(message);
     } else if (ActorClock.currentTimeMillis() < message.getDeadline()) {
       // channel not open, retry
       actor.runDelayed(Duration.ofMillis(10), () -> submittedMessages.offer(message));
     } else {
       LOG.trace("Drop message because the channel is not open.");
-      reclaimMessageBuffer(message.getAllocatedBuffer());
+      reclaimMessageBuffer(message);
     }
   }
 
@@ -249,190 +368,299 @@ public class Sender extends Actor implements TimerHandler {
   private void sendKeepalives() {
     for (ChannelWriteQueue channelWriteQueue : channelList) {
       if (!channelWriteQueue.hasPending()) {
-        channelWriteQueue
-            .getPendingWrites()
-            .addLast(new ControlMessage(ControlMessages.KEEP_ALIVE));
+        channelWriteQueue.offerKeepAlive();
       }
     }
 
     sendNext();
   }
 
+  private static ByteBuffer controlMessageBuffer(DirectBuffer controlMessage) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(controlMessage.capacity());
+    controlMessage.getBytes(0, buffer, controlMessage.capacity());
+    return buffer;
+  }
+
+  private boolean shouldCompress(int frameLength, TransportChannel channel) {
+    return compressor != null
+        && frameLength >= compressionThreshold
+        && channel.isCompressionAccepted();
+  }
+
+  private Batch newBatch() {
+    final Batch batch = recycledBuffers.poll();
+    return batch != null ? batch : new Batch();
+  }
+
   public class ChannelWriteQueue {
     private final Deque<Batch> pendingWrites = new LinkedList<>();
 
     private final TransportChannel channel;
+    private final RemoteMetrics remoteMetrics;
+
+    private final ByteBuffer keepAliveBuffer;
+
+    // the number of bytes gathered into one write, adapted to the rate in which the socket drains
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     private Batch currentWrite;
 
     public ChannelWriteQueue(TransportChannel channel) {
       this.channel = channel;
+      this.remoteMetrics = channel.getRemoteMetrics();
+      this.keepAliveBuffer = controlMessageBuffer(ControlMessages.KEEP_ALIVE);
+
+      if (compressionThreshold > 0) {
+        offerControlMessage(controlMessageBuffer(ControlMessages.COMPRESSION_REQUEST));
+      }
     }
 
     public boolean hasPending() {
       return currentWrite != null || !pendingWrites.isEmpty();
     }
 
+    private int pendingWriteCount() {
+      return pendingWrites.size() + (currentWrite != null ? 1 : 0);
+    }
+
     public void write() {
       if (hasPending()) {
         if (currentWrite == null) {
           currentWrite = pendingWrites.poll();
-          currentWrite.prepareWrite();
         }
 
+        final boolean isFirstWrite = !currentWrite.hasWritten();
         currentWrite.writeTo(channel);
 
         if (!currentWrite.hasRemaining()) {
-          currentWrite.recycle();
+          if (isFirstWrite) {
+            // the socket drained the whole batch at once
+            batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+          }
+
+          currentWrite.onWritten();
           currentWrite = null;
+        } else {
+          batchSize = Math.max(batchSize / 2, MIN_BATCH_SIZE);
         }
       }
     }
 
     public void offer(OutgoingRequest request) {
-      // try to fit into last pending batch
-      final Batch existingBatch = pendingWrites.peekLast();
-
-      if (existingBatch == null || !existingBatch.addToBatch(request, channel)) {
-        // try to recycle existing batch
-        final Iterator<Batch> recycledBuffersIterator = recycledBuffers.iterator();
-        while (recycledBuffersIterator.hasNext()) {
-          final Batch batch = recycledBuffersIterator.next();
-
-          if (batch.addToBatch(request, channel)) {
-            recycledBuffersIterator.remove();
-            pendingWrites.addLast(batch);
-            return;
-          }
-        }
+      final DirectBuffer requestBuffer = request.getRequestBuffer();
+      final Batch batch = batchFor(requestBuffer.capacity());
 
-        // allocate new batch
-        final Batch batch =
-            new Batch(Math.max(DEFAULT_BATCH_SIZE, request.getRequestBuffer().capacity()));
-        batch.addToBatch(request, channel);
-        pendingWrites.addLast(batch);
-      }
+      batch.addToBatch(request, channel);
     }
 
     public void offer(OutgoingMessage message) {
-      // try to fit into last pending batch
-      Batch batch = pendingWrites.peekLast();
+      final Batch batch = batchFor(message.getBuffer().capacity());
 
-      if (batch == null || !batch.addToBatch(message)) {
-        boolean hasRecycled = false;
+      batch.addToBatch(message, channel);
+    }
 
-        // try to recycle existing batch
-        final Iterator<Batch> recycledBuffersIterator = recycledBuffers.iterator();
-        while (recycledBuffersIterator.hasNext()) {
-          batch = recycledBuffersIterator.next();
+    private void offerKeepAlive() {
+      keepAliveBuffer.clear();
+      offerControlMessage(keepAliveBuffer);
+    }
 
-          if (batch.addToBatch(message)) {
-            recycledBuffersIterator.remove();
-            hasRecycled = true;
-            break;
-          }
-        }
+    private boolean answerCompressionRequest() {
+      if (channel.pollCompressionRequest()) {
+        offerControlMessage(controlMessageBuffer(ControlMessages.COMPRESSION_ACCEPT));
+        return true;
+      } else {
+        return false;
+      }
+    }
 
-        if (!hasRecycled) {
-          // allocate new batch
-          batch = new Batch(Math.max(DEFAULT_BATCH_SIZE, message.getBuffer().capacity()));
-          batch.addToBatch(message);
-        }
+    private void offerControlMessage(ByteBuffer controlMessage) {
+      final Batch batch = newBatch();
+      batch.add(controlMessage, controlMessage.capacity());
+      pendingWrites.addLast(batch);
+    }
+
+    private Batch batchFor(int length) {
+      // try to fit into last pending batch
+      Batch batch = pendingWrites.peekLast();
 
+      if (batch == null || !batch.canAdd(length, batchSize)) {
+        batch = newBatch();
         pendingWrites.addLast(batch);
       }
+
+      return batch;
     }
 
-    public Deque<Batch> getPendingWrites() {
-      return pendingWrites;
+    private void onChannelClosed() {
+      if (currentWrite != null) {
+        currentWrite.onChannelClosed();
+        currentWrite = null;
+      }
+
+      pendingWrites.forEach(Batch::onChannelClosed);
+      pendingWrites.clear();
     }
   }
 
+  /**
+   * The buffers of the requests and messages which are written to the channel with one gathering
+   * write. The buffers are not copied, so they are reclaimed only after they are written.
+   */
   private class Batch {
+    final ByteBuffer[] buffers = new ByteBuffer[MAX_BUFFERS_PER_BATCH];
+    int bufferCount = 0;
+    long length = 0;
+
+    int writeIndex = 0;
+    boolean hasWritten = false;
+
     final List<OutgoingRequest> requestsInBatch = new ArrayList<>();
+    final List<OutgoingMessage> messagesInBatch = new ArrayList<>();
 
-    final UnsafeBuffer view = new UnsafeBuffer();
-    final ByteBuffer batchBuffer;
-    int writeOffset = 0;
+    // the compressed frames of the batch, the buffer is reused when the batch is recycled
+    ByteBuffer compressedFrames;
+    int compressedFramesLength = 0;
 
-    Batch(int size) {
-      batchBuffer = ByteBuffer.allocateDirect(size);
-      view.wrap(batchBuffer);
+    boolean canAdd(int bufferLength, int batchSize) {
+      // an empty batch accepts any buffer, regardless of its size
+      return bufferCount == 0
+          || (bufferCount < MAX_BUFFERS_PER_BATCH && length + bufferLength <= batchSize);
     }
 
-    public boolean addToBatch(OutgoingRequest request, TransportChannel channel) {
+    void add(ByteBuffer buffer, int bufferLength) {
+      buffer.position(0);
+      buffer.limit(bufferLength);
+
+      buffers[bufferCount++] = buffer;
+      length += bufferLength;
+    }
+
+    void addToBatch(OutgoingRequest request, TransportChannel channel) {
       final DirectBuffer requestBuffer = request.getRequestBuffer();
-      final int requestLength = requestBuffer.capacity();
+      final long requestId = ++nextRequestId;
 
-      if (writeOffset + requestLength <= batchBuffer.capacity()) {
-        final long requestId = ++nextRequestId;
+      request.setLastRequestId(requestId);
+      request.getHeaderWriter().setStreamId(channel.getStreamId()).setRequestId(requestId);
+      request.onWriteQueued();
+      request.setSendTime(System.nanoTime());
 
-        request.setLastRequestId(requestId);
+      addFrame(requestBuffer.byteBuffer(), requestBuffer.capacity(), channel);
+      requestsInBatch.add(request);
 
-        request.getHeaderWriter().setStreamId(channel.getStreamId()).setRequestId(requestId);
+      inFlightRequests.put(requestId, request);
+    }
 
-        requestBuffer.getBytes(0, batchBuffer, writeOffset, requestLength);
-        writeOffset += requestLength;
-        requestsInBatch.add(request);
+    void addToBatch(OutgoingMessage message, TransportChannel channel) {
+      addFrame(message.getAllocatedBuffer(), message.getBuffer().capacity(), channel);
+      messagesInBatch.add(message);
+    }
 
-        inFlightRequests.put(requestId, request);
+    void addFrame(ByteBuffer frame, int frameLength, TransportChannel channel) {
+      if (shouldCompress(frameLength, channel)) {
+        final ByteBuffer compressedFrame = compress(frame, frameLength);
 
-        return true;
-      } else {
-        return false;
+        if (compressedFrame != null) {
+          channel.onFrameCompressed(frameLength, compressedFrame.limit());
+          add(compressedFrame, compressedFrame.limit());
+          return;
+        }
       }
-    }
 
-    public boolean addToBatch(OutgoingMessage message) {
-      final DirectBuffer buffer = message.getBuffer();
-      final int requiredLength = buffer.capacity();
+      add(frame, frameLength);
+    }
 
-      if (writeOffset + requiredLength <= batchBuffer.capacity()) {
-        buffer.getBytes(0, batchBuffer, writeOffset, requiredLength);
-        writeOffset += requiredLength;
+    /** @return a view of the compressed frame in the batch's buffer, or null */
+    ByteBuffer compress(ByteBuffer frame, int frameLength) {
+      ensureCompressedFramesCapacity(frameLength);
 
-        return true;
-      } else {
-        return false;
+      final int offset = compressedFramesLength;
+      final int compressedFrameLength = compressor.compress(frame, compressedFrames, offset);
+      if (compressedFrameLength < 0) {
+        return null;
       }
+
+      compressedFramesLength += compressedFrameLength;
+
+      final ByteBuffer compressedFrame = compressedFrames.duplicate();
+      compressedFrame.limit(offset + compressedFrameLength).position(offset);
+      return compressedFrame.slice();
     }
 
-    public boolean writeTo(TransportChannel channel) {
-      return channel.write(batchBuffer) > 0;
+    void ensureCompressedFramesCapacity(int frameLength) {
+      final int requiredCapacity = compressedFramesLength + frameLength;
+
+      if (compressedFrames == null || compressedFrames.capacity() < requiredCapacity) {
+        // the frames which are compressed already keep referencing the previous buffer
+        final int capacity = Math.max(requiredCapacity, DEFAULT_BATCH_SIZE);
+        compressedFrames = ByteBuffer.allocateDirect(capacity);
+        compressedFramesLength = 0;
+      }
     }
 
-    public void prepareWrite() {
-      batchBuffer.position(0);
-      batchBuffer.limit(writeOffset);
+    void writeTo(TransportChannel channel) {
+      final long bytesWritten = channel.write(buffers, writeIndex, bufferCount - writeIndex);
+
+      if (bytesWritten > 0) {
+        hasWritten = true;
+      }
+
+      while (writeIndex < bufferCount && !buffers[writeIndex].hasRemaining()) {
+        writeIndex++;
+      }
     }
 
-    public boolean hasRemaining() {
-      return batchBuffer.hasRemaining();
+    boolean hasWritten() {
+      return hasWritten;
     }
 
-    public void recycle() {
-      writeOffset = 0;
-      view.setMemory(0, view.capacity(), (byte) 0);
-      requestsInBatch.clear();
-      recycledBuffers.push(this);
+    boolean hasRemaining() {
+      return writeIndex < bufferCount;
     }
 
-    public void onChannelClosed() {
-      requestsInBatch.forEach(Sender.this::submitRequest);
+    void onWritten() {
+      for (int i = 0; i < requestsInBatch.size(); i++) {
+        final OutgoingRequest request = requestsInBatch.get(i);
+
+        if (request.onWriteCompleted() && request.isTimedout()) {
+          reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+        }
+      }
+
       recycle();
     }
-  }
 
-  class ControlMessage extends Batch {
-    ControlMessage(DirectBuffer controlMessageTemplate) {
-      super(controlMessageTemplate.capacity());
-      view.putBytes(0, controlMessageTemplate, 0, controlMessageTemplate.capacity());
-      this.writeOffset = controlMessageTemplate.capacity();
+    void onChannelClosed() {
+      for (int i = 0; i < requestsInBatch.size(); i++) {
+        final OutgoingRequest request = requestsInBatch.get(i);
+        final boolean isLastPendingWrite = request.onWriteCompleted();
+        inFlightRequests.remove(request.getLastRequestId());
+
+        if (request.isTimedout()) {
+          if (isLastPendingWrite) {
+            reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+          }
+        } else {
+          // re-submit pending requests so that they can be retried
+          submitRequest(request);
+        }
+      }
+
+      recycle();
     }
 
-    @Override
-    public void recycle() {
-      // don't do it
+    void recycle() {
+      messagesInBatch.forEach(Sender.this::reclaimMessageBuffer);
+      messagesInBatch.clear();
+      requestsInBatch.clear();
+      compressedFramesLength = 0;
+
+      Arrays.fill(buffers, 0, bufferCount, null);
+      bufferCount = 0;
+      length = 0;
+      writeIndex = 0;
+      hasWritten = false;
+
+      recycledBuffers.push(this);
     }
   }
 
@@ -468,8 +696,7 @@ public class Sender extends Actor implements TimerHandler {
           final ChannelWriteQueue sendQueue = channelMap.remove(channel.getStreamId());
           if (sendQueue != null) {
             channelList.remove(sendQueue);
-            // re-submit pending requests so that they can be retried
-            sendQueue.pendingWrites.forEach(Batch::onChannelClosed);
+            sendQueue.onChannelClosed();
           }
         });
   }
@@ -479,24 +706,75 @@ public class Sender extends Actor implements TimerHandler {
     final OutgoingRequest request = requestsByTimeoutIds.get(timerId);
 
     if (request != null) {
-      reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+      metrics.countRequestTimeout();
+
+      final RemoteMetrics remoteMetrics = remoteMetricsOf(request);
+      if (remoteMetrics != null) {
+        remoteMetrics.countRequestTimeout();
+      }
+
       request.timeout();
       inFlightRequests.remove(request.getLastRequestId());
+
+      if (!request.isWritePending()) {
+        // otherwise, the buffer is reclaimed once the request is written
+        reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+      }
     }
 
     return true;
   }
 
-  public ByteBuffer allocateMessageBuffer(int length) {
-    return messageMemoryPool.allocate(length);
+  /**
+   * Allocates the buffer of a message to the given remote. The message is rejected if too many
+   * messages are queued for the remote already, so that the sender can retry it later. A message is
+   * accepted if no messages are queued, regardless of its length.
+   *
+   * @return the buffer, or null if the message is rejected
+   */
+  public ByteBuffer allocateMessageBuffer(int remoteStreamId, int length) {
+    final AtomicLong queuedBytes =
+        queuedMessageBytes.computeIfAbsent(remoteStreamId, id -> new AtomicLong());
+
+    long currentBytes;
+    do {
+      currentBytes = queuedBytes.get();
+
+      if (currentBytes > 0 && currentBytes + length > MAX_QUEUED_MESSAGE_BYTES_PER_REMOTE) {
+        metrics.countMessageQueueFull();
+        return null;
+      }
+    } while (!queuedBytes.compareAndSet(currentBytes, currentBytes + length));
+
+    final ByteBuffer buffer = messageMemoryPool.allocate(length);
+    if (buffer == null) {
+      queuedBytes.addAndGet(-length);
+      metrics.countMessagePoolExhausted();
+    }
+    return buffer;
   }
 
-  public void reclaimMessageBuffer(ByteBuffer allocatedBuffer) {
+  /** Reclaims the buffer of a message which was allocated but not submitted. */
+  public void reclaimMessageBuffer(int remoteStreamId, ByteBuffer allocatedBuffer, int length) {
+    final AtomicLong queuedBytes = queuedMessageBytes.get(remoteStreamId);
+    if (queuedBytes != null) {
+      queuedBytes.addAndGet(-length);
+    }
+
     messageMemoryPool.reclaim(allocatedBuffer);
   }
 
+  private void reclaimMessageBuffer(OutgoingMessage message) {
+    reclaimMessageBuffer(
+        message.getRemoteStreamId(), message.getAllocatedBuffer(), message.getBuffer().capacity());
+  }
+
   public ByteBuffer allocateRequestBuffer(int requestedCapacity) {
-    return requestMemoryPool.allocate(requestedCapacity);
+    final ByteBuffer buffer = requestMemoryPool.allocate(requestedCapacity);
+    if (buffer == null) {
+      metrics.countRequestPoolExhausted();
+    }
+    return buffer;
   }
 
   public void reclaimRequestBuffer(ByteBuffer allocatedBuffer) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.sender;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+/**
+ * Metrics shared by the senders of one transport. Their counters are incremented by several
+ * threads: the memory pools are allocated from by the threads which submit messages and requests.
+ */
+public class SenderMetrics {
+  private final Metric messagePoolExhausted;
+  private final Metric requestPoolExhausted;
+  private final Metric messageQueueFull;
+  private final Metric requestTimeouts;
+
+  public SenderMetrics(MetricsManager metricsManager, String transportName) {
+    messagePoolExhausted =
+        metricsManager
+            .newMetric("transport_memory_pool_exhausted")
+            .type("counter")
+            .label("transport", transportName)
+            .label("pool", "message")
+            .create();
+    requestPoolExhausted =
+        metricsManager
+            .newMetric("transport_memory_pool_exhausted")
+            .type("counter")
+            .label("transport", transportName)
+            .label("pool", "request")
+            .create();
+    messageQueueFull =
+        metricsManager
+            .newMetric("transport_message_queue_full")
+            .type("counter")
+            .label("transport", transportName)
+            .create();
+    requestTimeouts =
+        metricsManager
+            .newMetric("transport_request_timeouts")
+            .type("counter")
+            .label("transport", transportName)
+            .create();
+  }
+
+  public void countMessagePoolExhausted() {
+    messagePoolExhausted.increment();
+  }
+
+  public void countRequestPoolExhausted() {
+    requestPoolExhausted.increment();
+  }
+
+  public void countMessageQueueFull() {
+    messageQueueFull.increment();
+  }
+
+  public void countRequestTimeout() {
+    requestTimeouts.increment();
+  }
+
+  public void close() {
+    messagePoolExhausted.close();
+    requestPoolExhausted.close();
+    messageQueueFull.close();
+    requestTimeouts.close();
+  }
+}
@@ -60,6 +60,7 @@ public class TransportHeaderWriter {
     bufferView.wrap(buffer);
 
     final int fragmentLength = REQUEST_HEADER_LENGTH + messageWriter.getLength();
+    clearHeaderAndPadding(REQUEST_HEADER_LENGTH, fragmentLength);
 
     // put static parts of data fragment header
     bufferView.putInt(DataFrameDescriptor.FRAME_LENGTH_OFFSET, fragmentLength);
@@ -79,6 +80,7 @@ public class TransportHeaderWriter {
     bufferView.wrap(buffer);
 
     final int fragmentLength = MESSAGE_HEADER_LENGTH + messageWriter.getLength();
+    clearHeaderAndPadding(MESSAGE_HEADER_LENGTH, fragmentLength);
 
     // put static parts of data fragment header
     bufferView.putInt(DataFrameDescriptor.FRAME_LENGTH_OFFSET, fragmentLength);
@@ -93,6 +95,14 @@ public class TransportHeaderWriter {
     messageWriter.write(bufferView, MESSAGE_HEADER_LENGTH);
   }
 
+  /** the buffers are reused by the memory pools, so they may contain a previous frame */
+  private void clearHeaderAndPadding(int headerLength, int fragmentLength) {
+    bufferView.setMemory(0, headerLength, (byte) 0);
+
+    final int paddingLength = DataFrameDescriptor.alignedLength(fragmentLength) - fragmentLength;
+    bufferView.setMemory(fragmentLength, paddingLength, (byte) 0);
+  }
+
   public TransportHeaderWriter setStreamId(int streamId) {
     bufferView.putInt(STREAM_ID_OFFSET, streamId);
     return this;
@@ -44,6 +44,7 @@ import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.sched.clock.ControlledActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.function.Function;
 import org.agrona.DirectBuffer;
@@ -51,6 +52,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.RuleChain;
+import org.mockito.ArgumentCaptor;
 
 public class ClientTransportMemoryTest {
   private ControlledActorClock clock = new ControlledActorClock();
@@ -197,7 +199,54 @@ public class ClientTransportMemoryTest {
     waitUntil(() -> messageHandler.numReceivedMessages() == 1);
 
     verify(messageMemoryPoolSpy, times(1)).allocate(anyInt());
-    verify(messageMemoryPoolSpy, times(1)).reclaim(any());
+    verify(messageMemoryPoolSpy, timeout(500).times(1)).reclaim(any()); // released after write
+  }
+
+  @Test
+  public void shouldWriteMessagesFromDirectBuffers() {
+    // given
+    final RecordingMessageHandler messageHandler = new RecordingMessageHandler();
+
+    buildServerTransport(
+        b -> b.bindAddress(SERVER_ADDRESS1.toInetSocketAddress()).build(messageHandler, null));
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID1, SERVER_ADDRESS1);
+
+    // when
+    clientTransport.getOutput().sendMessage(NODE_ID1, WRITER1);
+
+    // then
+    waitUntil(() -> messageHandler.numReceivedMessages() == 1);
+
+    final ArgumentCaptor<ByteBuffer> bufferCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(messageMemoryPoolSpy, timeout(500).times(1)).reclaim(bufferCaptor.capture());
+    assertThat(bufferCaptor.getValue().isDirect()).isTrue();
+  }
+
+  @Test
+  public void shouldReclaimOnMessagesSendInMultipleBatches() {
+    // given
+    final int messageCount = 200;
+    final BufferWriter writer = mock(BufferWriter.class);
+    when(writer.getLength()).thenReturn(16);
+
+    final RecordingMessageHandler messageHandler = new RecordingMessageHandler();
+
+    buildServerTransport(
+        b -> b.bindAddress(SERVER_ADDRESS1.toInetSocketAddress()).build(messageHandler, null));
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID1, SERVER_ADDRESS1);
+
+    // when
+    for (int i = 0; i < messageCount; i++) {
+      clientTransport.getOutput().sendMessage(NODE_ID1, writer);
+    }
+
+    // then
+    waitUntil(() -> messageHandler.numReceivedMessages() == messageCount);
+
+    verify(messageMemoryPoolSpy, times(messageCount)).allocate(anyInt());
+    verify(messageMemoryPoolSpy, timeout(500).times(messageCount)).reclaim(any());
   }
 
   @Test
@@ -251,6 +300,29 @@ public class ClientTransportMemoryTest {
     assertThat(success).isFalse();
   }
 
+  @Test
+  public void shouldRejectMessageWhenTooManyMessagesAreQueuedForRemote() {
+    // given
+    final BufferWriter writer = mock(BufferWriter.class);
+    when(writer.getLength()).thenReturn((int) ByteValue.ofKilobytes(768).toBytes());
+
+    // no channel open, the message is queued until it is dropped after the retry timeout
+    registerEndpoint();
+    final ClientOutput output = clientTransport.getOutput();
+    assertThat(output.sendMessage(NODE_ID1, writer)).isTrue();
+
+    // when
+    final boolean success = output.sendMessage(NODE_ID1, writer);
+
+    // then
+    assertThat(success).isFalse();
+    verify(messageMemoryPoolSpy, times(1)).allocate(anyInt());
+
+    clock.addTime(Duration.ofSeconds(1));
+    verify(messageMemoryPoolSpy, timeout(1000).times(1)).reclaim(any());
+    assertThat(output.sendMessage(NODE_ID1, writer)).isTrue();
+  }
+
   @Test
   public void shouldRejectRequestWhenBufferPoolExhaused() {
     // given
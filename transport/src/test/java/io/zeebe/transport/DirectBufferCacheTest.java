@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.transport.impl.memory.DirectBufferCache;
+import io.zeebe.util.ByteValue;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class DirectBufferCacheTest {
+
+  @Test
+  public void shouldRoundCapacityUpToSizeClass() {
+    assertThat(DirectBufferCache.capacityFor(1)).isEqualTo(64);
+    assertThat(DirectBufferCache.capacityFor(100)).isEqualTo(128);
+    assertThat(DirectBufferCache.capacityFor(128)).isEqualTo(128);
+
+    final int largeCapacity = (int) ByteValue.ofMegabytes(5).toBytes();
+    assertThat(DirectBufferCache.capacityFor(largeCapacity)).isEqualTo(largeCapacity);
+  }
+
+  @Test
+  public void shouldReuseReclaimedBuffer() {
+    // given
+    final DirectBufferCache cache = new DirectBufferCache(1024);
+    final ByteBuffer buffer = cache.allocate(128);
+    buffer.position(10).limit(20);
+
+    // when
+    cache.reclaim(buffer);
+    final ByteBuffer reusedBuffer = cache.allocate(128);
+
+    // then
+    assertThat(reusedBuffer).isSameAs(buffer);
+    assertThat(reusedBuffer.isDirect()).isTrue();
+    assertThat(reusedBuffer.position()).isEqualTo(0);
+    assertThat(reusedBuffer.limit()).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldNotReuseBufferOfOtherSizeClass() {
+    // given
+    final DirectBufferCache cache = new DirectBufferCache(1024);
+    final ByteBuffer buffer = cache.allocate(128);
+
+    // when
+    cache.reclaim(buffer);
+    final ByteBuffer otherBuffer = cache.allocate(256);
+
+    // then
+    assertThat(otherBuffer).isNotSameAs(buffer);
+    assertThat(otherBuffer.capacity()).isEqualTo(256);
+  }
+
+  @Test
+  public void shouldNotKeepMoreThanMaxCachedBytes() {
+    // given
+    final DirectBufferCache cache = new DirectBufferCache(128);
+    final ByteBuffer buffer = cache.allocate(128);
+    final ByteBuffer otherBuffer = cache.allocate(128);
+
+    // when
+    cache.reclaim(buffer);
+    cache.reclaim(otherBuffer);
+
+    // then
+    assertThat(cache.allocate(128)).isSameAs(buffer);
+    assertThat(cache.allocate(128)).isNotSameAs(otherBuffer);
+  }
+}
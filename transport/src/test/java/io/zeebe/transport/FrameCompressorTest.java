@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import io.zeebe.transport.impl.FrameCompressor;
+import io.zeebe.transport.impl.FrameDecompressor;
+import io.zeebe.transport.impl.TransportHeaderDescriptor;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class FrameCompressorTest {
+  private static final int BODY_LENGTH = 512;
+  private static final int FRAMED_LENGTH = FrameCompressor.BODY_OFFSET + BODY_LENGTH;
+
+  private final FrameCompressor compressor = new FrameCompressor();
+  private final FrameDecompressor decompressor = new FrameDecompressor(1024);
+
+  @Test
+  public void shouldCompressHeapFrame() {
+    // given
+    final ByteBuffer frame = ByteBuffer.allocate(DataFrameDescriptor.alignedLength(FRAMED_LENGTH));
+    writeFrame(frame, (byte) 7);
+
+    // then
+    assertCompressedBody(frame, (byte) 7);
+  }
+
+  @Test
+  public void shouldCompressDirectFrame() {
+    // given
+    final ByteBuffer frame =
+        ByteBuffer.allocateDirect(DataFrameDescriptor.alignedLength(FRAMED_LENGTH));
+    writeFrame(frame, (byte) 7);
+
+    // then
+    assertCompressedBody(frame, (byte) 7);
+  }
+
+  @Test
+  public void shouldCompressFrameAtTargetOffset() {
+    // given
+    final ByteBuffer frame =
+        ByteBuffer.allocateDirect(DataFrameDescriptor.alignedLength(FRAMED_LENGTH));
+    writeFrame(frame, (byte) 7);
+
+    final ByteBuffer target = ByteBuffer.allocateDirect(2048);
+    final int targetOffset = 1024;
+
+    // when
+    final int length = compressor.compress(frame, target, targetOffset);
+
+    // then
+    assertThat(length).isPositive();
+    assertDecompressedBody(new UnsafeBuffer(target, targetOffset, length), (byte) 7);
+  }
+
+  @Test
+  public void shouldNotCompressIncompressibleFrame() {
+    // given
+    final ByteBuffer frame =
+        ByteBuffer.allocateDirect(DataFrameDescriptor.alignedLength(FRAMED_LENGTH));
+    writeFrame(frame, (byte) 0);
+
+    final byte[] body = new byte[BODY_LENGTH];
+    new Random(42).nextBytes(body);
+    new UnsafeBuffer(frame).putBytes(FrameCompressor.BODY_OFFSET, body);
+
+    // when
+    final int length = compressor.compress(frame, ByteBuffer.allocateDirect(1024), 0);
+
+    // then
+    assertThat(length).isEqualTo(-1);
+  }
+
+  private void assertCompressedBody(ByteBuffer frame, byte value) {
+    final UnsafeBuffer compressedFrame = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+
+    final int length = compressor.compress(frame, compressedFrame.byteBuffer(), 0);
+
+    assertThat(length).isPositive().isLessThan(frame.capacity());
+    assertDecompressedBody(compressedFrame, value);
+  }
+
+  private void assertDecompressedBody(UnsafeBuffer compressedFrame, byte value) {
+    assertThat(
+            TransportHeaderDescriptor.isCompressed(
+                compressedFrame, DataFrameDescriptor.HEADER_LENGTH))
+        .isTrue();
+
+    final int compressedFramedLength = compressedFrame.getInt(DataFrameDescriptor.lengthOffset(0));
+    final int length =
+        decompressor.decompress(
+            compressedFrame,
+            DataFrameDescriptor.messageOffset(0),
+            DataFrameDescriptor.messageLength(compressedFramedLength));
+
+    assertThat(length).isEqualTo(TransportHeaderDescriptor.HEADER_LENGTH + BODY_LENGTH);
+    for (int i = TransportHeaderDescriptor.HEADER_LENGTH; i < length; i++) {
+      assertThat(decompressor.getBuffer().getByte(i)).isEqualTo(value);
+    }
+  }
+
+  private static void writeFrame(ByteBuffer frame, byte value) {
+    final UnsafeBuffer frameView = new UnsafeBuffer(frame);
+    frameView.putInt(DataFrameDescriptor.lengthOffset(0), FRAMED_LENGTH);
+    frameView.setMemory(FrameCompressor.BODY_OFFSET, BODY_LENGTH, value);
+  }
+}
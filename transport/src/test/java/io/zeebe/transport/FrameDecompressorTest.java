@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import io.zeebe.transport.impl.FrameCompressor;
+import io.zeebe.transport.impl.FrameDecompressor;
+import io.zeebe.transport.impl.TransportHeaderDescriptor;
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameDecompressorTest {
+  private static final int MAX_MESSAGE_LENGTH = 1024;
+  private static final int BODY_LENGTH = 512;
+
+  private final FrameCompressor compressor = new FrameCompressor();
+  private final FrameDecompressor decompressor = new FrameDecompressor(MAX_MESSAGE_LENGTH);
+
+  private final UnsafeBuffer compressedFrame = new UnsafeBuffer(ByteBuffer.allocateDirect(1024));
+  private int messageLength;
+
+  @Before
+  public void setUp() {
+    final int framedLength = FrameCompressor.BODY_OFFSET + BODY_LENGTH;
+    final ByteBuffer frame =
+        ByteBuffer.allocateDirect(DataFrameDescriptor.alignedLength(framedLength));
+    final UnsafeBuffer frameView = new UnsafeBuffer(frame);
+    frameView.putInt(DataFrameDescriptor.lengthOffset(0), framedLength);
+    frameView.setMemory(FrameCompressor.BODY_OFFSET, BODY_LENGTH, (byte) 7);
+
+    assertThat(compressor.compress(frame, compressedFrame.byteBuffer(), 0)).isPositive();
+
+    final int compressedFramedLength = compressedFrame.getInt(DataFrameDescriptor.lengthOffset(0));
+    messageLength = DataFrameDescriptor.messageLength(compressedFramedLength);
+  }
+
+  @Test
+  public void shouldDecompressFrame() {
+    // when
+    final int length = decompressor.decompress(compressedFrame, messageOffset(), messageLength);
+
+    // then
+    assertThat(length).isEqualTo(TransportHeaderDescriptor.HEADER_LENGTH + BODY_LENGTH);
+    assertThat(decompressor.getBuffer().getByte(length - 1)).isEqualTo((byte) 7);
+  }
+
+  @Test
+  public void shouldRejectNegativeUncompressedLength() {
+    // given
+    setUncompressedLength(-1);
+
+    // when
+    final int length = decompressor.decompress(compressedFrame, messageOffset(), messageLength);
+
+    // then
+    assertThat(length).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldRejectUncompressedLengthExceedingMaxMessageLength() {
+    // given
+    setUncompressedLength(MAX_MESSAGE_LENGTH + 1);
+
+    // when
+    final int length = decompressor.decompress(compressedFrame, messageOffset(), messageLength);
+
+    // then
+    assertThat(length).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldRejectWrongUncompressedLength() {
+    // given
+    setUncompressedLength(BODY_LENGTH - 1);
+
+    // when
+    final int length = decompressor.decompress(compressedFrame, messageOffset(), messageLength);
+
+    // then
+    assertThat(length).isEqualTo(-1);
+  }
+
+  private static int messageOffset() {
+    return DataFrameDescriptor.messageOffset(0);
+  }
+
+  private void setUncompressedLength(int length) {
+    compressedFrame.putInt(
+        FrameCompressor.BODY_OFFSET, length, TransportHeaderDescriptor.HEADER_BYTE_ORDER);
+  }
+}
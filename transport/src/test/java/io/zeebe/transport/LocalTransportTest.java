@@ -0,0 +1,347 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.test.util.TestUtil.doRepeatedly;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.FragmentHandler;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.DefaultChannelFactory;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.TransportChannel;
+import io.zeebe.transport.impl.TransportChannel.ChannelLifecycleListener;
+import io.zeebe.transport.impl.TransportChannel.TransportChannelMetrics;
+import io.zeebe.transport.impl.local.LocalChannelPipe;
+import io.zeebe.transport.impl.local.LocalTransportChannel;
+import io.zeebe.transport.impl.local.LocalTransportRegistry;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.EchoRequestResponseHandler;
+import io.zeebe.transport.util.RecordingMessageHandler;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class LocalTransportTest {
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  public static final int NODE_ID = 1;
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+
+  protected final RecordingChannelFactory channelFactory = new RecordingChannelFactory();
+  protected final LocalTransportRegistry localTransportRegistry = new LocalTransportRegistry();
+
+  protected ClientTransport buildClientTransport(int messageMaxLength) {
+    final ClientTransport clientTransport =
+        Transports.newClientTransport("test")
+            .scheduler(actorSchedulerRule.get())
+            .messageMaxLength(messageMaxLength)
+            .channelFactory(channelFactory)
+            .localChannels(localTransportRegistry)
+            .build();
+    closeables.manage(clientTransport);
+
+    return clientTransport;
+  }
+
+  protected ServerTransport buildServerTransport(ServerMessageHandler messageHandler) {
+    return buildServerTransport(messageHandler, localTransportRegistry);
+  }
+
+  protected ServerTransport buildServerTransport(
+      ServerMessageHandler messageHandler, LocalTransportRegistry localTransportRegistry) {
+    final ServerTransport serverTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .localTransportRegistry(localTransportRegistry)
+            .build(messageHandler, new EchoRequestResponseHandler());
+    closeables.manage(serverTransport);
+
+    return serverTransport;
+  }
+
+  @Test
+  public void shouldSendRequestsThroughLocalChannel() {
+    // given
+    buildServerTransport(null);
+    final ClientTransport clientTransport = buildClientTransport(1024);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    // when
+    final ClientResponse response =
+        clientTransport
+            .getOutput()
+            .sendRequest(NODE_ID, writerFor(BufferUtil.wrapBytes(42)))
+            .join();
+
+    // then
+    assertThatBuffer(response.getResponseBuffer()).hasBytes(BufferUtil.wrapBytes(42));
+
+    assertThat(channelFactory.clientChannels).hasSize(1);
+    assertThat(channelFactory.clientChannels.get(0).isLocal()).isTrue();
+  }
+
+  @Test
+  public void shouldKeepOrderOfMessagesWhichExceedPipeCapacity() {
+    // given
+    final RecordingMessageHandler serverHandler = new RecordingMessageHandler();
+    buildServerTransport(serverHandler);
+    final ClientTransport clientTransport = buildClientTransport(1024);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    final ClientOutput output = clientTransport.getOutput();
+    final int messageCount = 1_000;
+
+    // when
+    for (int i = 0; i < messageCount; i++) {
+      final DirectBuffer message = BufferUtil.wrapBytes(i);
+      doRepeatedly(() -> output.sendMessage(NODE_ID, writerFor(message))).until(sent -> sent);
+    }
+
+    // then
+    waitUntil(() -> serverHandler.numReceivedMessages() == messageCount);
+
+    for (int i = 0; i < messageCount; i++) {
+      assertThatBuffer(serverHandler.getMessage(i).getBuffer()).hasBytes(BufferUtil.wrapBytes(i));
+    }
+  }
+
+  @Test
+  public void shouldReopenLocalChannelWhenServerClosesIt() {
+    // given
+    final ServerTransport serverTransport = buildServerTransport(null);
+    final ClientTransport clientTransport = buildClientTransport(1024);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    // when
+    serverTransport.interruptAllChannels().join();
+
+    // then
+    waitUntil(() -> channelFactory.clientChannels.size() == 2);
+
+    final ClientResponse response =
+        clientTransport
+            .getOutput()
+            .sendRequest(NODE_ID, writerFor(BufferUtil.wrapBytes(42)))
+            .join();
+
+    assertThatBuffer(response.getResponseBuffer()).hasBytes(BufferUtil.wrapBytes(42));
+    assertThat(channelFactory.clientChannels.get(1).isLocal()).isTrue();
+  }
+
+  @Test
+  public void shouldConnectThroughSocketIfServerIsNotRegistered() {
+    // given
+    buildServerTransport(null, new LocalTransportRegistry());
+    final ClientTransport clientTransport = buildClientTransport(1024);
+
+    // when
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    // then
+    assertThat(channelFactory.clientChannels).hasSize(1);
+    assertThat(channelFactory.clientChannels.get(0).isLocal()).isFalse();
+  }
+
+  @Test
+  public void shouldRetireRemoteAddressOfClosedLocalChannel() {
+    // given
+    final ServerTransport serverTransport = buildServerTransport(null);
+    final ClientTransport clientTransport = buildClientTransport(1024);
+
+    final List<RemoteAddress> closedRemotes = new CopyOnWriteArrayList<>();
+    serverTransport
+        .registerChannelListener(
+            new TransportListener() {
+              @Override
+              public void onConnectionEstablished(RemoteAddress remoteAddress) {}
+
+              @Override
+              public void onConnectionClosed(RemoteAddress remoteAddress) {
+                closedRemotes.add(remoteAddress);
+              }
+            })
+        .join();
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    // when
+    serverTransport.interruptAllChannels().join();
+
+    // then
+    waitUntil(() -> !closedRemotes.isEmpty());
+
+    final RemoteAddressImpl closedRemote = (RemoteAddressImpl) closedRemotes.get(0);
+    waitUntil(() -> closedRemote.isInAnyState(RemoteAddressImpl.STATE_RETIRED));
+  }
+
+  @Test
+  public void shouldRemoveRequestsOfClosedChannelFromInFlightRequests() {
+    // given
+    final StallingChannelFactory channelFactory = new StallingChannelFactory();
+    buildServerTransport(null);
+    final ClientTransport clientTransport =
+        Transports.newClientTransport("test")
+            .scheduler(actorSchedulerRule.get())
+            .channelFactory(channelFactory)
+            .localChannels(localTransportRegistry)
+            .build();
+    closeables.manage(clientTransport);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    final ActorFuture<ClientResponse> responseFuture =
+        clientTransport.getOutput().sendRequest(NODE_ID, writerFor(BufferUtil.wrapBytes(42)));
+    waitUntil(() -> channelFactory.stalledChannel.writeAttempts > 0);
+
+    // when
+    clientTransport.closeAllChannels().join();
+
+    // then
+    final ClientResponse response = responseFuture.join();
+    assertThatBuffer(response.getResponseBuffer()).hasBytes(BufferUtil.wrapBytes(42));
+
+    waitUntil(() -> channelFactory.getInFlightRequests() == 0);
+  }
+
+  protected static class RecordingChannelFactory extends DefaultChannelFactory {
+    protected final List<TransportChannel> clientChannels = new CopyOnWriteArrayList<>();
+
+    @Override
+    public TransportChannel buildClientChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler) {
+      final TransportChannel channel =
+          super.buildClientChannel(listener, remoteAddress, maxMessageSize, readHandler);
+      clientChannels.add(channel);
+      return channel;
+    }
+
+    @Override
+    public TransportChannel buildLocalClientChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler,
+        LocalChannelPipe readPipe,
+        LocalChannelPipe writePipe) {
+      final TransportChannel channel =
+          super.buildLocalClientChannel(
+              listener, remoteAddress, maxMessageSize, readHandler, readPipe, writePipe);
+      clientChannels.add(channel);
+      return channel;
+    }
+  }
+
+  /**
+   * Builds a first local client channel which never writes, so that the requests stay in the
+   * sender's batches until the channel is closed.
+   */
+  protected static class StallingChannelFactory extends DefaultChannelFactory {
+    protected final MetricsManager metricsManager;
+    protected volatile StalledLocalChannel stalledChannel;
+
+    StallingChannelFactory() {
+      this(new MetricsManager());
+    }
+
+    private StallingChannelFactory(MetricsManager metricsManager) {
+      super(metricsManager, "test");
+      this.metricsManager = metricsManager;
+    }
+
+    @Override
+    public TransportChannel buildLocalClientChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler,
+        LocalChannelPipe readPipe,
+        LocalChannelPipe writePipe) {
+      if (stalledChannel == null) {
+        stalledChannel =
+            new StalledLocalChannel(
+                listener,
+                remoteAddress,
+                maxMessageSize,
+                readHandler,
+                readPipe,
+                writePipe,
+                new TransportChannelMetrics(metricsManager, "stalled"));
+        return stalledChannel;
+      } else {
+        return super.buildLocalClientChannel(
+            listener, remoteAddress, maxMessageSize, readHandler, readPipe, writePipe);
+      }
+    }
+
+    /** @return the sampled in-flight requests of the current channel, or -1 */
+    protected long getInFlightRequests() {
+      final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+      final int length = metricsManager.dump(buffer, 0, 100);
+
+      return Arrays.stream(BufferUtil.bufferAsString(buffer, 0, length).split("\n"))
+          .filter(line -> line.startsWith("zb_transport_remote_inflight_requests{"))
+          .filter(line -> line.contains("transport=\"test\""))
+          .mapToLong(line -> Long.parseLong(line.split(" ")[1]))
+          .findFirst()
+          .orElse(-1);
+    }
+  }
+
+  protected static class StalledLocalChannel extends LocalTransportChannel {
+    protected volatile int writeAttempts = 0;
+
+    StalledLocalChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler,
+        LocalChannelPipe readPipe,
+        LocalChannelPipe writePipe,
+        TransportChannelMetrics metrics) {
+      super(listener, remoteAddress, maxMessageSize, readHandler, readPipe, writePipe, metrics);
+    }
+
+    @Override
+    protected long mediaWrite(ByteBuffer[] buffers, int offset, int length) {
+      writeAttempts++;
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.test.util.TestUtil.doRepeatedly;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.EchoRequestResponseHandler;
+import io.zeebe.transport.util.RecordingMessageHandler;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ShardedTransportTest {
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  public static final int NODE_ID1 = 1;
+  public static final SocketAddress SERVER_ADDRESS1 = SocketUtil.getNextAddress();
+
+  public static final int NODE_ID2 = 2;
+  public static final SocketAddress SERVER_ADDRESS2 = SocketUtil.getNextAddress();
+
+  public static final int SHARD_COUNT = 2;
+
+  protected ClientTransport clientTransport;
+
+  @Before
+  public void setUp() {
+    clientTransport =
+        Transports.newClientTransport("test")
+            .scheduler(actorSchedulerRule.get())
+            .senderCount(SHARD_COUNT)
+            .receiverCount(SHARD_COUNT)
+            .build();
+    closeables.manage(clientTransport);
+  }
+
+  protected ServerTransport buildServerTransport(
+      SocketAddress address, ServerMessageHandler messageHandler) {
+    final ServerTransport serverTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(address.toInetSocketAddress())
+            .senderCount(SHARD_COUNT)
+            .build(messageHandler, new EchoRequestResponseHandler());
+    closeables.manage(serverTransport);
+
+    return serverTransport;
+  }
+
+  @Test
+  public void shouldSendRequestsToRemotesOfDifferentShards() {
+    // given
+    buildServerTransport(SERVER_ADDRESS1, null);
+    buildServerTransport(SERVER_ADDRESS2, null);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID1, SERVER_ADDRESS1);
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID2, SERVER_ADDRESS2);
+
+    final ClientOutput output = clientTransport.getOutput();
+
+    // when
+    final List<ActorFuture<ClientResponse>> responses = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final int nodeId = i % 2 == 0 ? NODE_ID1 : NODE_ID2;
+      responses.add(output.sendRequest(nodeId, writerFor(BufferUtil.wrapBytes(i))));
+    }
+
+    // then
+    for (int i = 0; i < responses.size(); i++) {
+      final ClientResponse response = responses.get(i).join();
+
+      assertThatBuffer(response.getResponseBuffer()).hasBytes(BufferUtil.wrapBytes(i));
+      assertThat(response.getRemoteAddress().getAddress())
+          .isEqualTo(i % 2 == 0 ? SERVER_ADDRESS1 : SERVER_ADDRESS2);
+    }
+  }
+
+  @Test
+  public void shouldKeepOrderOfMessagesToRemote() {
+    // given
+    final RecordingMessageHandler serverHandler = new RecordingMessageHandler();
+    buildServerTransport(SERVER_ADDRESS1, serverHandler);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID1, SERVER_ADDRESS1);
+
+    final ClientOutput output = clientTransport.getOutput();
+    final int messageCount = 100;
+
+    // when
+    for (int i = 0; i < messageCount; i++) {
+      final DirectBuffer message = BufferUtil.wrapBytes(i);
+      doRepeatedly(() -> output.sendMessage(NODE_ID1, writerFor(message))).until(sent -> sent);
+    }
+
+    // then
+    waitUntil(() -> serverHandler.numReceivedMessages() == messageCount);
+
+    for (int i = 0; i < messageCount; i++) {
+      assertThatBuffer(serverHandler.getMessage(i).getBuffer()).hasBytes(BufferUtil.wrapBytes(i));
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.FragmentHandler;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.TransportChannel;
+import io.zeebe.transport.impl.TransportChannel.ChannelLifecycleListener;
+import io.zeebe.transport.impl.TransportChannel.TransportChannelMetrics;
+import io.zeebe.transport.impl.TransportChannelFactory;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.EchoRequestResponseHandler;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TransportCompressionTest {
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  public static final int NODE_ID = 1;
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+
+  public static final int COMPRESSION_THRESHOLD = 1024;
+
+  protected final RecordingChannelFactory channelFactory = new RecordingChannelFactory();
+
+  protected ClientTransport buildClientTransport(int compressionThreshold) {
+    final ClientTransport clientTransport =
+        Transports.newClientTransport("test")
+            .scheduler(actorSchedulerRule.get())
+            .channelFactory(channelFactory)
+            .compressionThreshold(compressionThreshold)
+            .build();
+    closeables.manage(clientTransport);
+
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    return clientTransport;
+  }
+
+  protected ServerTransport buildServerTransport(int compressionThreshold) {
+    final ServerTransport serverTransport =
+        Transports.newServerTransport()
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .compressionThreshold(compressionThreshold)
+            .build(null, new EchoRequestResponseHandler());
+    closeables.manage(serverTransport);
+
+    return serverTransport;
+  }
+
+  @Test
+  public void shouldCompressLargeRequests() {
+    // given
+    buildServerTransport(0);
+    final ClientTransport clientTransport = buildClientTransport(COMPRESSION_THRESHOLD);
+
+    final RecordingChannel channel = channelFactory.channel.get();
+    waitUntil(channel::isCompressionAccepted);
+
+    final DirectBuffer request = compressibleBuffer(64 * 1024);
+
+    // when
+    final ClientResponse response =
+        clientTransport.getOutput().sendRequest(NODE_ID, writerFor(request)).join();
+
+    // then
+    assertThatBuffer(response.getResponseBuffer()).hasBytes(request);
+
+    assertThat(channel.compressedFrames.get()).isEqualTo(1);
+    assertThat(channel.compressedBytes.get()).isLessThan(request.capacity());
+  }
+
+  @Test
+  public void shouldDecompressLargeResponses() throws Exception {
+    // given
+    buildServerTransport(COMPRESSION_THRESHOLD);
+    final ClientTransport clientTransport = buildClientTransport(0);
+
+    Thread.sleep(500L); // the sender answers the compression request of the server periodically
+
+    final DirectBuffer request = compressibleBuffer(64 * 1024);
+
+    // when
+    final ClientResponse response =
+        clientTransport.getOutput().sendRequest(NODE_ID, writerFor(request)).join();
+
+    // then
+    assertThatBuffer(response.getResponseBuffer()).hasBytes(request);
+    assertThat(channelFactory.channel.get().compressedFrames.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotCompressSmallFrames() {
+    // given
+    buildServerTransport(0);
+    final ClientTransport clientTransport = buildClientTransport(COMPRESSION_THRESHOLD);
+
+    final RecordingChannel channel = channelFactory.channel.get();
+    waitUntil(channel::isCompressionAccepted);
+
+    final DirectBuffer request = compressibleBuffer(COMPRESSION_THRESHOLD / 2);
+
+    // when
+    final ClientResponse response =
+        clientTransport.getOutput().sendRequest(NODE_ID, writerFor(request)).join();
+
+    // then
+    assertThatBuffer(response.getResponseBuffer()).hasBytes(request);
+    assertThat(channel.compressedFrames.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotRequestCompressionIfDisabled() throws Exception {
+    // given
+    buildServerTransport(0);
+    buildClientTransport(0);
+
+    // when
+    Thread.sleep(500L); // can't wait for the remote to not answer, so have to sleep for a bit
+
+    // then
+    assertThat(channelFactory.channel.get().isCompressionAccepted()).isFalse();
+  }
+
+  private static DirectBuffer compressibleBuffer(int length) {
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[length]);
+    for (int i = 0; i < length; i++) {
+      buffer.putByte(i, (byte) (i % 16));
+    }
+    return buffer;
+  }
+
+  protected static class RecordingChannel extends TransportChannel {
+    protected final AtomicInteger compressedFrames = new AtomicInteger();
+    protected final AtomicInteger compressedBytes = new AtomicInteger();
+
+    public RecordingChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler,
+        TransportChannelMetrics metrics) {
+      super(listener, remoteAddress, maxMessageSize, readHandler, metrics);
+    }
+
+    @Override
+    public void onFrameCompressed(int frameLength, int compressedFrameLength) {
+      super.onFrameCompressed(frameLength, compressedFrameLength);
+      compressedFrames.incrementAndGet();
+      compressedBytes.addAndGet(compressedFrameLength);
+    }
+  }
+
+  protected static class RecordingChannelFactory implements TransportChannelFactory {
+    protected final TransportChannelMetrics metrics =
+        new TransportChannelMetrics(new MetricsManager(), "test");
+    protected final AtomicReference<RecordingChannel> channel = new AtomicReference<>();
+
+    @Override
+    public TransportChannel buildClientChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler) {
+      final RecordingChannel recordingChannel =
+          new RecordingChannel(listener, remoteAddress, maxMessageSize, readHandler, metrics);
+      channel.set(recordingChannel);
+      return recordingChannel;
+    }
+
+    @Override
+    public TransportChannel buildServerChannel(
+        ChannelLifecycleListener listener,
+        RemoteAddressImpl remoteAddress,
+        int maxMessageSize,
+        FragmentHandler readHandler,
+        SocketChannel media) {
+      throw new UnsupportedOperationException("not used by client transports");
+    }
+  }
+}
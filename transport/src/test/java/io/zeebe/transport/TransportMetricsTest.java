@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.transport.impl.util.SocketUtil;
+import io.zeebe.transport.util.EchoRequestResponseHandler;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.Arrays;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TransportMetricsTest {
+  public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(3);
+  public AutoCloseableRule closeables = new AutoCloseableRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(actorSchedulerRule).around(closeables);
+
+  public static final int NODE_ID = 1;
+  public static final SocketAddress SERVER_ADDRESS = SocketUtil.getNextAddress();
+
+  private ClientTransport clientTransport;
+
+  @Before
+  public void setUp() {
+    final ServerTransport serverTransport =
+        Transports.newServerTransport()
+            .name("server")
+            .scheduler(actorSchedulerRule.get())
+            .bindAddress(SERVER_ADDRESS.toInetSocketAddress())
+            .build(null, new EchoRequestResponseHandler());
+    closeables.manage(serverTransport);
+
+    clientTransport =
+        Transports.newClientTransport("client").scheduler(actorSchedulerRule.get()).build();
+    closeables.manage(clientTransport);
+  }
+
+  @Test
+  public void shouldCreateMetricsPerRemote() {
+    // given
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    // when
+    clientTransport
+        .getOutput()
+        .sendRequest(NODE_ID, writerFor(BufferUtil.wrapBytes(1, 2, 3)))
+        .join();
+
+    // then
+    final String remote = "remote=\"" + SERVER_ADDRESS + "\"";
+    waitUntil(() -> getValue("zb_transport_remote_transmit_bytes", "client", remote) > 0);
+    waitUntil(() -> getValue("zb_transport_remote_receive_bytes", "client", remote) > 0);
+    assertThat(getValue("zb_transport_remote_request_latency_micros_count", "client", remote))
+        .isEqualTo(1);
+    assertThat(hasRemoteMetrics("server")).isTrue();
+  }
+
+  @Test
+  public void shouldCloseRemoteMetricsWhenChannelIsClosed() {
+    // given
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+    waitUntil(() -> hasRemoteMetrics("client") && hasRemoteMetrics("server"));
+
+    // when
+    clientTransport.deactivateEndpoint(NODE_ID);
+    clientTransport.closeAllChannels().join();
+
+    // then
+    waitUntil(() -> !hasRemoteMetrics("client") && !hasRemoteMetrics("server"));
+    assertThat(getLines("zb_transport_request_timeouts", "client")).isNotEmpty();
+  }
+
+  @Test
+  public void shouldCloseSenderMetricsWhenTransportIsClosed() {
+    // given
+    clientTransport.registerEndpointAndAwaitChannel(NODE_ID, SERVER_ADDRESS);
+
+    // when
+    clientTransport.close();
+
+    // then
+    waitUntil(() -> getLines("zb_transport_request_timeouts", "client").length == 0);
+    assertThat(hasRemoteMetrics("client")).isFalse();
+  }
+
+  private boolean hasRemoteMetrics(String transport) {
+    return getLines("zb_transport_remote_", transport).length > 0;
+  }
+
+  private long getValue(String name, String transport, String remote) {
+    final String[] lines = getLines(name + "{", transport);
+
+    for (final String line : lines) {
+      if (line.contains(remote)) {
+        return Long.parseLong(line.split(" ")[1]);
+      }
+    }
+
+    return -1;
+  }
+
+  /** @return the dumped metric lines which start with the prefix and have the transport label */
+  private String[] getLines(String prefix, String transport) {
+    final String label = "transport=\"" + transport + "\"";
+
+    return Arrays.stream(dump().split("\n"))
+        .filter(line -> line.startsWith(prefix) && line.contains(label))
+        .toArray(String[]::new);
+  }
+
+  private String dump() {
+    final MetricsManager metricsManager = actorSchedulerRule.get().getMetricsManager();
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, 100);
+
+    return BufferUtil.bufferAsString(buffer, 0, length);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A histogram which is composed of plain metrics, following the naming of prometheus histograms:
+ * one cumulative counter per bucket (<code>_bucket</code> with an <code>le</code> label), the sum
+ * of all recorded values (<code>_sum</code>) and the number of recorded values
+ * (<code>_count</code>).
+ */
+public class Histogram {
+  private static final String INFINITY = "+Inf";
+
+  private final long[] upperBounds;
+  private final Metric[] buckets;
+  private final Metric infinityBucket;
+  private final Metric sum;
+  private final Metric count;
+
+  Histogram(
+      MetricsManager metricsManager,
+      String name,
+      String description,
+      Map<String, String> labels,
+      long[] upperBounds) {
+    this.upperBounds = upperBounds;
+    this.buckets = new Metric[upperBounds.length];
+
+    for (int i = 0; i < upperBounds.length; i++) {
+      final String upperBound = Long.toString(upperBounds[i]);
+      buckets[i] = allocate(metricsManager, name + "_bucket", description, labels, upperBound);
+    }
+    infinityBucket = allocate(metricsManager, name + "_bucket", description, labels, INFINITY);
+
+    sum = metricsManager.allocate(name + "_sum", "counter", description, new HashMap<>(labels));
+    count = metricsManager.allocate(name + "_count", "counter", description, new HashMap<>(labels));
+  }
+
+  private static Metric allocate(
+      MetricsManager metricsManager,
+      String name,
+      String description,
+      Map<String, String> labels,
+      String upperBound) {
+    final Map<String, String> bucketLabels = new HashMap<>(labels);
+    bucketLabels.put("le", upperBound);
+    return metricsManager.allocate(name, "counter", description, bucketLabels);
+  }
+
+  public void record(long value) {
+    for (int i = upperBounds.length - 1; i >= 0 && value <= upperBounds[i]; i--) {
+      buckets[i].incrementOrdered();
+    }
+    infinityBucket.incrementOrdered();
+
+    sum.getAndAddOrdered(value);
+    count.incrementOrdered();
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  public void close() {
+    for (Metric bucket : buckets) {
+      bucket.close();
+    }
+    infinityBucket.close();
+    sum.close();
+    count.close();
+  }
+}
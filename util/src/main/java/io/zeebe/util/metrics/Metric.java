@@ -86,6 +86,11 @@ public class Metric {
     return value.incrementOrdered();
   }
 
+  /** Increments atomically, for metrics which are incremented by more than one thread. */
+  public long increment() {
+    return value.increment();
+  }
+
   public void setOrdered(long value) {
     this.value.setOrdered(value);
   }
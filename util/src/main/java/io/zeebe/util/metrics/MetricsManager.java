@@ -108,5 +108,15 @@ public class MetricsManager {
     public Metric create() {
       return MetricsManager.this.allocate(name, type, description, labels);
     }
+
+    /**
+     * Creates a histogram with the given upper bounds of the buckets. The type of the builder is
+     * ignored.
+     *
+     * @param upperBounds the inclusive upper bounds of the buckets, in ascending order
+     */
+    public Histogram createHistogram(long... upperBounds) {
+      return new Histogram(MetricsManager.this, name, description, labels, upperBounds);
+    }
   }
 }
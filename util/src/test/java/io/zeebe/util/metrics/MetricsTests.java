@@ -144,6 +144,42 @@ public class MetricsTests {
             metricComment("bz_metric1") + "bz_metric1{broker=\"node1\",label1=\"value1\"} 0 100\n");
   }
 
+  @Test
+  public void shouldRecordHistogram() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram = metricsManager.newMetric("metric1").createHistogram(10, 100);
+
+    histogram.record(5);
+    histogram.record(50);
+    histogram.record(500);
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump)
+        .isEqualTo(
+            metricComment("zb_metric1_bucket")
+                + "zb_metric1_bucket{le=\"10\"} 1 100\n"
+                + metricComment("zb_metric1_bucket")
+                + "zb_metric1_bucket{le=\"100\"} 2 100\n"
+                + metricComment("zb_metric1_bucket")
+                + "zb_metric1_bucket{le=\"+Inf\"} 3 100\n"
+                + metricComment("zb_metric1_sum")
+                + "zb_metric1_sum{} 555 100\n"
+                + metricComment("zb_metric1_count")
+                + "zb_metric1_count{} 3 100\n");
+  }
+
+  @Test
+  public void shouldCloseHistogram() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram = metricsManager.newMetric("metric1").createHistogram(10, 100);
+    histogram.close();
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump).isEqualTo("");
+  }
+
   private static String dumpAsString(MetricsManager metricsManager, long now) {
     final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
     final int length = metricsManager.dump(buffer, 0, now);